@@ -42,6 +42,7 @@ import com.plotsquared.bukkit.listener.BlockEventListener117;
 import com.plotsquared.bukkit.listener.ChunkListener;
 import com.plotsquared.bukkit.listener.EntityEventListener;
 import com.plotsquared.bukkit.listener.EntitySpawnListener;
+import com.plotsquared.bukkit.listener.PaperEntityCounterListener;
 import com.plotsquared.bukkit.listener.PaperListener;
 import com.plotsquared.bukkit.listener.PaperListener113;
 import com.plotsquared.bukkit.listener.PlayerEventListener;
@@ -53,6 +54,7 @@ import com.plotsquared.bukkit.placeholder.PAPIPlaceholders;
 import com.plotsquared.bukkit.placeholder.PlaceholderFormatter;
 import com.plotsquared.bukkit.player.BukkitPlayer;
 import com.plotsquared.bukkit.player.BukkitPlayerManager;
+import com.plotsquared.bukkit.util.BukkitEntityCounter;
 import com.plotsquared.bukkit.util.BukkitUtil;
 import com.plotsquared.bukkit.util.BukkitWorld;
 import com.plotsquared.bukkit.util.SetGenCB;
@@ -358,6 +360,10 @@ public final class BukkitPlatform extends JavaPlugin implements Listener, PlotPl
                 } else {
                     getServer().getPluginManager().registerEvents(injector().getInstance(PaperListener.class), this);
                 }
+                if (Settings.Paper_Components.ENTITY_COUNTERS) {
+                    getServer().getPluginManager().registerEvents(injector().getInstance(PaperEntityCounterListener.class), this);
+                    injector().getInstance(BukkitEntityCounter.class).start();
+                }
             }
             this.plotListener.startRunnable();
         }
@@ -59,7 +59,6 @@ import com.plotsquared.core.plot.flag.implementations.SnowFormFlag;
 import com.plotsquared.core.plot.flag.implementations.SnowMeltFlag;
 import com.plotsquared.core.plot.flag.implementations.SoilDryFlag;
 import com.plotsquared.core.plot.flag.implementations.VineGrowFlag;
-import com.plotsquared.core.plot.flag.types.BlockTypeWrapper;
 import com.plotsquared.core.plot.flag.types.BooleanFlag;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.util.Permissions;
@@ -297,13 +296,9 @@ public class BlockEventListener implements Listener {
                     return;
                 }
             } else if (!plot.isAdded(pp.getUUID())) {
-                List<BlockTypeWrapper> place = plot.getFlag(PlaceFlag.class);
-                if (place != null) {
-                    Block block = event.getBlock();
-                    if (place.contains(
-                            BlockTypeWrapper.get(BukkitAdapter.asBlockType(block.getType())))) {
-                        return;
-                    }
+                Block block = event.getBlock();
+                if (plot.getFlagContainer().getFlag(PlaceFlag.class).accepts(BukkitAdapter.asBlockType(block.getType()))) {
+                    return;
                 }
                 if (!Permissions.hasPermission(pp, Permission.PERMISSION_ADMIN_BUILD_OTHER)) {
                     pp.sendMessage(
@@ -341,6 +336,16 @@ public class BlockEventListener implements Listener {
         }
     }
 
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlaced(BlockPlaceEvent event) {
+        PlotSquared.get().getPlotAnalysisStore().markModified(BukkitUtil.adapt(event.getBlock().getLocation()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBroken(BlockBreakEvent event) {
+        PlotSquared.get().getPlotAnalysisStore().markModified(BukkitUtil.adapt(event.getBlock().getLocation()));
+    }
+
     @EventHandler(priority = EventPriority.LOWEST)
     public void blockDestroy(BlockBreakEvent event) {
         Player player = event.getPlayer();
@@ -380,13 +385,10 @@ public class BlockEventListener implements Listener {
                 return;
             }
             if (!plot.isAdded(plotPlayer.getUUID())) {
-                List<BlockTypeWrapper> destroy = plot.getFlag(BreakFlag.class);
                 Block block = event.getBlock();
                 final BlockType blockType = BukkitAdapter.asBlockType(block.getType());
-                for (final BlockTypeWrapper blockTypeWrapper : destroy) {
-                    if (blockTypeWrapper.accepts(blockType)) {
-                        return;
-                    }
+                if (plot.getFlagContainer().getFlag(BreakFlag.class).accepts(blockType)) {
+                    return;
                 }
                 if (Permissions
                         .hasPermission(plotPlayer, Permission.PERMISSION_ADMIN_DESTROY_OTHER)) {
@@ -662,10 +664,8 @@ public class BlockEventListener implements Listener {
             }
             BukkitPlayer plotPlayer = BukkitUtil.adapt(player);
             if (!plot.isAdded(plotPlayer.getUUID())) {
-                List<BlockTypeWrapper> destroy = plot.getFlag(BreakFlag.class);
                 Block block = event.getBlock();
-                if (destroy
-                        .contains(BlockTypeWrapper.get(BukkitAdapter.asBlockType(block.getType())))
+                if (plot.getFlagContainer().getFlag(BreakFlag.class).accepts(BukkitAdapter.asBlockType(block.getType()))
                         || Permissions
                         .hasPermission(plotPlayer, Permission.PERMISSION_ADMIN_DESTROY_OTHER)) {
                     return;
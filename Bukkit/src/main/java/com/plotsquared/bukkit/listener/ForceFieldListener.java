@@ -28,8 +28,10 @@ package com.plotsquared.bukkit.listener;
 import com.google.common.collect.Iterables;
 import com.plotsquared.bukkit.player.BukkitPlayer;
 import com.plotsquared.bukkit.util.BukkitUtil;
+import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.location.Location;
 import com.plotsquared.core.permissions.Permission;
+import com.plotsquared.core.player.PlayerMetaDataKeys;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.flag.implementations.ForcefieldFlag;
@@ -105,8 +107,26 @@ public class ForceFieldListener {
         return new Vector(x, y, z);
     }
 
+    /**
+     * Check whether the forcefield of a moving player may be evaluated again, which is at most once
+     * every {@link Settings.Forcefield#CHECK_INTERVAL} milliseconds per player.
+     */
+    private static boolean shouldCheck(PlotPlayer<?> plotPlayer) {
+        final int interval = Settings.Forcefield.CHECK_INTERVAL;
+        if (interval <= 0) {
+            return true;
+        }
+        final long now = System.currentTimeMillis();
+        final Long last = plotPlayer.getTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_FORCEFIELD_CHECK);
+        if (last != null && now - last < interval) {
+            return false;
+        }
+        plotPlayer.setTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_FORCEFIELD_CHECK, now);
+        return true;
+    }
+
     public static void handleForcefield(Player player, PlotPlayer<?> plotPlayer, Plot plot) {
-        if (plot.getFlag(ForcefieldFlag.class)) {
+        if (plot.getFlag(ForcefieldFlag.class) && shouldCheck(plotPlayer)) {
             UUID uuid = plotPlayer.getUUID();
             if (plot.isAdded(uuid)) {
                 Set<PlotPlayer<?>> players = getNearbyPlayers(player, plot);
@@ -42,6 +42,7 @@ import com.plotsquared.core.location.Location;
 import com.plotsquared.core.permissions.Permission;
 import com.plotsquared.core.player.ConsolePlayer;
 import com.plotsquared.core.player.MetaDataAccess;
+import com.plotsquared.core.player.MovementBounds;
 import com.plotsquared.core.player.PlayerMetaDataKeys;
 import com.plotsquared.core.player.PlotPlayer;
 import com.plotsquared.core.plot.Plot;
@@ -510,42 +511,35 @@ public class PlayerEventListener extends PlotListener implements Listener {
             }
             // Set last location
             Location location = BukkitUtil.adapt(to);
-            try (final MetaDataAccess<Location> lastLocationAccess =
-                         pp.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LOCATION)) {
-                lastLocationAccess.remove();
+            pp.setTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LOCATION, location);
+            if (moveWithinBounds(player, pp, from, to)) {
+                return;
             }
             PlotArea area = location.getPlotArea();
             if (area == null) {
-                try (final MetaDataAccess<Plot> lastPlotAccess =
-                             pp.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT)) {
-                    lastPlotAccess.remove();
-                }
+                pp.removeTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT);
+                pp.removeTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_MOVEMENT_BOUNDS);
                 return;
             }
             Plot now = area.getPlot(location);
-            Plot lastPlot;
-            try (final MetaDataAccess<Plot> lastPlotAccess =
-                         pp.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT)) {
-                lastPlot = lastPlotAccess.get().orElse(null);
-            }
+            Plot lastPlot = pp.getTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT);
             if (now == null) {
-                try (final MetaDataAccess<Boolean> kickAccess =
-                             pp.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_KICK)) {
-                    if (lastPlot != null && !plotExit(pp, lastPlot) && this.tmpTeleport && !kickAccess.get().orElse(false)) {
-                        pp.sendMessage(
-                                TranslatableCaption.of("permission.no_permission_event"),
-                                Template.of("node", String.valueOf(Permission.PERMISSION_ADMIN_EXIT_DENIED))
-                        );
-                        this.tmpTeleport = false;
-                        if (lastPlot.equals(BukkitUtil.adapt(from).getPlot())) {
-                            player.teleport(from);
-                        } else {
-                            player.teleport(player.getWorld().getSpawnLocation());
-                        }
-                        this.tmpTeleport = true;
-                        event.setCancelled(true);
-                        return;
+                pp.removeTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_MOVEMENT_BOUNDS);
+                if (lastPlot != null && !plotExit(pp, lastPlot) && this.tmpTeleport
+                        && !Boolean.TRUE.equals(pp.getTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_KICK))) {
+                    pp.sendMessage(
+                            TranslatableCaption.of("permission.no_permission_event"),
+                            Template.of("node", String.valueOf(Permission.PERMISSION_ADMIN_EXIT_DENIED))
+                    );
+                    this.tmpTeleport = false;
+                    if (lastPlot.equals(BukkitUtil.adapt(from).getPlot())) {
+                        player.teleport(from);
+                    } else {
+                        player.teleport(player.getWorld().getSpawnLocation());
                     }
+                    this.tmpTeleport = true;
+                    event.setCancelled(true);
+                    return;
                 }
             } else if (now.equals(lastPlot)) {
                 ForceFieldListener.handleForcefield(player, pp, now);
@@ -562,6 +556,9 @@ public class PlayerEventListener extends PlotListener implements Listener {
                 this.tmpTeleport = true;
                 return;
             }
+            if (now != null) {
+                pp.setTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_MOVEMENT_BOUNDS, MovementBounds.of(area, location));
+            }
             int border = area.getBorder();
             int x1;
             if (x2 > border && this.tmpTeleport) {
@@ -600,42 +597,35 @@ public class PlayerEventListener extends PlotListener implements Listener {
             }
             // Set last location
             Location location = BukkitUtil.adapt(to);
-            try (final MetaDataAccess<Location> lastLocationAccess =
-                         pp.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LOCATION)) {
-                lastLocationAccess.set(location);
+            pp.setTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LOCATION, location);
+            if (moveWithinBounds(player, pp, from, to)) {
+                return;
             }
             PlotArea area = location.getPlotArea();
             if (area == null) {
-                try (final MetaDataAccess<Plot> lastPlotAccess =
-                             pp.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT)) {
-                    lastPlotAccess.remove();
-                }
+                pp.removeTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT);
+                pp.removeTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_MOVEMENT_BOUNDS);
                 return;
             }
             Plot plot = area.getPlot(location);
-            Plot lastPlot;
-            try (final MetaDataAccess<Plot> lastPlotAccess =
-                         pp.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT)) {
-                lastPlot = lastPlotAccess.get().orElse(null);
-            }
+            Plot lastPlot = pp.getTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT);
             if (plot == null) {
-                try (final MetaDataAccess<Boolean> kickAccess =
-                             pp.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_KICK)) {
-                    if (lastPlot != null && !plotExit(pp, lastPlot) && this.tmpTeleport && !kickAccess.get().orElse(false)) {
-                        pp.sendMessage(
-                                TranslatableCaption.of("permission.no_permission_event"),
-                                Template.of("node", String.valueOf(Permission.PERMISSION_ADMIN_EXIT_DENIED))
-                        );
-                        this.tmpTeleport = false;
-                        if (lastPlot.equals(BukkitUtil.adapt(from).getPlot())) {
-                            player.teleport(from);
-                        } else {
-                            player.teleport(player.getWorld().getSpawnLocation());
-                        }
-                        this.tmpTeleport = true;
-                        event.setCancelled(true);
-                        return;
+                pp.removeTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_MOVEMENT_BOUNDS);
+                if (lastPlot != null && !plotExit(pp, lastPlot) && this.tmpTeleport
+                        && !Boolean.TRUE.equals(pp.getTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_KICK))) {
+                    pp.sendMessage(
+                            TranslatableCaption.of("permission.no_permission_event"),
+                            Template.of("node", String.valueOf(Permission.PERMISSION_ADMIN_EXIT_DENIED))
+                    );
+                    this.tmpTeleport = false;
+                    if (lastPlot.equals(BukkitUtil.adapt(from).getPlot())) {
+                        player.teleport(from);
+                    } else {
+                        player.teleport(player.getWorld().getSpawnLocation());
                     }
+                    this.tmpTeleport = true;
+                    event.setCancelled(true);
+                    return;
                 }
             } else if (plot.equals(lastPlot)) {
                 ForceFieldListener.handleForcefield(player, pp, plot);
@@ -653,6 +643,9 @@ public class PlayerEventListener extends PlotListener implements Listener {
                 this.tmpTeleport = true;
                 return;
             }
+            if (plot != null) {
+                pp.setTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_MOVEMENT_BOUNDS, MovementBounds.of(area, location));
+            }
             int border = area.getBorder();
             int z1;
             if (z2 > border && this.tmpTeleport) {
@@ -683,6 +676,41 @@ public class PlayerEventListener extends PlotListener implements Listener {
         }
     }
 
+    /**
+     * Handle a move that starts and ends inside the cached plot bounds of the player. Such a move
+     * cannot enter or leave a plot, nor cross the area border, so only the forcefield needs to be
+     * checked.
+     *
+     * @return {@code true} if the move was handled, {@code false} if the plot has to be resolved
+     */
+    private boolean moveWithinBounds(
+            final @NonNull Player player, final @NonNull BukkitPlayer pp,
+            final org.bukkit.@NonNull Location from, final org.bukkit.@NonNull Location to
+    ) {
+        final MovementBounds bounds = pp.getTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_MOVEMENT_BOUNDS);
+        if (bounds == null) {
+            return false;
+        }
+        final int fromX = MathMan.roundInt(from.getX());
+        final int fromZ = MathMan.roundInt(from.getZ());
+        final int toX = MathMan.roundInt(to.getX());
+        final int toZ = MathMan.roundInt(to.getZ());
+        final String world = to.getWorld().getName();
+        if (!bounds.contains(world, toX, toZ) || !bounds.contains(world, fromX, fromZ)) {
+            return false;
+        }
+        final int border = bounds.getArea().getBorder();
+        if (Math.max(Math.max(Math.abs(fromX), Math.abs(toX)), Math.max(Math.abs(fromZ), Math.abs(toZ))) >= border) {
+            return false;
+        }
+        final Plot plot = bounds.getPlot();
+        if (plot == null || !plot.equals(pp.getTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT))) {
+            return false;
+        }
+        ForceFieldListener.handleForcefield(player, pp, plot);
+        return true;
+    }
+
     @EventHandler(priority = EventPriority.LOW)
     public void onChat(AsyncPlayerChatEvent event) {
         if (event.isCancelled()) {
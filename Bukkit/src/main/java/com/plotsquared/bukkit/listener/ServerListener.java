@@ -31,6 +31,7 @@ import com.plotsquared.bukkit.placeholder.MVdWPlaceholders;
 import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
 import com.plotsquared.core.player.ConsolePlayer;
+import com.plotsquared.core.plot.flag.types.BlockTypeMatcher;
 import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -48,6 +49,8 @@ public class ServerListener implements Listener {
 
     @EventHandler
     public void onServerLoad(ServerLoadEvent event) {
+        // Block tags are (re)loaded at this point
+        BlockTypeMatcher.invalidateAll();
         if (Bukkit.getPluginManager().getPlugin("MVdWPlaceholderAPI") != null && Settings.Enabled_Components.USE_MVDWAPI) {
             new MVdWPlaceholders(this.plugin, this.plugin.placeholderRegistry());
             ConsolePlayer.getConsole().sendMessage(TranslatableCaption.of("placeholder.hooked"));
@@ -29,9 +29,10 @@ import com.google.inject.Inject;
 import com.google.inject.assistedinject.Assisted;
 import com.plotsquared.bukkit.BukkitPlatform;
 import com.plotsquared.core.PlotSquared;
+import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.queue.ChunkCoordinator;
+import com.plotsquared.core.queue.ChunkScheduler;
 import com.plotsquared.core.queue.subscriber.ProgressSubscriber;
-import com.plotsquared.core.util.task.PlotSquaredTask;
 import com.plotsquared.core.util.task.TaskManager;
 import com.plotsquared.core.util.task.TaskTime;
 import com.sk89q.worldedit.math.BlockVector2;
@@ -48,6 +49,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
@@ -59,8 +61,30 @@ import java.util.function.Consumer;
  * coordinator will prevent the chunks from being unloaded until the sink
  * has fully consumed the chunk
  * </p>
+ * <p>
+ * Loaded chunks are applied from the shared {@link ChunkScheduler}, so that all running
+ * coordinators together stay within one per-tick time budget
+ * </p>
+ * <p>
+ * The number of chunks kept loaded or loading ahead of the consumer is adjusted by
+ * additive increase, multiplicative decrease: it grows while the consumer runs out of
+ * chunks with time to spare, and halves when loads get slow or loaded chunks pile up
+ * faster than they can be applied
+ * </p>
  **/
-public final class BukkitChunkCoordinator extends ChunkCoordinator {
+public final class BukkitChunkCoordinator extends ChunkCoordinator implements ChunkScheduler.Worker {
+
+    private static final int ADDITIVE_INCREASE = 2;
+    private static final long SLOW_LOAD_TIME = TimeUnit.MILLISECONDS.toNanos(500);
+    /**
+     * Minimum number of ticks between two decreases, so that a single slow period
+     * does not collapse the batch size
+     */
+    private static final int DECREASE_INTERVAL = 20;
+    /**
+     * Weight of the latest sample in the load and apply time averages
+     */
+    private static final double AVERAGE_WEIGHT = 0.1;
 
     private final List<ProgressSubscriber> progressSubscribers = new LinkedList<>();
 
@@ -74,10 +98,16 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
     private final Consumer<Throwable> throwableConsumer;
     private final boolean unloadAfter;
     private final int totalSize;
+    private final ChunkScheduler scheduler;
 
     private final AtomicInteger expectedSize;
+    private final AtomicInteger inFlight = new AtomicInteger();
     private int batchSize;
-    private PlotSquaredTask task;
+    private int ticksSinceDecrease;
+    // Averages in nanoseconds, only accessed from the server thread
+    private double loadTime;
+    private double applyTime;
+    private volatile ChunkScheduler.Handle handle;
     private boolean shouldCancel;
     private boolean finished;
 
@@ -91,13 +121,14 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
             @Assisted final @NonNull Runnable whenDone,
             @Assisted final @NonNull Consumer<Throwable> throwableConsumer,
             @Assisted final boolean unloadAfter,
-            @Assisted final @NonNull Collection<ProgressSubscriber> progressSubscribers
+            @Assisted final @NonNull Collection<ProgressSubscriber> progressSubscribers,
+            final @NonNull ChunkScheduler scheduler
     ) {
         this.requestedChunks = new LinkedBlockingQueue<>(requestedChunks);
         this.availableChunks = new LinkedBlockingQueue<>();
         this.totalSize = requestedChunks.size();
         this.expectedSize = new AtomicInteger(this.totalSize);
-        this.batchSize = initialBatchSize;
+        this.batchSize = Math.min(initialBatchSize, getTicketLimit());
         this.chunkConsumer = chunkConsumer;
         this.maxIterationTime = maxIterationTime;
         this.whenDone = whenDone;
@@ -106,6 +137,7 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
         this.plugin = JavaPlugin.getPlugin(BukkitPlatform.class);
         this.bukkitWorld = Bukkit.getWorld(world.getName());
         this.progressSubscribers.addAll(progressSubscribers);
+        this.scheduler = scheduler;
     }
 
     @Override
@@ -113,7 +145,7 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
         // Request initial batch
         this.requestBatch();
         // Wait until next tick to give the chunks a chance to be loaded
-        TaskManager.runTaskLater(() -> task = TaskManager.runTaskRepeat(this, TaskTime.ticks(1)), TaskTime.ticks(1));
+        TaskManager.runTaskLater(() -> handle = scheduler.submit(this), TaskTime.ticks(1));
     }
 
     @Override
@@ -130,13 +162,20 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
             for (final ProgressSubscriber subscriber : this.progressSubscribers) {
                 subscriber.notifyEnd();
             }
-            task.cancel();
             finished = true;
         }
     }
 
     @Override
     public void run() {
+        this.work(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(this.maxIterationTime));
+    }
+
+    @Override
+    public int work(final long deadline) {
+        if (finished) {
+            return 0;
+        }
         if (shouldCancel) {
             if (unloadAfter) {
                 Chunk chunk;
@@ -145,17 +184,22 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
                 }
             }
             finish();
-            return;
+            return 0;
         }
 
         Chunk chunk = this.availableChunks.poll();
         if (chunk == null) {
-            return;
+            this.adjustBatchSize(true);
+            this.requestBatch();
+            return 0;
         }
-        long[] iterationTime = new long[2];
+        long now = System.nanoTime();
+        // Never use more than this coordinator's own limit, even if the shared budget allows it
+        final long end = Math.min(deadline, now + TimeUnit.MILLISECONDS.toNanos(this.maxIterationTime));
+        long iterationTime;
         int processedChunks = 0;
         do {
-            final long start = System.currentTimeMillis();
+            final long start = now;
             try {
                 this.chunkConsumer.accept(BlockVector2.at(chunk.getX(), chunk.getZ()));
             } catch (final Throwable throwable) {
@@ -165,37 +209,65 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
                 this.freeChunk(chunk);
             }
             processedChunks++;
-            final long end = System.currentTimeMillis();
-            // Update iteration time
-            iterationTime[0] = iterationTime[1];
-            iterationTime[1] = end - start;
-        } while (iterationTime[0] + iterationTime[1] < this.maxIterationTime * 2 && (chunk = availableChunks.poll()) != null);
-        if (processedChunks < this.batchSize) {
-            // Adjust batch size based on the amount of processed chunks per tick
-            this.batchSize = processedChunks;
-        }
+            now = System.nanoTime();
+            iterationTime = now - start;
+            this.applyTime += AVERAGE_WEIGHT * (iterationTime - this.applyTime);
+            // Stop if the next chunk is expected to take us past the deadline
+        } while (now + iterationTime < end && (chunk = availableChunks.poll()) != null);
 
         final int expected = this.expectedSize.addAndGet(-processedChunks);
 
         if (expected <= 0) {
             finish();
         } else {
-            if (this.availableChunks.size() < processedChunks) {
-                final double progress = ((double) totalSize - (double) expected) / (double) totalSize;
-                for (final ProgressSubscriber subscriber : this.progressSubscribers) {
-                    subscriber.notifyProgress(this, progress);
-                }
-                this.requestBatch();
+            final double progress = ((double) totalSize - (double) expected) / (double) totalSize;
+            for (final ProgressSubscriber subscriber : this.progressSubscribers) {
+                subscriber.notifyProgress(this, progress);
             }
+            // The consumer was starved if it ran out of chunks before the deadline
+            this.adjustBatchSize(chunk == null);
+            this.requestBatch();
+        }
+        return processedChunks;
+    }
+
+    /**
+     * Adjust the number of chunks to keep loaded or loading ahead of the consumer
+     *
+     * @param starved if the consumer ran out of loaded chunks during this tick
+     */
+    private void adjustBatchSize(final boolean starved) {
+        this.ticksSinceDecrease++;
+        final boolean slowLoads = this.loadTime > SLOW_LOAD_TIME;
+        // More chunks waiting than can be applied in two ticks only hold tickets for nothing
+        final boolean backlog = this.availableChunks.size() * this.applyTime
+                > 2 * TimeUnit.MILLISECONDS.toNanos(this.maxIterationTime);
+        if ((slowLoads || backlog) && this.ticksSinceDecrease >= DECREASE_INTERVAL) {
+            this.batchSize = Math.max(1, this.batchSize / 2);
+            this.ticksSinceDecrease = 0;
+        } else if (starved && !slowLoads) {
+            this.batchSize = Math.min(getTicketLimit(), this.batchSize + ADDITIVE_INCREASE);
         }
     }
 
+    private static int getTicketLimit() {
+        return Math.max(1, Settings.QUEUE.MAX_CHUNK_TICKETS);
+    }
+
+    @Override
+    public boolean isFinished() {
+        return this.finished;
+    }
+
     /**
-     * Requests a batch of chunks to be loaded
+     * Requests chunks to be loaded until the batch size worth of chunks is loaded or loading
      */
     private void requestBatch() {
+        final int limit = Math.min(this.batchSize, getTicketLimit());
         BlockVector2 chunk;
-        for (int i = 0; i < this.batchSize && (chunk = this.requestedChunks.poll()) != null; i++) {
+        while (this.inFlight.get() + this.availableChunks.size() < limit && (chunk = this.requestedChunks.poll()) != null) {
+            this.inFlight.incrementAndGet();
+            final long requested = System.nanoTime();
             // This required PaperLib to be bumped to version 1.0.4 to mark the request as urgent
             PaperLib
                     .getChunkAtAsync(this.bukkitWorld, chunk.getX(), chunk.getZ(), true, true)
@@ -204,10 +276,11 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
                             throwable.printStackTrace();
                             // We want one less because this couldn't be processed
                             this.expectedSize.decrementAndGet();
+                            this.inFlight.decrementAndGet();
                         } else if (PlotSquared.get().isMainThread(Thread.currentThread())) {
-                            this.processChunk(chunkObject);
+                            this.processChunk(chunkObject, requested);
                         } else {
-                            TaskManager.runTask(() -> this.processChunk(chunkObject));
+                            TaskManager.runTask(() -> this.processChunk(chunkObject, requested));
                         }
                     });
         }
@@ -218,7 +291,9 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
      * available chunks list). It is important that this gets executed on the
      * server's main thread.
      */
-    private void processChunk(final @NonNull Chunk chunk) {
+    private void processChunk(final @NonNull Chunk chunk, final long requested) {
+        this.inFlight.decrementAndGet();
+        this.loadTime += AVERAGE_WEIGHT * ((System.nanoTime() - requested) - this.loadTime);
         if (!chunk.isLoaded()) {
             throw new IllegalArgumentException(String.format("Chunk %d;%d is is not loaded", chunk.getX(), chunk.getZ()));
         }
@@ -249,6 +324,12 @@ public final class BukkitChunkCoordinator extends ChunkCoordinator {
         return this.totalSize;
     }
 
+    @Override
+    public double getChunksAppliedPerTick() {
+        final ChunkScheduler.Handle handle = this.handle;
+        return handle == null ? 0 : handle.getChunksAppliedPerTick();
+    }
+
     /**
      * Subscribe to coordinator progress updates
      *
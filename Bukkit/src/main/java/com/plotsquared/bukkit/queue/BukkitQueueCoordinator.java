@@ -28,12 +28,14 @@ package com.plotsquared.bukkit.queue;
 import com.google.inject.Inject;
 import com.plotsquared.bukkit.schematic.StateWrapper;
 import com.plotsquared.bukkit.util.BukkitBlockUtil;
+import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.inject.factory.ChunkCoordinatorBuilderFactory;
 import com.plotsquared.core.inject.factory.ChunkCoordinatorFactory;
 import com.plotsquared.core.queue.BasicQueueCoordinator;
 import com.plotsquared.core.queue.ChunkCoordinator;
 import com.plotsquared.core.queue.LocalChunk;
+import com.plotsquared.core.queue.PalettedSection;
 import com.plotsquared.core.util.ChunkUtil;
 import com.sk89q.jnbt.CompoundTag;
 import com.sk89q.worldedit.WorldEditException;
@@ -52,13 +54,21 @@ import com.sk89q.worldedit.world.block.BaseBlock;
 import com.sk89q.worldedit.world.block.BlockState;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.Container;
 import org.bukkit.block.data.BlockData;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 
 public class BukkitQueueCoordinator extends BasicQueueCoordinator {
@@ -73,6 +83,9 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
     @Inject
     private ChunkCoordinatorFactory chunkCoordinatorFactory;
     private ChunkCoordinator chunkCoordinator;
+    // Block states of materials without properties, and adapted block data of the others, for reading sections
+    private Map<Material, BlockState> statelessStates;
+    private Map<BlockData, BlockState> adaptedStates;
 
     @Inject
     public BukkitQueueCoordinator(@NonNull World world) {
@@ -98,6 +111,37 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
         return BukkitBlockUtil.get(block);
     }
 
+    @Override
+    public void readSections(int chunkX, int chunkZ, int minLayer, @Nullable BlockState @NonNull [][] sections) {
+        ChunkSnapshot snapshot = getBukkitWorld().getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false);
+        if (this.statelessStates == null) {
+            this.statelessStates = new EnumMap<>(Material.class);
+            this.adaptedStates = new HashMap<>();
+        }
+        for (int i = 0; i < sections.length; i++) {
+            BlockState[] blocks = sections[i];
+            if (blocks == null) {
+                continue;
+            }
+            int by = (minLayer + i) << 4;
+            for (int j = 0; j < PalettedSection.SIZE; j++) {
+                int x = ChunkUtil.getX(j);
+                int y = by + (j >> 8);
+                int z = ChunkUtil.getZ(j);
+                // Only blocks with properties need their block data, which is created on every call
+                Material material = snapshot.getBlockType(x, y, z);
+                BlockState state = this.statelessStates.get(material);
+                if (state == null) {
+                    state = this.adaptedStates.computeIfAbsent(snapshot.getBlockData(x, y, z), BukkitAdapter::adapt);
+                    if (state.getStates().isEmpty()) {
+                        this.statelessStates.put(material, state);
+                    }
+                }
+                blocks[j] = state;
+            }
+        }
+    }
+
     @Override
     public void start() {
         chunkCoordinator.start();
@@ -156,16 +200,13 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
                 if (localChunk == null) {
                     return;
                 }
-                for (int layer = 0; layer < localChunk.getBaseblocks().length; layer++) {
-                    BaseBlock[] blocksLayer = localChunk.getBaseblocks()[layer];
-                    if (blocksLayer == null) {
+                for (int layer = 0; layer < LocalChunk.LAYERS; layer++) {
+                    PalettedSection<BaseBlock> blocksLayer = localChunk.getBlockSection(layer);
+                    if (blocksLayer == null || blocksLayer.isEmpty()) {
                         continue;
                     }
-                    for (int j = 0; j < blocksLayer.length; j++) {
-                        if (blocksLayer[j] == null) {
-                            continue;
-                        }
-                        BaseBlock block = blocksLayer[j];
+                    for (int j = 0; j < PalettedSection.SIZE; j++) {
+                        BaseBlock block = blocksLayer.get(j);
 
                         if (block != null) {
                             int lx = ChunkUtil.getX(j);
@@ -180,16 +221,13 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
                         }
                     }
                 }
-                for (int layer = 0; layer < localChunk.getBaseblocks().length; layer++) {
-                    BiomeType[] biomesLayer = localChunk.getBiomes()[layer];
-                    if (biomesLayer == null) {
+                for (int layer = 0; layer < LocalChunk.LAYERS; layer++) {
+                    PalettedSection<BiomeType> biomesLayer = localChunk.getBiomeSection(layer);
+                    if (biomesLayer == null || biomesLayer.isEmpty()) {
                         continue;
                     }
-                    for (int j = 0; j < biomesLayer.length; j++) {
-                        if (biomesLayer[j] == null) {
-                            continue;
-                        }
-                        BiomeType biome = biomesLayer[j];
+                    for (int j = 0; j < PalettedSection.SIZE; j++) {
+                        BiomeType biome = biomesLayer.get(j);
                         if (biome != null) {
                             int x = sx + ChunkUtil.getX(j);
                             int y = ChunkUtil.getY(layer, j);
@@ -224,10 +262,8 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
                         .inWorld(getWorld())
                         .withChunks(getBlockChunks().keySet())
                         .withChunks(read)
-                        .withInitialBatchSize(3)
-                        .withMaxIterationTime(40)
                         .withThrowableConsumer(Throwable::printStackTrace)
-                        .withFinalAction(getCompleteTask())
+                        .withFinalAction(trackModifications(getCompleteTask()))
                         .withConsumer(consumer)
                         .unloadAfter(isUnloadAfter())
                         .withProgressSubscribers(getProgressSubscribers())
@@ -235,6 +271,23 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
         return super.enqueue();
     }
 
+    /**
+     * Wrap the complete task to record the modification of the plots within the changed chunks once they are written
+     */
+    private Runnable trackModifications(Runnable whenDone) {
+        if (getBlockChunks().isEmpty()) {
+            return whenDone;
+        }
+        final String world = getWorld().getName();
+        final Set<BlockVector2> chunks = new HashSet<>(getBlockChunks().keySet());
+        return () -> {
+            PlotSquared.get().getPlotAnalysisStore().markModified(world, chunks);
+            if (whenDone != null) {
+                whenDone.run();
+            }
+        };
+    }
+
     /**
      * Set a block to the world. First tries WNA but defaults to normal block setting methods if that fails
      */
@@ -297,63 +350,63 @@ public class BukkitQueueCoordinator extends BasicQueueCoordinator {
     }
 
     private boolean isEdge(int layer, int x, int y, int z, BlockVector2 blockVector2, LocalChunk localChunk) {
-        if (layer == 0 || layer == localChunk.getBaseblocks().length - 1) {
+        if (layer == 0 || layer == LocalChunk.LAYERS - 1) {
             return false;
         }
         if (x == 0) {
             LocalChunk localChunkX = getBlockChunks().get(blockVector2.withX(blockVector2.getX() - 1));
-            if (localChunkX == null || localChunkX.getBaseblocks()[layer] == null ||
-                    localChunkX.getBaseblocks()[layer][ChunkUtil.getJ(15, y, z)] != null) {
+            if (localChunkX == null || localChunkX.getBlockSection(layer) == null ||
+                    localChunkX.getBlock(layer, ChunkUtil.getJ(15, y, z)) != null) {
                 return true;
             }
         } else if (x == 15) {
             LocalChunk localChunkX = getBlockChunks().get(blockVector2.withX(blockVector2.getX() + 1));
-            if (localChunkX == null || localChunkX.getBaseblocks()[layer] == null ||
-                    localChunkX.getBaseblocks()[layer][ChunkUtil.getJ(0, y, z)] != null) {
+            if (localChunkX == null || localChunkX.getBlockSection(layer) == null ||
+                    localChunkX.getBlock(layer, ChunkUtil.getJ(0, y, z)) != null) {
                 return true;
             }
         }
         if (z == 0) {
             LocalChunk localChunkZ = getBlockChunks().get(blockVector2.withZ(blockVector2.getZ() - 1));
-            if (localChunkZ == null || localChunkZ.getBaseblocks()[layer] == null ||
-                    localChunkZ.getBaseblocks()[layer][ChunkUtil.getJ(x, y, 15)] != null) {
+            if (localChunkZ == null || localChunkZ.getBlockSection(layer) == null ||
+                    localChunkZ.getBlock(layer, ChunkUtil.getJ(x, y, 15)) != null) {
                 return true;
             }
         } else if (z == 15) {
             LocalChunk localChunkZ = getBlockChunks().get(blockVector2.withZ(blockVector2.getZ() + 1));
-            if (localChunkZ == null || localChunkZ.getBaseblocks()[layer] == null ||
-                    localChunkZ.getBaseblocks()[layer][ChunkUtil.getJ(x, y, 0)] != null) {
+            if (localChunkZ == null || localChunkZ.getBlockSection(layer) == null ||
+                    localChunkZ.getBlock(layer, ChunkUtil.getJ(x, y, 0)) != null) {
                 return true;
             }
         }
         if (y == 0) {
-            if (localChunk.getBaseblocks()[layer - 1] == null ||
-                    localChunk.getBaseblocks()[layer][ChunkUtil.getJ(x, 15, z)] != null) {
+            if (localChunk.getBlockSection(layer - 1) == null ||
+                    localChunk.getBlock(layer, ChunkUtil.getJ(x, 15, z)) != null) {
                 return true;
             }
         } else if (y == 15) {
-            if (localChunk.getBaseblocks()[layer + 1] == null ||
-                    localChunk.getBaseblocks()[layer][ChunkUtil.getJ(x, 0, z)] != null) {
+            if (localChunk.getBlockSection(layer + 1) == null ||
+                    localChunk.getBlock(layer, ChunkUtil.getJ(x, 0, z)) != null) {
                 return true;
             }
         }
-        BaseBlock[] baseBlocks = localChunk.getBaseblocks()[layer];
-        if (x > 0 && baseBlocks[ChunkUtil.getJ(x - 1, y, z)] == null) {
+        PalettedSection<BaseBlock> baseBlocks = localChunk.getBlockSection(layer);
+        if (x > 0 && baseBlocks.get(ChunkUtil.getJ(x - 1, y, z)) == null) {
             return true;
         }
-        if (x < 15 && baseBlocks[ChunkUtil.getJ(x + 1, y, z)] == null) {
+        if (x < 15 && baseBlocks.get(ChunkUtil.getJ(x + 1, y, z)) == null) {
             return true;
         }
-        if (y > 0 && baseBlocks[ChunkUtil.getJ(x, y - 1, z)] == null) {
+        if (y > 0 && baseBlocks.get(ChunkUtil.getJ(x, y - 1, z)) == null) {
             return true;
         }
-        if (y < 15 && baseBlocks[ChunkUtil.getJ(x, y + 1, z)] == null) {
+        if (y < 15 && baseBlocks.get(ChunkUtil.getJ(x, y + 1, z)) == null) {
             return true;
         }
-        if (z > 0 && baseBlocks[ChunkUtil.getJ(x, y, z - 1)] == null) {
+        if (z > 0 && baseBlocks.get(ChunkUtil.getJ(x, y, z - 1)) == null) {
             return true;
         }
-        return z < 15 && baseBlocks[ChunkUtil.getJ(x, y, z + 1)] == null;
+        return z < 15 && baseBlocks.get(ChunkUtil.getJ(x, y, z + 1)) == null;
     }
 
     private boolean isEdgeRegen(int x, int z, BlockVector2 blockVector2) {
@@ -30,6 +30,7 @@ import com.plotsquared.bukkit.util.BukkitBlockUtil;
 import com.plotsquared.bukkit.util.BukkitUtil;
 import com.plotsquared.core.location.ChunkWrapper;
 import com.plotsquared.core.location.Location;
+import com.plotsquared.core.queue.PalettedSection;
 import com.plotsquared.core.queue.ScopedQueueCoordinator;
 import com.plotsquared.core.util.ChunkUtil;
 import com.plotsquared.core.util.PatternUtil;
@@ -43,12 +44,15 @@ import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.World;
 import org.bukkit.block.Biome;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.generator.ChunkGenerator.BiomeGrid;
 import org.bukkit.generator.ChunkGenerator.ChunkData;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 public class GenChunk extends ScopedQueueCoordinator {
 
@@ -135,7 +139,7 @@ public class GenChunk extends ScopedQueueCoordinator {
                 if (data == null) {
                     result[layer] = data = new BlockState[4096];
                 }
-                int start = y << 8;
+                int start = (y & 15) << 8;
                 int end = start + 256;
                 Arrays.fill(data, start, end, block);
             }
@@ -149,6 +153,85 @@ public class GenChunk extends ScopedQueueCoordinator {
         chunkData.setRegion(minX, minY, minZ, maxX + 1, maxY + 1, maxZ + 1, BukkitAdapter.adapt(block));
     }
 
+    @Override
+    public void setColumn(int x, int z, int minY, int maxY, @NonNull Pattern pattern) {
+        BaseBlock block = PatternUtil.getSingleBlock(pattern);
+        if (block == null) {
+            super.setColumn(x, z, minY, maxY, pattern);
+            return;
+        }
+        minY = Math.max(0, minY);
+        maxY = Math.min(255, maxY);
+        if (minY > maxY) {
+            return;
+        }
+        this.chunkData.setRegion(x, minY, z, x + 1, maxY + 1, z + 1, BukkitAdapter.adapt(block));
+        if (this.result != null) {
+            BlockState state = block.toImmutableState();
+            for (int y = minY; y <= maxY; y++) {
+                this.storeCache(x, y, z, state);
+            }
+        }
+    }
+
+    @Override
+    public void fillSection(int chunkX, int layer, int chunkZ, @NonNull BaseBlock block) {
+        if (chunkX != 0 || chunkZ != 0 || layer < 0 || layer > 15) {
+            return;
+        }
+        int minY = layer << 4;
+        this.chunkData.setRegion(0, minY, 0, 16, minY + 16, 16, BukkitAdapter.adapt(block));
+        if (this.result != null) {
+            BlockState[] data = new BlockState[4096];
+            Arrays.fill(data, block.toImmutableState());
+            this.result[layer] = data;
+        }
+    }
+
+    @Override
+    public void setSection(int chunkX, int layer, int chunkZ, @NonNull PalettedSection<BaseBlock> section) {
+        if (chunkX != 0 || chunkZ != 0 || layer < 0 || layer > 15 || section.isEmpty()) {
+            return;
+        }
+        BaseBlock single = section.getSingleValue();
+        if (single != null) {
+            fillSection(chunkX, layer, chunkZ, single);
+            return;
+        }
+        BlockState[] data = null;
+        if (this.result != null) {
+            data = this.result[layer];
+            if (data == null) {
+                this.result[layer] = data = new BlockState[4096];
+            }
+        }
+        // Every distinct block of the section is adapted once, and runs along x are set as one region
+        Map<BaseBlock, BlockData> adapted = new HashMap<>();
+        int minY = layer << 4;
+        for (int j = 0; j < PalettedSection.SIZE; ) {
+            BaseBlock block = section.get(j);
+            int end = j + 1;
+            while ((end & 15) != 0 && section.get(end) == block) {
+                end++;
+            }
+            if (block != null) {
+                int x = ChunkUtil.getX(j);
+                int y = minY + (j >> 8);
+                int z = ChunkUtil.getZ(j);
+                BlockData blockData = adapted.computeIfAbsent(block, BukkitAdapter::adapt);
+                if (end - j == 1) {
+                    this.chunkData.setBlock(x, y, z, blockData);
+                } else {
+                    this.chunkData.setRegion(x, y, z, x + end - j, y + 1, z + 1, blockData);
+                }
+                if (data != null) {
+                    Arrays.fill(data, j, end, block.toImmutableState());
+                }
+            }
+            j = end;
+        }
+    }
+
     @Override
     public boolean setBiome(int x, int z, @NonNull BiomeType biomeType) {
         return setBiome(x, z, BukkitAdapter.adapt(biomeType));
@@ -0,0 +1,272 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.bukkit.util;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.world.PlotAreaManager;
+import com.plotsquared.core.util.entity.EntityCategories;
+import com.plotsquared.core.util.entity.EntityCounts;
+import com.plotsquared.core.util.task.TaskManager;
+import com.plotsquared.core.util.task.TaskTime;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.EntityType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_ANIMAL;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_ENTITY;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MISC;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MOB;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MONSTER;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_VEHICLE;
+
+/**
+ * Keeps live per-plot entity counts, indexed by the {@link EntityCategories} caps, so that cap
+ * checks do not have to scan the chunks of a plot. Counts are kept per absolute plot and are
+ * fed by {@link com.plotsquared.bukkit.listener.PaperEntityCounterListener} when entities are
+ * added to or removed from a world and when they move to another block column, teleport or move
+ * in a vehicle. Entities without move events (items, projectiles, ...) are picked up by a
+ * reconciliation pass that re-checks a slice of the tracked entities every tick, so that every
+ * entity is re-checked about once a second. The loaded entities of a world are picked up once
+ * it gets a plot area.
+ * <p>
+ * Counting is only enabled on Paper, elsewhere {@link #isCounting(String)} stays {@code false}. All
+ * tracking happens on the main thread, counts may be read from any thread.
+ */
+@Singleton
+public class BukkitEntityCounter {
+
+    private static final int[] NO_CATEGORIES = new int[0];
+    private static final int RECONCILE_MIN_PER_TICK = 256;
+    private static final int RECONCILE_TICKS = 20;
+    private static final int WORLD_CHECK_TICKS = 20;
+    private static final Map<EntityType, int[]> CATEGORIES = new EnumMap<>(EntityType.class);
+
+    private final PlotAreaManager plotAreaManager;
+    private final Map<UUID, TrackedEntity> tracked = new HashMap<>();
+    private final ArrayDeque<TrackedEntity> reconcileQueue = new ArrayDeque<>();
+    private final EntityCounts<Plot> counts = new EntityCounts<>();
+    private final Set<String> trackedWorlds = ConcurrentHashMap.newKeySet();
+    private int ticks;
+    private volatile boolean enabled;
+
+    @Inject
+    public BukkitEntityCounter(final @NonNull PlotAreaManager plotAreaManager) {
+        this.plotAreaManager = plotAreaManager;
+    }
+
+    /**
+     * Get the cap indices that an entity type counts towards. Players do not count towards any cap.
+     *
+     * @param type the entity type
+     * @return the cap indices, see {@link EntityCategories#CAP_ENTITY} and friends
+     */
+    public static int @NonNull [] getCategories(final @NonNull EntityType type) {
+        synchronized (CATEGORIES) {
+            return CATEGORIES.computeIfAbsent(type, BukkitEntityCounter::computeCategories);
+        }
+    }
+
+    private static int @NonNull [] computeCategories(final @NonNull EntityType type) {
+        final com.sk89q.worldedit.world.entity.EntityType entityType = BukkitAdapter.adapt(type);
+        if (entityType == null || EntityCategories.PLAYER.contains(entityType)) {
+            return NO_CATEGORIES;
+        } else if (EntityCategories.PROJECTILE.contains(entityType) || EntityCategories.OTHER.contains(entityType) || EntityCategories.HANGING
+                .contains(entityType)) {
+            return new int[]{CAP_ENTITY, CAP_MISC};
+        } else if (EntityCategories.ANIMAL.contains(entityType) || EntityCategories.VILLAGER.contains(entityType) || EntityCategories.TAMEABLE
+                .contains(entityType)) {
+            return new int[]{CAP_ENTITY, CAP_MOB, CAP_ANIMAL};
+        } else if (EntityCategories.VEHICLE.contains(entityType)) {
+            return new int[]{CAP_ENTITY, CAP_VEHICLE};
+        } else if (EntityCategories.HOSTILE.contains(entityType)) {
+            return new int[]{CAP_ENTITY, CAP_MOB, CAP_MONSTER};
+        }
+        return new int[]{CAP_ENTITY};
+    }
+
+    /**
+     * Start counting and schedule the reconciliation. Worlds do not have to be loaded yet, their
+     * entities are tracked once they have a plot area. Must be called on the main thread, after
+     * the listener feeding this counter has been registered.
+     */
+    public void start() {
+        trackWorlds();
+        TaskManager.runTaskRepeat(this::reconcile, TaskTime.ticks(1L));
+        this.enabled = true;
+    }
+
+    /**
+     * Check whether live counts are available for a world.
+     *
+     * @param world the world name
+     * @return {@code true} if counting has started and the loaded entities of the world are tracked
+     */
+    public boolean isCounting(final @Nullable String world) {
+        return this.enabled && world != null && this.trackedWorlds.contains(world);
+    }
+
+    /**
+     * Get the number of loaded entities per cap inside an absolute plot.
+     *
+     * @param plot the (unmerged) plot
+     * @return a new array of entity counts, indexed by the {@link EntityCategories} caps
+     */
+    public int @NonNull [] getCounts(final @NonNull Plot plot) {
+        return this.counts.get(plot);
+    }
+
+    /**
+     * Start tracking an entity that has been added to a world. Must be called on the main thread.
+     *
+     * @param entity the entity
+     */
+    public void track(final @NonNull Entity entity) {
+        if (this.enabled && this.plotAreaManager.hasPlotArea(entity.getWorld().getName())) {
+            trackEntity(entity);
+        }
+    }
+
+    /**
+     * Stop tracking an entity that has been removed from its world. Must be called on the main thread.
+     *
+     * @param entity the entity
+     */
+    public void untrack(final @NonNull Entity entity) {
+        final TrackedEntity trackedEntity = this.tracked.remove(entity.getUniqueId());
+        if (trackedEntity != null) {
+            trackedEntity.removed = true;
+            move(trackedEntity, null);
+        }
+    }
+
+    /**
+     * Update the plot of a tracked entity that moved within its world. Must be called on the main thread.
+     *
+     * @param entity   the entity
+     * @param location the new location of the entity
+     */
+    public void update(final @NonNull Entity entity, final org.bukkit.@NonNull Location location) {
+        final TrackedEntity trackedEntity = this.tracked.get(entity.getUniqueId());
+        if (trackedEntity != null) {
+            move(trackedEntity, getPlot(location));
+        }
+    }
+
+    /**
+     * Track the loaded entities of worlds that got a plot area since the last check, e.g. worlds
+     * that loaded after startup or areas created with {@code /plot area create}.
+     */
+    private void trackWorlds() {
+        for (final World world : Bukkit.getWorlds()) {
+            if (this.trackedWorlds.contains(world.getName()) || !this.plotAreaManager.hasPlotArea(world.getName())) {
+                continue;
+            }
+            this.trackedWorlds.add(world.getName());
+            for (final Entity entity : world.getEntities()) {
+                trackEntity(entity);
+            }
+        }
+    }
+
+    private void trackEntity(final @NonNull Entity entity) {
+        final int[] categories = getCategories(entity.getType());
+        if (categories.length == 0 || this.tracked.containsKey(entity.getUniqueId())) {
+            return;
+        }
+        final TrackedEntity trackedEntity = new TrackedEntity(entity, categories);
+        this.tracked.put(entity.getUniqueId(), trackedEntity);
+        this.reconcileQueue.add(trackedEntity);
+        move(trackedEntity, getPlot(entity.getLocation()));
+    }
+
+    private void reconcile() {
+        if (++this.ticks >= WORLD_CHECK_TICKS) {
+            this.ticks = 0;
+            trackWorlds();
+        }
+        final int size = this.reconcileQueue.size();
+        for (int i = Math.min(Math.max(RECONCILE_MIN_PER_TICK, size / RECONCILE_TICKS + 1), size); i > 0; i--) {
+            final TrackedEntity trackedEntity = this.reconcileQueue.poll();
+            if (trackedEntity.removed) {
+                continue;
+            }
+            if (!trackedEntity.entity.isValid()) {
+                // Missed removal, e.g. while the listener was not registered yet
+                this.tracked.remove(trackedEntity.entity.getUniqueId(), trackedEntity);
+                trackedEntity.removed = true;
+                move(trackedEntity, null);
+                continue;
+            }
+            move(trackedEntity, getPlot(trackedEntity.entity.getLocation()));
+            this.reconcileQueue.add(trackedEntity);
+        }
+    }
+
+    private @Nullable Plot getPlot(final org.bukkit.@NonNull Location bukkitLocation) {
+        final Location location = BukkitUtil.adapt(bukkitLocation);
+        final PlotArea area = this.plotAreaManager.getApplicablePlotArea(location);
+        if (area == null) {
+            return null;
+        }
+        return area.getPlotAbs(location);
+    }
+
+    private void move(final @NonNull TrackedEntity trackedEntity, final @Nullable Plot plot) {
+        this.counts.move(trackedEntity.categories, trackedEntity.plot, plot);
+        trackedEntity.plot = plot;
+    }
+
+    private static final class TrackedEntity {
+
+        private final Entity entity;
+        private final int[] categories;
+        private @Nullable Plot plot;
+        private boolean removed;
+
+        private TrackedEntity(final @NonNull Entity entity, final int @NonNull [] categories) {
+            this.entity = entity;
+            this.categories = categories;
+        }
+
+    }
+
+}
@@ -42,14 +42,11 @@ import com.plotsquared.core.util.ChunkManager;
 import com.plotsquared.core.util.RegionManager;
 import com.plotsquared.core.util.RegionUtil;
 import com.plotsquared.core.util.WorldUtil;
-import com.plotsquared.core.util.entity.EntityCategories;
 import com.plotsquared.core.util.task.RunnableVal;
-import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldedit.bukkit.BukkitWorld;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.world.block.BaseBlock;
 import com.sk89q.worldedit.world.block.BlockTypes;
-import io.papermc.lib.PaperLib;
 import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.World;
@@ -63,25 +60,20 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_ANIMAL;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_ENTITY;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_MISC;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_MOB;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_MONSTER;
-import static com.plotsquared.core.util.entity.EntityCategories.CAP_VEHICLE;
-
 @Singleton
 public class BukkitRegionManager extends RegionManager {
 
     private final GlobalBlockQueue blockQueue;
+    private final BukkitEntityCounter entityCounter;
 
     @Inject
     public BukkitRegionManager(
             @NonNull WorldUtil worldUtil, @NonNull GlobalBlockQueue blockQueue, @NonNull
-            ProgressSubscriberFactory subscriberFactory
+            ProgressSubscriberFactory subscriberFactory, @NonNull BukkitEntityCounter entityCounter
     ) {
         super(worldUtil, blockQueue, subscriberFactory);
         this.blockQueue = blockQueue;
+        this.entityCounter = entityCounter;
     }
 
     @Override
@@ -96,6 +88,9 @@ public class BukkitRegionManager extends RegionManager {
 
     @Override
     public int[] countEntities(@NonNull Plot plot) {
+        if (this.entityCounter.isCounting(plot.getWorldName())) {
+            return this.entityCounter.getCounts(plot);
+        }
         int[] existing = (int[]) plot.getMeta("EntityCount");
         if (existing != null && (System.currentTimeMillis() - (long) plot.getMeta("EntityCountTime") < 1000)) {
             return existing;
@@ -134,20 +129,20 @@ public class BukkitRegionManager extends RegionManager {
         if (doWhole) {
             for (Entity entity : entities) {
                 org.bukkit.Location location = entity.getLocation();
-                PaperLib.getChunkAtAsync(location).thenAccept(chunk -> {
-                    if (chunks.contains(chunk)) {
-                        int X = chunk.getX();
-                        int Z = chunk.getZ();
-                        if (X > bx && X < tx && Z > bz && Z < tz) {
-                            count(count, entity);
-                        } else {
-                            Plot other = area.getPlot(BukkitUtil.adapt(location));
-                            if (plot.equals(other)) {
-                                count(count, entity);
-                            }
-                        }
+                // Loaded entities are in loaded chunks, so the chunk coordinates are all that is needed
+                int X = location.getBlockX() >> 4;
+                int Z = location.getBlockZ() >> 4;
+                if (X < bx || X > tx || Z < bz || Z > tz) {
+                    continue;
+                }
+                if (X > bx && X < tx && Z > bz && Z < tz) {
+                    count(count, entity);
+                } else {
+                    Plot other = area.getPlot(BukkitUtil.adapt(location));
+                    if (plot.equals(other)) {
+                        count(count, entity);
                     }
-                });
+                }
             }
         } else {
             for (Chunk chunk : chunks) {
@@ -335,24 +330,9 @@ public class BukkitRegionManager extends RegionManager {
     }
 
     private void count(int[] count, @NonNull Entity entity) {
-        final com.sk89q.worldedit.world.entity.EntityType entityType = BukkitAdapter.adapt(entity.getType());
-
-        if (EntityCategories.PLAYER.contains(entityType)) {
-            return;
-        } else if (EntityCategories.PROJECTILE.contains(entityType) || EntityCategories.OTHER.contains(entityType) || EntityCategories.HANGING
-                .contains(entityType)) {
-            count[CAP_MISC]++;
-        } else if (EntityCategories.ANIMAL.contains(entityType) || EntityCategories.VILLAGER.contains(entityType) || EntityCategories.TAMEABLE
-                .contains(entityType)) {
-            count[CAP_MOB]++;
-            count[CAP_ANIMAL]++;
-        } else if (EntityCategories.VEHICLE.contains(entityType)) {
-            count[CAP_VEHICLE]++;
-        } else if (EntityCategories.HOSTILE.contains(entityType)) {
-            count[CAP_MOB]++;
-            count[CAP_MONSTER]++;
+        for (int category : BukkitEntityCounter.getCategories(entity.getType())) {
+            count[category]++;
         }
-        count[CAP_ENTITY]++;
     }
 
 }
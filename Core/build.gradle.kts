@@ -1,5 +1,9 @@
 import java.time.format.DateTimeFormatter
 
+plugins {
+    alias(libs.plugins.jmh)
+}
+
 dependencies {
     // Expected everywhere.
     compileOnlyApi(libs.checkerqual)
@@ -43,6 +47,9 @@ dependencies {
     api(libs.cloudServices)
     api(libs.arkitektonika)
     api(libs.paster)
+
+    // Benchmarks
+    jmh(libs.worldeditCore)
 }
 
 tasks.processResources {
@@ -0,0 +1,182 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.collection;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.khelekore.prtree.MBRConverter;
+import org.khelekore.prtree.PRTree;
+import org.khelekore.prtree.SimpleMBR;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares area lookups through {@link RegionIndex} with the previous PRTree (guarded by a lock)
+ * and {@link QuadMap} implementations, with several threads querying at once.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class RegionIndexBenchmark {
+
+    private static final int AREA_SIZE = 256;
+    private static final int SPACING = 512;
+    private static final int LOOKUPS = 1024;
+
+    @Param({"4", "64", "512"})
+    public int areas;
+
+    private final Object treeLock = new Object();
+    private RegionIndex<CuboidRegion> regionIndex;
+    private PRTree<CuboidRegion> tree;
+    private QuadMap<CuboidRegion> quadMap;
+    private int[] xs;
+    private int[] zs;
+
+    @Setup
+    public void setup() {
+        final List<CuboidRegion> regions = new ArrayList<>();
+        final int perRow = (int) Math.ceil(Math.sqrt(this.areas));
+        for (int i = 0; i < this.areas; i++) {
+            final int x = (i % perRow) * SPACING;
+            final int z = (i / perRow) * SPACING;
+            regions.add(new CuboidRegion(BlockVector3.at(x, 0, z), BlockVector3.at(x + AREA_SIZE - 1, 255, z + AREA_SIZE - 1)));
+        }
+
+        RegionIndex<CuboidRegion> regionIndex = RegionIndex.empty(region -> region, 9);
+        for (final CuboidRegion region : regions) {
+            regionIndex = regionIndex.with(region);
+        }
+        this.regionIndex = regionIndex;
+
+        this.tree = new PRTree<>(new RegionConverter(), 30);
+        this.tree.load(regions);
+
+        this.quadMap = new QuadMap<>(Integer.MAX_VALUE, 0, 0) {
+            @Override
+            public CuboidRegion getRegion(final CuboidRegion value) {
+                return value;
+            }
+        };
+        regions.forEach(this.quadMap::add);
+
+        final SplittableRandom random = new SplittableRandom(42);
+        final int bound = perRow * SPACING;
+        this.xs = new int[LOOKUPS];
+        this.zs = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            this.xs[i] = random.nextInt(bound);
+            this.zs[i] = random.nextInt(bound);
+        }
+    }
+
+    @Benchmark
+    public int regionIndex() {
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (this.regionIndex.get(this.xs[i], 64, this.zs[i]) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int lockedTree() {
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            final int x = this.xs[i];
+            final int z = this.zs[i];
+            synchronized (this.treeLock) {
+                for (final CuboidRegion region : this.tree.find(new SimpleMBR(x, x, 64, 64, z, z))) {
+                    if (region.contains(BlockVector3.at(x, 64, z))) {
+                        found++;
+                        break;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int quadMap() {
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (this.quadMap.get(this.xs[i], this.zs[i]) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private static final class RegionConverter implements MBRConverter<CuboidRegion> {
+
+        @Override
+        public int getDimensions() {
+            return 3;
+        }
+
+        @Override
+        public double getMin(final int axis, final CuboidRegion region) {
+            return switch (axis) {
+                case 0 -> region.getMinimumPoint().getX();
+                case 1 -> region.getMinimumPoint().getY();
+                default -> region.getMinimumPoint().getZ();
+            };
+        }
+
+        @Override
+        public double getMax(final int axis, final CuboidRegion region) {
+            return switch (axis) {
+                case 0 -> region.getMaximumPoint().getX();
+                case 1 -> region.getMaximumPoint().getY();
+                default -> region.getMaximumPoint().getZ();
+            };
+        }
+
+    }
+
+}
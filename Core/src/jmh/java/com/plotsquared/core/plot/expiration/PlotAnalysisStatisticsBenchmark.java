@@ -0,0 +1,104 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.expiration;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the rank correlation of one analysis column against the ratings, as done for each column during
+ * calibration, between the legacy {@link PlotAnalysis} helpers and {@link PlotAnalysisStatistics}.
+ * <p>
+ * Values stay below the 102400 limit of the legacy ranking. The legacy correlation overflows for more than about
+ * 1300 plots, so only its time is meaningful there.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlotAnalysisStatisticsBenchmark {
+
+    @Param({"1000", "100000", "300000"})
+    public int plots;
+
+    private int[] values;
+    private int[] ratings;
+    private PlotAnalysisDataset dataset;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+        this.values = new int[this.plots];
+        this.ratings = new int[this.plots];
+        this.dataset = new PlotAnalysisDataset(this.plots);
+        for (int i = 0; i < this.plots; i++) {
+            this.values[i] = random.nextInt(102400);
+            this.ratings[i] = random.nextInt(102400);
+            final PlotAnalysis analysis = new PlotAnalysis();
+            analysis.changes = this.values[i];
+            analysis.faces = random.nextInt(102400);
+            analysis.air = random.nextInt(102400);
+            this.dataset.add(analysis, this.ratings[i]);
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public double legacyCorrelation() {
+        final int[] rankRatings = PlotAnalysis.rank(this.ratings);
+        final int[] rankValues = PlotAnalysis.rank(this.values);
+        return PlotAnalysis.getCC(this.plots, PlotAnalysis.sum(PlotAnalysis.square(PlotAnalysis.getSD(rankValues, rankRatings))));
+    }
+
+    @Benchmark
+    public double correlation() {
+        return PlotAnalysisStatistics.spearman(
+                PlotAnalysisStatistics.rank(this.values),
+                PlotAnalysisStatistics.rank(this.ratings)
+        );
+    }
+
+    @Benchmark
+    public double[] allColumns() {
+        return PlotAnalysisStatistics.correlations(this.dataset);
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.flag;
+
+import com.plotsquared.core.plot.flag.implementations.DisablePhysicsFlag;
+import com.plotsquared.core.plot.flag.implementations.PveFlag;
+import com.plotsquared.core.plot.flag.implementations.PvpFlag;
+import com.plotsquared.core.plot.flag.implementations.RedstoneFlag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares flag reads on a plot container, one set locally and the others inherited from the area or the
+ * global container, between the per-container map lookups of the previous implementation and the slot arrays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlagContainerBenchmark {
+
+    private FlagContainer plot;
+
+    @Setup
+    public void setup() {
+        if (GlobalFlagContainer.getInstance() == null) {
+            GlobalFlagContainer.setup();
+        }
+        final FlagContainer area = new FlagContainer(GlobalFlagContainer.getInstance());
+        area.addFlag(PveFlag.PVE_TRUE);
+        this.plot = new FlagContainer(area);
+        this.plot.addFlag(PvpFlag.PVP_TRUE);
+    }
+
+    /**
+     * The lookup as done before slots: a map lookup per container, walking up to the global container.
+     */
+    private static PlotFlag<?, ?> mapLookup(final FlagContainer container, final Class<?> flagClass) {
+        for (FlagContainer current = container; current != null; current = current.getParentContainer()) {
+            final PlotFlag<?, ?> flag = current.queryLocal(flagClass);
+            if (flag != null) {
+                return flag;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public void mapLookup(final Blackhole blackhole) {
+        blackhole.consume(mapLookup(this.plot, PvpFlag.class));
+        blackhole.consume(mapLookup(this.plot, PveFlag.class));
+        blackhole.consume(mapLookup(this.plot, RedstoneFlag.class));
+        blackhole.consume(mapLookup(this.plot, DisablePhysicsFlag.class));
+    }
+
+    @Benchmark
+    public void slotLookup(final Blackhole blackhole) {
+        blackhole.consume(this.plot.getFlag(PvpFlag.class));
+        blackhole.consume(this.plot.getFlag(PveFlag.class));
+        blackhole.consume(this.plot.getFlag(RedstoneFlag.class));
+        blackhole.consume(this.plot.getFlag(DisablePhysicsFlag.class));
+    }
+
+}
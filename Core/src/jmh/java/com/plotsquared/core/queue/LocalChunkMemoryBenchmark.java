@@ -0,0 +1,204 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import com.plotsquared.core.location.Location;
+import com.sk89q.worldedit.function.pattern.Pattern;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.world.NullWorld;
+import com.sk89q.worldedit.world.World;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the memory held by a {@link BasicQueueCoordinator} after a classic plot is cleared and its roads are
+ * created, with the cuboids {@link com.plotsquared.core.generator.ClassicPlotManager} sets for the default classic
+ * world settings. The manager itself needs a running platform, so its calls are replayed here.
+ * <p>
+ * Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm}: everything allocated by {@link #fill()} is
+ * retained by the queue until it is enqueued. {@link #fillExpanded()} also expands every chunk to one array per
+ * layer, which is what the previous layout retained, so the difference between the two is the memory saved.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocalChunkMemoryBenchmark {
+
+    private static final int PLOT_HEIGHT = 62;
+    private static final int ROAD_HEIGHT = 62;
+    private static final int WALL_HEIGHT = 62;
+    private static final int ROAD_WIDTH = 7;
+    private static final int WORLD_HEIGHT = 255;
+
+    private static final BaseBlock AIR = new BenchmarkBlock();
+    private static final BaseBlock BEDROCK = new BenchmarkBlock();
+    private static final BaseBlock FILLING = new BenchmarkBlock();
+    private static final BaseBlock FLOOR = new BenchmarkBlock();
+    private static final BaseBlock WALL_FILLING = new BenchmarkBlock();
+    private static final BaseBlock WALL_BLOCK = new BenchmarkBlock();
+    private static final BaseBlock ROAD_BLOCK = new BenchmarkBlock();
+
+    private static final GlobalBlockQueue BLOCK_QUEUE = new GlobalBlockQueue(new QueueProvider() {
+        @Override
+        public QueueCoordinator getNewQueue(final World world) {
+            throw new UnsupportedOperationException();
+        }
+    });
+
+    /**
+     * Plot width in blocks, the default classic plot size and a large plot
+     */
+    @Param({"42", "256"})
+    public int plotWidth;
+
+    private static void setCuboid(
+            final QueueCoordinator queue, final int x1, final int y1, final int z1,
+            final int x2, final int y2, final int z2, final Pattern pattern
+    ) {
+        queue.setCuboid(Location.at("world", x1, y1, z1), Location.at("world", x2, y2, z2), pattern);
+    }
+
+    @Benchmark
+    public BasicQueueCoordinator fill() {
+        final BasicQueueCoordinator queue = new BenchmarkQueue();
+        final int top = this.plotWidth - 1;
+        // PlotManager#clearPlot: bedrock, then ClassicPlotManager#setMain, #setFloor and #setAir
+        setCuboid(queue, 0, 0, 0, top, 0, top, BEDROCK);
+        setCuboid(queue, 0, 1, 0, top, PLOT_HEIGHT - 1, top, FILLING);
+        setCuboid(queue, 0, PLOT_HEIGHT, 0, top, PLOT_HEIGHT, top, FLOOR);
+        setCuboid(queue, 0, PLOT_HEIGHT + 1, 0, top, WORLD_HEIGHT, top, AIR);
+        // ClassicPlotManager#createRoadEast
+        final int sx = top + 1;
+        final int ex = sx + ROAD_WIDTH - 1;
+        final int sz = -2;
+        final int ez = top + 2;
+        setCuboid(queue, sx, PLOT_HEIGHT + 1, sz + 1, ex, WORLD_HEIGHT, ez - 1, AIR);
+        setCuboid(queue, sx, 0, sz + 1, ex, 0, ez - 1, BEDROCK);
+        setCuboid(queue, sx, 1, sz + 1, sx, WALL_HEIGHT, ez - 1, WALL_FILLING);
+        setCuboid(queue, sx, 1, sz + 1, sx, WALL_HEIGHT, ez - 1, WALL_FILLING);
+        setCuboid(queue, sx, WALL_HEIGHT + 1, sz + 1, sx, WALL_HEIGHT + 1, ez - 1, WALL_BLOCK);
+        setCuboid(queue, ex, 1, sz + 1, ex, WALL_HEIGHT, ez - 1, WALL_FILLING);
+        setCuboid(queue, ex, WALL_HEIGHT + 1, sz + 1, ex, WALL_HEIGHT + 1, ez - 1, WALL_BLOCK);
+        setCuboid(queue, sx + 1, 1, sz + 1, ex - 1, ROAD_HEIGHT, ez - 1, ROAD_BLOCK);
+        // ClassicPlotManager#createRoadSouth
+        final int sz2 = top + 1;
+        final int ez2 = sz2 + ROAD_WIDTH - 1;
+        final int sx2 = -2;
+        final int ex2 = top + 2;
+        setCuboid(queue, sx2 + 1, PLOT_HEIGHT + 1, sz2, ex2 - 1, WORLD_HEIGHT, ez2, AIR);
+        setCuboid(queue, sx2 + 1, 0, sz2, ex2 - 1, 0, ez2, BEDROCK);
+        setCuboid(queue, sx2 + 1, 1, sz2, ex2 - 1, WALL_HEIGHT, sz2, WALL_FILLING);
+        setCuboid(queue, sx2 + 1, WALL_HEIGHT + 1, sz2, ex2 - 1, WALL_HEIGHT + 1, sz2, WALL_BLOCK);
+        setCuboid(queue, sx2 + 1, 1, ez2, ex2 - 1, WALL_HEIGHT, ez2, WALL_FILLING);
+        setCuboid(queue, sx2 + 1, WALL_HEIGHT + 1, ez2, ex2 - 1, WALL_HEIGHT + 1, ez2, WALL_BLOCK);
+        setCuboid(queue, sx2 + 1, 1, sz2 + 1, ex2 - 1, ROAD_HEIGHT, ez2 - 1, ROAD_BLOCK);
+        // ClassicPlotManager#createRoadSouthEast
+        setCuboid(queue, sx + 1, ROAD_HEIGHT + 1, sz2 + 1, ex - 1, WORLD_HEIGHT, ez2 - 1, AIR);
+        setCuboid(queue, sx + 1, 0, sz2 + 1, ex - 1, 0, ez2 - 1, BEDROCK);
+        setCuboid(queue, sx + 1, 1, sz2 + 1, ex - 1, ROAD_HEIGHT, ez2 - 1, ROAD_BLOCK);
+        return queue;
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public List<BaseBlock[][]> fillExpanded() {
+        final List<BaseBlock[][]> chunks = new ArrayList<>();
+        for (final LocalChunk chunk : fill().getBlockChunks().values()) {
+            chunks.add(chunk.getBaseblocks());
+        }
+        return chunks;
+    }
+
+    /**
+     * A queue that is only written to, never enqueued
+     */
+    private static final class BenchmarkQueue extends BasicQueueCoordinator {
+
+        private BenchmarkQueue() {
+            super(NullWorld.getInstance(), BLOCK_QUEUE);
+        }
+
+        @Override
+        public BlockState getBlock(final int x, final int y, final int z) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void start() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void cancel() {
+        }
+
+    }
+
+    /**
+     * Block types and states need a WorldEdit platform, so every instance stands in for a distinct block
+     */
+    private static final class BenchmarkBlock extends BaseBlock {
+
+        private BenchmarkBlock() {
+            super((BlockState) null);
+        }
+
+        @Override
+        public BaseBlock applyBlock(final BlockVector3 position) {
+            return this;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return this == o;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+
+    }
+
+}
@@ -60,6 +60,7 @@ import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.plot.PlotManager;
 import com.plotsquared.core.plot.expiration.ExpireManager;
 import com.plotsquared.core.plot.expiration.ExpiryTask;
+import com.plotsquared.core.plot.expiration.PlotAnalysisStore;
 import com.plotsquared.core.plot.flag.GlobalFlagContainer;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.plot.world.SinglePlotArea;
@@ -152,6 +153,7 @@ public class PlotSquared {
     private File storageFile;
     private EventDispatcher eventDispatcher;
     private PlotListener plotListener;
+    private PlotAnalysisStore plotAnalysisStore;
 
     /**
      * Initialize PlotSquared with the desired Implementation class.
@@ -228,6 +230,8 @@ public class PlotSquared {
             this.eventDispatcher = new EventDispatcher(this.worldedit);
             // Create plot listener
             this.plotListener = new PlotListener(this.eventDispatcher);
+            // Create the store of plot analyses
+            this.plotAnalysisStore = new PlotAnalysisStore(new File(this.platform.getDirectory(), "analysis"));
 
             // Copy files
             copyFile("town.template", Settings.Paths.TEMPLATES);
@@ -1216,6 +1220,9 @@ public class PlotSquared {
             } catch (final Exception ignored) {
             }
             DBFunc.validatePlots(plots);
+            if (this.plotAnalysisStore != null) {
+                this.plotAnalysisStore.save();
+            }
 
             // Close the connection
             DBFunc.close();
@@ -1564,6 +1571,15 @@ public class PlotSquared {
         return this.plotListener;
     }
 
+    /**
+     * Get the store of plot analyses and plot modification counters
+     *
+     * @return Plot analysis store
+     */
+    public @NonNull PlotAnalysisStore getPlotAnalysisStore() {
+        return this.plotAnalysisStore;
+    }
+
     /**
      * Different ways of sorting {@link Plot plots}
      */
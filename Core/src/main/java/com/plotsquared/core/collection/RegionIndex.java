@@ -0,0 +1,332 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.collection;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable spatial index of values by their region. The horizontal plane is split into square cells of
+ * {@code 1 << cellShift} blocks, and every cell maps to the values whose region overlaps it. Values spanning
+ * too many cells are kept in a separate list that is checked on every lookup.
+ * <p>
+ * Instances are never modified: {@link #with(Object)} and {@link #without(Object)} return a new index. This
+ * allows the owner to publish a snapshot through a volatile field, so that lookups never lock.
+ *
+ * @param <T> Value type
+ */
+public final class RegionIndex<T> {
+
+    private static final int MAX_CELLS_PER_VALUE = 1024;
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private final Function<T, CuboidRegion> regionFunction;
+    private final int cellShift;
+    private final List<T> values;
+    private final Entry[] entries;
+    private final Entry[] unbucketed;
+    private final long[] cellKeys;
+    private final Entry[][] cellEntries;
+    private final int cellMask;
+
+    private RegionIndex(
+            final @NonNull Function<T, CuboidRegion> regionFunction,
+            final int cellShift,
+            final @NonNull List<T> values
+    ) {
+        this.regionFunction = regionFunction;
+        this.cellShift = cellShift;
+        this.values = Collections.unmodifiableList(values);
+        this.entries = new Entry[values.size()];
+        final List<Entry> unbucketed = new ArrayList<>();
+        final CellTable table = new CellTable();
+        for (int i = 0; i < this.entries.length; i++) {
+            final T value = values.get(i);
+            final Entry entry = new Entry(value, regionFunction.apply(value), i);
+            this.entries[i] = entry;
+            final long minCellX = entry.minX >> cellShift;
+            final long maxCellX = entry.maxX >> cellShift;
+            final long minCellZ = entry.minZ >> cellShift;
+            final long maxCellZ = entry.maxZ >> cellShift;
+            if ((maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1) > MAX_CELLS_PER_VALUE) {
+                unbucketed.add(entry);
+                continue;
+            }
+            for (long cellX = minCellX; cellX <= maxCellX; cellX++) {
+                for (long cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                    table.add(key((int) cellX, (int) cellZ), entry);
+                }
+            }
+        }
+        this.unbucketed = unbucketed.toArray(NO_ENTRIES);
+        final int capacity = Integer.highestOneBit(Math.max(1, table.keys.size()) * 2 - 1) << 1;
+        this.cellMask = capacity - 1;
+        this.cellKeys = new long[capacity];
+        this.cellEntries = new Entry[capacity][];
+        for (int i = 0; i < table.keys.size(); i++) {
+            final long key = table.keys.get(i);
+            int slot = slot(key);
+            while (this.cellEntries[slot] != null) {
+                slot = (slot + 1) & this.cellMask;
+            }
+            this.cellKeys[slot] = key;
+            this.cellEntries[slot] = table.entries.get(i).toArray(NO_ENTRIES);
+        }
+    }
+
+    /**
+     * Create an empty index
+     *
+     * @param regionFunction Function that returns the region of a value
+     * @param cellShift      Cell size as a power of two
+     * @param <T>            Value type
+     * @return Empty index
+     */
+    public static <T> @NonNull RegionIndex<T> empty(
+            final @NonNull Function<T, CuboidRegion> regionFunction,
+            final int cellShift
+    ) {
+        return new RegionIndex<>(regionFunction, cellShift, new ArrayList<>());
+    }
+
+    private static long key(final int cellX, final int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Create a new index that contains all values of this index and the given value.
+     * The region of the value is read once, so a value whose region changes has to be
+     * removed and added again.
+     *
+     * @param value Value to add
+     * @return New index
+     */
+    public @NonNull RegionIndex<T> with(final @NonNull T value) {
+        final List<T> values = new ArrayList<>(this.values.size() + 1);
+        values.addAll(this.values);
+        values.add(value);
+        return new RegionIndex<>(this.regionFunction, this.cellShift, values);
+    }
+
+    /**
+     * Create a new index that contains all values of this index except the given value
+     *
+     * @param value Value to remove
+     * @return New index, or this index if it did not contain the value
+     */
+    public @NonNull RegionIndex<T> without(final @NonNull T value) {
+        final List<T> values = new ArrayList<>(this.values);
+        if (!values.remove(value)) {
+            return this;
+        }
+        return new RegionIndex<>(this.regionFunction, this.cellShift, values);
+    }
+
+    /**
+     * Get the first value (in insertion order) whose region contains the given position
+     *
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @param z Z coordinate
+     * @return Value, or {@code null}
+     */
+    public @Nullable T get(final int x, final int y, final int z) {
+        final Entry[] bucket = this.bucket(x, z);
+        for (final Entry entry : bucket) {
+            if (entry.contains(x, z) && y >= entry.minY && y <= entry.maxY) {
+                return this.firstUnbucketed(x, y, z, entry, true);
+            }
+        }
+        return this.firstUnbucketed(x, y, z, null, true);
+    }
+
+    /**
+     * Get the first value (in insertion order) whose region contains the given horizontal position
+     *
+     * @param x X coordinate
+     * @param z Z coordinate
+     * @return Value, or {@code null}
+     */
+    public @Nullable T get(final int x, final int z) {
+        final Entry[] bucket = this.bucket(x, z);
+        for (final Entry entry : bucket) {
+            if (entry.contains(x, z)) {
+                return this.firstUnbucketed(x, 0, z, entry, false);
+            }
+        }
+        return this.firstUnbucketed(x, 0, z, null, false);
+    }
+
+    /**
+     * Get all values whose region contains the given position, in insertion order
+     *
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @param z Z coordinate
+     * @return Matching values
+     */
+    @SuppressWarnings("unchecked")
+    public @NonNull List<T> getAll(final int x, final int y, final int z) {
+        final List<T> result = new ArrayList<>();
+        for (final Entry entry : this.entries) {
+            if (entry.contains(x, z) && y >= entry.minY && y <= entry.maxY) {
+                result.add((T) entry.value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get all values whose region intersects the given region horizontally, in insertion order
+     *
+     * @param region Region
+     * @return Intersecting values
+     */
+    @SuppressWarnings("unchecked")
+    public @NonNull List<T> getIntersecting(final @NonNull CuboidRegion region) {
+        final BlockVector3 min = region.getMinimumPoint();
+        final BlockVector3 max = region.getMaximumPoint();
+        final List<T> result = new ArrayList<>();
+        for (final Entry entry : this.entries) {
+            if (min.getX() <= entry.maxX && max.getX() >= entry.minX && min.getZ() <= entry.maxZ && max.getZ() >= entry.minZ) {
+                result.add((T) entry.value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Get all values in insertion order
+     *
+     * @return Unmodifiable list of values
+     */
+    public @NonNull List<T> values() {
+        return this.values;
+    }
+
+    public boolean isEmpty() {
+        return this.values.isEmpty();
+    }
+
+    public int size() {
+        return this.values.size();
+    }
+
+    private Entry[] bucket(final int x, final int z) {
+        final long key = key(x >> this.cellShift, z >> this.cellShift);
+        int slot = slot(key);
+        Entry[] bucket;
+        while ((bucket = this.cellEntries[slot]) != null) {
+            if (this.cellKeys[slot] == key) {
+                return bucket;
+            }
+            slot = (slot + 1) & this.cellMask;
+        }
+        return NO_ENTRIES;
+    }
+
+    /**
+     * Bucketed and unbucketed values are stored separately, so the candidate from the bucket
+     * only wins if no unbucketed value was inserted before it.
+     */
+    @SuppressWarnings("unchecked")
+    private @Nullable T firstUnbucketed(
+            final int x, final int y, final int z,
+            final @Nullable Entry candidate, final boolean checkY
+    ) {
+        for (final Entry entry : this.unbucketed) {
+            if (candidate != null && entry.order > candidate.order) {
+                break;
+            }
+            if (entry.contains(x, z) && (!checkY || (y >= entry.minY && y <= entry.maxY))) {
+                return (T) entry.value;
+            }
+        }
+        return candidate == null ? null : (T) candidate.value;
+    }
+
+    private int slot(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & this.cellMask;
+    }
+
+    private static final class CellTable {
+
+        private final List<Long> keys = new ArrayList<>();
+        private final List<List<Entry>> entries = new ArrayList<>();
+        private final Map<Long, List<Entry>> byKey = new HashMap<>();
+
+        private void add(final long key, final Entry entry) {
+            this.byKey.computeIfAbsent(key, k -> {
+                final List<Entry> list = new ArrayList<>();
+                this.keys.add(k);
+                this.entries.add(list);
+                return list;
+            }).add(entry);
+        }
+
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+        private final int order;
+        private final int minX;
+        private final int minY;
+        private final int minZ;
+        private final int maxX;
+        private final int maxY;
+        private final int maxZ;
+
+        private Entry(final Object value, final CuboidRegion region, final int order) {
+            this.value = value;
+            this.order = order;
+            final BlockVector3 min = region.getMinimumPoint();
+            final BlockVector3 max = region.getMaximumPoint();
+            this.minX = min.getX();
+            this.minY = min.getY();
+            this.minZ = min.getZ();
+            this.maxX = max.getX();
+            this.maxY = max.getY();
+            this.maxZ = max.getZ();
+        }
+
+        private boolean contains(final int x, final int z) {
+            return x >= this.minX && x <= this.maxX && z >= this.minZ && z <= this.maxZ;
+        }
+
+    }
+
+}
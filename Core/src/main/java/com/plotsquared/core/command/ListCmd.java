@@ -50,10 +50,13 @@ import com.plotsquared.core.util.TabCompletions;
 import com.plotsquared.core.util.query.PlotQuery;
 import com.plotsquared.core.util.query.SortingStrategy;
 import com.plotsquared.core.util.task.RunnableVal3;
+import com.plotsquared.core.util.task.TaskManager;
 import com.plotsquared.core.uuid.UUIDMapping;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.TextComponent;
 import net.kyori.adventure.text.minimessage.Template;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.ArrayList;
@@ -77,6 +80,8 @@ import java.util.stream.Collectors;
         usage = "/plot list <forsale | mine | shared | world | top | all | unowned | player | world | done | fuzzy <search...>> [#]")
 public class ListCmd extends SubCommand {
 
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + ListCmd.class.getSimpleName());
+
     private final PlotAreaManager plotAreaManager;
     private final EconHandler econHandler;
 
@@ -182,13 +187,18 @@ public class ListCmd extends SubCommand {
                 query.withSortingStrategy(SortingStrategy.SORT_BY_CREATION);
             }
 
-            final List<Plot> plots = query.asList();
-
-            if (plots.isEmpty()) {
-                player.sendMessage(TranslatableCaption.of("invalid.found_no_plots"));
-                return;
-            }
-            displayPlots(player, plots, 12, page, args);
+            // Queries over all plots may take a while, the page is sent once the result is ready
+            query.asListAsync().whenComplete((plots, throwable) -> TaskManager.runTask(() -> {
+                if (throwable != null) {
+                    LOGGER.error("Failed to list plots for {}", player.getName(), throwable);
+                    return;
+                }
+                if (plots.isEmpty()) {
+                    player.sendMessage(TranslatableCaption.of("invalid.found_no_plots"));
+                    return;
+                }
+                displayPlots(player, plots, 12, page, args);
+            }));
         };
 
         switch (arg) {
@@ -280,7 +290,7 @@ public class ListCmd extends SubCommand {
                     );
                     return false;
                 }
-                plotConsumer.accept(PlotQuery.newQuery().allPlots());
+                plotConsumer.accept(PlotQuery.newQuery().allPlots().parallel());
             }
             case "done" -> {
                 if (!Permissions.hasPermission(player, Permission.PERMISSION_LIST_DONE)) {
@@ -294,6 +304,7 @@ public class ListCmd extends SubCommand {
                 plotConsumer.accept(PlotQuery
                         .newQuery()
                         .allPlots()
+                        .parallel()
                         .thatPasses(DoneFlag::isDone)
                         .withSortingStrategy(SortingStrategy.SORT_BY_DONE));
             }
@@ -306,7 +317,7 @@ public class ListCmd extends SubCommand {
                     return false;
                 }
                 sort[0] = false;
-                plotConsumer.accept(PlotQuery.newQuery().allPlots().withSortingStrategy(SortingStrategy.SORT_BY_RATING));
+                plotConsumer.accept(PlotQuery.newQuery().allPlots().parallel().withSortingStrategy(SortingStrategy.SORT_BY_RATING));
             }
             case "forsale" -> {
                 if (!Permissions.hasPermission(player, Permission.PERMISSION_LIST_FOR_SALE)) {
@@ -319,7 +330,7 @@ public class ListCmd extends SubCommand {
                 if (this.econHandler.isSupported()) {
                     break;
                 }
-                plotConsumer.accept(PlotQuery.newQuery().allPlots().thatPasses(plot -> plot.getFlag(PriceFlag.class) > 0));
+                plotConsumer.accept(PlotQuery.newQuery().allPlots().parallel().thatPasses(plot -> plot.getFlag(PriceFlag.class) > 0));
             }
             case "unowned" -> {
                 if (!Permissions.hasPermission(player, Permission.PERMISSION_LIST_UNOWNED)) {
@@ -329,7 +340,7 @@ public class ListCmd extends SubCommand {
                     );
                     return false;
                 }
-                plotConsumer.accept(PlotQuery.newQuery().allPlots().thatPasses(plot -> plot.getOwner() == null));
+                plotConsumer.accept(PlotQuery.newQuery().allPlots().parallel().thatPasses(plot -> plot.getOwner() == null));
             }
             case "fuzzy" -> {
                 if (!Permissions.hasPermission(player, Permission.PERMISSION_LIST_FUZZY)) {
@@ -130,6 +130,12 @@ public class Trim extends SubCommand {
         return true;
     }
 
+    private static CuboidRegion getPlotRegion(final Plot plot) {
+        Location bot = plot.getBottomAbs();
+        Location top = plot.getExtendedTopAbs();
+        return RegionUtil.createRegion(bot.getX(), top.getX(), bot.getZ(), top.getZ());
+    }
+
     @Override
     public boolean onCommand(final PlotPlayer<?> player, String[] args) {
         if (args.length == 0) {
@@ -181,31 +187,36 @@ public class Trim extends SubCommand {
                             int bz = cbz << 4;
                             CuboidRegion region =
                                     RegionUtil.createRegion(bx, bx + 511, bz, bz + 511);
-                            for (Plot plot : PlotQuery.newQuery().inWorld(world)) {
-                                Location bot = plot.getBottomAbs();
-                                Location top = plot.getExtendedTopAbs();
-                                CuboidRegion plotReg = RegionUtil
-                                        .createRegion(bot.getX(), top.getX(), bot.getZ(), top.getZ());
-                                if (!RegionUtil.intersects(region, plotReg)) {
-                                    continue;
-                                }
-                                for (int x = plotReg.getMinimumPoint().getX() >> 4;
-                                     x <= plotReg.getMaximumPoint().getX() >> 4; x++) {
-                                    for (int z = plotReg.getMinimumPoint().getZ() >> 4;
-                                         z <= plotReg.getMaximumPoint().getZ() >> 4; z++) {
-                                        BlockVector2 loc = BlockVector2.at(x, z);
-                                        chunks.remove(loc);
-                                    }
-                                }
-                            }
-                            final QueueCoordinator queue = blockQueue.getNewQueue(worldUtil.getWeWorld(world));
-                            TaskManager.getPlatformImplementation().objectTask(chunks, new RunnableVal<>() {
-                                @Override
-                                public void run(BlockVector2 value) {
-                                    queue.regenChunk(value.getX(), value.getZ());
-                                }
-                            }).thenAccept(ignore -> TaskManager.getPlatformImplementation()
-                                    .taskLater(this, TaskTime.ticks(1L)));
+                            // Finding the plots in the region file checks every plot of the world, so it runs off the main thread
+                            PlotQuery.newQuery().inWorld(world).parallel()
+                                    .thatPasses(plot -> RegionUtil.intersects(region, getPlotRegion(plot)))
+                                    .asListAsync()
+                                    .thenAccept(plots -> TaskManager.runTask(() -> {
+                                        for (Plot plot : plots) {
+                                            CuboidRegion plotReg = getPlotRegion(plot);
+                                            for (int x = plotReg.getMinimumPoint().getX() >> 4;
+                                                 x <= plotReg.getMaximumPoint().getX() >> 4; x++) {
+                                                for (int z = plotReg.getMinimumPoint().getZ() >> 4;
+                                                     z <= plotReg.getMaximumPoint().getZ() >> 4; z++) {
+                                                    BlockVector2 loc = BlockVector2.at(x, z);
+                                                    chunks.remove(loc);
+                                                }
+                                            }
+                                        }
+                                        final QueueCoordinator queue = blockQueue.getNewQueue(worldUtil.getWeWorld(world));
+                                        TaskManager.getPlatformImplementation().objectTask(chunks, new RunnableVal<>() {
+                                            @Override
+                                            public void run(BlockVector2 value) {
+                                                queue.regenChunk(value.getX(), value.getZ());
+                                            }
+                                        }).thenAccept(ignore -> TaskManager.getPlatformImplementation()
+                                                .taskLater(this, TaskTime.ticks(1L)));
+                                    }))
+                                    .exceptionally(throwable -> {
+                                        LOGGER.error("Failed to find the plots of region {} in world {}", mcr, world, throwable);
+                                        Trim.TASK = false;
+                                        return null;
+                                    });
                         }
                     };
                 } else {
@@ -598,6 +598,16 @@ public class Settings extends Config {
     }
 
 
+    @Comment("Forcefield flag related settings")
+    public static final class Forcefield {
+
+        @Comment({"Minimum time in milliseconds between two forcefield checks of a moving player",
+                "Set to 0 to check on every block the player moves"})
+        public static int CHECK_INTERVAL = 100;
+
+    }
+
+
     @Comment("Claim related settings")
     public static final class Claim {
 
@@ -661,18 +671,27 @@ public class Settings extends Config {
         public static boolean TILE_ENTITY_CHECK = true;
         @Comment("Use Paper's async tab completion")
         public static boolean ASYNC_TAB_COMPLETION;
+        @Comment({"Keep live per-plot entity counts for the entity cap flags",
+                "instead of scanning the chunks of a plot on every cap check"})
+        public static boolean ENTITY_COUNTERS = true;
 
     }
 
     @Comment("Settings relating to PlotSquared's GlobalBlockQueue")
     public static final class QUEUE {
 
-        @Comment({"Average time per tick spent completing chunk tasks in ms.",
+        @Comment({"Total time per tick in ms shared by all running chunk tasks.",
+                "Running tasks split this evenly, so more tasks do not mean more lag."})
+        public static int TICK_BUDGET = 40;
+        @Comment({"Maximum time per tick a single chunk task may use in ms, within the budget above.",
                 "Queue will adjust the batch size to match this."})
         public static int MAX_ITERATION_TIME = 30;
         @Comment({"Initial number of chunks to process by the queue. This can be increased or",
                 "decreased by the queue based on the actual iteration time compared to above."})
         public static int INITIAL_BATCH_SIZE = 5;
+        @Comment({"Maximum number of chunks a single queue keeps loaded or loading at once.",
+                "The batch size grows up to this while chunks are applied faster than they load."})
+        public static int MAX_CHUNK_TICKETS = 64;
         @Comment("Notify progress of the queue to the player or console.")
         public static boolean NOTIFY_PROGRESS = true;
         @Comment("Interval in ms to notify player or console of progress.")
@@ -691,6 +710,33 @@ public class Settings extends Config {
         public static boolean UPDATE_EDGES = true;
     }
 
+    @Comment("Settings related to plot queries, such as /plot list")
+    public static final class Query {
+
+        @Comment({"The number of threads used to evaluate parallel plot queries.",
+                "Set to 0 to use the number of available processors. Changes require a restart."})
+        public static int PARALLELISM = 0;
+
+    }
+
+    @Comment("Settings related to the plot analysis of auto clearing tasks")
+    public static final class Expiry_Analysis {
+
+        @Comment({"The number of plots analysed at the same time.",
+                "Plots are analysed in order of their region file, so plots analysed together share chunk loads."})
+        public static int CONCURRENT_PLOTS = 4;
+        @Comment("Interval in seconds to log the progress of a running analysis. Set to 0 to disable.")
+        public static int PROGRESS_INTERVAL = 60;
+        @Comment({"The number of hours a stored analysis of an unmodified plot is reused for.",
+                "Not every change to a plot is seen (e.g. WorldEdit, explosions or pistons), so analyses are redone",
+                "after this time. Plots are always analysed again right before they are deleted."})
+        public static int MAX_AGE = 168;
+        @Comment({"The number of seconds after which the analysis of a single plot is given up on.",
+                "The plot is skipped for the current run. Set to 0 to wait forever."})
+        public static int TIMEOUT = 600;
+
+    }
+
     @Comment("Settings related to tab completion")
     public static final class Tab_Completions {
 
@@ -60,6 +60,28 @@ public class Storage extends Config {
     }
 
 
+    @Comment("Settings related to how changes are written to the database")
+    public static final class Writes {
+
+        @Comment({"The maximum time in milliseconds that changes are held back to be committed together",
+                " - Higher values result in fewer, larger transactions"})
+        public static int GROUP_COMMIT_MS = 50;
+        @Comment("The number of pending changes that causes an immediate commit")
+        public static int GROUP_COMMIT_SIZE = 1000;
+
+    }
+
+    @Comment("Settings related to the connections used to read from the database")
+    public static final class Pool {
+
+        @Comment({"The number of connections used for reads, in addition to the connection used for writes",
+                " - Set to 0 to read through the write connection"})
+        public static int READ_CONNECTIONS = 2;
+        @Comment("The maximum time in milliseconds to wait for a free read connection")
+        public static int TIMEOUT_MS = 5000;
+
+    }
+
     @Comment("SQLite section")
     public static final class SQLite {
 
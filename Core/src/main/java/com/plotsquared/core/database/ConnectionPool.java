@@ -0,0 +1,294 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.database;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of database connections used for reads, so that reads do not have to wait
+ * for the connection used by the {@link SQLManager} writer. Each pooled connection caches its
+ * prepared statements.
+ * <pre>{@code
+ * try (ConnectionPool.Lease lease = pool.acquire()) {
+ *     PreparedStatement statement = lease.prepare("SELECT ...");
+ *     ...
+ * }
+ * }</pre>
+ */
+public final class ConnectionPool implements AutoCloseable {
+
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + ConnectionPool.class.getSimpleName());
+    private static final long VALIDATION_INTERVAL = TimeUnit.SECONDS.toNanos(30);
+
+    private final Database database;
+    private final int size;
+    private final long timeout;
+    private final BlockingQueue<Lease> idle;
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong waitTime = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * Create a new pool. Connections are opened when they are first needed.
+     *
+     * @param database Database to connect to
+     * @param size     Maximum number of connections
+     * @param timeout  Maximum time to wait for a free connection
+     * @param unit     Unit of the timeout
+     */
+    public ConnectionPool(final @NonNull Database database, final int size, final long timeout, final @NonNull TimeUnit unit) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+        this.database = database;
+        this.size = size;
+        this.timeout = unit.toNanos(timeout);
+        this.idle = new LinkedBlockingQueue<>(size);
+    }
+
+    /**
+     * Acquire a connection. The returned lease must be closed to return the connection to the pool.
+     *
+     * @return Leased connection
+     * @throws SQLException if no connection became available in time, or a connection could not be opened
+     */
+    public @NonNull Lease acquire() throws SQLException {
+        if (this.closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        final long start = System.nanoTime();
+        Lease lease = this.idle.poll();
+        if (lease == null) {
+            lease = this.tryOpen();
+        }
+        if (lease == null) {
+            try {
+                lease = this.idle.poll(this.timeout, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a connection", e);
+            }
+            if (lease == null) {
+                this.timeouts.incrementAndGet();
+                throw new SQLTimeoutException("No database connection became available in time");
+            }
+        }
+        final long now = System.nanoTime();
+        if (now - lease.lastUsed > VALIDATION_INTERVAL && !lease.isValid()) {
+            this.discard(lease);
+            lease = this.tryOpen();
+            if (lease == null) {
+                throw new SQLException("Could not replace a broken database connection");
+            }
+        }
+        this.waitTime.addAndGet(now - start);
+        this.acquired.incrementAndGet();
+        this.active.incrementAndGet();
+        return lease;
+    }
+
+    private Lease tryOpen() throws SQLException {
+        int current;
+        do {
+            current = this.open.get();
+            if (current >= this.size) {
+                return null;
+            }
+        } while (!this.open.compareAndSet(current, current + 1));
+        try {
+            return new Lease(this.database.createConnection());
+        } catch (SQLException | ClassNotFoundException | RuntimeException e) {
+            this.open.decrementAndGet();
+            this.failures.incrementAndGet();
+            if (e instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new SQLException("Failed to open a database connection", e);
+        }
+    }
+
+    private void release(final @NonNull Lease lease) {
+        this.active.decrementAndGet();
+        lease.lastUsed = System.nanoTime();
+        if (this.closed || lease.broken || !this.idle.offer(lease)) {
+            this.discard(lease);
+        }
+    }
+
+    private void discard(final @NonNull Lease lease) {
+        this.open.decrementAndGet();
+        lease.closeConnection();
+    }
+
+    /**
+     * Check whether the pool can provide working connections. This opens a connection if none is open yet.
+     *
+     * @return {@code true} if a valid connection could be acquired
+     */
+    public boolean isHealthy() {
+        try (Lease lease = this.acquire()) {
+            return lease.isValid();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    public int getSize() {
+        return this.size;
+    }
+
+    public int getOpenConnections() {
+        return this.open.get();
+    }
+
+    public int getActiveConnections() {
+        return this.active.get();
+    }
+
+    public long getAcquiredCount() {
+        return this.acquired.get();
+    }
+
+    public long getTimeoutCount() {
+        return this.timeouts.get();
+    }
+
+    public long getFailureCount() {
+        return this.failures.get();
+    }
+
+    /**
+     * Get the average time spent waiting for a connection
+     *
+     * @param unit Time unit
+     * @return Average wait time
+     */
+    public long getAverageWaitTime(final @NonNull TimeUnit unit) {
+        final long acquired = this.acquired.get();
+        return acquired == 0 ? 0 : unit.convert(this.waitTime.get() / acquired, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Close the pool. Idle connections are closed immediately, leased connections when they are released.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        Lease lease;
+        while ((lease = this.idle.poll()) != null) {
+            this.discard(lease);
+        }
+    }
+
+    /**
+     * A connection leased from the pool
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+        private long lastUsed = System.nanoTime();
+        private boolean broken;
+
+        private Lease(final @NonNull Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Get the leased connection
+         *
+         * @return Connection
+         */
+        public @NonNull Connection getConnection() {
+            return this.connection;
+        }
+
+        /**
+         * Get a prepared statement for the given SQL. Statements are cached per connection,
+         * so they must not be closed by the caller.
+         *
+         * @param sql SQL statement
+         * @return Prepared statement
+         * @throws SQLException if the statement could not be prepared
+         */
+        public @NonNull PreparedStatement prepare(final @NonNull String sql) throws SQLException {
+            PreparedStatement statement = this.statements.get(sql);
+            if (statement == null || statement.isClosed()) {
+                try {
+                    statement = this.connection.prepareStatement(sql);
+                } catch (SQLException e) {
+                    this.broken = !this.isValid();
+                    throw e;
+                }
+                this.statements.put(sql, statement);
+            } else {
+                statement.clearParameters();
+            }
+            return statement;
+        }
+
+        private boolean isValid() {
+            try {
+                return this.connection.isValid(1);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        private void closeConnection() {
+            try {
+                this.connection.close();
+            } catch (SQLException e) {
+                LOGGER.debug("Failed to close pooled connection", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            ConnectionPool.this.release(this);
+        }
+
+    }
+
+}
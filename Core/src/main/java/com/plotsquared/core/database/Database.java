@@ -28,6 +28,7 @@ package com.plotsquared.core.database;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Statement;
 
 /**
@@ -49,6 +50,17 @@ public abstract class Database {
      */
     public abstract Connection openConnection() throws SQLException, ClassNotFoundException;
 
+    /**
+     * Open a new connection that is independent of the connection managed by this instance.
+     * The caller is responsible for closing it.
+     *
+     * @return New connection
+     * @throws SQLException if the database does not support additional connections, or the connection failed
+     */
+    public Connection createConnection() throws SQLException, ClassNotFoundException {
+        throw new SQLFeatureNotSupportedException("Additional connections are not supported");
+    }
+
     /**
      * Checks if a connection is open with the database.
      *
@@ -69,10 +69,15 @@ public class MySQL extends Database {
 
     @Override
     public Connection forceConnection() throws SQLException {
-        this.connection = DriverManager.getConnection(
+        this.connection = createConnection();
+        return this.connection;
+    }
+
+    @Override
+    public Connection createConnection() throws SQLException {
+        return DriverManager.getConnection(
                 "jdbc:mysql://" + this.hostname + ':' + this.port + '/' + this.database + "?"
                         + StringMan.join(Storage.MySQL.PROPERTIES, "&"), this.user, this.password);
-        return this.connection;
     }
 
     @Override
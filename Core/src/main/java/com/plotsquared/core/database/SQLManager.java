@@ -54,6 +54,7 @@ import com.plotsquared.core.util.task.TaskManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
@@ -68,7 +69,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -79,7 +79,10 @@ import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 
 @SuppressWarnings("SqlDialectInspection")
@@ -107,11 +110,11 @@ public class SQLManager implements AbstractDB {
     /**
      * important tasks
      */
-    public volatile Queue<Runnable> globalTasks;
+    private final Queue<Runnable> globalTasks = new ConcurrentLinkedQueue<>();
     /**
      * Notify tasks
      */
-    public volatile Queue<Runnable> notifyTasks;
+    private final Queue<Runnable> notifyTasks = new ConcurrentLinkedQueue<>();
     /**
      * plot
      * plot_denied
@@ -121,18 +124,43 @@ public class SQLManager implements AbstractDB {
      * plot_settings
      * plot_rating
      */
-    public volatile ConcurrentHashMap<Plot, Queue<UniqueStatement>> plotTasks;
+    private final StatementQueue<Plot> plotTasks = new StatementQueue<>();
     /**
      * player_meta
      */
-    public volatile ConcurrentHashMap<UUID, Queue<UniqueStatement>> playerTasks;
+    private final StatementQueue<UUID> playerTasks = new StatementQueue<>();
     /**
      * cluster
      * cluster_helpers
      * cluster_invited
      * cluster_settings
      */
-    public volatile ConcurrentHashMap<PlotCluster, Queue<UniqueStatement>> clusterTasks;
+    private final StatementQueue<PlotCluster> clusterTasks = new StatementQueue<>();
+    /**
+     * Number of queued writes that have not been committed yet
+     */
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+    /**
+     * Time at which the oldest uncommitted write was queued, or 0
+     */
+    private final AtomicLong oldestPendingWrite = new AtomicLong();
+    private final AtomicLong coalescedWrites = new AtomicLong();
+    /**
+     * Number of queued global tasks that have not been committed yet. Global tasks may touch any table.
+     */
+    private final AtomicInteger pendingGlobalWrites = new AtomicInteger();
+    private volatile Thread writerThread;
+    private volatile long lastCommitLatency;
+    private volatile long lastCommitDuration;
+    /**
+     * Connections for reads that do not need to be ordered with queued writes
+     */
+    private final ConnectionPool readPool;
+    /**
+     * Row ids of stored plots by area and plot id, so that {@link #getId(Plot)} does not
+     * have to query the database for plot instances that were never given a row id
+     */
+    private final Map<String, Map<PlotId, Integer>> plotRowIds = new ConcurrentHashMap<>();
     // Private
     private Connection connection;
     private boolean closed = false;
@@ -160,11 +188,9 @@ public class SQLManager implements AbstractDB {
         this.database = database;
         this.connection = database.openConnection();
         this.mySQL = database instanceof MySQL;
-        this.globalTasks = new ConcurrentLinkedQueue<>();
-        this.notifyTasks = new ConcurrentLinkedQueue<>();
-        this.plotTasks = new ConcurrentHashMap<>();
-        this.playerTasks = new ConcurrentHashMap<>();
-        this.clusterTasks = new ConcurrentHashMap<>();
+        this.readPool = Storage.Pool.READ_CONNECTIONS > 0 ? new ConnectionPool(database, Storage.Pool.READ_CONNECTIONS,
+                Storage.Pool.TIMEOUT_MS, TimeUnit.MILLISECONDS
+        ) : null;
         this.prefix = prefix;
         this.SET_OWNER = "UPDATE `" + this.prefix
                 + "plot` SET `owner` = ? WHERE `plot_id_x` = ? AND `plot_id_z` = ? AND `world` = ?";
@@ -195,40 +221,131 @@ public class SQLManager implements AbstractDB {
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        TaskManager.runTaskAsync(() -> {
-            long last = System.currentTimeMillis();
-            while (!SQLManager.this.closed) {
-                boolean hasTask =
-                        !globalTasks.isEmpty() || !playerTasks.isEmpty() || !plotTasks.isEmpty()
-                                || !clusterTasks.isEmpty();
-                if (hasTask) {
-                    if (SQLManager.this.mySQL && System.currentTimeMillis() - last > 550000
-                            || !isValid()) {
-                        last = System.currentTimeMillis();
-                        reconnect();
-                    }
-                    if (!sendBatch()) {
-                        try {
-                            if (!getNotifyTasks().isEmpty()) {
-                                for (Runnable task : getNotifyTasks()) {
-                                    TaskManager.runTask(task);
-                                }
-                                getNotifyTasks().clear();
-                            }
-                            Thread.sleep(50);
-                        } catch (InterruptedException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                } else {
-                    try {
-                        Thread.sleep(1000);
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                }
+        TaskManager.runTaskAsync(this::processWrites);
+    }
+
+    /**
+     * Write queued changes until the manager is closed. The writer parks while there is nothing
+     * to do, and is woken up when a write is queued. Writes are held back for at most
+     * {@link Storage.Writes#GROUP_COMMIT_MS} so that they can be committed together.
+     */
+    private void processWrites() {
+        this.writerThread = Thread.currentThread();
+        long last = System.currentTimeMillis();
+        while (!this.closed) {
+            if (!this.hasPendingWrites()) {
+                this.runNotifyTasks();
+                LockSupport.parkNanos(this, TimeUnit.SECONDS.toNanos(1));
+                continue;
             }
-        });
+            if (this.globalTasks.isEmpty()) {
+                this.awaitGroupCommit();
+            }
+            if (this.mySQL && System.currentTimeMillis() - last > 550000 || !isValid()) {
+                last = System.currentTimeMillis();
+                reconnect();
+            }
+            if (!this.sendBatch()) {
+                // Nothing was committed, either because all writes were coalesced or because of an error
+                this.runNotifyTasks();
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(50));
+            }
+        }
+    }
+
+    /**
+     * Wait until the oldest pending write has been queued for the group commit time,
+     * or until enough writes are pending
+     */
+    private void awaitGroupCommit() {
+        final long oldest = this.oldestPendingWrite.get();
+        if (oldest == 0) {
+            return;
+        }
+        final long deadline = oldest + TimeUnit.MILLISECONDS.toNanos(Storage.Writes.GROUP_COMMIT_MS);
+        long remaining;
+        while (!this.closed && (remaining = deadline - System.nanoTime()) > 0
+                && this.pendingWrites.get() < Storage.Writes.GROUP_COMMIT_SIZE && this.globalTasks.isEmpty()) {
+            LockSupport.parkNanos(this, remaining);
+        }
+    }
+
+    private boolean hasPendingWrites() {
+        return !this.globalTasks.isEmpty() || !this.plotTasks.isEmpty() || !this.playerTasks.isEmpty()
+                || !this.clusterTasks.isEmpty();
+    }
+
+    private void runNotifyTasks() {
+        Runnable task;
+        while ((task = this.notifyTasks.poll()) != null) {
+            TaskManager.runTask(task);
+        }
+    }
+
+    /**
+     * Count a queued write, and wake up the writer if it is waiting for one
+     *
+     * @param urgent Whether the write should not wait for a group commit
+     */
+    private void onWriteQueued(final boolean urgent) {
+        final int pending = this.pendingWrites.incrementAndGet();
+        final boolean first = this.oldestPendingWrite.compareAndSet(0, System.nanoTime());
+        if (urgent || first || pending >= Storage.Writes.GROUP_COMMIT_SIZE) {
+            final Thread writer = this.writerThread;
+            if (writer != null) {
+                LockSupport.unpark(writer);
+            }
+        }
+    }
+
+    /**
+     * Get the number of queued writes that have not been committed yet
+     *
+     * @return Number of pending writes
+     */
+    public int getPendingWrites() {
+        return this.pendingWrites.get();
+    }
+
+    /**
+     * Get how long the oldest uncommitted write has been waiting
+     *
+     * @param unit Time unit
+     * @return Age of the oldest pending write, or 0 if nothing is pending
+     */
+    public long getOldestPendingWriteAge(final @NonNull TimeUnit unit) {
+        final long oldest = this.oldestPendingWrite.get();
+        return oldest == 0 ? 0 : unit.convert(System.nanoTime() - oldest, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the number of writes that were dropped because a later write to the same
+     * column replaced them
+     *
+     * @return Number of coalesced writes
+     */
+    public long getCoalescedWrites() {
+        return this.coalescedWrites.get();
+    }
+
+    /**
+     * Get the time between queueing the oldest write of the last commit and the commit itself
+     *
+     * @param unit Time unit
+     * @return Commit latency
+     */
+    public long getLastCommitLatency(final @NonNull TimeUnit unit) {
+        return unit.convert(this.lastCommitLatency, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the time it took to execute and commit the writes of the last commit
+     *
+     * @param unit Time unit
+     * @return Commit duration
+     */
+    public long getLastCommitDuration(final @NonNull TimeUnit unit) {
+        return unit.convert(this.lastCommitDuration, TimeUnit.NANOSECONDS);
     }
 
     public boolean isValid() {
@@ -249,28 +366,18 @@ public class SQLManager implements AbstractDB {
 
     public void reconnect() {
         try {
-            close();
-            SQLManager.this.closed = false;
+            try {
+                this.connection.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
             SQLManager.this.connection = database.forceConnection();
         } catch (SQLException | ClassNotFoundException e) {
             e.printStackTrace();
         }
     }
 
-    public synchronized Queue<Runnable> getGlobalTasks() {
-        return this.globalTasks;
-    }
-
-    public synchronized Queue<Runnable> getNotifyTasks() {
-        return this.notifyTasks;
-    }
-
-    public synchronized void addPlotTask(@NonNull Plot plot, UniqueStatement task) {
-        Queue<UniqueStatement> tasks = this.plotTasks.get(plot);
-        if (tasks == null) {
-            tasks = new ConcurrentLinkedQueue<>();
-            this.plotTasks.put(plot, tasks);
-        }
+    public void addPlotTask(@NonNull Plot plot, UniqueStatement task) {
         if (task == null) {
             task = new UniqueStatement(String.valueOf(plot.hashCode())) {
 
@@ -293,18 +400,14 @@ public class SQLManager implements AbstractDB {
 
             };
         }
-        tasks.add(task);
+        this.plotTasks.add(plot, task);
+        this.onWriteQueued(false);
     }
 
-    public synchronized void addPlayerTask(UUID uuid, UniqueStatement task) {
+    public void addPlayerTask(UUID uuid, UniqueStatement task) {
         if (uuid == null) {
             return;
         }
-        Queue<UniqueStatement> tasks = this.playerTasks.get(uuid);
-        if (tasks == null) {
-            tasks = new ConcurrentLinkedQueue<>();
-            this.playerTasks.put(uuid, tasks);
-        }
         if (task == null) {
             task = new UniqueStatement(String.valueOf(uuid.hashCode())) {
 
@@ -327,15 +430,11 @@ public class SQLManager implements AbstractDB {
 
             };
         }
-        tasks.add(task);
+        this.playerTasks.add(uuid, task);
+        this.onWriteQueued(false);
     }
 
-    public synchronized void addClusterTask(PlotCluster cluster, UniqueStatement task) {
-        Queue<UniqueStatement> tasks = this.clusterTasks.get(cluster);
-        if (tasks == null) {
-            tasks = new ConcurrentLinkedQueue<>();
-            this.clusterTasks.put(cluster, tasks);
-        }
+    public void addClusterTask(PlotCluster cluster, UniqueStatement task) {
         if (task == null) {
             task = new UniqueStatement(String.valueOf(cluster.hashCode())) {
 
@@ -358,204 +457,91 @@ public class SQLManager implements AbstractDB {
 
             };
         }
-        tasks.add(task);
+        this.clusterTasks.add(cluster, task);
+        this.onWriteQueued(false);
     }
 
-    public synchronized void addGlobalTask(Runnable task) {
-        getGlobalTasks().add(task);
+    public void addGlobalTask(Runnable task) {
+        this.pendingGlobalWrites.incrementAndGet();
+        this.globalTasks.add(task);
+        this.onWriteQueued(true);
     }
 
-    public synchronized void addNotifyTask(Runnable task) {
+    public void addNotifyTask(Runnable task) {
         if (task != null) {
-            getNotifyTasks().add(task);
+            this.notifyTasks.add(task);
         }
     }
 
-    public boolean sendBatch() {
+    /**
+     * Execute the next global task, or otherwise all queued plot, player and cluster
+     * statements in a single transaction. This may only be called from the writer thread,
+     * or while the writer is not running.
+     *
+     * @return {@code true} if anything was written
+     */
+    public synchronized boolean sendBatch() {
         try {
-            if (!getGlobalTasks().isEmpty()) {
-                if (this.connection.getAutoCommit()) {
-                    this.connection.setAutoCommit(false);
-                }
-                Runnable task = getGlobalTasks().remove();
-                if (task != null) {
-                    try {
-                        task.run();
-                    } catch (Throwable e) {
-                        LOGGER.error("============ DATABASE ERROR ============");
-                        LOGGER.error("============ DATABASE ERROR ============");
-                        LOGGER.error("There was an error updating the database.");
-                        LOGGER.error(" - It will be corrected on shutdown");
-                        e.printStackTrace();
-                        LOGGER.error("========================================");
+            final Runnable global = this.globalTasks.poll();
+            if (global != null) {
+                final long start = System.nanoTime();
+                try {
+                    if (this.connection.getAutoCommit()) {
+                        this.connection.setAutoCommit(false);
                     }
-                }
-                commit();
-                return true;
-            }
-            int count = -1;
-            if (!this.plotTasks.isEmpty()) {
-                count = Math.max(count, 0);
-                if (this.connection.getAutoCommit()) {
-                    this.connection.setAutoCommit(false);
-                }
-                String method = null;
-                PreparedStatement statement = null;
-                UniqueStatement task = null;
-                UniqueStatement lastTask = null;
-                Iterator<Entry<Plot, Queue<UniqueStatement>>> iterator =
-                        this.plotTasks.entrySet().iterator();
-                while (iterator.hasNext()) {
                     try {
-                        Entry<Plot, Queue<UniqueStatement>> entry = iterator.next();
-                        Plot plot = entry.getKey();
-                        Queue<UniqueStatement> tasks = entry.getValue();
-                        if (tasks.isEmpty()) {
-                            iterator.remove();
-                            continue;
-                        }
-                        task = tasks.remove();
-                        count++;
-                        if (task != null) {
-                            if (task.method == null || !task.method.equals(method)
-                                    || statement == null) {
-                                if (statement != null) {
-                                    lastTask.execute(statement);
-                                    statement.close();
-                                }
-                                method = task.method;
-                                statement = task.get();
-                            }
-                            task.set(statement);
-                            task.addBatch(statement);
-                            try {
-                                if (statement.isClosed()) {
-                                    statement = null;
-                                }
-                            } catch (NullPointerException | AbstractMethodError ignore) {
-                            }
-                        }
-                        lastTask = task;
+                        global.run();
                     } catch (Throwable e) {
                         LOGGER.error("============ DATABASE ERROR ============");
-                        LOGGER.error("There was an error updating the database.");
-                        LOGGER.error(" - It will be corrected on shutdown");
-                        LOGGER.error("========================================");
-                        e.printStackTrace();
-                        LOGGER.error("========================================");
-                    }
-                }
-                if (statement != null && task != null) {
-                    task.execute(statement);
-                    statement.close();
-                }
-            }
-            if (!this.playerTasks.isEmpty()) {
-                count = Math.max(count, 0);
-                if (this.connection.getAutoCommit()) {
-                    this.connection.setAutoCommit(false);
-                }
-                String method = null;
-                PreparedStatement statement = null;
-                UniqueStatement task = null;
-                UniqueStatement lastTask = null;
-                for (Entry<UUID, Queue<UniqueStatement>> entry : this.playerTasks.entrySet()) {
-                    try {
-                        UUID uuid = entry.getKey();
-                        if (this.playerTasks.get(uuid).isEmpty()) {
-                            this.playerTasks.remove(uuid);
-                            continue;
-                        }
-                        task = this.playerTasks.get(uuid).remove();
-                        count++;
-                        if (task != null) {
-                            if (task.method == null || !task.method.equals(method)) {
-                                if (statement != null) {
-                                    lastTask.execute(statement);
-                                    statement.close();
-                                }
-                                method = task.method;
-                                statement = task.get();
-                            }
-                            task.set(statement);
-                            task.addBatch(statement);
-                        }
-                        lastTask = task;
-                    } catch (Throwable e) {
                         LOGGER.error("============ DATABASE ERROR ============");
                         LOGGER.error("There was an error updating the database.");
                         LOGGER.error(" - It will be corrected on shutdown");
-                        LOGGER.error("========================================");
                         e.printStackTrace();
                         LOGGER.error("========================================");
                     }
+                    commit();
+                } finally {
+                    this.pendingGlobalWrites.decrementAndGet();
+                    this.onWritesCommitted(1, this.oldestPendingWrite.get(), start);
                 }
-                if (statement != null && task != null) {
-                    task.execute(statement);
-                    statement.close();
-                }
-            }
-            if (!this.clusterTasks.isEmpty()) {
-                count = Math.max(count, 0);
-                if (this.connection.getAutoCommit()) {
-                    this.connection.setAutoCommit(false);
-                }
-                String method = null;
-                PreparedStatement statement = null;
-                UniqueStatement task = null;
-                UniqueStatement lastTask = null;
-                for (Entry<PlotCluster, Queue<UniqueStatement>> entry : this.clusterTasks
-                        .entrySet()) {
-                    try {
-                        PlotCluster cluster = entry.getKey();
-                        if (this.clusterTasks.get(cluster).isEmpty()) {
-                            this.clusterTasks.remove(cluster);
-                            continue;
-                        }
-                        task = this.clusterTasks.get(cluster).remove();
-                        count++;
-                        if (task != null) {
-                            if (task.method == null || !task.method.equals(method)) {
-                                if (statement != null) {
-                                    lastTask.execute(statement);
-                                    statement.close();
-                                }
-                                method = task.method;
-                                statement = task.get();
-                            }
-                            task.set(statement);
-                            task.addBatch(statement);
-                        }
-                        lastTask = task;
-                    } catch (Throwable e) {
-                        LOGGER.error("============ DATABASE ERROR ============");
-                        LOGGER.error("There was an error updating the database.");
-                        LOGGER.error(" - It will be corrected on shutdown");
-                        LOGGER.error("========================================");
-                        e.printStackTrace();
-                        LOGGER.error("========================================");
-                    }
-                }
-                if (statement != null && task != null) {
-                    task.execute(statement);
-                    statement.close();
-                }
-            }
-            if (count > 0) {
-                commit();
                 return true;
             }
-            if (count != -1) {
+            final long oldest = this.oldestPendingWrite.get();
+            final long start = System.nanoTime();
+            final int coalesced = this.plotTasks.drain() + this.playerTasks.drain() + this.clusterTasks.drain();
+            if (coalesced > 0) {
+                this.pendingWrites.addAndGet(-coalesced);
+                this.coalescedWrites.addAndGet(coalesced);
+            }
+            if (!this.plotTasks.hasPending() && !this.playerTasks.hasPending() && !this.clusterTasks.hasPending()) {
                 if (!this.connection.getAutoCommit()) {
                     this.connection.setAutoCommit(true);
                 }
+                return false;
             }
-            if (!this.clusterTasks.isEmpty()) {
-                this.clusterTasks.clear();
+            if (this.connection.getAutoCommit()) {
+                this.connection.setAutoCommit(false);
             }
-            if (!this.plotTasks.isEmpty()) {
-                this.plotTasks.clear();
+            // Statements are no longer pending once they are polled, even if executing them fails
+            int polled = 0;
+            try {
+                while (this.plotTasks.hasPending() || this.playerTasks.hasPending() || this.clusterTasks.hasPending()) {
+                    final List<UniqueStatement> plotStatements = this.plotTasks.poll();
+                    final List<UniqueStatement> playerStatements = this.playerTasks.poll();
+                    final List<UniqueStatement> clusterStatements = this.clusterTasks.poll();
+                    polled += plotStatements.size() + playerStatements.size() + clusterStatements.size();
+                    this.executeStatements(plotStatements);
+                    this.executeStatements(playerStatements);
+                    this.executeStatements(clusterStatements);
+                }
+                commit();
+            } finally {
+                this.plotTasks.committed();
+                this.playerTasks.committed();
+                this.clusterTasks.committed();
+                this.onWritesCommitted(polled, oldest, start);
             }
+            return true;
         } catch (Throwable e) {
             LOGGER.error("============ DATABASE ERROR ============");
             LOGGER.error("There was an error updating the database.");
@@ -567,10 +553,100 @@ public class SQLManager implements AbstractDB {
         return false;
     }
 
+    private void onWritesCommitted(final int count, final long oldest, final long start) {
+        final long now = System.nanoTime();
+        if (this.pendingWrites.addAndGet(-count) <= 0) {
+            this.oldestPendingWrite.set(0);
+        } else {
+            this.oldestPendingWrite.set(now);
+        }
+        this.lastCommitDuration = now - start;
+        if (oldest != 0) {
+            this.lastCommitLatency = now - oldest;
+        }
+    }
+
+    /**
+     * Execute statements, batching consecutive statements of the same method
+     *
+     * @param tasks Statements to execute
+     */
+    private void executeStatements(final @NonNull List<UniqueStatement> tasks) throws SQLException {
+        String method = null;
+        PreparedStatement statement = null;
+        UniqueStatement lastTask = null;
+        for (final UniqueStatement task : tasks) {
+            try {
+                if (task.method == null || !task.method.equals(method) || statement == null) {
+                    if (statement != null) {
+                        lastTask.execute(statement);
+                        statement.close();
+                    }
+                    method = task.method;
+                    statement = task.get();
+                }
+                task.set(statement);
+                task.addBatch(statement);
+                try {
+                    if (statement.isClosed()) {
+                        statement = null;
+                    }
+                } catch (NullPointerException | AbstractMethodError ignore) {
+                }
+                lastTask = task;
+            } catch (Throwable e) {
+                LOGGER.error("============ DATABASE ERROR ============");
+                LOGGER.error("There was an error updating the database.");
+                LOGGER.error(" - It will be corrected on shutdown");
+                LOGGER.error("========================================");
+                e.printStackTrace();
+                LOGGER.error("========================================");
+            }
+        }
+        if (statement != null && lastTask != null) {
+            lastTask.execute(statement);
+            statement.close();
+        }
+    }
+
     public Connection getConnection() {
         return this.connection;
     }
 
+    /**
+     * Get the pool of connections used for reads
+     *
+     * @return Read connection pool, or {@code null} if reads use the write connection
+     */
+    public @Nullable ConnectionPool getReadPool() {
+        return this.readPool;
+    }
+
+    /**
+     * Check whether a read of plot data may use the read connection pool. Pooled connections only
+     * see committed data, so reads go through the write connection (in order with the queued
+     * writes) while a global task or a write for the same plot is still queued or uncommitted.
+     *
+     * @param plot Plot that is read, or {@code null} if the read is not limited to one plot
+     * @return {@code true} if the read pool can be used
+     */
+    private boolean canReadFromPool(final @Nullable Plot plot) {
+        if (this.readPool == null || this.pendingGlobalWrites.get() > 0) {
+            return false;
+        }
+        return plot == null ? !this.plotTasks.hasUncommitted() : !this.plotTasks.isUncommitted(plot);
+    }
+
+    /**
+     * Check whether a read of player data may use the read connection pool, see {@link #canReadFromPool(Plot)}
+     *
+     * @param uuid Player that is read
+     * @return {@code true} if the read pool can be used
+     */
+    private boolean canReadFromPool(final @NonNull UUID uuid) {
+        return this.readPool != null && this.pendingGlobalWrites.get() == 0 && !this.playerTasks.isUncommitted(uuid);
+    }
+
     /**
      * Set Plot owner
      *
@@ -579,7 +655,7 @@ public class SQLManager implements AbstractDB {
      */
     @Override
     public void setOwner(final Plot plot, final UUID uuid) {
-        addPlotTask(plot, new UniqueStatement("setOwner") {
+        addPlotTask(plot, new UniqueStatement("setOwner", "owner") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setString(1, uuid.toString());
@@ -625,6 +701,7 @@ public class SQLManager implements AbstractDB {
                                 PlotId plotId = PlotId.of(x, y);
                                 Plot plot = plotMap.get(plotId);
                                 idMap.put(plotId, id);
+                                registerRowId(result.getString("world"), plotId, id);
                                 if (plot != null) {
                                     settings.add(new LegacySettings(id, plot.getSettings()));
                                     for (UUID uuid : plot.getDenied()) {
@@ -1084,6 +1161,7 @@ public class SQLManager implements AbstractDB {
                     try (ResultSet keys = statement.getGeneratedKeys()) {
                         if (keys.next()) {
                             plot.temp = keys.getInt(1);
+                            registerRowId(plot.getArea().toString(), plot.getId(), plot.temp);
                             addPlotTask(plot, new UniqueStatement(
                                     "createPlotAndSettings_settings_" + plot.hashCode()) {
                                 @Override
@@ -1155,6 +1233,7 @@ public class SQLManager implements AbstractDB {
                 try (ResultSet keys = statement.getGeneratedKeys()) {
                     if (keys.next()) {
                         plot.temp = keys.getInt(1);
+                        registerRowId(plot.getArea().toString(), plot.getId(), plot.temp);
                     }
                 }
             }
@@ -1466,7 +1545,9 @@ public class SQLManager implements AbstractDB {
         addPlotTask(plot, new UniqueStatement("delete_plot") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
-                statement.setInt(1, getId(plot));
+                int id = getId(plot);
+                unregisterRowId(plot.getArea().toString(), plot.getId(), id);
+                statement.setInt(1, id);
             }
 
             @Override
@@ -1545,11 +1626,15 @@ public class SQLManager implements AbstractDB {
         if (plot.temp > 0) {
             return plot.temp;
         }
+        Map<PlotId, Integer> areaIds = this.plotRowIds.get(plot.getArea().toString());
+        Integer rowId = areaIds == null ? null : areaIds.get(plot.getId());
+        if (rowId != null) {
+            plot.temp = rowId;
+            return rowId;
+        }
         try {
-            commit();
-            if (plot.temp > 0) {
-                return plot.temp;
-            }
+            // Rows written by the pending transaction are visible on this connection,
+            // so there is no need to commit the current write group first
             int id;
             try (PreparedStatement statement = this.connection.prepareStatement(
                     "SELECT `id` FROM `" + this.prefix
@@ -1571,6 +1656,7 @@ public class SQLManager implements AbstractDB {
                 throw new SQLException("Plot does not exist in database");
             }
             plot.temp = id;
+            registerRowId(plot.getArea().toString(), plot.getId(), id);
             return id;
         } catch (SQLException e) {
             e.printStackTrace();
@@ -1578,6 +1664,17 @@ public class SQLManager implements AbstractDB {
         return Integer.MAX_VALUE;
     }
 
+    private void registerRowId(String area, PlotId plotId, int rowId) {
+        this.plotRowIds.computeIfAbsent(area, key -> new ConcurrentHashMap<>()).put(plotId, rowId);
+    }
+
+    private void unregisterRowId(String area, PlotId plotId, int rowId) {
+        Map<PlotId, Integer> areaIds = this.plotRowIds.get(area);
+        if (areaIds != null) {
+            areaIds.remove(plotId, rowId);
+        }
+    }
+
     @Override
     public void updateTables(int[] oldVersion) {
         try {
@@ -1892,6 +1989,7 @@ public class SQLManager implements AbstractDB {
                                 new HashSet<>(), "", null, null, null,
                                 new boolean[]{false, false, false, false}, time, id
                         );
+                        registerRowId(areaID, p.getId(), id);
                         HashMap<PlotId, Plot> map = newPlots.get(areaID);
                         if (map != null) {
                             Plot last = map.put(p.getId(), p);
@@ -2151,7 +2249,7 @@ public class SQLManager implements AbstractDB {
     @Override
     public void setMerged(final Plot plot, final boolean[] merged) {
         plot.getSettings().setMerged(merged);
-        addPlotTask(plot, new UniqueStatement("setMerged") {
+        addPlotTask(plot, new UniqueStatement("setMerged", "merged") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 int hash = HashUtil.hash(merged);
@@ -2171,7 +2269,7 @@ public class SQLManager implements AbstractDB {
     @Override
     public CompletableFuture<Boolean> swapPlots(Plot plot1, Plot plot2) {
         final CompletableFuture<Boolean> future = new CompletableFuture<>();
-        TaskManager.runTaskAsync(() -> {
+        addGlobalTask(() -> {
             final int id1 = getId(plot1);
             final int id2 = getId(plot2);
             final PlotId pos1 = plot1.getId();
@@ -2187,6 +2285,8 @@ public class SQLManager implements AbstractDB {
                 preparedStatement.setInt(2, pos2.getY());
                 preparedStatement.setInt(3, id2);
                 preparedStatement.execute();
+                registerRowId(plot1.getArea().toString(), pos1, id1);
+                registerRowId(plot2.getArea().toString(), pos2, id2);
             } catch (final Exception e) {
                 LOGGER.error("Failed to persist wap of {} and {}", plot1, plot2);
                 e.printStackTrace();
@@ -2200,13 +2300,21 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void movePlot(final Plot original, final Plot newPlot) {
+        // The id of the original plot is changed to the new id before this task runs
+        final String oldArea = original.getArea().toString();
+        final PlotId oldId = original.getId();
         addPlotTask(original, new UniqueStatement("movePlot") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setInt(1, newPlot.getId().getX());
                 statement.setInt(2, newPlot.getId().getY());
+                final Map<PlotId, Integer> areaIds = SQLManager.this.plotRowIds.get(oldArea);
+                final Integer rowId = areaIds == null ? null : areaIds.get(oldId);
+                int id = original.temp > 0 || rowId == null ? getId(original) : rowId;
                 statement.setString(3, newPlot.getArea().toString());
-                statement.setInt(4, getId(original));
+                statement.setInt(4, id);
+                unregisterRowId(oldArea, oldId, id);
+                registerRowId(newPlot.getArea().toString(), newPlot.getId(), id);
             }
 
             @Override
@@ -2221,7 +2329,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void setFlag(final Plot plot, final PlotFlag<?, ?> flag) {
-        addPlotTask(plot, new UniqueStatement("setFlag") {
+        addPlotTask(plot, new UniqueStatement("setFlag", "flag:" + flag.getName()) {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setInt(1, getId(plot));
@@ -2249,7 +2357,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void removeFlag(final Plot plot, final PlotFlag<?, ?> flag) {
-        addPlotTask(plot, new UniqueStatement("removeFlag") {
+        addPlotTask(plot, new UniqueStatement("removeFlag", "flag:" + flag.getName()) {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setInt(1, getId(plot));
@@ -2267,7 +2375,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void setAlias(final Plot plot, final String alias) {
-        addPlotTask(plot, new UniqueStatement("setAlias") {
+        addPlotTask(plot, new UniqueStatement("setAlias", "alias") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setString(1, alias);
@@ -2342,6 +2450,9 @@ public class SQLManager implements AbstractDB {
                         stmt.close();
                         commit();
                     }
+                    for (Map<PlotId, Integer> areaIds : SQLManager.this.plotRowIds.values()) {
+                        areaIds.values().removeAll(uniqueIds);
+                    }
                 } catch (SQLException e) {
                     LOGGER.error("Failed to purge plots", e);
                     return;
@@ -2384,7 +2495,7 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void setPosition(final Plot plot, final String position) {
-        addPlotTask(plot, new UniqueStatement("setPosition") {
+        addPlotTask(plot, new UniqueStatement("setPosition", "position") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
                 statement.setString(1, position == null ? "" : position);
@@ -2461,31 +2572,42 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void getComments(
-            @NonNull Plot plot, final String inbox,
+            final @Nullable Plot plot, final String inbox,
+            final RunnableVal<List<PlotComment>> whenDone
+    ) {
+        final String sql = plot != null
+                ? "SELECT * FROM `" + this.prefix + "plot_comments` WHERE `world` = ? AND `hashcode` = ? AND `inbox` = ?"
+                : "SELECT * FROM `" + this.prefix + "plot_comments` WHERE `inbox` = ?";
+        if (this.canReadFromPool(plot)) {
+            TaskManager.runTaskAsync(() -> {
+                try (ConnectionPool.Lease lease = this.readPool.acquire()) {
+                    final PreparedStatement statement = lease.prepare(sql);
+                    setCommentParameters(statement, plot, inbox);
+                    whenDone.value = readComments(statement, inbox);
+                    TaskManager.runTask(whenDone);
+                } catch (SQLException e) {
+                    LOGGER.warn("Failed to fetch comments of plot {} from the read pool, using the write connection", plot);
+                    this.queueGetComments(plot, inbox, sql, whenDone);
+                }
+            });
+            return;
+        }
+        this.queueGetComments(plot, inbox, sql, whenDone);
+    }
+
+    private void queueGetComments(
+            final @Nullable Plot plot, final String inbox, final @NonNull String sql,
             final RunnableVal<List<PlotComment>> whenDone
     ) {
         addPlotTask(plot, new UniqueStatement("getComments_" + plot) {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
-                if (plot != null) {
-                    statement.setString(1, plot.getArea().toString());
-                    statement.setInt(2, plot.getId().hashCode());
-                    statement.setString(3, inbox);
-                } else {
-                    statement.setString(1, inbox);
-                }
+                setCommentParameters(statement, plot, inbox);
             }
 
             @Override
             public PreparedStatement get() throws SQLException {
-                if (plot != null) {
-                    return SQLManager.this.connection.prepareStatement(
-                            "SELECT * FROM `" + SQLManager.this.prefix
-                                    + "plot_comments` WHERE `world` = ? AND `hashcode` = ? AND `inbox` = ?");
-                }
-                return SQLManager.this.connection.prepareStatement(
-                        "SELECT * FROM `" + SQLManager.this.prefix
-                                + "plot_comments` WHERE `inbox` = ?");
+                return SQLManager.this.connection.prepareStatement(sql);
             }
 
             @Override
@@ -2494,31 +2616,52 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public void addBatch(PreparedStatement statement) throws SQLException {
-                ArrayList<PlotComment> comments = new ArrayList<>();
-                try (ResultSet set = statement.executeQuery()) {
-                    while (set.next()) {
-                        String sender = set.getString("sender");
-                        String world = set.getString("world");
-                        int hash = set.getInt("hashcode");
-                        PlotId id;
-                        if (hash != 0) {
-                            id = PlotId.unpair(hash);
-                        } else {
-                            id = null;
-                        }
-                        String msg = set.getString("comment");
-                        long timestamp = set.getInt("timestamp") * 1000;
-                        PlotComment comment =
-                                new PlotComment(world, id, msg, sender, inbox, timestamp);
-                        comments.add(comment);
-                    }
-                    whenDone.value = comments;
-                }
+                whenDone.value = readComments(statement, inbox);
                 TaskManager.runTask(whenDone);
             }
         });
     }
 
+    private static void setCommentParameters(
+            final @NonNull PreparedStatement statement,
+            final @Nullable Plot plot,
+            final String inbox
+    ) throws SQLException {
+        if (plot != null) {
+            statement.setString(1, plot.getArea().toString());
+            statement.setInt(2, plot.getId().hashCode());
+            statement.setString(3, inbox);
+        } else {
+            statement.setString(1, inbox);
+        }
+    }
+
+    private static @NonNull List<PlotComment> readComments(
+            final @NonNull PreparedStatement statement,
+            final String inbox
+    ) throws SQLException {
+        ArrayList<PlotComment> comments = new ArrayList<>();
+        try (ResultSet set = statement.executeQuery()) {
+            while (set.next()) {
+                String sender = set.getString("sender");
+                String world = set.getString("world");
+                int hash = set.getInt("hashcode");
+                PlotId id;
+                if (hash != 0) {
+                    id = PlotId.unpair(hash);
+                } else {
+                    id = null;
+                }
+                String msg = set.getString("comment");
+                long timestamp = set.getInt("timestamp") * 1000;
+                PlotComment comment =
+                        new PlotComment(world, id, msg, sender, inbox, timestamp);
+                comments.add(comment);
+            }
+        }
+        return comments;
+    }
+
     @Override
     public void setComment(final Plot plot, final PlotComment comment) {
         addPlotTask(plot, new UniqueStatement("setComment") {
@@ -2652,6 +2795,24 @@ public class SQLManager implements AbstractDB {
     @Override
     public HashMap<UUID, Integer> getRatings(Plot plot) {
         HashMap<UUID, Integer> map = new HashMap<>();
+        if (plot.temp > 0 && this.canReadFromPool(plot)) {
+            try (ConnectionPool.Lease lease = this.readPool.acquire()) {
+                final PreparedStatement statement = lease.prepare("SELECT `rating`, `player` FROM `" + this.prefix
+                        + "plot_rating` WHERE `plot_plot_id` = ? ");
+                statement.setInt(1, plot.temp);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        UUID uuid = UUID.fromString(resultSet.getString("player"));
+                        int rating = resultSet.getInt("rating");
+                        map.put(uuid, rating);
+                    }
+                }
+                return map;
+            } catch (SQLException e) {
+                LOGGER.warn("Failed to fetch rating for plot {} from the read pool, using the write connection", plot.getId());
+                map.clear();
+            }
+        }
         try (PreparedStatement statement = this.connection.prepareStatement(
                 "SELECT `rating`, `player` FROM `" + this.prefix
                         + "plot_rating` WHERE `plot_plot_id` = ? ")) {
@@ -2799,6 +2960,27 @@ public class SQLManager implements AbstractDB {
 
     @Override
     public void getPersistentMeta(final UUID uuid, final RunnableVal<Map<String, byte[]>> result) {
+        final String sql = "SELECT * FROM `" + this.prefix + "player_meta` WHERE `uuid` = ? ORDER BY `meta_id` ASC";
+        if (this.canReadFromPool(uuid)) {
+            TaskManager.runTaskAsync(() -> {
+                try (ConnectionPool.Lease lease = this.readPool.acquire()) {
+                    final PreparedStatement statement = lease.prepare(sql);
+                    statement.setString(1, uuid.toString());
+                    result.run(readPersistentMeta(statement));
+                } catch (SQLException e) {
+                    LOGGER.warn("Failed to fetch persistent meta of {} from the read pool, using the write connection", uuid);
+                    this.queueGetPersistentMeta(uuid, sql, result);
+                }
+            });
+            return;
+        }
+        this.queueGetPersistentMeta(uuid, sql, result);
+    }
+
+    private void queueGetPersistentMeta(
+            final UUID uuid, final @NonNull String sql,
+            final RunnableVal<Map<String, byte[]>> result
+    ) {
         addPlayerTask(uuid, new UniqueStatement("getPersistentMeta") {
             @Override
             public void set(PreparedStatement statement) throws SQLException {
@@ -2807,9 +2989,7 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public PreparedStatement get() throws SQLException {
-                return SQLManager.this.connection.prepareStatement(
-                        "SELECT * FROM `" + SQLManager.this.prefix
-                                + "player_meta` WHERE `uuid` = ? ORDER BY `meta_id` ASC");
+                return SQLManager.this.connection.prepareStatement(sql);
             }
 
             @Override
@@ -2818,23 +2998,25 @@ public class SQLManager implements AbstractDB {
 
             @Override
             public void addBatch(PreparedStatement statement) throws SQLException {
-                ResultSet resultSet = statement.executeQuery();
-
-                final Map<String, byte[]> metaMap = new HashMap<>();
-
-                while (resultSet.next()) {
-                    String key = resultSet.getString("key");
-                    byte[] bytes = resultSet.getBytes("value");
-                    metaMap.put(key, bytes);
-                }
-
-                resultSet.close();
+                final Map<String, byte[]> metaMap = readPersistentMeta(statement);
                 TaskManager.runTaskAsync(() -> result.run(metaMap));
             }
 
         });
     }
 
+    private static @NonNull Map<String, byte[]> readPersistentMeta(final @NonNull PreparedStatement statement) throws SQLException {
+        final Map<String, byte[]> metaMap = new HashMap<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                String key = resultSet.getString("key");
+                byte[] bytes = resultSet.getBytes("value");
+                metaMap.put(key, bytes);
+            }
+        }
+        return metaMap;
+    }
+
     @Override
     public HashMap<String, Set<PlotCluster>> getClusters() {
         LinkedHashMap<String, Set<PlotCluster>> newClusters = new LinkedHashMap<>();
@@ -3178,8 +3360,7 @@ public class SQLManager implements AbstractDB {
         try (Statement stmt = this.connection.createStatement();
              PreparedStatement statement = this.connection
                      .prepareStatement("DROP TABLE `" + this.prefix + "plot`")) {
-            close();
-            this.closed = false;
+            this.connection.close();
             SQLManager.this.connection = this.database.forceConnection();
             stmt.addBatch("DROP TABLE `" + this.prefix + "cluster_invited`");
             stmt.addBatch("DROP TABLE `" + this.prefix + "cluster_helpers`");
@@ -3415,6 +3596,15 @@ public class SQLManager implements AbstractDB {
     public void close() {
         try {
             this.closed = true;
+            // Flush the writes that are still held back for a group commit
+            while (this.hasPendingWrites()) {
+                if (!this.sendBatch()) {
+                    break;
+                }
+            }
+            if (this.readPool != null) {
+                this.readPool.close();
+            }
             this.connection.close();
         } catch (SQLException e) {
             e.printStackTrace();
@@ -3436,9 +3626,20 @@ public class SQLManager implements AbstractDB {
     public abstract static class UniqueStatement {
 
         public final String method;
+        /**
+         * Identifies the value this statement overwrites, or {@code null} if the statement
+         * may not be dropped. A queued statement is dropped when a newer statement with
+         * an equal coalesce key is queued for the same plot, player or cluster.
+         */
+        public final Object coalesceKey;
 
         public UniqueStatement(String method) {
+            this(method, null);
+        }
+
+        public UniqueStatement(String method, Object coalesceKey) {
             this.method = method;
+            this.coalesceKey = coalesceKey;
         }
 
         public void addBatch(PreparedStatement statement) throws SQLException {
@@ -26,6 +26,7 @@
 package com.plotsquared.core.database;
 
 import com.plotsquared.core.PlotSquared;
+import com.plotsquared.core.configuration.Storage;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -77,6 +78,17 @@ public class SQLite extends Database {
         return this.connection;
     }
 
+    @Override
+    public Connection createConnection() throws SQLException, ClassNotFoundException {
+        Class.forName("org.sqlite.JDBC");
+        final Connection connection = DriverManager.getConnection("jdbc:sqlite:" + this.dbLocation);
+        // Wait for the writer instead of failing while it holds the database lock
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA busy_timeout = " + Storage.Pool.TIMEOUT_MS);
+        }
+        return connection;
+    }
+
     @Override
     public boolean checkConnection() throws SQLException {
         return (this.connection != null) && !this.connection.isClosed();
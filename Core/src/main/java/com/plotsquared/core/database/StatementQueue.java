@@ -0,0 +1,187 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.database;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Queue of database statements grouped by the object they apply to (a plot, player or cluster).
+ * <p>
+ * Any thread may add statements without locking. Only the database writer thread may drain the
+ * queue and poll statements. Statements for the same key are executed in the order they were added.
+ * When a statement with a {@link SQLManager.UniqueStatement#coalesceKey} is drained, a pending statement
+ * for the same key and coalesce key is dropped, as the newer statement overwrites its effect.
+ * <p>
+ * Statements count as uncommitted from when they are added until they are dropped or until
+ * {@link #committed()} is called after they were polled, so that readers can tell whether a key
+ * has writes that are not visible to other connections yet.
+ *
+ * @param <K> Key type
+ */
+final class StatementQueue<K> {
+
+    private static final Object NO_KEY = new Object();
+
+    private final Queue<Pending<K>> incoming = new ConcurrentLinkedQueue<>();
+    private final Map<K, ArrayDeque<SQLManager.UniqueStatement>> pending = new LinkedHashMap<>();
+    private final Map<Object, Integer> uncommitted = new ConcurrentHashMap<>();
+    private final List<K> polledKeys = new ArrayList<>();
+
+    /**
+     * Add a statement to the queue. This may be called from any thread.
+     *
+     * @param key       Object the statement applies to
+     * @param statement Statement
+     */
+    void add(final @NonNull K key, final SQLManager.@NonNull UniqueStatement statement) {
+        this.uncommitted.merge(uncommittedKey(key), 1, Integer::sum);
+        this.incoming.add(new Pending<>(key, statement));
+    }
+
+    /**
+     * Move all added statements to the pending statements, dropping redundant ones.
+     * This may only be called from the writer thread.
+     *
+     * @return The number of statements that were dropped
+     */
+    int drain() {
+        int coalesced = 0;
+        Pending<K> next;
+        while ((next = this.incoming.poll()) != null) {
+            final ArrayDeque<SQLManager.UniqueStatement> statements =
+                    this.pending.computeIfAbsent(next.key, key -> new ArrayDeque<>());
+            final Object coalesceKey = next.statement.coalesceKey;
+            if (coalesceKey != null && statements.removeIf(statement -> coalesceKey.equals(statement.coalesceKey))) {
+                coalesced++;
+                this.release(next.key);
+            }
+            statements.add(next.statement);
+        }
+        return coalesced;
+    }
+
+    /**
+     * Take the next pending statement of every key, in the order the keys were first added.
+     * This may only be called from the writer thread.
+     *
+     * @return Statements to execute, possibly empty
+     */
+    @NonNull List<SQLManager.UniqueStatement> poll() {
+        final List<SQLManager.UniqueStatement> statements = new ArrayList<>(this.pending.size());
+        final Iterator<Map.Entry<K, ArrayDeque<SQLManager.UniqueStatement>>> iterator = this.pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<K, ArrayDeque<SQLManager.UniqueStatement>> entry = iterator.next();
+            final ArrayDeque<SQLManager.UniqueStatement> queue = entry.getValue();
+            statements.add(queue.poll());
+            this.polledKeys.add(entry.getKey());
+            if (queue.isEmpty()) {
+                iterator.remove();
+            }
+        }
+        return statements;
+    }
+
+    /**
+     * Mark all statements polled so far as committed (or failed). This may only be called from the writer thread.
+     */
+    void committed() {
+        for (final K key : this.polledKeys) {
+            this.release(key);
+        }
+        this.polledKeys.clear();
+    }
+
+    /**
+     * Whether a key has statements that have been added but not committed yet. This may be called from any thread.
+     *
+     * @param key Object the statements apply to
+     * @return {@code true} if there are uncommitted statements for the key
+     */
+    boolean isUncommitted(final K key) {
+        return this.uncommitted.containsKey(uncommittedKey(key));
+    }
+
+    /**
+     * Whether any statements have been added but not committed yet. This may be called from any thread.
+     *
+     * @return {@code true} if there are uncommitted statements
+     */
+    boolean hasUncommitted() {
+        return !this.uncommitted.isEmpty();
+    }
+
+    private void release(final K key) {
+        this.uncommitted.computeIfPresent(uncommittedKey(key), (k, count) -> count <= 1 ? null : count - 1);
+    }
+
+    private static Object uncommittedKey(final Object key) {
+        // Concurrent maps do not allow null keys
+        return key == null ? NO_KEY : key;
+    }
+
+    /**
+     * Whether there are drained statements that have not been polled yet.
+     * This may only be called from the writer thread.
+     *
+     * @return {@code true} if there are pending statements
+     */
+    boolean hasPending() {
+        return !this.pending.isEmpty();
+    }
+
+    /**
+     * Whether there are no added or pending statements.
+     * This may only be called from the writer thread.
+     *
+     * @return {@code true} if the queue is empty
+     */
+    boolean isEmpty() {
+        return this.incoming.isEmpty() && this.pending.isEmpty();
+    }
+
+    private static final class Pending<K> {
+
+        private final K key;
+        private final SQLManager.UniqueStatement statement;
+
+        private Pending(final K key, final SQLManager.UniqueStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+
+    }
+
+}
@@ -285,34 +285,26 @@ public class ClassicPlotManager extends SquarePlotManager {
         if (!plot.isMerged(Direction.NORTH)) {
             int z = bottom.getZ();
             for (int x = bottom.getX(); x <= top.getX(); x++) {
-                for (int y = classicPlotWorld.PLOT_HEIGHT; y <= maxY; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
+                queue.setColumn(x, z, classicPlotWorld.PLOT_HEIGHT, maxY, blocks);
             }
         }
         if (!plot.isMerged(Direction.WEST)) {
             int x = bottom.getX();
             for (int z = bottom.getZ(); z <= top.getZ(); z++) {
-                for (int y = classicPlotWorld.PLOT_HEIGHT; y <= maxY; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
+                queue.setColumn(x, z, classicPlotWorld.PLOT_HEIGHT, maxY, blocks);
             }
         }
 
         if (!plot.isMerged(Direction.SOUTH)) {
             int z = top.getZ();
             for (int x = bottom.getX(); x <= top.getX(); x++) {
-                for (int y = classicPlotWorld.PLOT_HEIGHT; y <= maxY; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
+                queue.setColumn(x, z, classicPlotWorld.PLOT_HEIGHT, maxY, blocks);
             }
         }
         if (!plot.isMerged(Direction.EAST)) {
             int x = top.getX();
             for (int z = bottom.getZ(); z <= top.getZ(); z++) {
-                for (int y = classicPlotWorld.PLOT_HEIGHT; y <= maxY; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
+                queue.setColumn(x, z, classicPlotWorld.PLOT_HEIGHT, maxY, blocks);
             }
         }
         if (plot.isBasePlot()) {
@@ -382,33 +374,25 @@ public class ClassicPlotManager extends SquarePlotManager {
         if (!plot.isMerged(Direction.NORTH)) {
             int z = bot.getZ();
             for (int x = bot.getX(); x < top.getX(); x++) {
-                for (int y = 1; y <= classicPlotWorld.WALL_HEIGHT; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
+                queue.setColumn(x, z, 1, classicPlotWorld.WALL_HEIGHT, blocks);
             }
         }
         if (!plot.isMerged(Direction.WEST)) {
             int x = bot.getX();
             for (int z = bot.getZ(); z < top.getZ(); z++) {
-                for (int y = 1; y <= classicPlotWorld.WALL_HEIGHT; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
+                queue.setColumn(x, z, 1, classicPlotWorld.WALL_HEIGHT, blocks);
             }
         }
         if (!plot.isMerged(Direction.SOUTH)) {
             int z = top.getZ();
             for (int x = bot.getX(); x < top.getX() + (plot.isMerged(Direction.EAST) ? 0 : 1); x++) {
-                for (int y = 1; y <= classicPlotWorld.WALL_HEIGHT; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
+                queue.setColumn(x, z, 1, classicPlotWorld.WALL_HEIGHT, blocks);
             }
         }
         if (!plot.isMerged(Direction.EAST)) {
             int x = top.getX();
             for (int z = bot.getZ(); z < top.getZ() + (plot.isMerged(Direction.SOUTH) ? 0 : 1); z++) {
-                for (int y = 1; y <= classicPlotWorld.WALL_HEIGHT; y++) {
-                    queue.setBlock(x, y, z, blocks);
-                }
+                queue.setColumn(x, z, 1, classicPlotWorld.WALL_HEIGHT, blocks);
             }
         }
         return !enqueue || queue.enqueue();
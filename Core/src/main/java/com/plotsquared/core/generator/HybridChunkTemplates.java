@@ -0,0 +1,248 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.plot.BlockBucket;
+import com.plotsquared.core.queue.LocalChunk;
+import com.plotsquared.core.queue.PalettedSection;
+import com.plotsquared.core.queue.ScopedQueueCoordinator;
+import com.plotsquared.core.util.PatternUtil;
+import com.sk89q.worldedit.function.pattern.Pattern;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of the chunks generated by {@link HybridGen} for one {@link HybridPlotWorld}.
+ * <p>
+ * The blocks of a generated chunk only depend on the position of the chunk relative to the plot grid, so there
+ * are at most {@code SIZE / gcd(16, SIZE)} distinct layouts along each axis. Each layout is generated once into
+ * {@link PalettedSection}s and copied into the queue for every further chunk with the same layout. Templates are
+ * only used when every block bucket of the area places a single block, as random patterns must be re-rolled for
+ * each chunk.
+ * </p>
+ */
+final class HybridChunkTemplates {
+
+    /**
+     * Upper bound on cached layouts, chunks of further layouts are generated directly
+     */
+    private static final int MAX_TEMPLATES = 1024;
+
+    private final Map<Integer, Template> templates = new ConcurrentHashMap<>();
+    private final short size;
+    private final BlockBucket[] buckets;
+    private final boolean cacheable;
+
+    HybridChunkTemplates(final @NonNull HybridPlotWorld world) {
+        this.size = world.SIZE;
+        this.buckets = buckets(world);
+        boolean cacheable = true;
+        for (final BlockBucket bucket : this.buckets) {
+            final Pattern pattern = bucket.toPattern();
+            if (pattern == null || PatternUtil.getSingleBlock(pattern) == null) {
+                cacheable = false;
+                break;
+            }
+        }
+        this.cacheable = cacheable;
+    }
+
+    private static BlockBucket[] buckets(final @NonNull HybridPlotWorld world) {
+        return new BlockBucket[]{world.ROAD_BLOCK, world.WALL_FILLING, world.WALL_BLOCK, world.MAIN_BLOCK, world.TOP_BLOCK};
+    }
+
+    /**
+     * Get whether these templates were made for the current blocks of the given area
+     */
+    boolean isFor(final @NonNull HybridPlotWorld world) {
+        if (world.SIZE != this.size) {
+            return false;
+        }
+        final BlockBucket[] current = buckets(world);
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] != this.buckets[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get whether chunks of this area can be generated from templates
+     */
+    boolean isCacheable() {
+        return this.cacheable;
+    }
+
+    @Nullable Template get(final short relativeOffsetX, final short relativeOffsetZ) {
+        return this.templates.get(relativeOffsetX * this.size + relativeOffsetZ);
+    }
+
+    /**
+     * Store a template, unless the cache is full
+     *
+     * @return the template to use
+     */
+    @NonNull Template put(final short relativeOffsetX, final short relativeOffsetZ, final @NonNull Template template) {
+        if (this.templates.size() >= MAX_TEMPLATES) {
+            return template;
+        }
+        final Template previous = this.templates.putIfAbsent(relativeOffsetX * this.size + relativeOffsetZ, template);
+        return previous == null ? template : previous;
+    }
+
+    /**
+     * Blocks and biomes of one generated chunk layout
+     */
+    static final class Template {
+
+        private final PalettedSection<BaseBlock>[] sections;
+        private final BiomeType fillBiome;
+        private final BiomeType[] columnBiomes;
+
+        private Template(
+                final PalettedSection<BaseBlock>[] sections,
+                final @Nullable BiomeType fillBiome,
+                final @Nullable BiomeType[] columnBiomes
+        ) {
+            this.sections = sections;
+            this.fillBiome = fillBiome;
+            this.columnBiomes = columnBiomes;
+        }
+
+        /**
+         * Get the block placed at the given position of the chunk, or {@code null} if none is placed
+         */
+        @Nullable BaseBlock getBlock(final int x, final int y, final int z) {
+            if (y < 0 || y > 255) {
+                return null;
+            }
+            final PalettedSection<BaseBlock> section = this.sections[y >> 4];
+            return section == null ? null : section.get(((y & 15) << 8) | (z << 4) | x);
+        }
+
+        /**
+         * Write the template to the chunk represented by the given queue
+         */
+        void apply(final @NonNull ScopedQueueCoordinator result) {
+            if (this.fillBiome != null) {
+                result.fillBiome(this.fillBiome);
+            }
+            for (int layer = 0; layer < this.sections.length; layer++) {
+                final PalettedSection<BaseBlock> section = this.sections[layer];
+                if (section != null) {
+                    result.setSection(0, layer, 0, section);
+                }
+            }
+            if (this.columnBiomes != null) {
+                for (int i = 0; i < 256; i++) {
+                    final BiomeType biome = this.columnBiomes[i];
+                    if (biome != null) {
+                        result.setBiome(i >> 4, i & 15, biome);
+                    }
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Queue that records generated blocks and biomes into a {@link Template}
+     */
+    static final class Capture extends ScopedQueueCoordinator {
+
+        @SuppressWarnings("unchecked")
+        private final PalettedSection<BaseBlock>[] sections = new PalettedSection[LocalChunk.LAYERS];
+        private BiomeType fillBiome;
+        private BiomeType[] columnBiomes;
+
+        Capture() {
+            super(null, Location.at("", 0, 0, 0), Location.at("", 15, 255, 15));
+        }
+
+        private PalettedSection<BaseBlock> section(final int layer) {
+            PalettedSection<BaseBlock> section = this.sections[layer];
+            if (section == null) {
+                section = this.sections[layer] = new PalettedSection<>();
+            }
+            return section;
+        }
+
+        @Override
+        public boolean setBlock(final int x, final int y, final int z, final @NonNull BaseBlock id) {
+            if (x < 0 || x > 15 || y < 0 || y > 255 || z < 0 || z > 15) {
+                return false;
+            }
+            section(y >> 4).set(((y & 15) << 8) | (z << 4) | x, id);
+            return true;
+        }
+
+        @Override
+        public boolean setBlock(final int x, final int y, final int z, final @NonNull BlockState id) {
+            return setBlock(x, y, z, id.toBaseBlock());
+        }
+
+        @Override
+        public boolean setBlock(final int x, final int y, final int z, final @NonNull Pattern pattern) {
+            return setBlock(x, y, z, PatternUtil.apply(pattern, x, y, z));
+        }
+
+        @Override
+        public void fillSection(final int chunkX, final int layer, final int chunkZ, final @NonNull BaseBlock block) {
+            if (chunkX == 0 && chunkZ == 0 && layer >= 0 && layer < LocalChunk.LAYERS) {
+                section(layer).fill(block);
+            }
+        }
+
+        @Override
+        public void fillBiome(final @NonNull BiomeType biome) {
+            this.fillBiome = biome;
+            this.columnBiomes = null;
+        }
+
+        @Override
+        public boolean setBiome(final int x, final int z, final @NonNull BiomeType biome) {
+            if (this.columnBiomes == null) {
+                this.columnBiomes = new BiomeType[256];
+            }
+            this.columnBiomes[(x << 4) | z] = biome;
+            return true;
+        }
+
+        @NonNull Template toTemplate() {
+            return new Template(this.sections, this.fillBiome, this.columnBiomes);
+        }
+
+    }
+
+}
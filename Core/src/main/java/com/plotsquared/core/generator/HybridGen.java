@@ -34,7 +34,7 @@ import com.plotsquared.core.location.Location;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.queue.ScopedQueueCoordinator;
-import com.plotsquared.core.util.MathMan;
+import com.sk89q.worldedit.function.pattern.Pattern;
 import com.sk89q.worldedit.world.biome.BiomeType;
 import com.sk89q.worldedit.world.block.BaseBlock;
 import com.sk89q.worldedit.world.block.BlockTypes;
@@ -65,7 +65,7 @@ public class HybridGen extends IndependentPlotGenerator {
         } else {
             minY = world.getMinBuildHeight();
         }
-        BaseBlock[] blocks = world.G_SCH.get(MathMan.pair(relativeX, relativeZ));
+        BaseBlock[] blocks = world.getOverlayBlocks(relativeX, relativeZ);
         if (blocks != null) {
             for (int y = 0; y < blocks.length; y++) {
                 if (blocks[y] != null) {
@@ -73,7 +73,7 @@ public class HybridGen extends IndependentPlotGenerator {
                 }
             }
         }
-        BiomeType biome = world.G_SCH_B.get(MathMan.pair(relativeX, relativeZ));
+        BiomeType biome = world.getOverlayBiome(relativeX, relativeZ);
         if (biome != null) {
             result.setBiome(x, z, biome);
         }
@@ -85,36 +85,67 @@ public class HybridGen extends IndependentPlotGenerator {
         Preconditions.checkNotNull(settings, "settings cannot be null");
 
         HybridPlotWorld hybridPlotWorld = (HybridPlotWorld) settings;
+        // Coords
+        Location min = result.getMin();
+        // The relative coordinates (within the plot) of the minimum coordinates contained in the scoped queue
+        short relativeOffsetX = relativeOffset(min.getX() - hybridPlotWorld.ROAD_OFFSET_X, hybridPlotWorld.SIZE);
+        short relativeOffsetZ = relativeOffset(min.getZ() - hybridPlotWorld.ROAD_OFFSET_Z, hybridPlotWorld.SIZE);
+        // The output only depends on the offsets, so reuse a template of it where possible
+        if (hybridPlotWorld.getChunkTemplates().isCacheable()) {
+            getTemplate(hybridPlotWorld, relativeOffsetX, relativeOffsetZ).apply(result);
+            return;
+        }
+        generate(result, hybridPlotWorld, relativeOffsetX, relativeOffsetZ);
+    }
+
+    /**
+     * Get the blocks this generator places in the given chunk, for comparison against the world
+     */
+    HybridChunkTemplates.@NonNull Template getChunkTemplate(@NonNull HybridPlotWorld hybridPlotWorld, int chunkX, int chunkZ) {
+        return getTemplate(
+                hybridPlotWorld,
+                relativeOffset((chunkX << 4) - hybridPlotWorld.ROAD_OFFSET_X, hybridPlotWorld.SIZE),
+                relativeOffset((chunkZ << 4) - hybridPlotWorld.ROAD_OFFSET_Z, hybridPlotWorld.SIZE)
+        );
+    }
+
+    private HybridChunkTemplates.Template getTemplate(
+            HybridPlotWorld hybridPlotWorld, short relativeOffsetX,
+            short relativeOffsetZ
+    ) {
+        HybridChunkTemplates templates = hybridPlotWorld.getChunkTemplates();
+        HybridChunkTemplates.Template template = templates.get(relativeOffsetX, relativeOffsetZ);
+        if (template == null) {
+            HybridChunkTemplates.Capture capture = new HybridChunkTemplates.Capture();
+            generate(capture, hybridPlotWorld, relativeOffsetX, relativeOffsetZ);
+            template = capture.toTemplate();
+            if (templates.isCacheable()) {
+                template = templates.put(relativeOffsetX, relativeOffsetZ, template);
+            }
+        }
+        return template;
+    }
+
+    private static short relativeOffset(int offset, short size) {
+        // Always in [0, size), so that equal layouts share one template key
+        return (short) Math.floorMod(offset, size);
+    }
+
+    private void generate(
+            ScopedQueueCoordinator result, HybridPlotWorld hybridPlotWorld,
+            short relativeOffsetX, short relativeOffsetZ
+    ) {
         // Biome
         result.fillBiome(hybridPlotWorld.getPlotBiome());
         // Bedrock
         if (hybridPlotWorld.PLOT_BEDROCK) {
+            Pattern bedrock = BlockTypes.BEDROCK.getDefaultState();
             for (short x = 0; x < 16; x++) {
                 for (short z = 0; z < 16; z++) {
-                    result.setBlock(x, 0, z, BlockTypes.BEDROCK.getDefaultState());
+                    result.setColumn(x, z, 0, 0, bedrock);
                 }
             }
         }
-        // Coords
-        Location min = result.getMin();
-        int bx = (min.getX()) - hybridPlotWorld.ROAD_OFFSET_X;
-        int bz = (min.getZ()) - hybridPlotWorld.ROAD_OFFSET_Z;
-        // The relative X-coordinate (within the plot) of the minimum X coordinate
-        // contained in the scoped queue
-        short relativeOffsetX;
-        if (bx < 0) {
-            relativeOffsetX = (short) (hybridPlotWorld.SIZE + (bx % hybridPlotWorld.SIZE));
-        } else {
-            relativeOffsetX = (short) (bx % hybridPlotWorld.SIZE);
-        }
-        // The relative Z-coordinate (within the plot) of the minimum Z coordinate
-        // contained in the scoped queue
-        short relativeOffsetZ;
-        if (bz < 0) {
-            relativeOffsetZ = (short) (hybridPlotWorld.SIZE + (bz % hybridPlotWorld.SIZE));
-        } else {
-            relativeOffsetZ = (short) (bz % hybridPlotWorld.SIZE);
-        }
         // The X-coordinate of a given X coordinate, relative to the
         // plot (Counting from the corner with the least positive
         // coordinates)
@@ -157,13 +188,35 @@ public class HybridGen extends IndependentPlotGenerator {
         }
         // generation
         int startY = hybridPlotWorld.PLOT_BEDROCK ? 1 : 0;
+        Pattern road = hybridPlotWorld.ROAD_BLOCK.toPattern();
+        Pattern wallFilling = hybridPlotWorld.WALL_FILLING.toPattern();
+        Pattern wall = hybridPlotWorld.WALL_BLOCK.toPattern();
+        Pattern main = hybridPlotWorld.MAIN_BLOCK.toPattern();
+        Pattern top = hybridPlotWorld.TOP_BLOCK.toPattern();
+        if (isInsidePlot(insideRoadX, insideWallX) && isInsidePlot(insideRoadZ, insideWallZ)) {
+            // The whole chunk is plot, so whole sections of the floor can be filled at once
+            if (hybridPlotWorld.PLOT_HEIGHT > startY) {
+                result.setCuboid(Location.at("", 0, startY, 0), Location.at("", 15, hybridPlotWorld.PLOT_HEIGHT - 1, 15), main);
+            }
+            result.setCuboid(
+                    Location.at("", 0, hybridPlotWorld.PLOT_HEIGHT, 0),
+                    Location.at("", 15, hybridPlotWorld.PLOT_HEIGHT, 15),
+                    top
+            );
+            if (hybridPlotWorld.PLOT_SCHEMATIC) {
+                for (short x = 0; x < 16; x++) {
+                    for (short z = 0; z < 16; z++) {
+                        placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z, false);
+                    }
+                }
+            }
+            return;
+        }
         for (short x = 0; x < 16; x++) {
             if (insideRoadX[x]) {
                 for (short z = 0; z < 16; z++) {
                     // Road
-                    for (int y = startY; y <= hybridPlotWorld.ROAD_HEIGHT; y++) {
-                        result.setBlock(x, y, z, hybridPlotWorld.ROAD_BLOCK.toPattern());
-                    }
+                    result.setColumn(x, z, startY, hybridPlotWorld.ROAD_HEIGHT, road);
                     if (hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
                         placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z, true);
                     }
@@ -172,9 +225,7 @@ public class HybridGen extends IndependentPlotGenerator {
                 for (short z = 0; z < 16; z++) {
                     if (insideRoadZ[z]) {
                         // road
-                        for (int y = startY; y <= hybridPlotWorld.ROAD_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.ROAD_BLOCK.toPattern());
-                        }
+                        result.setColumn(x, z, startY, hybridPlotWorld.ROAD_HEIGHT, road);
                         if (hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
                             placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z,
                                     true
@@ -182,14 +233,10 @@ public class HybridGen extends IndependentPlotGenerator {
                         }
                     } else {
                         // wall
-                        for (int y = startY; y <= hybridPlotWorld.WALL_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.WALL_FILLING.toPattern());
-                        }
+                        result.setColumn(x, z, startY, hybridPlotWorld.WALL_HEIGHT, wallFilling);
                         if (!hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
                             if (hybridPlotWorld.PLACE_TOP_BLOCK) {
-                                result.setBlock(x, hybridPlotWorld.WALL_HEIGHT + 1, z,
-                                        hybridPlotWorld.WALL_BLOCK.toPattern()
-                                );
+                                result.setBlock(x, hybridPlotWorld.WALL_HEIGHT + 1, z, wall);
                             }
                         } else {
                             placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z,
@@ -202,9 +249,7 @@ public class HybridGen extends IndependentPlotGenerator {
                 for (short z = 0; z < 16; z++) {
                     if (insideRoadZ[z]) {
                         // road
-                        for (int y = startY; y <= hybridPlotWorld.ROAD_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.ROAD_BLOCK.toPattern());
-                        }
+                        result.setColumn(x, z, startY, hybridPlotWorld.ROAD_HEIGHT, road);
                         if (hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
                             placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z,
                                     true
@@ -212,14 +257,10 @@ public class HybridGen extends IndependentPlotGenerator {
                         }
                     } else if (insideWallZ[z]) {
                         // wall
-                        for (int y = startY; y <= hybridPlotWorld.WALL_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.WALL_FILLING.toPattern());
-                        }
+                        result.setColumn(x, z, startY, hybridPlotWorld.WALL_HEIGHT, wallFilling);
                         if (!hybridPlotWorld.ROAD_SCHEMATIC_ENABLED) {
                             if (hybridPlotWorld.PLACE_TOP_BLOCK) {
-                                result.setBlock(x, hybridPlotWorld.WALL_HEIGHT + 1, z,
-                                        hybridPlotWorld.WALL_BLOCK.toPattern()
-                                );
+                                result.setBlock(x, hybridPlotWorld.WALL_HEIGHT + 1, z, wall);
                             }
                         } else {
                             placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z,
@@ -228,12 +269,8 @@ public class HybridGen extends IndependentPlotGenerator {
                         }
                     } else {
                         // plot
-                        for (int y = startY; y < hybridPlotWorld.PLOT_HEIGHT; y++) {
-                            result.setBlock(x, y, z, hybridPlotWorld.MAIN_BLOCK.toPattern());
-                        }
-                        result.setBlock(x, hybridPlotWorld.PLOT_HEIGHT, z,
-                                hybridPlotWorld.TOP_BLOCK.toPattern()
-                        );
+                        result.setColumn(x, z, startY, hybridPlotWorld.PLOT_HEIGHT - 1, main);
+                        result.setBlock(x, hybridPlotWorld.PLOT_HEIGHT, z, top);
                         if (hybridPlotWorld.PLOT_SCHEMATIC) {
                             placeSchem(hybridPlotWorld, result, relativeX[x], relativeZ[z], x, z,
                                     false
@@ -245,6 +282,15 @@ public class HybridGen extends IndependentPlotGenerator {
         }
     }
 
+    private static boolean isInsidePlot(boolean[] insideRoad, boolean[] insideWall) {
+        for (int i = 0; i < 16; i++) {
+            if (insideRoad[i] || insideWall[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public PlotArea getNewPlotArea(String world, String id, PlotId min, PlotId max) {
         return this.hybridPlotWorldFactory.create(world, id, this, min, max);
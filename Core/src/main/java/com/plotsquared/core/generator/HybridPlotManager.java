@@ -39,7 +39,6 @@ import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.queue.QueueCoordinator;
 import com.plotsquared.core.util.FileBytes;
 import com.plotsquared.core.util.FileUtils;
-import com.plotsquared.core.util.MathMan;
 import com.plotsquared.core.util.RegionManager;
 import com.plotsquared.core.util.WorldUtil;
 import com.sk89q.worldedit.function.pattern.Pattern;
@@ -167,7 +166,7 @@ public class HybridPlotManager extends ClassicPlotManager {
                 if (absZ < 0) {
                     absZ += size;
                 }
-                BaseBlock[] blocks = hybridPlotWorld.G_SCH.get(MathMan.pair(absX, absZ));
+                BaseBlock[] blocks = hybridPlotWorld.getOverlayBlocks(absX, absZ);
                 if (blocks != null) {
                     for (int y = 0; y < blocks.length; y++) {
                         if (blocks[y] != null) {
@@ -178,7 +177,7 @@ public class HybridPlotManager extends ClassicPlotManager {
                         }
                     }
                 }
-                BiomeType biome = hybridPlotWorld.G_SCH_B.get(MathMan.pair(absX, absZ));
+                BiomeType biome = hybridPlotWorld.getOverlayBiome(absX, absZ);
                 if (biome != null) {
                     queue.setBiome(x, z, biome);
                 } else {
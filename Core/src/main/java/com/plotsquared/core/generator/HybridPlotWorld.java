@@ -74,9 +74,21 @@ public class HybridPlotWorld extends ClassicPlotWorld {
     public int PLOT_SCHEMATIC_HEIGHT = -1;
     public short PATH_WIDTH_LOWER;
     public short PATH_WIDTH_UPPER;
+    /**
+     * @deprecated Use {@link #getOverlayBlocks(int, int)}
+     */
+    @Deprecated(forRemoval = true)
     public HashMap<Integer, BaseBlock[]> G_SCH;
+    /**
+     * @deprecated Use {@link #getOverlayBiome(int, int)}
+     */
+    @Deprecated(forRemoval = true)
     public HashMap<Integer, BiomeType> G_SCH_B;
     public int SCHEM_Y;
+    // Schematic overlay, indexed by x * SIZE + z relative to the plot. Null if no schematic is used
+    private BaseBlock[][] overlayBlocks;
+    private BiomeType[] overlayBiomes;
+    private volatile HybridChunkTemplates chunkTemplates;
     private Location SIGN_LOCATION;
     private File root = null;
 
@@ -220,6 +232,9 @@ public class HybridPlotWorld extends ClassicPlotWorld {
     public void setupSchematics() throws SchematicHandler.UnsupportedFormatException {
         this.G_SCH = new HashMap<>();
         this.G_SCH_B = new HashMap<>();
+        this.overlayBlocks = null;
+        this.overlayBiomes = null;
+        this.chunkTemplates = null;
 
         // Try to determine root. This means that plot areas can have separate schematic
         // directories
@@ -425,8 +440,16 @@ public class HybridPlotWorld extends ClassicPlotWorld {
         if (rotate) {
             id = rotate(id);
         }
-        int pair = MathMan.pair(x, z);
-        BaseBlock[] existing = this.G_SCH.computeIfAbsent(pair, k -> new BaseBlock[height]);
+        if (this.overlayBlocks == null) {
+            this.overlayBlocks = new BaseBlock[this.SIZE * this.SIZE][];
+        }
+        int index = x * this.SIZE + z;
+        BaseBlock[] existing = this.overlayBlocks[index];
+        if (existing == null) {
+            existing = this.overlayBlocks[index] = new BaseBlock[height];
+            // The deprecated map shares the column arrays
+            this.G_SCH.put(MathMan.pair(x, z), existing);
+        }
         if (y >= height) {
             LOGGER.error("Error adding overlay block. `y > height`");
             return;
@@ -445,8 +468,46 @@ public class HybridPlotWorld extends ClassicPlotWorld {
         } else if (x >= this.SIZE) {
             x -= this.SIZE;
         }
-        int pair = MathMan.pair(x, z);
-        this.G_SCH_B.put(pair, id);
+        if (this.overlayBiomes == null) {
+            this.overlayBiomes = new BiomeType[this.SIZE * this.SIZE];
+        }
+        this.overlayBiomes[x * this.SIZE + z] = id;
+        this.G_SCH_B.put(MathMan.pair(x, z), id);
+    }
+
+    /**
+     * Get the schematic blocks of a column, from the schematic start height up
+     *
+     * @param x x coordinate relative to the plot, 0 to SIZE - 1
+     * @param z z coordinate relative to the plot, 0 to SIZE - 1
+     * @return the column, or {@code null} if no schematic covers it
+     */
+    public @Nullable BaseBlock[] getOverlayBlocks(int x, int z) {
+        BaseBlock[][] overlay = this.overlayBlocks;
+        return overlay == null ? null : overlay[x * this.SIZE + z];
+    }
+
+    /**
+     * Get the schematic biome of a column
+     *
+     * @param x x coordinate relative to the plot, 0 to SIZE - 1
+     * @param z z coordinate relative to the plot, 0 to SIZE - 1
+     * @return the biome, or {@code null} if no schematic covers it
+     */
+    public @Nullable BiomeType getOverlayBiome(int x, int z) {
+        BiomeType[] overlay = this.overlayBiomes;
+        return overlay == null ? null : overlay[x * this.SIZE + z];
+    }
+
+    /**
+     * Get the chunk templates of this area, recreating them if the blocks used by the generator changed
+     */
+    @NonNull HybridChunkTemplates getChunkTemplates() {
+        HybridChunkTemplates templates = this.chunkTemplates;
+        if (templates == null || !templates.isFor(this)) {
+            this.chunkTemplates = templates = new HybridChunkTemplates(this);
+        }
+        return templates;
     }
 
     public File getRoot() {
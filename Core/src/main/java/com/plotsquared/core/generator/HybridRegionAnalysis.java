@@ -0,0 +1,405 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.plot.expiration.PlotAnalysis;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockType;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming accumulator for the {@link PlotAnalysis} of a region.
+ * <p>
+ * Chunks are compared against the generated blocks one at a time, and only the per-statistic sums of the region's
+ * columns are kept. Faces across a chunk border need the neighbouring chunk, so border columns wait in a small
+ * edge record until it has been accepted. Chunks must be accepted one at a time.
+ * </p>
+ */
+final class HybridRegionAnalysis {
+
+    private static final int CHANGES = 0;
+    private static final int FACES = 1;
+    private static final int DATA = 2;
+    private static final int AIR = 3;
+    private static final int VARIETY = 4;
+    private static final int STATISTICS = 5;
+
+    /**
+     * Faces are only counted for blocks with {@code 0 < y < 255}
+     */
+    private static final long[] INNER_MASK = {~1L, -1L, -1L, Long.MAX_VALUE};
+
+    private final int bx;
+    private final int bz;
+    private final int tx;
+    private final int tz;
+    private final long[] sums = new long[STATISTICS];
+    private final long[] squareSums = new long[STATISTICS];
+    private final Map<Long, Edge[]> edges = new HashMap<>();
+    // Reused between chunks, one air bit per block of a chunk column
+    private final long[] airMask = new long[256 * 4];
+    private final Column[] columns = new Column[256];
+    private final Set<BlockType> types = new HashSet<>();
+    private int count;
+
+    HybridRegionAnalysis(final int bx, final int bz, final int tx, final int tz) {
+        this.bx = bx;
+        this.bz = bz;
+        this.tx = tx;
+        this.tz = tz;
+    }
+
+    private static long chunkKey(final int chunkX, final int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Add a chunk of the region to the analysis
+     *
+     * @param chunkX   chunk X coordinate
+     * @param chunkZ   chunk Z coordinate
+     * @param blocks   the current blocks of the chunk, indexed by {@code y << 8 | z << 4 | x}
+     * @param expected the blocks generated in the chunk
+     */
+    void accept(
+            final int chunkX, final int chunkZ, final @Nullable BlockState @NonNull [] blocks,
+            final HybridChunkTemplates.@NonNull Template expected
+    ) {
+        final int chunkBlockX = chunkX << 4;
+        final int chunkBlockZ = chunkZ << 4;
+        final int minX = Math.max(this.bx - chunkBlockX, 0);
+        final int minZ = Math.max(this.bz - chunkBlockZ, 0);
+        final int maxX = Math.min(this.tx - chunkBlockX, 15);
+        final int maxZ = Math.min(this.tz - chunkBlockZ, 15);
+        if (minX > maxX || minZ > maxZ) {
+            return;
+        }
+        // Air masks first, faces need the neighbouring columns
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                final int column = ((z << 4) | x) << 2;
+                this.airMask[column] = this.airMask[column + 1] = this.airMask[column + 2] = this.airMask[column + 3] = 0L;
+                for (int y = 0; y < 256; y++) {
+                    if (isAir(blocks[(y << 8) | (z << 4) | x])) {
+                        this.airMask[column | (y >> 6)] |= 1L << y;
+                    }
+                }
+            }
+        }
+        final BlockState airBlock = BlockTypes.AIR.getDefaultState();
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                final Column column = new Column();
+                this.types.clear();
+                for (int y = 0; y < 256; y++) {
+                    BlockState now = blocks[(y << 8) | (z << 4) | x];
+                    if (now == null) {
+                        now = airBlock;
+                    }
+                    final BaseBlock old = expected.getBlock(x, y, z);
+                    if (!(old == null ? airBlock : old.toImmutableState()).equals(now)) {
+                        column.values[CHANGES]++;
+                    }
+                    if (now.getBlockType().getMaterial().isAir()) {
+                        column.values[AIR]++;
+                    } else {
+                        if (!now.equals(now.getBlockType().getDefaultState())) {
+                            column.values[DATA]++;
+                        }
+                        this.types.add(now.getBlockType());
+                    }
+                }
+                column.values[VARIETY] = this.types.size();
+                this.columns[(z << 4) | x] = column;
+            }
+        }
+        stitch(chunkX, chunkZ, minX, minZ, maxX, maxZ);
+    }
+
+    /**
+     * Add a chunk of the region to the analysis, given only which of its blocks are air. Only air and faces are
+     * counted.
+     *
+     * @param chunkX chunk X coordinate
+     * @param chunkZ chunk Z coordinate
+     * @param air    whether each block of the chunk is air, indexed by {@code y << 8 | z << 4 | x}
+     */
+    void accept(final int chunkX, final int chunkZ, final boolean @NonNull [] air) {
+        final int minX = Math.max(this.bx - (chunkX << 4), 0);
+        final int minZ = Math.max(this.bz - (chunkZ << 4), 0);
+        final int maxX = Math.min(this.tx - (chunkX << 4), 15);
+        final int maxZ = Math.min(this.tz - (chunkZ << 4), 15);
+        if (minX > maxX || minZ > maxZ) {
+            return;
+        }
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                final int index = ((z << 4) | x) << 2;
+                this.airMask[index] = this.airMask[index + 1] = this.airMask[index + 2] = this.airMask[index + 3] = 0L;
+                final Column column = new Column();
+                for (int y = 0; y < 256; y++) {
+                    if (air[(y << 8) | (z << 4) | x]) {
+                        this.airMask[index | (y >> 6)] |= 1L << y;
+                        column.values[AIR]++;
+                    }
+                }
+                this.columns[(z << 4) | x] = column;
+            }
+        }
+        stitch(chunkX, chunkZ, minX, minZ, maxX, maxZ);
+    }
+
+    /**
+     * Count the faces of the columns of an accepted chunk, exchange the faces across its borders with the accepted
+     * neighbouring chunks and record every column that is complete
+     */
+    private void stitch(final int chunkX, final int chunkZ, final int minX, final int minZ, final int maxX, final int maxZ) {
+        final int chunkBlockX = chunkX << 4;
+        final int chunkBlockZ = chunkZ << 4;
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                final Column column = this.columns[(z << 4) | x];
+                final int rx = chunkBlockX + x - this.bx;
+                final int rz = chunkBlockZ + z - this.bz;
+                if (rx > 0 && rz > 0 && chunkBlockX + x < this.tx && chunkBlockZ + z < this.tz) {
+                    countFaces(column, x, z);
+                }
+                if (column.missing == 0) {
+                    record(column);
+                    this.columns[(z << 4) | x] = null;
+                }
+            }
+        }
+        // Sides: 0 = -X, 1 = +X, 2 = -Z, 3 = +Z
+        for (int side = 0; side < 4; side++) {
+            final int neighbourX = chunkX + (side == 0 ? -1 : side == 1 ? 1 : 0);
+            final int neighbourZ = chunkZ + (side == 2 ? -1 : side == 3 ? 1 : 0);
+            if ((neighbourX << 4) > this.tx || (neighbourX << 4) + 15 < this.bx
+                    || (neighbourZ << 4) > this.tz || (neighbourZ << 4) + 15 < this.bz) {
+                continue;
+            }
+            final Edge opposite = takeEdge(neighbourX, neighbourZ, side ^ 1);
+            if (opposite != null) {
+                for (int i = 0; i < 16; i++) {
+                    final int index = edgeIndex(side, i);
+                    final Column column = this.columns[index];
+                    if (column != null) {
+                        column.values[FACES] += facesAgainst(column.solid, opposite.air, i << 2);
+                        column.missing--;
+                    }
+                    final Column other = opposite.columns[i];
+                    if (other != null) {
+                        other.values[FACES] += facesAgainst(other.solid, this.airMask, index << 2);
+                        if (--other.missing == 0) {
+                            record(other);
+                        }
+                    }
+                }
+            } else {
+                final Edge edge = new Edge();
+                for (int i = 0; i < 16; i++) {
+                    final int index = edgeIndex(side, i);
+                    System.arraycopy(this.airMask, index << 2, edge.air, i << 2, 4);
+                    edge.columns[i] = this.columns[index];
+                }
+                this.edges.computeIfAbsent(chunkKey(chunkX, chunkZ), key -> new Edge[4])[side] = edge;
+            }
+        }
+        for (int i = 0; i < 256; i++) {
+            final Column column = this.columns[i];
+            if (column != null) {
+                if (column.missing == 0) {
+                    record(column);
+                }
+                this.columns[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Count the faces of a column within this chunk, and mark the faces against other chunks as missing
+     */
+    private void countFaces(final Column column, final int x, final int z) {
+        final int index = ((z << 4) | x) << 2;
+        final long[] solid = new long[4];
+        for (int i = 0; i < 4; i++) {
+            solid[i] = ~this.airMask[index + i] & INNER_MASK[i];
+        }
+        int faces = 0;
+        for (int i = 0; i < 4; i++) {
+            final long air = this.airMask[index + i];
+            // Air below and above, carrying the bits between the words
+            final long below = (air << 1) | (i > 0 ? this.airMask[index + i - 1] >>> 63 : 0L);
+            final long above = (air >>> 1) | (i < 3 ? this.airMask[index + i + 1] << 63 : 0L);
+            faces += Long.bitCount(solid[i] & below) + Long.bitCount(solid[i] & above);
+        }
+        if (x > 0) {
+            faces += facesAgainst(solid, this.airMask, index - 4);
+        } else {
+            column.missing++;
+        }
+        if (x < 15) {
+            faces += facesAgainst(solid, this.airMask, index + 4);
+        } else {
+            column.missing++;
+        }
+        if (z > 0) {
+            faces += facesAgainst(solid, this.airMask, index - 64);
+        } else {
+            column.missing++;
+        }
+        if (z < 15) {
+            faces += facesAgainst(solid, this.airMask, index + 64);
+        } else {
+            column.missing++;
+        }
+        column.values[FACES] = faces;
+        column.solid = solid;
+    }
+
+    private static int facesAgainst(final long[] solid, final long[] air, final int offset) {
+        int faces = 0;
+        for (int i = 0; i < 4; i++) {
+            faces += Long.bitCount(solid[i] & air[offset + i]);
+        }
+        return faces;
+    }
+
+    /**
+     * Get the column index of the i-th column along a side of a chunk
+     */
+    private static int edgeIndex(final int side, final int i) {
+        return switch (side) {
+            case 0 -> i << 4;
+            case 1 -> (i << 4) | 15;
+            case 2 -> i;
+            default -> (15 << 4) | i;
+        };
+    }
+
+    private @Nullable Edge takeEdge(final int chunkX, final int chunkZ, final int side) {
+        final long key = chunkKey(chunkX, chunkZ);
+        final Edge[] chunkEdges = this.edges.get(key);
+        if (chunkEdges == null) {
+            return null;
+        }
+        final Edge edge = chunkEdges[side];
+        chunkEdges[side] = null;
+        if (chunkEdges[0] == null && chunkEdges[1] == null && chunkEdges[2] == null && chunkEdges[3] == null) {
+            this.edges.remove(key);
+        }
+        return edge;
+    }
+
+    private static boolean isAir(final @Nullable BlockState block) {
+        return block == null || block.getBlockType().getMaterial().isAir();
+    }
+
+    private void record(final Column column) {
+        for (int i = 0; i < STATISTICS; i++) {
+            final long value = column.values[i];
+            this.sums[i] += value;
+            this.squareSums[i] += value * value;
+        }
+        this.count++;
+    }
+
+    /**
+     * Get the analysis of all accepted chunks. Columns still waiting for a neighbouring chunk are counted as they are.
+     */
+    @NonNull PlotAnalysis toAnalysis() {
+        for (final Edge[] chunkEdges : this.edges.values()) {
+            for (final Edge edge : chunkEdges) {
+                if (edge == null) {
+                    continue;
+                }
+                for (final Column column : edge.columns) {
+                    if (column != null && column.missing > 0) {
+                        // Corner columns may be in two edges, only count them once
+                        column.missing = 0;
+                        record(column);
+                    }
+                }
+            }
+        }
+        this.edges.clear();
+        final PlotAnalysis analysis = new PlotAnalysis();
+        if (this.count == 0) {
+            return analysis;
+        }
+        final int[] means = new int[STATISTICS];
+        final int[] deviations = new int[STATISTICS];
+        for (int i = 0; i < STATISTICS; i++) {
+            means[i] = (int) ((double) this.sums[i] / this.count * 100);
+            // Deviation from the scaled mean, as computed by previous versions
+            final double mean = means[i];
+            final double squares = this.squareSums[i] - 2 * mean * this.sums[i] + this.count * mean * mean;
+            deviations[i] = (int) (Math.sqrt(Math.max(squares, 0) / this.count) * 100);
+        }
+        analysis.changes = means[CHANGES];
+        analysis.faces = means[FACES];
+        analysis.data = means[DATA];
+        analysis.air = means[AIR];
+        analysis.variety = means[VARIETY];
+        analysis.changes_sd = deviations[CHANGES];
+        analysis.faces_sd = deviations[FACES];
+        analysis.data_sd = deviations[DATA];
+        analysis.air_sd = deviations[AIR];
+        analysis.variety_sd = deviations[VARIETY];
+        return analysis;
+    }
+
+    /**
+     * Statistics of one column of the region
+     */
+    private static final class Column {
+
+        private final int[] values = new int[STATISTICS];
+        private long[] solid;
+        // Number of faces against chunks that have not been accepted yet
+        private int missing;
+
+    }
+
+    /**
+     * Air of the columns along one side of an accepted chunk, and its columns waiting for the other side
+     */
+    private static final class Edge {
+
+        private final long[] air = new long[16 * 4];
+        private final Column[] columns = new Column[16];
+
+    }
+
+}
@@ -26,6 +26,7 @@
 package com.plotsquared.core.generator;
 
 import com.google.inject.Inject;
+import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.events.PlotFlagAddEvent;
 import com.plotsquared.core.events.Result;
@@ -41,11 +42,10 @@ import com.plotsquared.core.plot.flag.GlobalFlagContainer;
 import com.plotsquared.core.plot.flag.PlotFlag;
 import com.plotsquared.core.plot.flag.implementations.AnalysisFlag;
 import com.plotsquared.core.plot.world.PlotAreaManager;
-import com.plotsquared.core.queue.ChunkQueueCoordinator;
 import com.plotsquared.core.queue.GlobalBlockQueue;
 import com.plotsquared.core.queue.QueueCoordinator;
 import com.plotsquared.core.util.ChunkManager;
-import com.plotsquared.core.util.MathMan;
+import com.plotsquared.core.util.FileUtils;
 import com.plotsquared.core.util.RegionManager;
 import com.plotsquared.core.util.RegionUtil;
 import com.plotsquared.core.util.SchematicHandler;
@@ -59,8 +59,6 @@ import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.world.biome.BiomeType;
 import com.sk89q.worldedit.world.block.BaseBlock;
 import com.sk89q.worldedit.world.block.BlockState;
-import com.sk89q.worldedit.world.block.BlockType;
-import com.sk89q.worldedit.world.block.BlockTypes;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -74,12 +72,19 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class HybridUtils {
 
     private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + HybridUtils.class.getSimpleName());
+    /**
+     * Number of chunk copies that may wait for the analysis of a region
+     */
+    private static final int ANALYSIS_BUFFERS = 4;
 
     public static HybridUtils manager;
     public static Set<BlockVector2> regions;
@@ -114,185 +119,137 @@ public class HybridUtils {
         plotManager.regenerateAllPlotWalls(null);
     }
 
+    /**
+     * Analyse a region of a hybrid plot area. {@code whenDone} is run off the main thread, with a {@code null} value if the
+     * region could not be analysed.
+     *
+     * @param world    world name
+     * @param region   region to analyse
+     * @param whenDone task receiving the analysis
+     */
     public void analyzeRegion(final String world, final CuboidRegion region, final RunnableVal<PlotAnalysis> whenDone) {
         // int diff, int variety, int vertices, int rotation, int height_sd
         /*
          * diff: compare to base by looping through all blocks
          * variety: add to HashSet for each BlockState
-         * height_sd: loop over all blocks and get top block
+         * height_sd: loop over all blocks and get top block (not computed, PlotAnalysis has no height statistic)
          *
          * vertices: store air map and compare with neighbours
          * for each block check the adjacent
-         *  - Store all blocks then go through in second loop
-         *  - recheck each block
          *
+         * The blocks of each chunk are copied as it is loaded and compared against the generated blocks off the main
+         * thread. Copies go into a bounded set of buffers, when all of them are in use the chunk is compared right away
+         * instead, so at most ANALYSIS_BUFFERS + 1 chunks are held at any time.
          */
         TaskManager.runTaskAsync(() -> {
             final BlockVector3 bot = region.getMinimumPoint();
             final BlockVector3 top = region.getMaximumPoint();
 
-            final int bx = bot.getX();
-            final int bz = bot.getZ();
-            final int tx = top.getX();
-            final int tz = top.getZ();
-            final int cbx = bx >> 4;
-            final int cbz = bz >> 4;
-            final int ctx = tx >> 4;
-            final int ctz = tz >> 4;
-            final int width = tx - bx + 1;
-            final int length = tz - bz + 1;
-
             final PlotArea area = this.plotAreaManager.getPlotArea(world, null);
 
-            if (!(area instanceof HybridPlotWorld hpw)) {
+            if (!(area instanceof HybridPlotWorld hpw) || !(hpw.getGenerator() instanceof HybridGen generator)) {
+                LOGGER.warn("Cannot analyse region {} in world {}, it is not a hybrid plot area", region, world);
+                whenDone.value = null;
+                whenDone.run();
                 return;
             }
 
-            ChunkQueueCoordinator chunk = new ChunkQueueCoordinator(bot, top, false);
-            hpw.getGenerator().generateChunk(chunk, hpw);
-
-            final BlockState[][][] oldBlocks = chunk.getBlocks();
-            final BlockState[][][] newBlocks = new BlockState[256][width][length];
-            final BlockState airBlock = BlockTypes.AIR.getDefaultState();
-
-            System.gc();
-            System.gc();
+            final HybridRegionAnalysis analysis = new HybridRegionAnalysis(bot.getX(), bot.getZ(), top.getX(), top.getZ());
+            final BlockingQueue<BlockState[]> buffers = new ArrayBlockingQueue<>(ANALYSIS_BUFFERS);
+            final AtomicInteger allocated = new AtomicInteger();
+            final BlockState[][] ownBuffer = new BlockState[1][];
+            final AtomicReference<Throwable> failure = new AtomicReference<>();
+            // The queue itself counts as one outstanding task until it has delivered every chunk
+            final AtomicInteger outstanding = new AtomicInteger(1);
+            final Runnable done = () -> {
+                if (outstanding.decrementAndGet() != 0) {
+                    return;
+                }
+                TaskManager.runTaskAsync(() -> {
+                    final Throwable throwable = failure.get();
+                    if (throwable != null) {
+                        LOGGER.error("Failed to analyse region {} in world {}", region, world, throwable);
+                        whenDone.value = null;
+                    } else {
+                        whenDone.value = analysis.toAnalysis();
+                    }
+                    whenDone.run();
+                });
+            };
 
             QueueCoordinator queue = area.getQueue();
             queue.addReadChunks(region.getChunks());
             queue.setChunkConsumer(blockVector2 -> {
                 int X = blockVector2.getX();
                 int Z = blockVector2.getZ();
-                int minX;
-                if (X == cbx) {
-                    minX = bx & 15;
-                } else {
-                    minX = 0;
+                BlockState[] buffer = buffers.poll();
+                if (buffer == null && allocated.getAndUpdate(i -> Math.min(i + 1, ANALYSIS_BUFFERS)) < ANALYSIS_BUFFERS) {
+                    buffer = new BlockState[16 * 256 * 16];
                 }
-                int minZ;
-                if (Z == cbz) {
-                    minZ = bz & 15;
-                } else {
-                    minZ = 0;
-                }
-                int maxX;
-                if (X == ctx) {
-                    maxX = tx & 15;
-                } else {
-                    maxX = 16;
-                }
-                int maxZ;
-                if (Z == ctz) {
-                    maxZ = tz & 15;
-                } else {
-                    maxZ = 16;
+                final boolean inline = buffer == null;
+                if (inline) {
+                    if (ownBuffer[0] == null) {
+                        ownBuffer[0] = new BlockState[16 * 256 * 16];
+                    }
+                    buffer = ownBuffer[0];
                 }
-
-                int chunkBlockX = X << 4;
-                int chunkBlockZ = Z << 4;
-
-                int xb = chunkBlockX - bx;
-                int zb = chunkBlockZ - bz;
+                final BlockState[] blocks = buffer;
+                int minX = Math.max(bot.getX() - (X << 4), 0);
+                int minZ = Math.max(bot.getZ() - (Z << 4), 0);
+                int maxX = Math.min(top.getX() - (X << 4), 15);
+                int maxZ = Math.min(top.getZ() - (Z << 4), 15);
                 for (int x = minX; x <= maxX; x++) {
-                    int xx = chunkBlockX + x;
+                    int xx = (X << 4) + x;
                     for (int z = minZ; z <= maxZ; z++) {
-                        int zz = chunkBlockZ + z;
+                        int zz = (Z << 4) + z;
                         for (int y = 0; y < 256; y++) {
-                            BlockState block = queue.getBlock(xx, y, zz);
-                            int xr = xb + x;
-                            int zr = zb + z;
-                            newBlocks[y][xr][zr] = block;
+                            blocks[(y << 8) | (z << 4) | x] = queue.getBlock(xx, y, zz);
                         }
                     }
                 }
-            });
-
-            final Runnable run = () -> TaskManager.runTaskAsync(() -> {
-                int size = width * length;
-                int[] changes = new int[size];
-                int[] faces = new int[size];
-                int[] data = new int[size];
-                int[] air = new int[size];
-                int[] variety = new int[size];
-                int i = 0;
-                for (int x = 0; x < width; x++) {
-                    for (int z = 0; z < length; z++) {
-                        Set<BlockType> types = new HashSet<>();
-                        for (int y = 0; y < 256; y++) {
-                            BlockState old = oldBlocks[y][x][z];
-                            try {
-                                if (old == null) {
-                                    old = airBlock;
-                                }
-                                BlockState now = newBlocks[y][x][z];
-                                if (!old.equals(now)) {
-                                    changes[i]++;
-                                }
-                                if (now.getBlockType().getMaterial().isAir()) {
-                                    air[i]++;
-                                } else {
-                                    // check vertices
-                                    // modifications_adjacent
-                                    if (x > 0 && z > 0 && y > 0 && x < width - 1 && z < length - 1 && y < 255) {
-                                        if (newBlocks[y - 1][x][z].getBlockType().getMaterial().isAir()) {
-                                            faces[i]++;
-                                        }
-                                        if (newBlocks[y][x - 1][z].getBlockType().getMaterial().isAir()) {
-                                            faces[i]++;
-                                        }
-                                        if (newBlocks[y][x][z - 1].getBlockType().getMaterial().isAir()) {
-                                            faces[i]++;
-                                        }
-                                        if (newBlocks[y + 1][x][z].getBlockType().getMaterial().isAir()) {
-                                            faces[i]++;
-                                        }
-                                        if (newBlocks[y][x + 1][z].getBlockType().getMaterial().isAir()) {
-                                            faces[i]++;
-                                        }
-                                        if (newBlocks[y][x][z + 1].getBlockType().getMaterial().isAir()) {
-                                            faces[i]++;
-                                        }
-                                    }
-
-                                    if (!now.equals(now.getBlockType().getDefaultState())) {
-                                        data[i]++;
-                                    }
-                                    types.add(now.getBlockType());
-                                }
-                            } catch (NullPointerException e) {
-                                e.printStackTrace();
-                            }
-                        }
-                        variety[i] = types.size();
-                        i++;
-                    }
+                if (inline) {
+                    // Every buffer is waiting for the analysis, so compare this chunk now rather than queue up more copies
+                    analyzeChunk(analysis, X, Z, blocks, generator, hpw, failure);
+                    return;
                 }
-                // analyze plot
-                // put in analysis obj
-
-                // run whenDone
-                PlotAnalysis analysis = new PlotAnalysis();
-                analysis.changes = (int) (MathMan.getMean(changes) * 100);
-                analysis.faces = (int) (MathMan.getMean(faces) * 100);
-                analysis.data = (int) (MathMan.getMean(data) * 100);
-                analysis.air = (int) (MathMan.getMean(air) * 100);
-                analysis.variety = (int) (MathMan.getMean(variety) * 100);
-
-                analysis.changes_sd = (int) (MathMan.getSD(changes, analysis.changes) * 100);
-                analysis.faces_sd = (int) (MathMan.getSD(faces, analysis.faces) * 100);
-                analysis.data_sd = (int) (MathMan.getSD(data, analysis.data) * 100);
-                analysis.air_sd = (int) (MathMan.getSD(air, analysis.air) * 100);
-                analysis.variety_sd = (int) (MathMan.getSD(variety, analysis.variety) * 100);
-                System.gc();
-                System.gc();
-                whenDone.value = analysis;
-                whenDone.run();
+                outstanding.incrementAndGet();
+                TaskManager.runTaskAsync(() -> {
+                    try {
+                        analyzeChunk(analysis, X, Z, blocks, generator, hpw, failure);
+                    } finally {
+                        buffers.offer(blocks);
+                        done.run();
+                    }
+                });
             });
-            queue.setCompleteTask(run);
+
+            queue.setCompleteTask(done);
             queue.enqueue();
         });
     }
 
+    private static void analyzeChunk(
+            final @NonNull HybridRegionAnalysis analysis, final int chunkX, final int chunkZ,
+            final BlockState @NonNull [] blocks, final @NonNull HybridGen generator, final @NonNull HybridPlotWorld hpw,
+            final @NonNull AtomicReference<Throwable> failure
+    ) {
+        try {
+            // The analysis accepts one chunk at a time
+            synchronized (analysis) {
+                analysis.accept(chunkX, chunkZ, blocks, generator.getChunkTemplate(hpw, chunkX, chunkZ));
+            }
+        } catch (Throwable throwable) {
+            failure.compareAndSet(null, throwable);
+        }
+    }
+
+    /**
+     * Analyse a plot and store the result in its analysis flag. {@code whenDone} is run on the main thread, with a
+     * {@code null} value if the plot could not be analysed.
+     *
+     * @param origin   plot to analyse
+     * @param whenDone task receiving the analysis
+     */
     public void analyzePlot(final Plot origin, final RunnableVal<PlotAnalysis> whenDone) {
         final ArrayDeque<CuboidRegion> zones = new ArrayDeque<>(origin.getRegions());
         final ArrayList<PlotAnalysis> analysis = new ArrayList<>();
@@ -342,10 +299,10 @@ public class HybridUtils {
                     PlotFlag<?, ?> plotFlag = GlobalFlagContainer.getInstance().getFlag(AnalysisFlag.class).createFlagInstance(
                             result);
                     PlotFlagAddEvent event = new PlotFlagAddEvent(plotFlag, origin);
-                    if (event.getEventResult() == Result.DENY) {
-                        return;
+                    // A denied flag only skips storing the analysis, the caller still gets it
+                    if (event.getEventResult() != Result.DENY) {
+                        origin.setFlag(event.getFlag());
                     }
-                    origin.setFlag(event.getFlag());
                     TaskManager.runTask(whenDone);
                     return;
                 }
@@ -354,6 +311,11 @@ public class HybridUtils {
                 analyzeRegion(origin.getWorldName(), region, new RunnableVal<>() {
                     @Override
                     public void run(PlotAnalysis value) {
+                        if (value == null) {
+                            whenDone.value = null;
+                            TaskManager.runTask(whenDone);
+                            return;
+                        }
                         analysis.add(value);
                         TaskManager.runTaskLater(task, TaskTime.ticks(1L));
                     }
@@ -525,12 +487,11 @@ public class HybridUtils {
                 .getArea()
                 .toString() + File.separator;
 
-        this.schematicHandler.getCompoundTag(world, sideRoad)
-                .whenComplete((compoundTag, throwable) -> {
-                    schematicHandler.save(compoundTag, dir + "sideroad.schem");
-                    schematicHandler.getCompoundTag(world, intersection)
-                            .whenComplete((c, t) -> {
-                                schematicHandler.save(c, dir + "intersection.schem");
+        final File directory = FileUtils.getFile(PlotSquared.platform().getDirectory(), dir);
+        this.schematicHandler.exportSchematic(world, sideRoad, new File(directory, "sideroad.schem"))
+                .whenComplete((ignored, throwable) -> {
+                    schematicHandler.exportSchematic(world, intersection, new File(directory, "intersection.schem"))
+                            .whenComplete((i, t) -> {
                                 plotworld.ROAD_SCHEMATIC_ENABLED = true;
                                 try {
                                     plotworld.setupSchematics();
@@ -626,7 +587,7 @@ public class HybridUtils {
                             condition = !gx || !gz || !lx || !lz;
                         }
                         if (condition) {
-                            BaseBlock[] blocks = plotWorld.G_SCH.get(MathMan.pair(absX, absZ));
+                            BaseBlock[] blocks = plotWorld.getOverlayBlocks(absX, absZ);
                             int minY = Settings.Schematics.PASTE_ROAD_ON_TOP ? plotWorld.SCHEM_Y : 1;
                             int maxY = Math.max(extend, blocks.length);
                             for (int y = 0; y < maxY; y++) {
@@ -656,7 +617,7 @@ public class HybridUtils {
                                     }
                                 }
                             }
-                            BiomeType biome = plotWorld.G_SCH_B.get(MathMan.pair(absX, absZ));
+                            BiomeType biome = plotWorld.getOverlayBiome(absX, absZ);
                             if (biome != null) {
                                 queue.setBiome(finalX + X + plotWorld.ROAD_OFFSET_X, finalZ + Z + plotWorld.ROAD_OFFSET_Z, biome);
                             } else {
@@ -31,7 +31,9 @@ import com.google.inject.TypeLiteral;
 import com.plotsquared.core.synchronization.LockKey;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -42,16 +44,19 @@ import java.util.Map;
 public final class MetaDataKey<T> {
 
     private static final Map<String, MetaDataKey<?>> keyMap = new HashMap<>();
+    private static final List<MetaDataKey<?>> keyList = new ArrayList<>();
     private static final Object keyMetaData = new Object();
 
     private final String key;
     private final TypeLiteral<T> type;
     private final LockKey lockKey;
+    private final int ordinal;
 
-    private MetaDataKey(final @NonNull String key, final @NonNull TypeLiteral<T> type) {
+    private MetaDataKey(final @NonNull String key, final @NonNull TypeLiteral<T> type, final int ordinal) {
         this.key = Preconditions.checkNotNull(key, "Key may not be null");
         this.type = Preconditions.checkNotNull(type, "Type may not be null");
         this.lockKey = LockKey.of(this.key);
+        this.ordinal = ordinal;
     }
 
     /**
@@ -65,7 +70,34 @@ public final class MetaDataKey<T> {
     public static @NonNull <T> MetaDataKey<T> of(final @NonNull String key, final @NonNull TypeLiteral<T> type) {
         synchronized (keyMetaData) {
             return (MetaDataKey<T>)
-                    keyMap.computeIfAbsent(key, missingKey -> new MetaDataKey<>(missingKey, type));
+                    keyMap.computeIfAbsent(key, missingKey -> {
+                        final MetaDataKey<T> metaDataKey = new MetaDataKey<>(missingKey, type, keyList.size());
+                        keyList.add(metaDataKey);
+                        return metaDataKey;
+                    });
+        }
+    }
+
+    /**
+     * Get the number of keys created so far. Ordinals are always smaller than this.
+     *
+     * @return Number of keys
+     */
+    static int getKeyCount() {
+        synchronized (keyMetaData) {
+            return keyList.size();
+        }
+    }
+
+    /**
+     * Get the key with the given ordinal
+     *
+     * @param ordinal Key ordinal
+     * @return Key
+     */
+    static @NonNull MetaDataKey<?> byOrdinal(final int ordinal) {
+        synchronized (keyMetaData) {
+            return keyList.get(ordinal);
         }
     }
 
@@ -100,6 +132,15 @@ public final class MetaDataKey<T> {
         return this.lockKey;
     }
 
+    /**
+     * Get the dense index of this key, in order of creation
+     *
+     * @return Key ordinal
+     */
+    public int getOrdinal() {
+        return this.ordinal;
+    }
+
     /**
      * Get the meta data type
      *
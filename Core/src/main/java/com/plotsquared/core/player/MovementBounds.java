@@ -0,0 +1,124 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.player;
+
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotId;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The block bounds of the (unmerged) plot a player was last resolved in. Every block
+ * within the bounds maps to the same {@link PlotId}, so movement that stays inside
+ * them does not have to look up the plot area or compute the plot id again.
+ */
+public final class MovementBounds {
+
+    private final String world;
+    private final PlotArea area;
+    private final PlotId id;
+    private final int minX;
+    private final int minZ;
+    private final int maxX;
+    private final int maxZ;
+
+    private MovementBounds(
+            final @NonNull String world, final @NonNull PlotArea area, final @NonNull PlotId id,
+            final int minX, final int minZ, final int maxX, final int maxZ
+    ) {
+        this.world = world;
+        this.area = area;
+        this.id = id;
+        this.minX = minX;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxZ = maxZ;
+    }
+
+    /**
+     * Create the bounds of the absolute plot containing the given location.
+     *
+     * @param area     the area containing the location
+     * @param location the location
+     * @return the bounds, or {@code null} if the location is not inside a plot
+     */
+    public static @Nullable MovementBounds of(final @NonNull PlotArea area, final @NonNull Location location) {
+        final Plot plot = area.getPlotAbs(location);
+        if (plot == null) {
+            return null;
+        }
+        return of(location.getWorldName(), area, plot.getId(), plot.getBottomAbs(), plot.getTopAbs());
+    }
+
+    static @NonNull MovementBounds of(
+            final @NonNull String world, final @NonNull PlotArea area, final @NonNull PlotId id,
+            final @NonNull Location bottom, final @NonNull Location top
+    ) {
+        return new MovementBounds(
+                world,
+                area,
+                id,
+                Math.min(bottom.getX(), top.getX()),
+                Math.min(bottom.getZ(), top.getZ()),
+                Math.max(bottom.getX(), top.getX()),
+                Math.max(bottom.getZ(), top.getZ())
+        );
+    }
+
+    /**
+     * Check whether the given block column is inside the bounds.
+     *
+     * @param world the world name
+     * @param x     block x
+     * @param z     block z
+     * @return {@code true} if the column is inside the bounds
+     */
+    public boolean contains(final @NonNull String world, final int x, final int z) {
+        return x >= this.minX && x <= this.maxX && z >= this.minZ && z <= this.maxZ && this.world.equals(world);
+    }
+
+    /**
+     * Get the plot area that the bounds were created in.
+     *
+     * @return the plot area
+     */
+    public @NonNull PlotArea getArea() {
+        return this.area;
+    }
+
+    /**
+     * Get the (base) plot covering the bounds. This reflects merges that happened after the
+     * bounds were created.
+     *
+     * @return the plot, or {@code null} if it is outside of the area
+     */
+    public @Nullable Plot getPlot() {
+        return this.area.getPlot(this.id);
+    }
+
+}
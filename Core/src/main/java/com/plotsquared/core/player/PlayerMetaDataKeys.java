@@ -71,6 +71,10 @@ public final class PlayerMetaDataKeys {
     });
     public static final MetaDataKey<CmdInstance> TEMPORARY_CONFIRM = MetaDataKey.of("cmdConfirm", new TypeLiteral<>() {
     });
+    public static final MetaDataKey<MovementBounds> TEMPORARY_MOVEMENT_BOUNDS = MetaDataKey.of("movementBounds", new TypeLiteral<>() {
+    });
+    public static final MetaDataKey<Long> TEMPORARY_FORCEFIELD_CHECK = MetaDataKey.of("forcefieldCheck", new TypeLiteral<>() {
+    });
     //@formatter:on
 
     private PlayerMetaDataKeys() {
@@ -50,7 +50,6 @@ import com.plotsquared.core.plot.PlotCluster;
 import com.plotsquared.core.plot.PlotId;
 import com.plotsquared.core.plot.PlotWeather;
 import com.plotsquared.core.plot.expiration.ExpireManager;
-import com.plotsquared.core.plot.flag.implementations.DoneFlag;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import com.plotsquared.core.plot.world.SinglePlotArea;
 import com.plotsquared.core.plot.world.SinglePlotAreaManager;
@@ -90,6 +89,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * The abstract class supporting {@code BukkitPlayer} and {@code SpongePlayer}.
@@ -105,6 +105,12 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
             Collections.synchronizedSet(new HashSet<>());
 
     private static final Map<Class, PlotPlayerConverter> converters = new HashMap<>();
+
+    static {
+        // The built-in keys have to exist before the first player is created, so that they get an array slot
+        PlayerMetaDataKeys.load();
+    }
+
     private final LockRepository lockRepository = new LockRepository();
     private final PlotAreaManager plotAreaManager;
     private final EventDispatcher eventDispatcher;
@@ -114,6 +120,12 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
      * The metadata map.
      */
     private ConcurrentHashMap<String, Object> meta;
+    /**
+     * Temporary meta data indexed by {@link MetaDataKey#getOrdinal()}, for keys that existed when
+     * the player was created, which always includes the {@link PlayerMetaDataKeys}. Later keys are
+     * stored in {@link #meta}.
+     */
+    private final AtomicReferenceArray<Object> temporaryMeta = new AtomicReferenceArray<>(MetaDataKey.getKeyCount());
     private int hash;
     private Locale locale;
     // Delayed initialisation
@@ -249,8 +261,78 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
         return meta;
     }
 
+    /**
+     * Get a copy of all session metadata of this player, including temporary meta data.
+     * Changes to the returned map are not stored.
+     *
+     * @return Copy of the metadata
+     * @deprecated This used to return the live map, but keyed temporary meta data is no longer
+     *         stored in it. Use {@link #setMeta(String, Object)}, {@link #deleteMeta(String)} or
+     *         {@link #accessTemporaryMetaData(MetaDataKey)} to change meta data.
+     */
+    @Deprecated(since = "6.3.1")
     public ConcurrentHashMap<String, Object> getMeta() {
-        return meta;
+        final ConcurrentHashMap<String, Object> snapshot = this.meta == null
+                ? new ConcurrentHashMap<>() : new ConcurrentHashMap<>(this.meta);
+        for (int ordinal = 0; ordinal < this.temporaryMeta.length(); ordinal++) {
+            final Object value = this.temporaryMeta.get(ordinal);
+            if (value != null) {
+                snapshot.put(MetaDataKey.byOrdinal(ordinal).toString(), value);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Get temporary meta data without acquiring its lock. This is a plain snapshot read, meant for
+     * hot paths that only read a value. Use {@link #accessTemporaryMetaData(MetaDataKey)} when
+     * reading and writing the value has to be atomic.
+     *
+     * @param key Meta data key
+     * @param <T> Meta data type
+     * @return Stored value, or {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable <T> T getTemporaryMetaData(final @NonNull MetaDataKey<T> key) {
+        final int ordinal = key.getOrdinal();
+        if (ordinal < this.temporaryMeta.length()) {
+            return (T) this.temporaryMeta.get(ordinal);
+        }
+        return getMeta(key.toString());
+    }
+
+    /**
+     * Set temporary meta data without acquiring its lock.
+     *
+     * @param key   Meta data key
+     * @param value New value, or {@code null} to remove the value
+     * @param <T>   Meta data type
+     * @see #getTemporaryMetaData(MetaDataKey)
+     */
+    public <T> void setTemporaryMetaData(final @NonNull MetaDataKey<T> key, final @Nullable T value) {
+        final int ordinal = key.getOrdinal();
+        if (ordinal < this.temporaryMeta.length()) {
+            this.temporaryMeta.set(ordinal, value);
+        } else {
+            setMeta(key.toString(), value);
+        }
+    }
+
+    /**
+     * Remove temporary meta data without acquiring its lock.
+     *
+     * @param key Meta data key
+     * @param <T> Meta data type
+     * @return Old value, or {@code null}
+     * @see #getTemporaryMetaData(MetaDataKey)
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable <T> T removeTemporaryMetaData(final @NonNull MetaDataKey<T> key) {
+        final int ordinal = key.getOrdinal();
+        if (ordinal < this.temporaryMeta.length()) {
+            return (T) this.temporaryMeta.getAndSet(ordinal, null);
+        }
+        return (T) deleteMeta(key.toString());
     }
 
     /**
@@ -280,13 +362,11 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
      * @return the plot the player is standing on or null if standing on a road or not in a {@link PlotArea}
      */
     public Plot getCurrentPlot() {
-        try (final MetaDataAccess<Plot> lastPlotAccess =
-                     this.accessTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT)) {
-            if (lastPlotAccess.get().orElse(null) == null && !Settings.Enabled_Components.EVENTS) {
-                return this.getLocation().getPlot();
-            }
-            return lastPlotAccess.get().orElse(null);
+        final Plot lastPlot = this.getTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LAST_PLOT);
+        if (lastPlot == null && !Settings.Enabled_Components.EVENTS) {
+            return this.getLocation().getPlot();
         }
+        return lastPlot;
     }
 
     /**
@@ -311,17 +391,7 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
         }
         final AtomicInteger count = new AtomicInteger(0);
         final UUID uuid = getUUID();
-        this.plotAreaManager.forEachPlotArea(value -> {
-            if (!Settings.Done.COUNTS_TOWARDS_LIMIT) {
-                for (Plot plot : value.getPlotsAbs(uuid)) {
-                    if (!DoneFlag.isDone(plot)) {
-                        count.incrementAndGet();
-                    }
-                }
-            } else {
-                count.addAndGet(value.getPlotsAbs(uuid).size());
-            }
-        });
+        this.plotAreaManager.forEachPlotArea(value -> count.addAndGet(value.getPlotCount(uuid)));
         return count.get();
     }
 
@@ -350,12 +420,7 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
         UUID uuid = getUUID();
         int count = 0;
         for (PlotArea area : this.plotAreaManager.getPlotAreasSet(world)) {
-            if (!Settings.Done.COUNTS_TOWARDS_LIMIT) {
-                count +=
-                        area.getPlotsAbs(uuid).stream().filter(plot -> !DoneFlag.isDone(plot)).count();
-            } else {
-                count += area.getPlotsAbs(uuid).size();
-            }
+            count += area.getPlotCount(uuid);
         }
         return count;
     }
@@ -408,7 +473,7 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
      * @return The location
      */
     public @NonNull Location getLocation() {
-        Location location = getMeta("location");
+        Location location = getTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_LOCATION);
         if (location != null) {
             return location;
         }
@@ -472,9 +537,9 @@ public abstract class PlotPlayer<P> implements CommandCaller, OfflinePlotPlayer,
      * @param location the target location
      */
     public void plotkick(Location location) {
-        setMeta("kick", true);
+        setTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_KICK, true);
         teleport(location, TeleportCause.KICK);
-        deleteMeta("kick");
+        removeTemporaryMetaData(PlayerMetaDataKeys.TEMPORARY_KICK);
     }
 
     /**
@@ -44,30 +44,26 @@ final class TemporaryMetaDataAccess<T> extends MetaDataAccess<T> {
     @Override
     public boolean isPresent() {
         this.checkClosed();
-        return this.getPlayer().getMeta(this.getMetaDataKey().toString()) != null;
+        return this.getPlayer().getTemporaryMetaData(this.getMetaDataKey()) != null;
     }
 
     @Override
     public @Nullable T remove() {
         this.checkClosed();
-        final Object old = getPlayer().deleteMeta(this.getMetaDataKey().toString());
-        if (old == null) {
-            return null;
-        }
-        return (T) old;
+        return this.getPlayer().removeTemporaryMetaData(this.getMetaDataKey());
     }
 
     @Override
     public void set(final @NonNull T value) {
         this.checkClosed();
-        this.getPlayer().setMeta(this.getMetaDataKey().toString(), value);
+        this.getPlayer().setTemporaryMetaData(this.getMetaDataKey(), value);
     }
 
     @NonNull
     @Override
     public Optional<T> get() {
         this.checkClosed();
-        return Optional.ofNullable(this.getPlayer().getMeta(this.getMetaDataKey().toString()));
+        return Optional.ofNullable(this.getPlayer().getTemporaryMetaData(this.getMetaDataKey()));
     }
 
 }
@@ -27,7 +27,6 @@ package com.plotsquared.core.plot;
 
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Sets;
 import com.google.inject.Inject;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.command.Like;
@@ -54,6 +53,7 @@ import com.plotsquared.core.plot.flag.GlobalFlagContainer;
 import com.plotsquared.core.plot.flag.InternalFlag;
 import com.plotsquared.core.plot.flag.PlotFlag;
 import com.plotsquared.core.plot.flag.implementations.DescriptionFlag;
+import com.plotsquared.core.plot.flag.implementations.DoneFlag;
 import com.plotsquared.core.plot.flag.implementations.KeepFlag;
 import com.plotsquared.core.plot.flag.implementations.ServerPlotFlag;
 import com.plotsquared.core.plot.flag.types.DoubleFlag;
@@ -103,6 +103,7 @@ import java.util.TimeZone;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import static com.plotsquared.core.util.entity.EntityCategories.CAP_ANIMAL;
@@ -130,8 +131,11 @@ public class Plot {
     private static final MiniMessage MINI_MESSAGE = MiniMessage.builder().build();
     private static final Cleaner CLEANER = Cleaner.create();
 
-    static Set<Plot> connected_cache;
-    static Set<CuboidRegion> regions_cache;
+    /**
+     * Incremented whenever a merge group is invalidated. Groups computed while the version
+     * changed are not cached, as they may have been built from outdated merge data.
+     */
+    private static final AtomicLong MERGE_GROUP_VERSION = new AtomicLong();
 
     static {
         FLAG_DECIMAL_FORMAT.setMaximumFractionDigits(340);
@@ -140,7 +144,7 @@ public class Plot {
     /**
      * Plot flag container
      */
-    private final FlagContainer flagContainer = new FlagContainer(null);
+    private final FlagContainer flagContainer = new FlagContainer(null, this::handleFlagUpdate);
     /**
      * Utility used to manage plot comments
      */
@@ -214,6 +218,10 @@ public class Plot {
      * - The origin plot is used for plot grouping and relational data
      */
     private Plot origin;
+    /**
+     * The cached merge group, shared by all plots in the group.
+     */
+    private volatile MergeGroup mergeGroup;
 
     /**
      * Constructor for a new plot.
@@ -462,7 +470,29 @@ public class Plot {
      * @param owner The new owner of this particular sub-plot.
      */
     public void setOwnerAbs(final @Nullable UUID owner) {
+        final UUID previous = this.owner;
         this.owner = owner;
+        if (this.area != null && !Objects.equals(previous, owner)) {
+            this.area.updatePlotOwner(this, previous);
+        }
+    }
+
+    /**
+     * Update the membership index of the containing area after the trusted,
+     * member or denied lists of this plot have changed for a player.
+     *
+     * @param uuid Player that was added to or removed from one of the lists
+     */
+    void updateMembership(final @NonNull UUID uuid) {
+        if (this.area != null) {
+            this.area.updatePlotMembership(this, uuid);
+        }
+    }
+
+    private void handleFlagUpdate(final PlotFlag<?, ?> flag, final FlagContainer.PlotFlagUpdateType type) {
+        if (flag instanceof DoneFlag && this.area != null) {
+            this.area.updatePlotDone(this);
+        }
     }
 
     /**
@@ -1003,6 +1033,7 @@ public class Plot {
     public void addDenied(final @NonNull UUID uuid) {
         for (final Plot current : getConnectedPlots()) {
             if (current.getDenied().add(uuid)) {
+                current.updateMembership(uuid);
                 DBFunc.setDenied(current, uuid);
             }
         }
@@ -1016,6 +1047,7 @@ public class Plot {
     public void addTrusted(final @NonNull UUID uuid) {
         for (final Plot current : getConnectedPlots()) {
             if (current.getTrusted().add(uuid)) {
+                current.updateMembership(uuid);
                 DBFunc.setTrusted(current, uuid);
             }
         }
@@ -1029,6 +1061,7 @@ public class Plot {
     public void addMember(final @NonNull UUID uuid) {
         for (final Plot current : getConnectedPlots()) {
             if (current.getMembers().add(uuid)) {
+                current.updateMembership(uuid);
                 DBFunc.setMember(current, uuid);
             }
         }
@@ -1861,10 +1894,11 @@ public class Plot {
             TaskManager.runTask(whenDone);
             return false;
         }
+        // The database has to know the old id of the plot
+        DBFunc.movePlot(this, plot);
         this.area.removePlot(this.id);
         this.id = plot.getId().copy();
         this.area.addPlotAbs(this);
-        DBFunc.movePlot(this, plot);
         TaskManager.runTaskLater(whenDone, TaskTime.ticks(1L));
         return true;
     }
@@ -1979,6 +2013,7 @@ public class Plot {
     private boolean rmvDenied(UUID uuid) {
         for (Plot current : this.getConnectedPlots()) {
             if (current.getDenied().remove(uuid)) {
+                current.updateMembership(uuid);
                 DBFunc.removeDenied(current, uuid);
             } else {
                 return false;
@@ -2008,6 +2043,7 @@ public class Plot {
     private boolean rmvTrusted(UUID uuid) {
         for (Plot plot : this.getConnectedPlots()) {
             if (plot.getTrusted().remove(uuid)) {
+                plot.updateMembership(uuid);
                 DBFunc.removeTrusted(plot, uuid);
             } else {
                 return false;
@@ -2040,6 +2076,7 @@ public class Plot {
     private boolean rmvMember(UUID uuid) {
         for (Plot current : this.getConnectedPlots()) {
             if (current.getMembers().remove(uuid)) {
+                current.updateMembership(uuid);
                 DBFunc.removeMember(current, uuid);
             } else {
                 return false;
@@ -2103,7 +2140,11 @@ public class Plot {
             if (name.equals(alias)) {
                 return;
             }
+            final String previous = current.getAlias();
             current.getSettings().setAlias(alias);
+            if (current.area != null) {
+                current.area.updatePlotAlias(current, previous);
+            }
             DBFunc.setAlias(current, alias);
         }
     }
@@ -2128,17 +2169,18 @@ public class Plot {
                     this.origin.origin = base;
                     other.origin = base;
                     this.origin = base;
-                    connected_cache = null;
                 }
             } else {
                 if (this.origin != null) {
                     this.origin.origin = null;
                     this.origin = null;
                 }
-                connected_cache = null;
             }
             DBFunc.setMerged(this, this.getSettings().getMerged());
-            regions_cache = null;
+            this.invalidateMergeGroup();
+            if (this.area != null) {
+                this.area.invalidateChunkCache();
+            }
         }
     }
 
@@ -2170,17 +2212,33 @@ public class Plot {
         this.getSettings().setMerged(merged);
         DBFunc.setMerged(this, merged);
         clearCache();
+        if (this.area != null) {
+            this.area.invalidateChunkCache();
+        }
     }
 
     public void clearCache() {
-        connected_cache = null;
-        regions_cache = null;
+        this.invalidateMergeGroup();
         if (this.origin != null) {
             this.origin.origin = null;
             this.origin = null;
         }
     }
 
+    /**
+     * Invalidate the cached connected plots and regions of the merge group this plot belongs to.
+     * This has to be called whenever the merge status of the plot changes, or when it is
+     * claimed or deleted.
+     */
+    void invalidateMergeGroup() {
+        MERGE_GROUP_VERSION.incrementAndGet();
+        final MergeGroup group = this.mergeGroup;
+        if (group != null) {
+            group.valid = false;
+            this.mergeGroup = null;
+        }
+    }
+
     /**
      * Gets the set home location or 0,Integer#MIN_VALUE,0 if no location is set<br>
      * - Does not take the default home location into account
@@ -2290,9 +2348,9 @@ public class Plot {
 
     /**
      * Gets a set of plots connected (and including) this plot<br>
-     * - This result is cached globally
+     * - This result is cached for the whole merge group
      *
-     * @return a Set of Plots connected to this Plot
+     * @return an unmodifiable Set of Plots connected to this Plot
      */
     public Set<Plot> getConnectedPlots() {
         if (this.settings == null) {
@@ -2301,11 +2359,35 @@ public class Plot {
         if (!this.isMerged()) {
             return Collections.singleton(this);
         }
-        if (connected_cache != null && connected_cache.contains(this)) {
-            return connected_cache;
+        return this.getMergeGroup().plots;
+    }
+
+    /**
+     * Get the cached merge group of this plot, computing it if needed
+     *
+     * @return Merge group
+     */
+    private @NonNull MergeGroup getMergeGroup() {
+        MergeGroup group = this.mergeGroup;
+        if (group != null && group.valid) {
+            return group;
+        }
+        final long version = MERGE_GROUP_VERSION.get();
+        group = new MergeGroup(Collections.unmodifiableSet(this.findConnectedPlots()));
+        if (MERGE_GROUP_VERSION.get() != version) {
+            return group;
+        }
+        for (final Plot plot : group.plots) {
+            plot.mergeGroup = group;
+        }
+        // A group invalidated while it was published would otherwise stay cached
+        if (MERGE_GROUP_VERSION.get() != version) {
+            group.valid = false;
         }
-        regions_cache = null;
+        return group;
+    }
 
+    private @NonNull Set<Plot> findConnectedPlots() {
         HashSet<Plot> tmpSet = new HashSet<>();
         tmpSet.add(this);
         Plot tmp;
@@ -2318,9 +2400,13 @@ public class Plot {
                 if (tmp.isOwnerAbs(this.getOwnerAbs())) {
                     tmp.getSettings().setMerged(Direction.SOUTH, true);
                     DBFunc.setMerged(tmp, tmp.getSettings().getMerged());
+                    tmp.invalidateMergeGroup();
+                    this.area.invalidateChunkCache();
                 } else {
                     this.getSettings().setMerged(Direction.NORTH, false);
                     DBFunc.setMerged(this, this.getSettings().getMerged());
+                    this.invalidateMergeGroup();
+                    this.area.invalidateChunkCache();
                 }
             }
             queuecache.add(tmp);
@@ -2334,9 +2420,13 @@ public class Plot {
                 if (tmp.isOwnerAbs(this.getOwnerAbs())) {
                     tmp.getSettings().setMerged(Direction.WEST, true);
                     DBFunc.setMerged(tmp, tmp.getSettings().getMerged());
+                    tmp.invalidateMergeGroup();
+                    this.area.invalidateChunkCache();
                 } else {
                     this.getSettings().setMerged(Direction.EAST, false);
                     DBFunc.setMerged(this, this.getSettings().getMerged());
+                    this.invalidateMergeGroup();
+                    this.area.invalidateChunkCache();
                 }
             }
             queuecache.add(tmp);
@@ -2350,9 +2440,13 @@ public class Plot {
                 if (tmp.isOwnerAbs(this.getOwnerAbs())) {
                     tmp.getSettings().setMerged(Direction.NORTH, true);
                     DBFunc.setMerged(tmp, tmp.getSettings().getMerged());
+                    tmp.invalidateMergeGroup();
+                    this.area.invalidateChunkCache();
                 } else {
                     this.getSettings().setMerged(Direction.SOUTH, false);
                     DBFunc.setMerged(this, this.getSettings().getMerged());
+                    this.invalidateMergeGroup();
+                    this.area.invalidateChunkCache();
                 }
             }
             queuecache.add(tmp);
@@ -2365,9 +2459,13 @@ public class Plot {
                 if (tmp.isOwnerAbs(this.getOwnerAbs())) {
                     tmp.getSettings().setMerged(Direction.EAST, true);
                     DBFunc.setMerged(tmp, tmp.getSettings().getMerged());
+                    tmp.invalidateMergeGroup();
+                    this.area.invalidateChunkCache();
                 } else {
                     this.getSettings().setMerged(Direction.WEST, false);
                     DBFunc.setMerged(this, this.getSettings().getMerged());
+                    this.invalidateMergeGroup();
+                    this.area.invalidateChunkCache();
                 }
             }
             queuecache.add(tmp);
@@ -2409,31 +2507,33 @@ public class Plot {
                 }
             }
         }
-        connected_cache = tmpSet;
         return tmpSet;
     }
 
     /**
      * This will combine each plot into effective rectangular regions<br>
-     * - This result is cached globally<br>
+     * - This result is cached for the whole merge group<br>
      * - Useful for handling non rectangular shapes
      *
-     * @return all regions within the plot
+     * @return an unmodifiable Set of all regions within the plot
      */
     public @NonNull Set<CuboidRegion> getRegions() {
-        if (regions_cache != null && connected_cache != null && connected_cache.contains(this)) {
-            return regions_cache;
-        }
         if (!this.isMerged()) {
             Location pos1 = this.getBottomAbs();
             Location pos2 = this.getTopAbs();
-            connected_cache = Sets.newHashSet(this);
             CuboidRegion rg = new CuboidRegion(pos1.getBlockVector3(), pos2.getBlockVector3());
-            regions_cache = Collections.singleton(rg);
-            return regions_cache;
+            return Collections.singleton(rg);
+        }
+        final MergeGroup group = this.getMergeGroup();
+        Set<CuboidRegion> regions = group.regions;
+        if (regions == null) {
+            regions = group.regions = Collections.unmodifiableSet(this.findRegions(group.plots));
         }
-        Set<Plot> plots = this.getConnectedPlots();
-        Set<CuboidRegion> regions = regions_cache = new HashSet<>();
+        return regions;
+    }
+
+    private @NonNull Set<CuboidRegion> findRegions(final @NonNull Set<Plot> plots) {
+        Set<CuboidRegion> regions = new HashSet<>();
         Set<PlotId> visited = new HashSet<>();
         for (Plot current : plots) {
             if (visited.contains(current.getId())) {
@@ -3096,4 +3196,20 @@ public class Plot {
         return this.plotModificationManager;
     }
 
+    /**
+     * Connected plots and regions of a merge group. A single instance is shared by all plots in
+     * the group, so invalidating it from any member invalidates it for the whole group.
+     */
+    private static final class MergeGroup {
+
+        private final Set<Plot> plots;
+        private volatile Set<CuboidRegion> regions;
+        private volatile boolean valid = true;
+
+        private MergeGroup(final @NonNull Set<Plot> plots) {
+            this.plots = plots;
+        }
+
+    }
+
 }
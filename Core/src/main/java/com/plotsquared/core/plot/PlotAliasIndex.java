@@ -0,0 +1,111 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the plots in a {@link PlotArea}, keyed by the case-insensitive alias of
+ * each individual (sub-)plot. Plots without an alias are not indexed.
+ * <p>
+ * The index is maintained by {@link PlotArea} and {@link Plot}, and should not be
+ * modified from anywhere else.
+ */
+final class PlotAliasIndex {
+
+    private final Map<String, Set<PlotId>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Normalize an alias so that two aliases have the same key if, and only if,
+     * they are equal according to {@link String#equalsIgnoreCase(String)}
+     *
+     * @param alias Alias
+     * @return Normalized alias
+     */
+    static @NonNull String normalize(final @NonNull String alias) {
+        final char[] chars = alias.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Register a plot id for an alias
+     *
+     * @param alias Plot alias, may be null or empty for plots without an alias
+     * @param id    Plot id
+     */
+    void add(final @Nullable String alias, final @NonNull PlotId id) {
+        if (alias == null || alias.isEmpty()) {
+            return;
+        }
+        this.entries.compute(normalize(alias), (key, ids) -> {
+            if (ids == null) {
+                ids = ConcurrentHashMap.newKeySet();
+            }
+            ids.add(id);
+            return ids;
+        });
+    }
+
+    /**
+     * Remove a plot id from an alias
+     *
+     * @param alias Plot alias, may be null or empty for plots without an alias
+     * @param id    Plot id
+     */
+    void remove(final @Nullable String alias, final @NonNull PlotId id) {
+        if (alias == null || alias.isEmpty()) {
+            return;
+        }
+        this.entries.computeIfPresent(normalize(alias), (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * Get an unmodifiable view of the plot ids with a given alias
+     *
+     * @param alias Alias, case-insensitive
+     * @return Plot ids with the alias
+     */
+    @NonNull Set<PlotId> getPlotIds(final @NonNull String alias) {
+        final Set<PlotId> ids = this.entries.get(normalize(alias));
+        if (ids == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(ids);
+    }
+
+}
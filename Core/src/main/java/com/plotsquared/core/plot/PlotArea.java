@@ -29,7 +29,7 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.plotsquared.core.PlotSquared;
-import com.plotsquared.core.collection.QuadMap;
+import com.plotsquared.core.collection.RegionIndex;
 import com.plotsquared.core.configuration.ConfigurationNode;
 import com.plotsquared.core.configuration.ConfigurationSection;
 import com.plotsquared.core.configuration.ConfigurationUtil;
@@ -38,8 +38,10 @@ import com.plotsquared.core.configuration.caption.CaptionUtility;
 import com.plotsquared.core.configuration.caption.LocaleHolder;
 import com.plotsquared.core.configuration.caption.TranslatableCaption;
 import com.plotsquared.core.configuration.file.YamlConfiguration;
+import com.plotsquared.core.database.DBFunc;
 import com.plotsquared.core.generator.GridPlotWorld;
 import com.plotsquared.core.generator.IndependentPlotGenerator;
+import com.plotsquared.core.generator.SquarePlotManager;
 import com.plotsquared.core.inject.annotations.WorldConfig;
 import com.plotsquared.core.location.BlockLoc;
 import com.plotsquared.core.location.Direction;
@@ -61,7 +63,6 @@ import com.plotsquared.core.util.MathMan;
 import com.plotsquared.core.util.PlotExpression;
 import com.plotsquared.core.util.RegionUtil;
 import com.plotsquared.core.util.StringMan;
-import com.sk89q.worldedit.math.BlockVector2;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.world.biome.BiomeType;
@@ -105,11 +106,24 @@ public abstract class PlotArea {
     }
 
     protected final ConcurrentHashMap<PlotId, Plot> plots = new ConcurrentHashMap<>();
+    /**
+     * Owner index for {@link #plots}. Must be kept in sync whenever plots are added or removed
+     */
+    private final PlotOwnerIndex ownerIndex = new PlotOwnerIndex();
+    /**
+     * Trusted/member/denied index for {@link #plots}. Must be kept in sync whenever plots are added or removed
+     */
+    private final PlotMembershipIndex membershipIndex = new PlotMembershipIndex();
+    /**
+     * Alias index for {@link #plots}. Must be kept in sync whenever plots are added or removed
+     */
+    private final PlotAliasIndex aliasIndex = new PlotAliasIndex();
     @NonNull
     private final String worldName;
     private final String id;
     @NonNull
     private final PlotManager plotManager;
+    private final PlotChunkCache chunkCache;
     private final int worldHash;
     private final PlotId min;
     private final PlotId max;
@@ -154,7 +168,7 @@ public abstract class PlotArea {
     private int hash;
     private CuboidRegion region;
     private ConcurrentHashMap<String, Object> meta;
-    private QuadMap<PlotCluster> clusters;
+    private volatile RegionIndex<PlotCluster> clusters;
     private String signMaterial = "OAK_WALL_SIGN";
     private String legacySignMaterial = "WALL_SIGN";
 
@@ -168,6 +182,7 @@ public abstract class PlotArea {
         this.worldName = worldName;
         this.id = id;
         this.plotManager = createManager();
+        this.chunkCache = this.plotManager instanceof SquarePlotManager ? new PlotChunkCache(this.plotManager) : null;
         this.generator = generator;
         this.globalBlockQueue = blockQueue;
         if (min == null || max == null) {
@@ -288,7 +303,7 @@ public abstract class PlotArea {
     }
 
     public Set<PlotCluster> getClusters() {
-        return this.clusters == null ? new HashSet<>() : this.clusters.getAll();
+        return this.clusters == null ? new HashSet<>() : new HashSet<>(this.clusters.values());
     }
 
     /**
@@ -437,6 +452,7 @@ public abstract class PlotArea {
         );
 
         loadConfiguration(config);
+        this.invalidateChunkCache();
     }
 
     private Component getFlagsComponent(Component flagsComponent, Collection<PlotFlag<?, ?>> flagCollection) {
@@ -578,8 +594,7 @@ public abstract class PlotArea {
      * @return the {@link Plot} or null if none exists
      */
     public @Nullable Plot getPlotAbs(final @NonNull Location location) {
-        final PlotId pid =
-                this.getPlotManager().getPlotId(location.getX(), location.getY(), location.getZ());
+        final PlotId pid = this.getPlotId(location);
         if (pid == null) {
             return null;
         }
@@ -593,8 +608,7 @@ public abstract class PlotArea {
      * @return base Plot
      */
     public @Nullable Plot getPlot(final @NonNull Location location) {
-        final PlotId pid =
-                this.getPlotManager().getPlotId(location.getX(), location.getY(), location.getZ());
+        final PlotId pid = this.getPlotId(location);
         if (pid == null) {
             return null;
         }
@@ -608,8 +622,7 @@ public abstract class PlotArea {
      * @return the base plot or null
      */
     public @Nullable Plot getOwnedPlot(final @NonNull Location location) {
-        final PlotId pid =
-                this.getPlotManager().getPlotId(location.getX(), location.getY(), location.getZ());
+        final PlotId pid = this.getPlotId(location);
         if (pid == null) {
             return null;
         }
@@ -624,8 +637,7 @@ public abstract class PlotArea {
      * @return Plot or null
      */
     public @Nullable Plot getOwnedPlotAbs(final @NonNull Location location) {
-        final PlotId pid =
-                this.getPlotManager().getPlotId(location.getX(), location.getY(), location.getZ());
+        final PlotId pid = this.getPlotId(location);
         if (pid == null) {
             return null;
         }
@@ -647,6 +659,23 @@ public abstract class PlotArea {
         return plot == null ? null : plot.getBasePlot(false);
     }
 
+    private @Nullable PlotId getPlotId(final @NonNull Location location) {
+        if (this.chunkCache != null) {
+            return this.chunkCache.getPlotId(location.getX(), location.getY(), location.getZ());
+        }
+        return this.plotManager.getPlotId(location.getX(), location.getY(), location.getZ());
+    }
+
+    /**
+     * Invalidate the cached plot ids per chunk. This has to be called whenever a change
+     * affects which plot a location belongs to, i.e. claims, deletions, merges and unlinks.
+     */
+    void invalidateChunkCache() {
+        if (this.chunkCache != null) {
+            this.chunkCache.invalidate();
+        }
+    }
+
     public boolean contains(final int x, final int z) {
         return this.getType() != PlotAreaType.PARTIAL || RegionUtil.contains(getRegionAbs(), x, z);
     }
@@ -666,17 +695,71 @@ public abstract class PlotArea {
             return Collections.emptySet();
         }
         final HashSet<Plot> myPlots = new HashSet<>();
-        forEachPlotAbs(value -> {
-            if (uuid.equals(value.getOwnerAbs())) {
-                myPlots.add(value);
+        for (final PlotId plotId : this.ownerIndex.getPlotIds(uuid)) {
+            final Plot plot = this.plots.get(plotId);
+            if (plot != null && uuid.equals(plot.getOwnerAbs())) {
+                myPlots.add(plot);
             }
-        });
+        }
         return myPlots;
     }
 
     public @NonNull Set<Plot> getPlots(final @NonNull UUID uuid) {
-        return getPlots().stream().filter(plot -> plot.isBasePlot() && plot.isOwner(uuid))
-                .collect(ImmutableSet.toImmutableSet());
+        if (DBFunc.SERVER.equals(uuid)) {
+            // Server plots are resolved through a flag, and are not covered by the owner index
+            return getPlots().stream().filter(plot -> plot.isBasePlot() && plot.isOwner(uuid))
+                    .collect(ImmutableSet.toImmutableSet());
+        }
+        final ImmutableSet.Builder<Plot> myPlots = ImmutableSet.builder();
+        for (final Plot plot : getPlotsAbs(uuid)) {
+            final Plot base = plot.getBasePlot(false);
+            if (base.isOwner(uuid)) {
+                myPlots.add(base);
+            }
+        }
+        return myPlots.build();
+    }
+
+    /**
+     * Get the plots in this area on which a player is trusted, a member or denied. This
+     * only considers the players stored for each individual (sub-)plot, and does not
+     * include plots owned by the player.
+     *
+     * @param uuid Player UUID
+     * @return Plots the player is added to, or denied from
+     */
+    public @NonNull Set<Plot> getAddedPlotsAbs(final @Nullable UUID uuid) {
+        if (uuid == null) {
+            return Collections.emptySet();
+        }
+        final HashSet<Plot> addedPlots = new HashSet<>();
+        for (final PlotId plotId : this.membershipIndex.getPlotIds(uuid)) {
+            final Plot plot = this.plots.get(plotId);
+            if (plot != null) {
+                addedPlots.add(plot);
+            }
+        }
+        return addedPlots;
+    }
+
+    /**
+     * Get the plots in this area with the given alias. The comparison is case-insensitive.
+     *
+     * @param alias Plot alias
+     * @return Plots with the alias
+     */
+    public @NonNull Set<Plot> getPlotsByAlias(final @NonNull String alias) {
+        if (alias.isEmpty()) {
+            return Collections.emptySet();
+        }
+        final HashSet<Plot> aliasPlots = new HashSet<>();
+        for (final PlotId plotId : this.aliasIndex.getPlotIds(alias)) {
+            final Plot plot = this.plots.get(plotId);
+            if (plot != null && alias.equalsIgnoreCase(plot.getAlias())) {
+                aliasPlots.add(plot);
+            }
+        }
+        return aliasPlots;
     }
 
     /**
@@ -689,10 +772,7 @@ public abstract class PlotArea {
     }
 
     public int getPlotCount(final @NonNull UUID uuid) {
-        if (!Settings.Done.COUNTS_TOWARDS_LIMIT) {
-            return (int) getPlotsAbs(uuid).stream().filter(plot -> !DoneFlag.isDone(plot)).count();
-        }
-        return getPlotsAbs(uuid).size();
+        return this.ownerIndex.count(uuid, Settings.Done.COUNTS_TOWARDS_LIMIT);
     }
 
     /**
@@ -710,7 +790,10 @@ public abstract class PlotArea {
     //todo check if this method is needed in this class
 
     public boolean hasPlot(final @NonNull UUID uuid) {
-        return this.plots.entrySet().stream().anyMatch(entry -> entry.getValue().isOwner(uuid));
+        if (DBFunc.SERVER.equals(uuid)) {
+            return this.plots.entrySet().stream().anyMatch(entry -> entry.getValue().isOwner(uuid));
+        }
+        return getPlotsAbs(uuid).stream().anyMatch(plot -> plot.isOwner(uuid));
     }
 
     public int getPlotCount(final @Nullable PlotPlayer<?> player) {
@@ -755,17 +838,19 @@ public abstract class PlotArea {
         if (plot == null) {
             return null;
         }
-        return this.clusters != null ? this.clusters.get(plot.getId().getX(), plot.getId().getY()) : null;
+        final RegionIndex<PlotCluster> clusters = this.clusters;
+        return clusters != null ? clusters.get(plot.getId().getX(), plot.getId().getY()) : null;
     }
 
     public @Nullable PlotCluster getFirstIntersectingCluster(
             final @NonNull PlotId pos1,
             final @NonNull PlotId pos2
     ) {
-        if (this.clusters == null) {
+        final RegionIndex<PlotCluster> clusters = this.clusters;
+        if (clusters == null) {
             return null;
         }
-        for (PlotCluster cluster : this.clusters.getAll()) {
+        for (PlotCluster cluster : clusters.values()) {
             if (cluster.intersects(pos1, pos2)) {
                 return cluster;
             }
@@ -774,7 +859,8 @@ public abstract class PlotArea {
     }
 
     @Nullable PlotCluster getCluster(final @NonNull PlotId id) {
-        return this.clusters != null ? this.clusters.get(id.getX(), id.getY()) : null;
+        final RegionIndex<PlotCluster> clusters = this.clusters;
+        return clusters != null ? clusters.get(id.getX(), id.getY()) : null;
     }
 
     /**
@@ -856,7 +942,7 @@ public abstract class PlotArea {
                 metaDataAccess.set(plot);
             }
         }
-        return this.plots.put(plot.getId(), plot) == null;
+        return putPlot(plot);
     }
 
     public Plot getNextFreePlot(final PlotPlayer<?> player, @Nullable PlotId start) {
@@ -892,6 +978,10 @@ public abstract class PlotArea {
 
     public boolean addPlotIfAbsent(final @NonNull Plot plot) {
         if (this.plots.putIfAbsent(plot.getId(), plot) == null) {
+            this.ownerIndex.add(plot.getOwnerAbs(), plot.getId(), DoneFlag.isDone(plot));
+            this.membershipIndex.add(plot, plot.getId());
+            this.aliasIndex.add(plot.getAlias(), plot.getId());
+            this.invalidateChunkCache();
             for (PlotPlayer<?> pp : plot.getPlayersInPlot()) {
                 try (final MetaDataAccess<Plot> metaDataAccess = pp.accessTemporaryMetaData(
                         PlayerMetaDataKeys.TEMPORARY_LAST_PLOT)) {
@@ -904,7 +994,87 @@ public abstract class PlotArea {
     }
 
     public boolean addPlotAbs(final @NonNull Plot plot) {
-        return this.plots.put(plot.getId(), plot) == null;
+        return putPlot(plot);
+    }
+
+    private boolean putPlot(final @NonNull Plot plot) {
+        final PlotId plotId = plot.getId();
+        final Plot previous = this.plots.put(plotId, plot);
+        if (previous != null && previous != plot) {
+            this.ownerIndex.remove(previous.getOwnerAbs(), plotId);
+            this.membershipIndex.remove(previous, plotId);
+            this.aliasIndex.remove(previous.getAlias(), plotId);
+            previous.invalidateMergeGroup();
+        }
+        this.ownerIndex.add(plot.getOwnerAbs(), plotId, DoneFlag.isDone(plot));
+        this.membershipIndex.add(plot, plotId);
+        this.aliasIndex.add(plot.getAlias(), plotId);
+        this.invalidateChunkCache();
+        return previous == null;
+    }
+
+    /**
+     * Update the owner index after the owner of a plot in this area has changed.
+     * This is called by {@link Plot#setOwnerAbs(UUID)}.
+     *
+     * @param plot     Plot that changed owner
+     * @param previous Previous owner
+     */
+    void updatePlotOwner(final @NonNull Plot plot, final @Nullable UUID previous) {
+        final PlotId plotId = plot.getId();
+        if (this.plots.get(plotId) != plot) {
+            return;
+        }
+        this.ownerIndex.remove(previous, plotId);
+        this.ownerIndex.add(plot.getOwnerAbs(), plotId, DoneFlag.isDone(plot));
+    }
+
+    /**
+     * Update the membership index after a player was trusted, added or denied on a plot
+     * in this area, or removed from one of those lists.
+     *
+     * @param plot Plot that was updated
+     * @param uuid Player that was added or removed
+     */
+    void updatePlotMembership(final @NonNull Plot plot, final @NonNull UUID uuid) {
+        final PlotId plotId = plot.getId();
+        if (this.plots.get(plotId) != plot) {
+            return;
+        }
+        if (plot.getTrusted().contains(uuid) || plot.getMembers().contains(uuid) || plot.getDenied().contains(uuid)) {
+            this.membershipIndex.add(uuid, plotId);
+        } else {
+            this.membershipIndex.remove(uuid, plotId);
+        }
+    }
+
+    /**
+     * Update the alias index after the alias of a plot in this area has changed.
+     *
+     * @param plot     Plot that was updated
+     * @param previous Previous alias
+     */
+    void updatePlotAlias(final @NonNull Plot plot, final @Nullable String previous) {
+        final PlotId plotId = plot.getId();
+        if (this.plots.get(plotId) != plot) {
+            return;
+        }
+        this.aliasIndex.remove(previous, plotId);
+        this.aliasIndex.add(plot.getAlias(), plotId);
+    }
+
+    /**
+     * Update the done status of a plot in the owner index.
+     * This is called whenever the {@link DoneFlag} of a plot changes.
+     *
+     * @param plot Plot that was updated
+     */
+    void updatePlotDone(final @NonNull Plot plot) {
+        final PlotId plotId = plot.getId();
+        if (this.plots.get(plotId) != plot) {
+            return;
+        }
+        this.ownerIndex.setDone(plot.getOwnerAbs(), plotId, DoneFlag.isDone(plot));
     }
 
     /**
@@ -991,7 +1161,16 @@ public abstract class PlotArea {
     }
 
     public boolean removePlot(final @NonNull PlotId id) {
-        return this.plots.remove(id) != null;
+        final Plot removed = this.plots.remove(id);
+        if (removed == null) {
+            return false;
+        }
+        this.ownerIndex.remove(removed.getOwnerAbs(), id);
+        this.membershipIndex.remove(removed, id);
+        this.aliasIndex.remove(removed.getAlias(), id);
+        this.invalidateChunkCache();
+        removed.invalidateMergeGroup();
+        return true;
     }
 
     public boolean mergePlots(final @NonNull List<PlotId> plotIds, final boolean removeRoads) {
@@ -1095,28 +1274,22 @@ public abstract class PlotArea {
     }
 
     @SuppressWarnings("WeakerAccess")
-    public void removeCluster(final @Nullable PlotCluster plotCluster) {
+    public synchronized void removeCluster(final @Nullable PlotCluster plotCluster) {
         if (this.clusters == null) {
             throw new IllegalAccessError("Clusters not enabled!");
         }
-        this.clusters.remove(plotCluster);
+        if (plotCluster != null) {
+            this.clusters = this.clusters.without(plotCluster);
+        }
     }
 
-    public void addCluster(final @Nullable PlotCluster plotCluster) {
+    public synchronized void addCluster(final @Nullable PlotCluster plotCluster) {
         if (this.clusters == null) {
-            this.clusters = new QuadMap<>(Integer.MAX_VALUE, 0, 0, 62) {
-                @Override
-                public CuboidRegion getRegion(PlotCluster value) {
-                    BlockVector2 pos1 = BlockVector2.at(value.getP1().getX(), value.getP1().getY());
-                    BlockVector2 pos2 = BlockVector2.at(value.getP2().getX(), value.getP2().getY());
-                    return new CuboidRegion(
-                            pos1.toBlockVector3(),
-                            pos2.toBlockVector3(Plot.MAX_HEIGHT - 1)
-                    );
-                }
-            };
+            this.clusters = RegionIndex.empty(PlotCluster::getRegion, 4);
+        }
+        if (plotCluster != null) {
+            this.clusters = this.clusters.with(plotCluster);
         }
-        this.clusters.add(plotCluster);
     }
 
     public @Nullable PlotCluster getCluster(final String string) {
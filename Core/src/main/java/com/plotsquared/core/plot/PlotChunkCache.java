@@ -0,0 +1,136 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cache of the plot that covers each chunk of a {@link PlotArea}. A chunk is either fully inside
+ * a single plot (including the roads of merged plots), fully on the road, or mixed. Lookups for
+ * fully covered chunks skip {@link PlotManager#getPlotId(int, int, int)} entirely.
+ * <p>
+ * The cache is a fixed size, direct mapped table of immutable entries, so lookups never lock and
+ * never allocate. Any change that affects plot resolution (claim, delete, merge, unlink) bumps the
+ * generation, which invalidates every entry at once.
+ * It is maintained by {@link PlotArea} and should not be modified from anywhere else.
+ */
+final class PlotChunkCache {
+
+    private static final int SIZE = 4096;
+    private static final byte PLOT = 0;
+    private static final byte ROAD = 1;
+    private static final byte MIXED = 2;
+
+    private final Entry[] entries = new Entry[SIZE];
+    private final PlotManager manager;
+    private final AtomicInteger generation = new AtomicInteger();
+
+    PlotChunkCache(final @NonNull PlotManager manager) {
+        this.manager = manager;
+    }
+
+    private static long key(final int chunkX, final int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static int slot(final long key) {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 52) & (SIZE - 1);
+    }
+
+    /**
+     * Get the id of the plot at the given position, as returned by {@link PlotManager#getPlotId(int, int, int)}
+     *
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @param z Z coordinate
+     * @return Plot id, or {@code null} if the position is on the road
+     */
+    @Nullable PlotId getPlotId(final int x, final int y, final int z) {
+        final int generation = this.generation.get();
+        final long key = key(x >> 4, z >> 4);
+        final int slot = slot(key);
+        Entry entry = this.entries[slot];
+        if (entry == null || entry.key != key || entry.generation != generation) {
+            entry = this.classify(x >> 4, z >> 4, key, generation);
+            this.entries[slot] = entry;
+        }
+        return switch (entry.kind) {
+            case PLOT -> entry.id;
+            case ROAD -> null;
+            default -> this.manager.getPlotId(x, y, z);
+        };
+    }
+
+    /**
+     * Invalidate all cached chunks
+     */
+    void invalidate() {
+        this.generation.incrementAndGet();
+    }
+
+    private @NonNull Entry classify(final int chunkX, final int chunkZ, final long key, final int generation) {
+        final int minX = chunkX << 4;
+        final int minZ = chunkZ << 4;
+        // If all corners are inside the same plot, then so is the whole chunk, regardless of merges
+        final PlotId corner = this.manager.getPlotIdAbs(minX, 0, minZ);
+        if (corner != null && corner.equals(this.manager.getPlotIdAbs(minX + 15, 0, minZ))
+                && corner.equals(this.manager.getPlotIdAbs(minX, 0, minZ + 15))
+                && corner.equals(this.manager.getPlotIdAbs(minX + 15, 0, minZ + 15))) {
+            return new Entry(key, generation, PLOT, corner);
+        }
+        final PlotId first = this.manager.getPlotId(minX, 0, minZ);
+        for (int x = minX; x < minX + 16; x++) {
+            for (int z = minZ; z < minZ + 16; z++) {
+                final PlotId id = this.manager.getPlotId(x, 0, z);
+                if (first == null ? id != null : !first.equals(id)) {
+                    return new Entry(key, generation, MIXED, null);
+                }
+            }
+        }
+        return new Entry(key, generation, first == null ? ROAD : PLOT, first);
+    }
+
+    private static final class Entry {
+
+        private final long key;
+        private final int generation;
+        private final byte kind;
+        private final PlotId id;
+
+        private Entry(final long key, final int generation, final byte kind, final @Nullable PlotId id) {
+            this.key = key;
+            this.generation = generation;
+            this.kind = kind;
+            this.id = id;
+        }
+
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Reverse index of the plots in a {@link PlotArea}, keyed by the players that are
+ * trusted, members or denied on each individual (sub-)plot.
+ * <p>
+ * The index is maintained by {@link PlotArea} and {@link Plot}, and should not be
+ * modified from anywhere else.
+ */
+final class PlotMembershipIndex {
+
+    private final Map<UUID, Set<PlotId>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Register all players added to a plot
+     *
+     * @param plot Plot
+     * @param id   Id the plot is registered under
+     */
+    void add(final @NonNull Plot plot, final @NonNull PlotId id) {
+        forEachAdded(plot, uuid -> add(uuid, id));
+    }
+
+    /**
+     * Remove all players added to a plot
+     *
+     * @param plot Plot
+     * @param id   Id the plot is registered under
+     */
+    void remove(final @NonNull Plot plot, final @NonNull PlotId id) {
+        forEachAdded(plot, uuid -> remove(uuid, id));
+    }
+
+    /**
+     * Register a player for a plot id
+     *
+     * @param uuid Player that is trusted, member or denied
+     * @param id   Plot id
+     */
+    void add(final @NonNull UUID uuid, final @NonNull PlotId id) {
+        this.entries.compute(uuid, (key, ids) -> {
+            if (ids == null) {
+                ids = ConcurrentHashMap.newKeySet();
+            }
+            ids.add(id);
+            return ids;
+        });
+    }
+
+    /**
+     * Remove a player from a plot id
+     *
+     * @param uuid Player that is no longer trusted, member or denied
+     * @param id   Plot id
+     */
+    void remove(final @NonNull UUID uuid, final @NonNull PlotId id) {
+        this.entries.computeIfPresent(uuid, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * Get an unmodifiable view of the plot ids that a player is added to
+     *
+     * @param uuid Player
+     * @return Plot ids the player is trusted, member or denied on
+     */
+    @NonNull Set<PlotId> getPlotIds(final @NonNull UUID uuid) {
+        final Set<PlotId> ids = this.entries.get(uuid);
+        if (ids == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(ids);
+    }
+
+    private static void forEachAdded(final @NonNull Plot plot, final @NonNull Consumer<UUID> consumer) {
+        if (plot.trusted != null) {
+            plot.trusted.forEach(consumer);
+        }
+        if (plot.members != null) {
+            plot.members.forEach(consumer);
+        }
+        if (plot.denied != null) {
+            plot.denied.forEach(consumer);
+        }
+    }
+
+}
@@ -141,18 +141,21 @@ public final class PlotModificationManager {
             if (plot.members != null && !plot.members.isEmpty()) {
                 other.members = plot.members;
                 for (UUID member : plot.members) {
+                    other.updateMembership(member);
                     DBFunc.setMember(other, member);
                 }
             }
             if (plot.trusted != null && !plot.trusted.isEmpty()) {
                 other.trusted = plot.trusted;
                 for (UUID trusted : plot.trusted) {
+                    other.updateMembership(trusted);
                     DBFunc.setTrusted(other, trusted);
                 }
             }
             if (plot.denied != null && !plot.denied.isEmpty()) {
                 other.denied = plot.denied;
                 for (UUID denied : plot.denied) {
+                    other.updateMembership(denied);
                     DBFunc.setDenied(other, denied);
                 }
             }
@@ -474,8 +477,7 @@ public final class PlotModificationManager {
                 this.plot.updateWorldBorder();
             }
         }
-        Plot.connected_cache = null;
-        Plot.regions_cache = null;
+        this.plot.clearCache();
         this.plot.getTrusted().clear();
         this.plot.getMembers().clear();
         this.plot.getDenied().clear();
@@ -0,0 +1,165 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Secondary index of the plots in a {@link PlotArea}, keyed by the owner of each
+ * individual (sub-)plot as stored in the database (see {@link Plot#getOwnerAbs()}).
+ * <p>
+ * The index also keeps track of which of the owned plots are marked as done, so
+ * that plot limits can be evaluated without inspecting every plot in the area.
+ * It is maintained by {@link PlotArea} and {@link Plot}, and should not be modified
+ * from anywhere else.
+ */
+final class PlotOwnerIndex {
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Register a plot id for an owner
+     *
+     * @param owner Owner of the plot, may be null for unowned plots
+     * @param id    Plot id
+     * @param done  Whether the plot is marked as done
+     */
+    void add(final @Nullable UUID owner, final @NonNull PlotId id, final boolean done) {
+        if (owner == null) {
+            return;
+        }
+        this.entries.compute(owner, (key, entry) -> {
+            if (entry == null) {
+                entry = new Entry();
+            }
+            entry.plots.add(id);
+            if (done) {
+                entry.done.add(id);
+            } else {
+                entry.done.remove(id);
+            }
+            return entry;
+        });
+    }
+
+    /**
+     * Remove a plot id from an owner
+     *
+     * @param owner Owner of the plot, may be null for unowned plots
+     * @param id    Plot id
+     */
+    void remove(final @Nullable UUID owner, final @NonNull PlotId id) {
+        if (owner == null) {
+            return;
+        }
+        this.entries.computeIfPresent(owner, (key, entry) -> {
+            entry.plots.remove(id);
+            entry.done.remove(id);
+            return entry.plots.isEmpty() ? null : entry;
+        });
+    }
+
+    /**
+     * Update the done status of an indexed plot
+     *
+     * @param owner Owner of the plot, may be null for unowned plots
+     * @param id    Plot id
+     * @param done  Whether the plot is marked as done
+     */
+    void setDone(final @Nullable UUID owner, final @NonNull PlotId id, final boolean done) {
+        if (owner == null) {
+            return;
+        }
+        this.entries.computeIfPresent(owner, (key, entry) -> {
+            if (!entry.plots.contains(id)) {
+                return entry;
+            }
+            if (done) {
+                entry.done.add(id);
+            } else {
+                entry.done.remove(id);
+            }
+            return entry;
+        });
+    }
+
+    /**
+     * Get an unmodifiable view of the plot ids owned by a player
+     *
+     * @param owner Owner
+     * @return Plot ids owned by the player
+     */
+    @NonNull Set<PlotId> getPlotIds(final @NonNull UUID owner) {
+        final Entry entry = this.entries.get(owner);
+        if (entry == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(entry.plots);
+    }
+
+    /**
+     * Get the number of plots owned by a player
+     *
+     * @param owner       Owner
+     * @param includeDone Whether plots marked as done should be counted
+     * @return Number of owned plots
+     */
+    int count(final @NonNull UUID owner, final boolean includeDone) {
+        final Entry entry = this.entries.get(owner);
+        if (entry == null) {
+            return 0;
+        }
+        if (includeDone) {
+            return entry.plots.size();
+        }
+        return Math.max(0, entry.plots.size() - entry.done.size());
+    }
+
+    /**
+     * Check whether a player owns any plot in the index
+     *
+     * @param owner Owner
+     * @return {@code true} if the player owns at least one plot
+     */
+    boolean contains(final @NonNull UUID owner) {
+        return this.entries.containsKey(owner);
+    }
+
+    private static final class Entry {
+
+        private final Set<PlotId> plots = ConcurrentHashMap.newKeySet();
+        private final Set<PlotId> done = ConcurrentHashMap.newKeySet();
+
+    }
+
+}
@@ -52,37 +52,47 @@ import com.plotsquared.core.util.task.RunnableVal3;
 import com.plotsquared.core.util.task.TaskManager;
 import com.plotsquared.core.util.task.TaskTime;
 import net.kyori.adventure.text.minimessage.Template;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class ExpireManager {
 
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + ExpireManager.class.getSimpleName());
+
     public static ExpireManager IMP;
     private final ConcurrentHashMap<UUID, Long> dates_cache;
     private final ConcurrentHashMap<UUID, Long> account_age_cache;
     private final EventDispatcher eventDispatcher;
     private final ArrayDeque<ExpiryTask> tasks;
+    private final PlotAnalysisEngine analysisEngine;
     private volatile HashSet<Plot> plotsToDelete;
     /**
      * 0 = stopped, 1 = stopping, 2 = running
      */
-    private int running;
+    private volatile int running;
 
     public ExpireManager(final @NonNull EventDispatcher eventDispatcher) {
         this.tasks = new ArrayDeque<>();
         this.dates_cache = new ConcurrentHashMap<>();
         this.account_age_cache = new ConcurrentHashMap<>();
         this.eventDispatcher = eventDispatcher;
+        this.analysisEngine = new PlotAnalysisEngine(PlotSquared.get().getPlotAnalysisStore());
     }
 
     public void addTask(ExpiryTask task) {
@@ -309,100 +319,19 @@ public class ExpireManager {
             return false;
         }
         this.running = 2;
-        final ConcurrentLinkedDeque<Plot> plots =
-                new ConcurrentLinkedDeque<>(PlotQuery.newQuery().allPlots().asList());
-        TaskManager.runTaskAsync(new Runnable() {
-            @Override
-            public void run() {
-                final Runnable task = this;
-                if (ExpireManager.this.running != 2) {
-                    ExpireManager.this.running = 0;
-                    return;
-                }
-                long start = System.currentTimeMillis();
-                while (!plots.isEmpty()) {
-                    if (ExpireManager.this.running != 2) {
-                        ExpireManager.this.running = 0;
-                        return;
-                    }
-                    Plot plot = plots.poll();
-                    PlotArea area = plot.getArea();
-                    final Plot newPlot = area.getPlot(plot.getId());
-                    final ArrayDeque<ExpiryTask> applicable = new ArrayDeque<>(tasks);
-                    final Collection<ExpiryTask> expired = isExpired(applicable, newPlot);
-                    if (expired.isEmpty()) {
-                        continue;
-                    }
-                    for (ExpiryTask expiryTask : expired) {
-                        if (!expiryTask.needsAnalysis()) {
-                            expiredTask.run(newPlot, () -> TaskManager.getPlatformImplementation()
-                                            .taskLaterAsync(task, TaskTime.ticks(1L)),
-                                    expiryTask.requiresConfirmation()
-                            );
-                            return;
-                        }
-                    }
-                    final RunnableVal<PlotAnalysis> handleAnalysis =
-                            new RunnableVal<>() {
-                                @Override
-                                public void run(final PlotAnalysis changed) {
-                                    passesComplexity(changed, expired, new RunnableVal<>() {
-                                        @Override
-                                        public void run(Boolean confirmation) {
-                                            expiredTask.run(
-                                                    newPlot,
-                                                    () -> TaskManager
-                                                            .getPlatformImplementation()
-                                                            .taskLaterAsync(task, TaskTime.ticks(1L)),
-                                                    confirmation
-                                            );
-                                        }
-                                    }, () -> {
-                                        PlotFlag<?, ?> plotFlag = GlobalFlagContainer.getInstance()
-                                                .getFlag(AnalysisFlag.class)
-                                                .createFlagInstance(changed.asList());
-                                        PlotFlagAddEvent event =
-                                                new PlotFlagAddEvent(plotFlag, newPlot);
-                                        if (event.getEventResult() == Result.DENY) {
-                                            return;
-                                        }
-                                        newPlot.setFlag(event.getFlag());
-                                        TaskManager.runTaskLaterAsync(task, TaskTime.seconds(1L));
-                                    });
-                                }
-                            };
-                    final Runnable doAnalysis =
-                            () -> PlotSquared.platform().hybridUtils().analyzePlot(newPlot, handleAnalysis);
-
-                    PlotAnalysis analysis = newPlot.getComplexity(null);
-                    if (analysis != null) {
-                        passesComplexity(analysis, expired, new RunnableVal<>() {
-                            @Override
-                            public void run(Boolean value) {
-                                doAnalysis.run();
-                            }
-                        }, () -> TaskManager.getPlatformImplementation().taskLaterAsync(task, TaskTime.ticks(1L)));
-                    } else {
-                        doAnalysis.run();
-                    }
-                    return;
-                }
-                if (plots.isEmpty()) {
-                    ExpireManager.this.running = 3;
-                    TaskManager.runTaskLater(() -> {
-                        if (ExpireManager.this.running == 3) {
-                            ExpireManager.this.running = 2;
-                            runTask(expiredTask);
-                        }
-                    }, TaskTime.ticks(86400000L));
-                } else {
-                    TaskManager.runTaskLaterAsync(task, TaskTime.seconds(10L));
-                }
-            }
-        });
+        TaskManager.runTaskAsync(() -> new ExpiryRun(expiredTask).start());
         return true;
     }
 
+    /**
+     * Get the engine analysing the plots of expiry tasks
+     *
+     * @return analysis engine
+     */
+    public @NonNull PlotAnalysisEngine getAnalysisEngine() {
+        return this.analysisEngine;
+    }
+
     public void storeDate(UUID uuid, long time) {
         Long existing = this.dates_cache.put(uuid, time);
         if (existing != null) {
@@ -503,4 +432,142 @@ public class ExpireManager {
         return min;
     }
 
+    /**
+     * One pass over all plots. Plots are first checked without loading chunks, then the plots that need
+     * an analysis are analysed in parallel while expired plots are removed one at a time.
+     */
+    private final class ExpiryRun {
+
+        private final RunnableVal3<Plot, Runnable, Boolean> expiredTask;
+        private final ConcurrentLinkedDeque<Plot> expired = new ConcurrentLinkedDeque<>();
+        private final Map<Plot, Boolean> confirmations = new ConcurrentHashMap<>();
+        private final AtomicBoolean removing = new AtomicBoolean();
+        private volatile boolean analysing = true;
+        private boolean finished;
+
+        private ExpiryRun(final @NonNull RunnableVal3<Plot, Runnable, Boolean> expiredTask) {
+            this.expiredTask = expiredTask;
+        }
+
+        private void start() {
+            // Stored analyses have to be known before deciding which plots need one
+            PlotSquared.get().getPlotAnalysisStore().load(PlotSquared.get().getPlotAreaManager().getAllPlotAreas()).join();
+            final Map<Plot, Collection<ExpiryTask>> needAnalysis = new HashMap<>();
+            // The expiry checks of all plots run on the query pool, only the plots that may expire are checked again below
+            final List<Plot> candidates = PlotQuery.newQuery().allPlots().parallel()
+                    .thatPasses(plot -> ExpireManager.this.running == 2 && !isExpired(new ArrayDeque<>(tasks), plot).isEmpty())
+                    .asList();
+            for (final Plot plot : candidates) {
+                if (ExpireManager.this.running != 2) {
+                    break;
+                }
+                final Plot newPlot = plot.getArea().getPlot(plot.getId());
+                if (newPlot == null) {
+                    continue;
+                }
+                final Collection<ExpiryTask> applicable = isExpired(new ArrayDeque<>(tasks), newPlot);
+                if (applicable.isEmpty()) {
+                    continue;
+                }
+                final ExpiryTask direct = applicable.stream().filter(task -> !task.needsAnalysis()).findFirst().orElse(null);
+                if (direct != null) {
+                    queue(newPlot, direct.requiresConfirmation());
+                    continue;
+                }
+                // A stored analysis that already fails the tasks does not need to be repeated
+                final PlotAnalysis analysis = newPlot.getComplexity(null);
+                if (analysis == null || applicable.stream().anyMatch(task -> task.applies(analysis))) {
+                    needAnalysis.put(newPlot, applicable);
+                }
+            }
+            final boolean started = analysisEngine.analyse(
+                    needAnalysis.keySet(),
+                    (plot, analysis) -> passesComplexity(analysis, needAnalysis.get(plot), new RunnableVal<>() {
+                        @Override
+                        public void run(final Boolean confirmation) {
+                            queue(plot, confirmation);
+                        }
+                    }, () -> storeAnalysis(plot, analysis)),
+                    () -> {
+                        this.analysing = false;
+                        removeNext();
+                    },
+                    () -> ExpireManager.this.running != 2,
+                    false
+            );
+            if (!started) {
+                // Another analysis run is in progress, the plots needing an analysis are checked in the next run
+                LOGGER.warn("Skipping the analysis of {} plots as another analysis is still running", needAnalysis.size());
+                this.analysing = false;
+                removeNext();
+            }
+        }
+
+        private void storeAnalysis(final @NonNull Plot plot, final @NonNull PlotAnalysis analysis) {
+            final List<Integer> values = analysis.asList();
+            if (values.equals(plot.getFlag(AnalysisFlag.class))) {
+                return;
+            }
+            PlotFlag<?, ?> plotFlag = GlobalFlagContainer.getInstance().getFlag(AnalysisFlag.class).createFlagInstance(values);
+            PlotFlagAddEvent event = new PlotFlagAddEvent(plotFlag, plot);
+            if (event.getEventResult() == Result.DENY) {
+                return;
+            }
+            plot.setFlag(event.getFlag());
+        }
+
+        private void queue(final @NonNull Plot plot, final boolean confirmation) {
+            this.confirmations.put(plot, confirmation);
+            this.expired.add(plot);
+            removeNext();
+        }
+
+        /**
+         * Pass the next expired plot to the expiry task, unless one is still being handled
+         */
+        private void removeNext() {
+            if (!this.removing.compareAndSet(false, true)) {
+                return;
+            }
+            Plot plot;
+            while ((plot = this.expired.poll()) != null) {
+                final Boolean confirmation = this.confirmations.remove(plot);
+                // The owner may have returned since the plot was checked
+                if (ExpireManager.this.running != 2 || isExpired(new ArrayDeque<>(tasks), plot).isEmpty()) {
+                    continue;
+                }
+                this.expiredTask.run(plot, () -> TaskManager.getPlatformImplementation().taskLaterAsync(() -> {
+                    this.removing.set(false);
+                    removeNext();
+                }, TaskTime.ticks(1L)), confirmation);
+                return;
+            }
+            this.removing.set(false);
+            if (!this.expired.isEmpty()) {
+                removeNext();
+            } else if (!this.analysing) {
+                finish();
+            }
+        }
+
+        private synchronized void finish() {
+            if (this.finished) {
+                return;
+            }
+            this.finished = true;
+            if (ExpireManager.this.running != 2) {
+                ExpireManager.this.running = 0;
+                return;
+            }
+            ExpireManager.this.running = 3;
+            TaskManager.runTaskLater(() -> {
+                if (ExpireManager.this.running == 3) {
+                    ExpireManager.this.running = 0;
+                    runTask(this.expiredTask);
+                }
+            }, TaskTime.ticks(86400000L));
+        }
+
+    }
+
 }
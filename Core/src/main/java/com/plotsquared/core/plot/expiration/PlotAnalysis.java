@@ -30,7 +30,6 @@ import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.generator.HybridUtils;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.flag.implementations.AnalysisFlag;
-import com.plotsquared.core.util.MathMan;
 import com.plotsquared.core.util.query.PlotQuery;
 import com.plotsquared.core.util.task.RunnableVal;
 import com.plotsquared.core.util.task.TaskManager;
@@ -38,12 +37,10 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.lang.reflect.Array;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
 public class PlotAnalysis {
 
@@ -84,8 +81,31 @@ public class PlotAnalysis {
         return null;
     }
 
+    /**
+     * Analyse a plot, or use its stored analysis if the plot has not been modified since
+     *
+     * @param plot     plot
+     * @param whenDone task receiving the analysis, or {@code null} if the plot could not be analysed, run on the main thread
+     */
     public static void analyzePlot(Plot plot, RunnableVal<PlotAnalysis> whenDone) {
-        PlotSquared.platform().injector().getInstance(HybridUtils.class).analyzePlot(plot, whenDone);
+        final PlotAnalysisStore store = PlotSquared.get().getPlotAnalysisStore();
+        final PlotAnalysis stored = store.getAnalysis(plot);
+        if (stored != null) {
+            whenDone.value = stored;
+            TaskManager.runTask(whenDone);
+            return;
+        }
+        final long modifications = store.getModifications(plot);
+        PlotSquared.platform().injector().getInstance(HybridUtils.class).analyzePlot(plot, new RunnableVal<>() {
+            @Override
+            public void run(PlotAnalysis value) {
+                if (value != null) {
+                    store.storeAnalysis(plot, value, modifications);
+                }
+                whenDone.value = value;
+                TaskManager.runTask(whenDone);
+            }
+        });
     }
 
     /**
@@ -106,314 +126,117 @@ public class PlotAnalysis {
         }
         running = true;
         final List<Plot> plots = PlotQuery.newQuery().allPlots().asList();
-        TaskManager.runTaskAsync(new Runnable() {
-            @Override
-            public void run() {
-                Iterator<Plot> iterator = plots.iterator();
-                LOGGER.info("- Reducing {} plots to those with sufficient data", plots.size());
-                while (iterator.hasNext()) {
-                    Plot plot = iterator.next();
-                    if (plot.getSettings().getRatings() == null || plot.getSettings().getRatings()
-                            .isEmpty()) {
-                        iterator.remove();
-                    } else {
-                        plot.addRunning();
-                    }
+        TaskManager.runTaskAsync(() -> {
+            Iterator<Plot> iterator = plots.iterator();
+            LOGGER.info("- Reducing {} plots to those with sufficient data", plots.size());
+            while (iterator.hasNext()) {
+                Plot plot = iterator.next();
+                if (plot.getSettings().getRatings() == null || plot.getSettings().getRatings()
+                        .isEmpty()) {
+                    iterator.remove();
+                } else {
+                    plot.addRunning();
                 }
+            }
 
-                if (plots.size() < 3) {
-                    LOGGER.info("Calibration cancelled due to insufficient comparison data, please try again later");
-                    running = false;
-                    for (Plot plot : plots) {
-                        plot.removeRunning();
-                    }
-                    return;
+            if (plots.size() < 3) {
+                LOGGER.info("Calibration cancelled due to insufficient comparison data, please try again later");
+                running = false;
+                for (Plot plot : plots) {
+                    plot.removeRunning();
                 }
-                LOGGER.info("- Analyzing plot contents (this may take a while)");
-
-                int[] changes = new int[plots.size()];
-                int[] faces = new int[plots.size()];
-                int[] data = new int[plots.size()];
-                int[] air = new int[plots.size()];
-                int[] variety = new int[plots.size()];
-
-                int[] changes_sd = new int[plots.size()];
-                int[] faces_sd = new int[plots.size()];
-                int[] data_sd = new int[plots.size()];
-                int[] air_sd = new int[plots.size()];
-                int[] variety_sd = new int[plots.size()];
-
-                final int[] ratings = new int[plots.size()];
-
-                final AtomicInteger mi = new AtomicInteger(0);
-
-                Thread ratingAnalysis = new Thread(() -> {
-                    for (; mi.intValue() < plots.size(); mi.incrementAndGet()) {
-                        int i = mi.intValue();
-                        Plot plot = plots.get(i);
-                        ratings[i] = (int) (
-                                (plot.getAverageRating() + plot.getSettings().getRatings().size())
-                                        * 100);
-                        LOGGER.info(" | {} (rating) {}", plot, ratings[i]);
-
-                    }
-                });
-                ratingAnalysis.start();
-
-                ArrayDeque<Plot> plotsQueue = new ArrayDeque<>(plots);
-                while (true) {
-                    final Plot queuePlot = plotsQueue.poll();
-                    if (queuePlot == null) {
-                        break;
-                    }
-                    LOGGER.info(" | {}", queuePlot);
-
-                    final Object lock = new Object();
-                    TaskManager.runTask(new Runnable() {
-                        @Override
-                        public void run() {
-                            analyzePlot(queuePlot, new RunnableVal<>() {
-                                @Override
-                                public void run(PlotAnalysis value) {
-                                    try {
-                                        synchronized (this) {
-                                            wait(10000);
-                                        }
-                                    } catch (InterruptedException e) {
-                                        e.printStackTrace();
-                                    }
-                                    synchronized (lock) {
-                                        queuePlot.removeRunning();
-                                        lock.notify();
-                                    }
+                return;
+            }
+            try {
+                LOGGER.info("- Analyzing plot contents (stored analyses of unchanged plots are reused)");
+
+                final PlotAnalysisStore store = PlotSquared.get().getPlotAnalysisStore();
+                store.load(PlotSquared.get().getPlotAreaManager().getAllPlotAreas()).join();
+                final PlotAnalysisDataset dataset = new PlotAnalysisDataset(plots.size());
+                final PlotAnalysisEngine engine = new PlotAnalysisEngine(store);
+                engine.analyse(
+                        plots,
+                        (plot, analysis) -> dataset.add(
+                                analysis,
+                                (int) ((plot.getAverageRating() + plot.getSettings().getRatings().size()) * 100)
+                        ),
+                        () -> TaskManager.runTaskAsync(() -> {
+                            try {
+                                calibrate(dataset, threshold);
+                            } finally {
+                                running = false;
+                                for (Plot plot : plots) {
+                                    plot.removeRunning();
                                 }
-                            });
-                        }
-                    });
-                    try {
-                        synchronized (lock) {
-                            lock.wait();
-                        }
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                }
-
-                LOGGER.info("- Waiting on plot rating thread: {}%", mi.intValue() * 100 / plots.size());
-
-                try {
-                    ratingAnalysis.join();
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
-
-                LOGGER.info("- Processing and grouping single plot analysis for bulk processing");
-
-                for (int i = 0; i < plots.size(); i++) {
-                    Plot plot = plots.get(i);
-                    LOGGER.info("| {}", plot);
-
-                    PlotAnalysis analysis = plot.getComplexity(null);
-
-                    changes[i] = analysis.changes;
-                    faces[i] = analysis.faces;
-                    data[i] = analysis.data;
-                    air[i] = analysis.air;
-                    variety[i] = analysis.variety;
-
-                    changes_sd[i] = analysis.changes_sd;
-                    faces_sd[i] = analysis.faces_sd;
-                    data_sd[i] = analysis.data_sd;
-                    air_sd[i] = analysis.air_sd;
-                    variety_sd[i] = analysis.variety_sd;
-                }
-
-                LOGGER.info("- Calculating rankings");
-
-                int[] rankRatings = rank(ratings);
-                int n = rankRatings.length;
-
-                int optimalIndex = (int) Math.round((1 - threshold) * (n - 1));
-
-                LOGGER.info("- Calculating rank correlation: ");
-                LOGGER.info(
-                        "- The analyzed plots which were processed and put into bulk data will be compared and correlated to the plot ranking");
-                LOGGER.info(
-                        "- The calculated correlation constant will then be used to calibrate the threshold for auto plot clearing");
-
-                Settings.Auto_Clear settings = new Settings.Auto_Clear();
-
-                int[] rankChanges = rank(changes);
-                int[] sdChanges = getSD(rankChanges, rankRatings);
-                int[] varianceChanges = square(sdChanges);
-                int sumChanges = sum(varianceChanges);
-                double factorChanges = getCC(n, sumChanges);
-                settings.CALIBRATION.CHANGES = factorChanges == 1 ?
-                        0 :
-                        (int) (factorChanges * 1000 / MathMan.getMean(changes));
-
-                LOGGER.info("- | changes {}", factorChanges);
-
-                int[] rankFaces = rank(faces);
-                int[] sdFaces = getSD(rankFaces, rankRatings);
-                int[] varianceFaces = square(sdFaces);
-                int sumFaces = sum(varianceFaces);
-                double factorFaces = getCC(n, sumFaces);
-                settings.CALIBRATION.FACES =
-                        factorFaces == 1 ? 0 : (int) (factorFaces * 1000 / MathMan.getMean(faces));
-
-                LOGGER.info("- | faces {}", factorFaces);
-
-                int[] rankData = rank(data);
-                int[] sdData = getSD(rankData, rankRatings);
-                int[] variance_data = square(sdData);
-                int sum_data = sum(variance_data);
-                double factor_data = getCC(n, sum_data);
-                settings.CALIBRATION.DATA =
-                        factor_data == 1 ? 0 : (int) (factor_data * 1000 / MathMan.getMean(data));
-
-                LOGGER.info("- | data {}", factor_data);
-
-                int[] rank_air = rank(air);
-                int[] sd_air = getSD(rank_air, rankRatings);
-                int[] variance_air = square(sd_air);
-                int sum_air = sum(variance_air);
-                double factor_air = getCC(n, sum_air);
-                settings.CALIBRATION.AIR =
-                        factor_air == 1 ? 0 : (int) (factor_air * 1000 / MathMan.getMean(air));
-
-                LOGGER.info("- | air {}", factor_air);
-
-
-                int[] rank_variety = rank(variety);
-                int[] sd_variety = getSD(rank_variety, rankRatings);
-                int[] variance_variety = square(sd_variety);
-                int sum_variety = sum(variance_variety);
-                double factor_variety = getCC(n, sum_variety);
-                settings.CALIBRATION.VARIETY = factor_variety == 1 ?
-                        0 :
-                        (int) (factor_variety * 1000 / MathMan.getMean(variety));
-
-                LOGGER.info("- | variety {}", factor_variety);
-
-                int[] rank_changes_sd = rank(changes_sd);
-                int[] sd_changes_sd = getSD(rank_changes_sd, rankRatings);
-                int[] variance_changes_sd = square(sd_changes_sd);
-                int sum_changes_sd = sum(variance_changes_sd);
-                double factor_changes_sd = getCC(n, sum_changes_sd);
-                settings.CALIBRATION.CHANGES_SD = factor_changes_sd == 1 ?
-                        0 :
-                        (int) (factor_changes_sd * 1000 / MathMan.getMean(changes_sd));
-
-                LOGGER.info("- | changed_sd {}", factor_changes_sd);
-
-                int[] rank_faces_sd = rank(faces_sd);
-                int[] sd_faces_sd = getSD(rank_faces_sd, rankRatings);
-                int[] variance_faces_sd = square(sd_faces_sd);
-                int sum_faces_sd = sum(variance_faces_sd);
-                double factor_faces_sd = getCC(n, sum_faces_sd);
-                settings.CALIBRATION.FACES_SD = factor_faces_sd == 1 ?
-                        0 :
-                        (int) (factor_faces_sd * 1000 / MathMan.getMean(faces_sd));
-
-                LOGGER.info("- | faced_sd {}", factor_faces_sd);
-
-                int[] rank_data_sd = rank(data_sd);
-                int[] sd_data_sd = getSD(rank_data_sd, rankRatings);
-                int[] variance_data_sd = square(sd_data_sd);
-                int sum_data_sd = sum(variance_data_sd);
-                double factor_data_sd = getCC(n, sum_data_sd);
-                settings.CALIBRATION.DATA_SD = factor_data_sd == 1 ?
-                        0 :
-                        (int) (factor_data_sd * 1000 / MathMan.getMean(data_sd));
-
-                LOGGER.info("- | data_sd {}", factor_data_sd);
-
-                int[] rank_air_sd = rank(air_sd);
-                int[] sd_air_sd = getSD(rank_air_sd, rankRatings);
-                int[] variance_air_sd = square(sd_air_sd);
-                int sum_air_sd = sum(variance_air_sd);
-                double factor_air_sd = getCC(n, sum_air_sd);
-                settings.CALIBRATION.AIR_SD =
-                        factor_air_sd == 1 ? 0 : (int) (factor_air_sd * 1000 / MathMan.getMean(air_sd));
-
-                LOGGER.info("- | air_sd {}", factor_air_sd);
-
-                int[] rank_variety_sd = rank(variety_sd);
-                int[] sd_variety_sd = getSD(rank_variety_sd, rankRatings);
-                int[] variance_variety_sd = square(sd_variety_sd);
-                int sum_variety_sd = sum(variance_variety_sd);
-                double factor_variety_sd = getCC(n, sum_variety_sd);
-                settings.CALIBRATION.VARIETY_SD = factor_variety_sd == 1 ?
-                        0 :
-                        (int) (factor_variety_sd * 1000 / MathMan.getMean(variety_sd));
-
-                LOGGER.info("- | variety_sd {}", factor_variety_sd);
-
-                int[] complexity = new int[n];
-
-                LOGGER.info("Calculating threshold");
-
-                int max = 0;
-                int min = 0;
-                for (int i = 0; i < n; i++) {
-                    Plot plot = plots.get(i);
-                    PlotAnalysis analysis = plot.getComplexity(settings);
-                    complexity[i] = analysis.complexity;
-                    if (analysis.complexity < min) {
-                        min = analysis.complexity;
-                    } else if (analysis.complexity > max) {
-                        max = analysis.complexity;
-                    }
-                }
-                int optimalComplexity = Integer.MAX_VALUE;
-                if (min > 0 && max < 102400) { // If low size, use my fast ranking algorithm
-                    int[] rankComplexity = rank(complexity, max + 1);
-                    for (int i = 0; i < n; i++) {
-                        if (rankComplexity[i] == optimalIndex) {
-                            optimalComplexity = complexity[i];
-                            break;
-                        }
-                    }
-                    logln("Complexity: ");
-                    logln(rankComplexity);
-                    logln("Ratings: ");
-                    logln(rankRatings);
-                    logln("Correlation: ");
-                    logln(getCC(n, sum(square(getSD(rankComplexity, rankRatings)))));
-                    if (optimalComplexity == Integer.MAX_VALUE) {
-                        LOGGER.info("Insufficient data to determine correlation! {} | {}",
-                                optimalIndex, n
-                        );
-                        running = false;
-                        for (Plot plot : plots) {
-                            plot.removeRunning();
-                        }
-                        return;
-                    }
-                } else { // Use the fast radix sort algorithm
-                    int[] sorted = complexity.clone();
-                    sort(sorted);
-                    logln("Complexity: ");
-                    logln(complexity);
-                    logln("Ratings: ");
-                    logln(rankRatings);
-                }
-
-                // Save calibration
-                LOGGER.info("Saving calibration");
-                Settings.AUTO_CLEAR.put("auto-calibrated", settings);
-                Settings.save(PlotSquared.get().getWorldsFile());
+                            }
+                            whenDone.run();
+                        }),
+                        () -> false,
+                        true
+                );
+            } catch (Throwable throwable) {
+                // Plots that cannot be analysed are skipped by the engine, so only a failure to start ends up here
+                LOGGER.error("Failed to start the calibration", throwable);
                 running = false;
                 for (Plot plot : plots) {
                     plot.removeRunning();
                 }
-                LOGGER.info("Done!");
-                whenDone.run();
             }
         });
     }
 
+    private static void calibrate(final PlotAnalysisDataset dataset, final double threshold) {
+        final int n = dataset.size();
+        if (n < 3) {
+            LOGGER.info("Calibration cancelled due to insufficient comparison data, please try again later");
+            return;
+        }
+        LOGGER.info("- Calculating rank correlation of {} plots: ", n);
+        LOGGER.info(
+                "- The analyzed plots will be compared and correlated to the plot ranking");
+        LOGGER.info(
+                "- The calculated correlation constant will then be used to calibrate the threshold for auto plot clearing");
+
+        final double[] correlations = PlotAnalysisStatistics.correlations(dataset);
+        final int[] modifiers = PlotAnalysisStatistics.modifiers(dataset, correlations);
+        final String[] names = {"changes", "faces", "data", "air", "variety", "changes_sd", "faces_sd", "data_sd", "air_sd",
+                "variety_sd"};
+        for (int column = 0; column < names.length; column++) {
+            LOGGER.info("- | {} {}", names[column], correlations[column]);
+        }
+
+        Settings.Auto_Clear settings = new Settings.Auto_Clear();
+        settings.CALIBRATION.CHANGES = modifiers[0];
+        settings.CALIBRATION.FACES = modifiers[1];
+        settings.CALIBRATION.DATA = modifiers[2];
+        settings.CALIBRATION.AIR = modifiers[3];
+        settings.CALIBRATION.VARIETY = modifiers[4];
+        settings.CALIBRATION.CHANGES_SD = modifiers[5];
+        settings.CALIBRATION.FACES_SD = modifiers[6];
+        settings.CALIBRATION.DATA_SD = modifiers[7];
+        settings.CALIBRATION.AIR_SD = modifiers[8];
+        settings.CALIBRATION.VARIETY_SD = modifiers[9];
+
+        LOGGER.info("Calculating threshold");
+        final int[] complexity = PlotAnalysisStatistics.complexities(dataset, modifiers);
+        final int[] rankComplexity = PlotAnalysisStatistics.rank(complexity);
+        final int[] rankRatings = PlotAnalysisStatistics.rank(dataset.getRatings());
+        final int optimalIndex = (int) Math.round((1 - threshold) * (n - 1));
+        for (int i = 0; i < n; i++) {
+            if (rankComplexity[i] == optimalIndex) {
+                LOGGER.info("Optimal complexity: {}", complexity[i]);
+                break;
+            }
+        }
+        LOGGER.info("Correlation: {}", PlotAnalysisStatistics.spearman(rankComplexity, rankRatings));
+
+        // Save calibration
+        LOGGER.info("Saving calibration");
+        Settings.AUTO_CLEAR.put("auto-calibrated", settings);
+        Settings.save(PlotSquared.get().getWorldsFile());
+        LOGGER.info("Done!");
+    }
+
     public static void logln(Object obj) {
         LOGGER.info("" + log(obj));
     }
@@ -446,7 +269,9 @@ public class PlotAnalysis {
      * @param n   n
      * @param sum sum
      * @return result
+     * @deprecated use {@link PlotAnalysisStatistics#spearman(int[], int[])}, which does not overflow for large inputs
      */
+    @Deprecated
     public static double getCC(int n, int sum) {
         return 1 - 6 * (double) sum / (n * (n * n - 1));
     }
@@ -481,7 +306,9 @@ public class PlotAnalysis {
      *
      * @param ranks ranks
      * @return result
+     * @deprecated use {@link PlotAnalysisStatistics#spearman(int[], int[])}, which does not overflow for large inputs
      */
+    @Deprecated
     public static int[] getSD(int[]... ranks) {
         if (ranks.length == 0) {
             return null;
@@ -510,7 +337,9 @@ public class PlotAnalysis {
      *
      * @param input input
      * @return result
+     * @deprecated use {@link PlotAnalysisStatistics#rank(int[])}, which accepts any values
      */
+    @Deprecated
     public static int[] rank(int[] input) {
         return rank(input, 102400);
     }
@@ -521,7 +350,9 @@ public class PlotAnalysis {
      * @param input input
      * @param size  size
      * @return result
+     * @deprecated use {@link PlotAnalysisStatistics#rank(int[])}, which accepts any values
      */
+    @Deprecated
     public static int[] rank(int[] input, int size) {
         int[] cache = new int[size];
         int max = 0;
@@ -0,0 +1,120 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.expiration;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Column-oriented table of plot analyses and plot ratings.
+ * <p>
+ * Each value of {@link PlotAnalysis#asList()} is stored in its own primitive column, in the same order.
+ * </p>
+ */
+public final class PlotAnalysisDataset {
+
+    /**
+     * Number of analysis columns
+     */
+    public static final int COLUMNS = 10;
+
+    private int[][] columns;
+    private int[] ratings;
+    private int size;
+
+    public PlotAnalysisDataset(final int capacity) {
+        final int initial = Math.max(capacity, 16);
+        this.columns = new int[COLUMNS][initial];
+        this.ratings = new int[initial];
+    }
+
+    /**
+     * Add the analysis and rating of a plot
+     *
+     * @param analysis analysis
+     * @param rating   rating
+     */
+    public synchronized void add(final @NonNull PlotAnalysis analysis, final int rating) {
+        if (this.size == this.ratings.length) {
+            final int capacity = Math.max(this.size * 2, 16);
+            for (int column = 0; column < COLUMNS; column++) {
+                this.columns[column] = Arrays.copyOf(this.columns[column], capacity);
+            }
+            this.ratings = Arrays.copyOf(this.ratings, capacity);
+        }
+        final int row = this.size++;
+        this.columns[0][row] = analysis.changes;
+        this.columns[1][row] = analysis.faces;
+        this.columns[2][row] = analysis.data;
+        this.columns[3][row] = analysis.air;
+        this.columns[4][row] = analysis.variety;
+        this.columns[5][row] = analysis.changes_sd;
+        this.columns[6][row] = analysis.faces_sd;
+        this.columns[7][row] = analysis.data_sd;
+        this.columns[8][row] = analysis.air_sd;
+        this.columns[9][row] = analysis.variety_sd;
+        this.ratings[row] = rating;
+    }
+
+    /**
+     * Get the number of plots in the dataset
+     */
+    public synchronized int size() {
+        return this.size;
+    }
+
+    /**
+     * Get the values of one column, with one entry per plot
+     *
+     * @param column column index, in the order of {@link PlotAnalysis#asList()}
+     * @return values, not to be modified
+     */
+    public synchronized int @NonNull [] getColumn(final int column) {
+        trim();
+        return this.columns[column];
+    }
+
+    /**
+     * Get the ratings, with one entry per plot
+     *
+     * @return ratings, not to be modified
+     */
+    public synchronized int @NonNull [] getRatings() {
+        trim();
+        return this.ratings;
+    }
+
+    private void trim() {
+        if (this.ratings.length != this.size) {
+            for (int column = 0; column < COLUMNS; column++) {
+                this.columns[column] = Arrays.copyOf(this.columns[column], this.size);
+            }
+            this.ratings = Arrays.copyOf(this.ratings, this.size);
+        }
+    }
+
+}
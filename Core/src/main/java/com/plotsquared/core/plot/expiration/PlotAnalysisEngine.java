@@ -0,0 +1,332 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.expiration;
+
+import com.plotsquared.core.PlotSquared;
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.generator.HybridPlotWorld;
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.util.task.RunnableVal;
+import com.plotsquared.core.util.task.TaskManager;
+import com.plotsquared.core.util.task.TaskTime;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Analyses batches of plots with a bounded number of analyses running at once.
+ * <p>
+ * Plots are ordered by world and region file, so the plots analysed at the same time share their chunk loads.
+ * Results are kept in the {@link PlotAnalysisStore}. Runs whose results do not decide whether a plot is deleted may
+ * reuse them, see {@link PlotAnalysisStore#getAnalysis(Plot)}.
+ * </p>
+ * <p>
+ * Plots that could not be analysed, or whose analysis did not finish within {@link Settings.Expiry_Analysis#TIMEOUT},
+ * are skipped, so a lost analysis never blocks the run.
+ * </p>
+ */
+public final class PlotAnalysisEngine {
+
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + PlotAnalysisEngine.class.getSimpleName());
+
+    private final PlotAnalysisStore store;
+    private final Deque<Plot> pending = new ArrayDeque<>();
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger cacheHits = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private int inFlight;
+    private int queued;
+    private long startTime;
+    private long lastProgress;
+    private BiConsumer<Plot, PlotAnalysis> consumer;
+    private BooleanSupplier cancelled;
+    private Runnable whenDone;
+    private boolean reuseStored;
+
+    /**
+     * @param store store to put analyses in, and to take analyses from if a run allows it
+     */
+    public PlotAnalysisEngine(final @NonNull PlotAnalysisStore store) {
+        this.store = store;
+    }
+
+    private static long regionKey(final @NonNull Plot plot) {
+        final Location bottom = plot.getBottomAbs();
+        return ((long) (bottom.getX() >> 9) << 32) | ((bottom.getZ() >> 9) & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Analyse the given plots. Plots in areas that cannot be analysed are skipped.
+     *
+     * @param plots       plots to analyse
+     * @param consumer    receives each analysis, called from the thread that completed it. Not called for plots that
+     *                    could not be analysed.
+     * @param whenDone    run once all analyses are done or the run was cancelled
+     * @param cancelled   checked before each analysis is started
+     * @param reuseStored whether stored analyses may be used instead of analysing a plot. Not every modification of a
+     *                    plot is tracked, so this must be {@code false} if the analyses decide which plots are deleted.
+     * @return {@code false} if another run is still in progress
+     */
+    public boolean analyse(
+            final @NonNull Collection<Plot> plots,
+            final @NonNull BiConsumer<Plot, PlotAnalysis> consumer,
+            final @NonNull Runnable whenDone,
+            final @NonNull BooleanSupplier cancelled,
+            final boolean reuseStored
+    ) {
+        final List<RegionEntry> entries = new ArrayList<>(plots.size());
+        for (final Plot plot : plots) {
+            if (plot.getArea() instanceof HybridPlotWorld) {
+                entries.add(new RegionEntry(plot, Objects.toString(plot.getWorldName(), ""), regionKey(plot)));
+            }
+        }
+        entries.sort(Comparator.comparing((RegionEntry entry) -> entry.world).thenComparingLong(entry -> entry.region));
+        synchronized (this) {
+            if (this.whenDone != null) {
+                return false;
+            }
+            for (final RegionEntry entry : entries) {
+                this.pending.add(entry.plot);
+            }
+            this.consumer = consumer;
+            this.whenDone = whenDone;
+            this.cancelled = cancelled;
+            this.reuseStored = reuseStored;
+            this.queued = entries.size();
+            this.completed.set(0);
+            this.cacheHits.set(0);
+            this.failures.set(0);
+            this.startTime = this.lastProgress = System.currentTimeMillis();
+        }
+        pump();
+        return true;
+    }
+
+    /**
+     * Start analyses until the limit of concurrent analyses is reached
+     */
+    private void pump() {
+        while (true) {
+            final Plot plot;
+            boolean reuseStored = false;
+            Runnable done = null;
+            synchronized (this) {
+                if (this.cancelled != null && this.cancelled.getAsBoolean()) {
+                    this.pending.clear();
+                }
+                if (this.inFlight >= Math.max(1, Settings.Expiry_Analysis.CONCURRENT_PLOTS) || this.pending.isEmpty()) {
+                    if (this.inFlight == 0 && this.pending.isEmpty() && this.whenDone != null) {
+                        done = this.whenDone;
+                        this.whenDone = null;
+                        this.consumer = null;
+                        this.cancelled = null;
+                    }
+                    plot = null;
+                } else {
+                    plot = this.pending.poll();
+                    reuseStored = this.reuseStored;
+                    this.inFlight++;
+                }
+            }
+            if (plot == null) {
+                if (done != null) {
+                    LOGGER.info("Analysed {} plots in {}s ({} cached, {} failed)", this.completed.get(),
+                            (System.currentTimeMillis() - this.startTime) / 1000, this.cacheHits.get(), this.failures.get()
+                    );
+                    done.run();
+                }
+                return;
+            }
+            final PlotAnalysis stored = reuseStored ? this.store.getAnalysis(plot) : null;
+            if (stored != null) {
+                this.cacheHits.incrementAndGet();
+                complete(plot, stored);
+                continue;
+            }
+            final long modifications = this.store.getModifications(plot);
+            // Whichever comes first of the analysis and the timeout completes the plot
+            final AtomicBoolean finished = new AtomicBoolean();
+            final int timeout = Settings.Expiry_Analysis.TIMEOUT;
+            if (timeout > 0) {
+                TaskManager.runTaskLaterAsync(() -> {
+                    if (finished.compareAndSet(false, true)) {
+                        LOGGER.warn("Analysis of plot {} did not finish within {}s, skipping it", plot, timeout);
+                        fail(plot);
+                    }
+                }, TaskTime.seconds(timeout));
+            }
+            try {
+                PlotSquared.platform().hybridUtils().analyzePlot(plot, new RunnableVal<>() {
+                    @Override
+                    public void run(final PlotAnalysis value) {
+                        if (!finished.compareAndSet(false, true)) {
+                            return;
+                        }
+                        if (value == null) {
+                            LOGGER.warn("Could not analyse plot {}, skipping it", plot);
+                            fail(plot);
+                            return;
+                        }
+                        store.storeAnalysis(plot, value, modifications);
+                        complete(plot, value);
+                        pump();
+                    }
+                });
+            } catch (Throwable throwable) {
+                if (finished.compareAndSet(false, true)) {
+                    LOGGER.error("Failed to analyse plot {}, skipping it", plot, throwable);
+                    fail(plot);
+                }
+            }
+        }
+    }
+
+    private void fail(final @NonNull Plot plot) {
+        this.failures.incrementAndGet();
+        complete(plot, null);
+        pump();
+    }
+
+    /**
+     * Finish a plot of the current run
+     *
+     * @param plot     the plot
+     * @param analysis its analysis, or {@code null} if it could not be analysed
+     */
+    private void complete(final @NonNull Plot plot, final @Nullable PlotAnalysis analysis) {
+        final BiConsumer<Plot, PlotAnalysis> consumer;
+        synchronized (this) {
+            consumer = this.consumer;
+        }
+        try {
+            if (consumer != null && analysis != null) {
+                consumer.accept(plot, analysis);
+            }
+        } finally {
+            this.completed.incrementAndGet();
+            synchronized (this) {
+                this.inFlight--;
+            }
+            logProgress();
+        }
+    }
+
+    private void logProgress() {
+        final long interval = Settings.Expiry_Analysis.PROGRESS_INTERVAL * 1000L;
+        final long now = System.currentTimeMillis();
+        synchronized (this) {
+            if (interval <= 0 || now - this.lastProgress < interval) {
+                return;
+            }
+            this.lastProgress = now;
+        }
+        LOGGER.info("Analysed {}/{} plots ({} cached, {} running, {} plots/s)", this.completed.get(), this.queued,
+                this.cacheHits.get(), getInFlight(), String.format("%.1f", getThroughput())
+        );
+    }
+
+    /**
+     * Get whether a run is in progress
+     */
+    public synchronized boolean isRunning() {
+        return this.whenDone != null;
+    }
+
+    /**
+     * Get the number of plots to analyse in the current or last run
+     */
+    public synchronized int getQueued() {
+        return this.queued;
+    }
+
+    /**
+     * Get the number of plots analysed in the current or last run, including cached analyses
+     */
+    public int getCompleted() {
+        return this.completed.get();
+    }
+
+    /**
+     * Get the number of analyses of the current or last run that were taken from the store
+     */
+    public int getCacheHits() {
+        return this.cacheHits.get();
+    }
+
+    /**
+     * Get the number of plots of the current or last run that could not be analysed, or timed out
+     */
+    public int getFailures() {
+        return this.failures.get();
+    }
+
+    /**
+     * Get the number of analyses currently running
+     */
+    public synchronized int getInFlight() {
+        return this.inFlight;
+    }
+
+    /**
+     * Get the average number of plots analysed per second in the current or last run
+     */
+    public double getThroughput() {
+        final long elapsed;
+        synchronized (this) {
+            elapsed = System.currentTimeMillis() - this.startTime;
+        }
+        return elapsed <= 0 ? 0 : this.completed.get() * 1000D / elapsed;
+    }
+
+    private static final class RegionEntry {
+
+        private final Plot plot;
+        private final String world;
+        private final long region;
+
+        private RegionEntry(final @NonNull Plot plot, final @NonNull String world, final long region) {
+            this.plot = plot;
+            this.world = world;
+            this.region = region;
+        }
+
+    }
+
+}
@@ -0,0 +1,183 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.expiration;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Primitive statistics used to calibrate the plot analysis against plot ratings.
+ * <p>
+ * Large inputs are sorted with {@link Arrays#parallelSort(long[])} and reduced on the common fork-join pool.
+ * </p>
+ */
+public final class PlotAnalysisStatistics {
+
+    /**
+     * Inputs smaller than this are processed on the calling thread
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private PlotAnalysisStatistics() {
+    }
+
+    /**
+     * Rank values in descending order. The largest value has rank 1, and equal values get consecutive ranks with
+     * the first occurrence ranked last, the same as {@link PlotAnalysis#rank(int[])}.
+     *
+     * @param values values
+     * @return the rank of each value, from 1 to {@code values.length}
+     */
+    public static int @NonNull [] rank(final int @NonNull [] values) {
+        final int n = values.length;
+        // Value in the high bits, index in the low bits, so that one primitive sort orders both
+        final long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = ((long) values[i] << 32) | i;
+        }
+        if (n >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(keys);
+        } else {
+            Arrays.sort(keys);
+        }
+        final int[] ranks = new int[n];
+        for (int position = 0; position < n; position++) {
+            ranks[(int) keys[position]] = n - position;
+        }
+        return ranks;
+    }
+
+    /**
+     * Get the Spearman rank correlation of two rankings without ties
+     *
+     * @param ranksA first ranking
+     * @param ranksB second ranking, of the same length
+     * @return correlation between -1 and 1
+     */
+    public static double spearman(final int @NonNull [] ranksA, final int @NonNull [] ranksB) {
+        final int n = ranksA.length;
+        if (ranksB.length != n) {
+            throw new IllegalArgumentException("Rankings must have the same length");
+        }
+        if (n < 2) {
+            return 1;
+        }
+        final long sum;
+        if (n >= PARALLEL_THRESHOLD) {
+            sum = IntStream.range(0, n).parallel().mapToLong(i -> square(ranksA[i] - ranksB[i])).sum();
+        } else {
+            long total = 0;
+            for (int i = 0; i < n; i++) {
+                total += square(ranksA[i] - ranksB[i]);
+            }
+            sum = total;
+        }
+        return 1 - 6D * sum / ((double) n * ((double) n * n - 1));
+    }
+
+    private static long square(final long value) {
+        return value * value;
+    }
+
+    /**
+     * Get the mean of the values
+     *
+     * @param values values
+     * @return mean, or {@code 0} if there are no values
+     */
+    public static double mean(final int @NonNull [] values) {
+        if (values.length == 0) {
+            return 0;
+        }
+        final long sum;
+        if (values.length >= PARALLEL_THRESHOLD) {
+            sum = Arrays.stream(values).parallel().asLongStream().sum();
+        } else {
+            long total = 0;
+            for (final int value : values) {
+                total += value;
+            }
+            sum = total;
+        }
+        return (double) sum / values.length;
+    }
+
+    /**
+     * Get the correlation of each analysis column with the ratings of the dataset
+     *
+     * @param dataset dataset
+     * @return one correlation per column of {@link PlotAnalysisDataset}
+     */
+    public static double @NonNull [] correlations(final @NonNull PlotAnalysisDataset dataset) {
+        final int[] ratingRanks = rank(dataset.getRatings());
+        final double[] result = new double[PlotAnalysisDataset.COLUMNS];
+        IntStream.range(0, PlotAnalysisDataset.COLUMNS).parallel()
+                .forEach(column -> result[column] = spearman(rank(dataset.getColumn(column)), ratingRanks));
+        return result;
+    }
+
+    /**
+     * Get the calibration modifier of each column: its correlation with the ratings relative to its mean
+     *
+     * @param dataset      dataset
+     * @param correlations correlations from {@link #correlations(PlotAnalysisDataset)}
+     * @return one modifier per column
+     */
+    public static int @NonNull [] modifiers(final @NonNull PlotAnalysisDataset dataset, final double @NonNull [] correlations) {
+        final int[] modifiers = new int[PlotAnalysisDataset.COLUMNS];
+        for (int column = 0; column < modifiers.length; column++) {
+            final double correlation = correlations[column];
+            final double mean = mean(dataset.getColumn(column));
+            modifiers[column] = correlation == 1 || mean == 0 ? 0 : (int) (correlation * 1000 / mean);
+        }
+        return modifiers;
+    }
+
+    /**
+     * Get the complexity of each plot of the dataset for the given modifiers
+     *
+     * @param dataset   dataset
+     * @param modifiers one modifier per column
+     * @return complexity per plot
+     */
+    public static int @NonNull [] complexities(final @NonNull PlotAnalysisDataset dataset, final int @NonNull [] modifiers) {
+        final int[] complexity = new int[dataset.size()];
+        for (int column = 0; column < PlotAnalysisDataset.COLUMNS; column++) {
+            final int modifier = modifiers[column];
+            if (modifier == 0) {
+                continue;
+            }
+            final int[] values = dataset.getColumn(column);
+            for (int i = 0; i < complexity.length; i++) {
+                complexity[i] += values[i] * modifier;
+            }
+        }
+        return complexity;
+    }
+
+}
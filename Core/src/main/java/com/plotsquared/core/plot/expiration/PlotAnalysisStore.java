@@ -0,0 +1,390 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.expiration;
+
+import com.plotsquared.core.PlotSquared;
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import com.plotsquared.core.plot.PlotId;
+import com.plotsquared.core.plot.world.PlotAreaManager;
+import com.plotsquared.core.util.task.TaskManager;
+import com.plotsquared.core.util.task.TaskTime;
+import com.sk89q.worldedit.math.BlockVector2;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Persistent store of plot analyses and plot modification counters.
+ * <p>
+ * Every plot has a counter that is increased by block changes in the plot. An analysis is stored together with the
+ * counter value it was started at, and is only returned while the counter is unchanged and the analysis is younger
+ * than {@link Settings.Expiry_Analysis#MAX_AGE}. Changes made through WorldEdit, explosions, pistons, fluids or fire
+ * are not counted, so a stored analysis must never be the reason to delete a plot. Each plot area is stored in its
+ * own binary file, which is loaded asynchronously and saved a while after the first change.
+ * </p>
+ */
+public final class PlotAnalysisStore {
+
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + PlotAnalysisStore.class.getSimpleName());
+
+    private static final int MAGIC = 0x50534131; // PSA1
+    private static final int VERSION = 1;
+    private static final int VALUES = 10;
+    private static final long SAVE_DELAY_SECONDS = 300L;
+
+    private final File folder;
+    private final Map<String, AreaStore> areas = new ConcurrentHashMap<>();
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+
+    public PlotAnalysisStore(final @NonNull File folder) {
+        this.folder = folder;
+    }
+
+    private @NonNull AreaStore getStore(final @NonNull PlotArea area) {
+        return this.areas.computeIfAbsent(area.toString(), key -> {
+            final AreaStore store = new AreaStore(new File(this.folder, key.replace(';', '_') + ".bin"));
+            TaskManager.runTaskAsync(store::load);
+            return store;
+        });
+    }
+
+    private @NonNull Entry getEntry(final @NonNull Plot plot) {
+        final Plot base = plot.getBasePlot(false);
+        return getStore(base.getArea()).entries.computeIfAbsent(base.getId(), id -> new Entry());
+    }
+
+    private @Nullable Entry findEntry(final @NonNull Plot plot) {
+        final Plot base = plot.getBasePlot(false);
+        return getStore(base.getArea()).entries.get(base.getId());
+    }
+
+    /**
+     * Get a future that completes once the stored data of all given areas is loaded
+     *
+     * @param areas plot areas
+     * @return future
+     */
+    public @NonNull CompletableFuture<Void> load(final @NonNull PlotArea... areas) {
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[areas.length];
+        for (int i = 0; i < areas.length; i++) {
+            futures[i] = getStore(areas[i]).loaded;
+        }
+        return CompletableFuture.allOf(futures);
+    }
+
+    /**
+     * Record that a plot has been modified, invalidating its stored analysis
+     *
+     * @param plot plot
+     */
+    public void markModified(final @NonNull Plot plot) {
+        final Entry entry = getEntry(plot);
+        synchronized (entry) {
+            entry.modifications++;
+        }
+        markDirty(plot.getBasePlot(false).getArea());
+    }
+
+    /**
+     * Record that the owned plot at a location, if any, has been modified
+     *
+     * @param location location
+     */
+    public void markModified(final @NonNull Location location) {
+        final PlotArea area = PlotSquared.get().getPlotAreaManager().getPlotArea(location);
+        if (area == null) {
+            return;
+        }
+        final Plot plot = area.getOwnedPlotAbs(location);
+        if (plot != null) {
+            markModified(plot);
+        }
+    }
+
+    /**
+     * Record that the owned plots within the given chunks have been modified
+     *
+     * @param world  world name
+     * @param chunks chunk coordinates
+     */
+    public void markModified(final @NonNull String world, final @NonNull Collection<BlockVector2> chunks) {
+        final PlotAreaManager plotAreaManager = PlotSquared.get().getPlotAreaManager();
+        if (!plotAreaManager.hasPlotArea(world)) {
+            return;
+        }
+        final Set<Plot> plots = new HashSet<>();
+        for (final BlockVector2 chunk : chunks) {
+            // Sample the chunk, plots are wider than the spacing
+            for (int x = 0; x < 16; x += 5) {
+                for (int z = 0; z < 16; z += 5) {
+                    final Location location = Location.at(world, (chunk.getX() << 4) + x, 0, (chunk.getZ() << 4) + z);
+                    final PlotArea area = plotAreaManager.getPlotArea(location);
+                    final Plot plot = area == null ? null : area.getOwnedPlotAbs(location);
+                    if (plot != null) {
+                        plots.add(plot.getBasePlot(false));
+                    }
+                }
+            }
+        }
+        plots.forEach(this::markModified);
+    }
+
+    /**
+     * Get the modification counter of a plot
+     *
+     * @param plot plot
+     * @return number of recorded modifications
+     */
+    public long getModifications(final @NonNull Plot plot) {
+        final Entry entry = findEntry(plot);
+        if (entry == null) {
+            return 0;
+        }
+        synchronized (entry) {
+            return entry.modifications;
+        }
+    }
+
+    /**
+     * Get the stored analysis of a plot, if the plot has not been modified since it was analysed and the analysis
+     * has not expired
+     *
+     * @param plot plot
+     * @return analysis, or {@code null}
+     */
+    public @Nullable PlotAnalysis getAnalysis(final @NonNull Plot plot) {
+        final Entry entry = findEntry(plot);
+        if (entry == null) {
+            return null;
+        }
+        final int[] values;
+        synchronized (entry) {
+            if (entry.values == null || entry.analysedModifications != entry.modifications
+                    || System.currentTimeMillis() - entry.analysedAt > TimeUnit.HOURS.toMillis(Settings.Expiry_Analysis.MAX_AGE)) {
+                return null;
+            }
+            values = entry.values;
+        }
+        final PlotAnalysis analysis = new PlotAnalysis();
+        analysis.changes = values[0];
+        analysis.faces = values[1];
+        analysis.data = values[2];
+        analysis.air = values[3];
+        analysis.variety = values[4];
+        analysis.changes_sd = values[5];
+        analysis.faces_sd = values[6];
+        analysis.data_sd = values[7];
+        analysis.air_sd = values[8];
+        analysis.variety_sd = values[9];
+        return analysis;
+    }
+
+    /**
+     * Get when the stored analysis of a plot was computed
+     *
+     * @param plot plot
+     * @return epoch milliseconds, or {@code -1} if the plot has no stored analysis
+     */
+    public long getAnalysisTime(final @NonNull Plot plot) {
+        final Entry entry = findEntry(plot);
+        if (entry == null) {
+            return -1;
+        }
+        synchronized (entry) {
+            return entry.values == null ? -1 : entry.analysedAt;
+        }
+    }
+
+    /**
+     * Store the analysis of a plot
+     *
+     * @param plot          plot
+     * @param analysis      analysis
+     * @param modifications the modification counter of the plot when the analysis was started
+     */
+    public void storeAnalysis(final @NonNull Plot plot, final @NonNull PlotAnalysis analysis, final long modifications) {
+        final int[] values = analysis.asList().stream().mapToInt(Integer::intValue).toArray();
+        final Entry entry = getEntry(plot);
+        synchronized (entry) {
+            entry.values = values;
+            entry.analysedModifications = modifications;
+            entry.analysedAt = System.currentTimeMillis();
+        }
+        markDirty(plot.getBasePlot(false).getArea());
+    }
+
+    private void markDirty(final @NonNull PlotArea area) {
+        getStore(area).dirty = true;
+        if (this.saveScheduled.compareAndSet(false, true)) {
+            TaskManager.runTaskLaterAsync(() -> {
+                this.saveScheduled.set(false);
+                save();
+            }, TaskTime.seconds(SAVE_DELAY_SECONDS));
+        }
+    }
+
+    /**
+     * Write all changed areas to disk
+     */
+    public void save() {
+        for (final AreaStore store : this.areas.values()) {
+            if (store.dirty && store.loaded.isDone()) {
+                store.save();
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private long modifications;
+        private long analysedModifications;
+        private long analysedAt;
+        private int[] values;
+
+    }
+
+    private static final class AreaStore {
+
+        private final File file;
+        private final Map<PlotId, Entry> entries = new ConcurrentHashMap<>();
+        private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+        private volatile boolean dirty;
+
+        private AreaStore(final @NonNull File file) {
+            this.file = file;
+        }
+
+        private void load() {
+            try {
+                if (!this.file.exists()) {
+                    return;
+                }
+                final Map<PlotId, Entry> read = new HashMap<>();
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.file.toPath())))) {
+                    if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                        LOGGER.warn("Ignoring plot analysis file {} of an unknown format", this.file.getName());
+                        return;
+                    }
+                    final int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        final PlotId id = PlotId.of(in.readInt(), in.readInt());
+                        final Entry entry = new Entry();
+                        entry.modifications = in.readLong();
+                        entry.analysedModifications = in.readLong();
+                        entry.analysedAt = in.readLong();
+                        if (in.readBoolean()) {
+                            entry.values = new int[VALUES];
+                            for (int j = 0; j < VALUES; j++) {
+                                entry.values[j] = in.readInt();
+                            }
+                        }
+                        read.put(id, entry);
+                    }
+                }
+                // Merge with the changes made while loading
+                read.forEach((id, stored) -> {
+                    final Entry entry = this.entries.putIfAbsent(id, stored);
+                    if (entry != null) {
+                        synchronized (entry) {
+                            entry.modifications += stored.modifications;
+                            if (entry.values == null && stored.values != null) {
+                                entry.values = stored.values;
+                                entry.analysedModifications = stored.analysedModifications;
+                                entry.analysedAt = stored.analysedAt;
+                            }
+                        }
+                    }
+                });
+            } catch (IOException e) {
+                LOGGER.error("Failed to load plot analysis file {}", this.file.getName(), e);
+            } finally {
+                this.loaded.complete(null);
+            }
+        }
+
+        private synchronized void save() {
+            this.dirty = false;
+            final File parent = this.file.getParentFile();
+            if (!parent.exists() && !parent.mkdirs()) {
+                LOGGER.error("Failed to create the plot analysis folder {}", parent);
+                return;
+            }
+            final File temporary = new File(parent, this.file.getName() + ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary.toPath())))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    final Map<PlotId, Entry> snapshot = new HashMap<>(this.entries);
+                    out.writeInt(snapshot.size());
+                    for (final Map.Entry<PlotId, Entry> mapEntry : snapshot.entrySet()) {
+                        final Entry entry = mapEntry.getValue();
+                        out.writeInt(mapEntry.getKey().getX());
+                        out.writeInt(mapEntry.getKey().getY());
+                        synchronized (entry) {
+                            out.writeLong(entry.modifications);
+                            out.writeLong(entry.analysedModifications);
+                            out.writeLong(entry.analysedAt);
+                            out.writeBoolean(entry.values != null);
+                            if (entry.values != null) {
+                                for (final int value : entry.values) {
+                                    out.writeInt(value);
+                                }
+                            }
+                        }
+                    }
+                }
+                Files.move(temporary.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                this.dirty = true;
+                LOGGER.error("Failed to save plot analysis file {}", this.file.getName(), e);
+            }
+        }
+
+    }
+
+}
@@ -34,12 +34,15 @@ import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Container type for {@link PlotFlag plot flags}.
@@ -47,13 +50,22 @@ import java.util.Objects;
 public class FlagContainer {
 
     private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + FlagContainer.class.getSimpleName());
+    private static final PlotFlag<?, ?>[] NO_FLAGS = new PlotFlag<?, ?>[0];
+    // Source of container versions, so that a new version is higher than any version of any container before it
+    private static final AtomicLong VERSIONS = new AtomicLong();
 
     private final Map<String, String> unknownFlags = new HashMap<>();
     private final Map<Class<?>, PlotFlag<?, ?>> flagMap = new HashMap<>();
     private final PlotFlagUpdateHandler plotFlagUpdateHandler;
-    private final Collection<PlotFlagUpdateHandler> updateSubscribers = new HashSet<>();
+    private final Collection<PlotFlagUpdateHandler> updateSubscribers = ConcurrentHashMap.newKeySet();
     private final PlotFlagUpdateHandler unknownsRef;
-    private FlagContainer parentContainer;
+    private volatile FlagContainer parentContainer;
+    // Local flags indexed by their GlobalFlagContainer slot, replaced rather than modified so readers need no lock
+    private volatile PlotFlag<?, ?>[] localFlags = NO_FLAGS;
+    // Local flags merged with all inherited flags, valid while the chain version is unchanged
+    private volatile EffectiveFlags effectiveFlags;
+    // Set to a new version after every change of the local flags or the parent container
+    private volatile long version;
 
     /**
      * Construct a new flag container with an optional parent container and update handler.
@@ -122,7 +134,13 @@ public class FlagContainer {
     }
 
     public void setParentContainer(FlagContainer parentContainer) {
-        this.parentContainer = parentContainer;
+        if (this.parentContainer == parentContainer) {
+            return;
+        }
+        synchronized (this) {
+            this.parentContainer = parentContainer;
+            this.version = VERSIONS.incrementAndGet();
+        }
     }
 
     @SuppressWarnings("unused")
@@ -154,6 +172,7 @@ public class FlagContainer {
                     "flag name may not be more than 64 characters. Check: " + flag.getName()
             );
             final PlotFlag<?, ?> oldInstance = this.flagMap.put(flag.getClass(), flag);
+            setLocal(flag.getClass(), flag);
             final PlotFlagUpdateType plotFlagUpdateType;
             if (oldInstance != null) {
                 plotFlagUpdateType = PlotFlagUpdateType.FLAG_UPDATED;
@@ -183,6 +202,7 @@ public class FlagContainer {
      */
     public <V, T extends PlotFlag<V, ?>> V removeFlag(final T flag) {
         final Object value = this.flagMap.remove(flag.getClass());
+        setLocal(flag.getClass(), null);
         if (this.plotFlagUpdateHandler != null) {
             this.plotFlagUpdateHandler.handle(flag, PlotFlagUpdateType.FLAG_REMOVED);
         }
@@ -212,10 +232,22 @@ public class FlagContainer {
     }
 
     /**
-     * Clears the local flag map
+     * Clears the local flag map. Update handlers are notified of every removed flag.
      */
     public void clearLocal() {
+        final Collection<PlotFlag<?, ?>> removed = new ArrayList<>(this.flagMap.values());
         this.flagMap.clear();
+        synchronized (this) {
+            this.localFlags = NO_FLAGS;
+            this.version = VERSIONS.incrementAndGet();
+        }
+        for (final PlotFlag<?, ?> flag : removed) {
+            if (this.plotFlagUpdateHandler != null) {
+                this.plotFlagUpdateHandler.handle(flag, PlotFlagUpdateType.FLAG_REMOVED);
+            }
+            this.updateSubscribers
+                    .forEach(subscriber -> subscriber.handle(flag, PlotFlagUpdateType.FLAG_REMOVED));
+        }
     }
 
     /**
@@ -249,15 +281,9 @@ public class FlagContainer {
      * @return the plot flag
      */
     public PlotFlag<?, ?> getFlagErased(Class<?> flagClass) {
-        final PlotFlag<?, ?> flag = this.flagMap.get(flagClass);
-        if (flag != null) {
-            return flag;
-        } else {
-            if (getParentContainer() != null) {
-                return getParentContainer().getFlagErased(flagClass);
-            }
-        }
-        return null;
+        final PlotFlag<?, ?>[] effective = getEffectiveFlags();
+        final int slot = GlobalFlagContainer.getSlot(flagClass);
+        return slot < effective.length ? effective[slot] : null;
     }
 
     /**
@@ -271,15 +297,63 @@ public class FlagContainer {
      * @return Flag instance
      */
     public <V, T extends PlotFlag<V, ?>> T getFlag(final Class<? extends T> flagClass) {
-        final PlotFlag<?, ?> flag = this.flagMap.get(flagClass);
-        if (flag != null) {
-            return castUnsafe(flag);
-        } else {
-            if (getParentContainer() != null) {
-                return getParentContainer().getFlag(flagClass);
+        final PlotFlag<?, ?>[] effective = getEffectiveFlags();
+        final int slot = GlobalFlagContainer.getSlot(flagClass);
+        if (slot >= effective.length) {
+            return null;
+        }
+        return castUnsafe(effective[slot]);
+    }
+
+    private synchronized void setLocal(final Class<?> flagClass, final @Nullable PlotFlag<?, ?> flag) {
+        final int slot = GlobalFlagContainer.getSlot(flagClass);
+        final PlotFlag<?, ?>[] local = this.localFlags;
+        if (slot >= local.length && flag == null) {
+            return;
+        }
+        // Publish a new array, readers may still be merging the old one
+        final PlotFlag<?, ?>[] updated = Arrays.copyOf(local, Math.max(local.length, Math.max(slot + 1,
+                GlobalFlagContainer.getSlotCount()
+        )));
+        updated[slot] = flag;
+        this.localFlags = updated;
+        this.version = VERSIONS.incrementAndGet();
+    }
+
+    /**
+     * Get a version that changes whenever this container or one of its parents changes. Every change takes a new
+     * highest version, so the highest version in the chain changes as well.
+     */
+    private long getChainVersion() {
+        final FlagContainer parent = this.parentContainer;
+        return parent == null ? this.version : Math.max(this.version, parent.getChainVersion());
+    }
+
+    /**
+     * Get the flags of this container merged with all inherited flags, indexed by
+     * {@link GlobalFlagContainer#getSlot(Class) slot}. The array is cached until this
+     * container or one of its parents changes, and must not be modified.
+     *
+     * @return Effective flags, slots without a flag are null
+     */
+    private PlotFlag<?, ?>[] getEffectiveFlags() {
+        // Versions are set after a change is published, so reading it first never caches newer flags as older
+        final long version = getChainVersion();
+        final EffectiveFlags cached = this.effectiveFlags;
+        if (cached != null && cached.version == version) {
+            return cached.flags;
+        }
+        final PlotFlag<?, ?>[] local = this.localFlags;
+        final FlagContainer parent = this.parentContainer;
+        final PlotFlag<?, ?>[] inherited = parent == null ? NO_FLAGS : parent.getEffectiveFlags();
+        final PlotFlag<?, ?>[] effective = Arrays.copyOf(inherited, Math.max(inherited.length, local.length));
+        for (int slot = 0; slot < local.length; slot++) {
+            if (local[slot] != null) {
+                effective[slot] = local[slot];
             }
         }
-        return null;
+        this.effectiveFlags = new EffectiveFlags(effective, version);
+        return effective;
     }
 
     /**
@@ -387,6 +461,22 @@ public class FlagContainer {
         return result;
     }
 
+    /**
+     * Effective flags together with the chain version they were merged at. Children compare versions instead of
+     * subscribing to their parents, so parents hold no references to their children.
+     */
+    private static final class EffectiveFlags {
+
+        private final PlotFlag<?, ?>[] flags;
+        private final long version;
+
+        private EffectiveFlags(final PlotFlag<?, ?> @NonNull [] flags, final long version) {
+            this.flags = flags;
+            this.version = version;
+        }
+
+    }
+
     /**
      * Update event types used in {@link PlotFlagUpdateHandler}.
      */
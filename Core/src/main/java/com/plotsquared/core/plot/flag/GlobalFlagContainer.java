@@ -119,9 +119,17 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public final class GlobalFlagContainer extends FlagContainer {
 
+    private static final AtomicInteger SLOT_COUNT = new AtomicInteger();
+    private static final ClassValue<Integer> SLOTS = new ClassValue<>() {
+        @Override
+        protected Integer computeValue(final Class<?> type) {
+            return SLOT_COUNT.getAndIncrement();
+        }
+    };
     private static GlobalFlagContainer instance;
     private static Map<String, Class<?>> stringClassMap;
 
@@ -249,6 +257,26 @@ public final class GlobalFlagContainer extends FlagContainer {
         return GlobalFlagContainer.instance;
     }
 
+    /**
+     * Get the dense slot of a flag class. Flag containers store their flags in arrays
+     * indexed by this slot. Slots are assigned on first use and never change.
+     *
+     * @param flagClass Flag class
+     * @return Slot of the flag class
+     */
+    public static int getSlot(final @NonNull Class<?> flagClass) {
+        return SLOTS.get(flagClass);
+    }
+
+    /**
+     * Get the number of slots assigned so far.
+     *
+     * @return Number of assigned slots
+     */
+    public static int getSlotCount() {
+        return SLOT_COUNT.get();
+    }
+
     @Override
     public PlotFlag<?, ?> getFlagErased(Class<?> flagClass) {
         final PlotFlag<?, ?> flag = super.getFlagErased(flagClass);
@@ -33,6 +33,7 @@ import com.sk89q.worldedit.world.block.BlockCategory;
 import com.sk89q.worldedit.world.block.BlockState;
 import com.sk89q.worldedit.world.block.BlockType;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -44,10 +45,37 @@ public abstract class BlockTypeListFlag<F extends ListFlag<BlockTypeWrapper, F>>
 
     public static boolean skipCategoryVerification = false;
 
+    private volatile BlockTypeMatcher matcher;
+
     protected BlockTypeListFlag(List<BlockTypeWrapper> blockTypeList, Caption description) {
         super(blockTypeList, TranslatableCaption.of("flags.flag_category_block_list"), description);
     }
 
+    /**
+     * Check whether the given block type is part of this flag's value, either directly
+     * or through one of the listed block categories.
+     *
+     * @param blockType block type to check
+     * @return {@code true} if the block type is accepted by this flag
+     */
+    public boolean accepts(final @Nullable BlockType blockType) {
+        return getMatcher().accepts(blockType);
+    }
+
+    /**
+     * Get the matcher compiled from this flag's value. It is compiled on first use and again
+     * whenever block categories have been reloaded.
+     *
+     * @return the compiled matcher
+     */
+    public @NonNull BlockTypeMatcher getMatcher() {
+        BlockTypeMatcher matcher = this.matcher;
+        if (matcher == null || matcher.isStale()) {
+            this.matcher = matcher = BlockTypeMatcher.compile(getValue());
+        }
+        return matcher;
+    }
+
     @Override
     public F parse(@NonNull String input) throws FlagParseException {
         final List<BlockTypeWrapper> parsedBlocks = new ArrayList<>();
@@ -0,0 +1,142 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.flag.types;
+
+import com.sk89q.worldedit.world.block.BlockCategory;
+import com.sk89q.worldedit.world.block.BlockType;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable set of block types compiled from a list of {@link BlockTypeWrapper}s.
+ * Block categories are expanded once, so membership is a single bit lookup.
+ * <br>
+ * Block types are assigned a dense index the first time they are part of a compiled matcher.
+ * Matchers become stale when block categories change, see {@link #invalidateAll()}.
+ */
+public final class BlockTypeMatcher {
+
+    private static final Map<BlockType, Integer> INDICES = new ConcurrentHashMap<>();
+    private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+    private final long[] words;
+    private final int compiledGeneration;
+    private final boolean complete;
+
+    private BlockTypeMatcher(final long[] words, final int compiledGeneration, final boolean complete) {
+        this.words = words;
+        this.compiledGeneration = compiledGeneration;
+        this.complete = complete;
+    }
+
+    /**
+     * Compile the given block types and categories into a matcher.
+     *
+     * @param wrappers block types and categories to match
+     * @return the compiled matcher
+     */
+    public static @NonNull BlockTypeMatcher compile(final @NonNull Collection<BlockTypeWrapper> wrappers) {
+        final int compiledGeneration = GENERATION.get();
+        long[] words = new long[0];
+        boolean complete = true;
+        for (final BlockTypeWrapper wrapper : wrappers) {
+            final BlockType blockType = wrapper.getBlockType();
+            if (blockType != null) {
+                words = set(words, index(blockType));
+                continue;
+            }
+            final BlockCategory category = wrapper.getBlockCategory();
+            if (category == null) {
+                // categories are not loaded yet, try again on next use
+                complete = false;
+                continue;
+            }
+            for (final BlockType member : category.getAll()) {
+                words = set(words, index(member));
+            }
+        }
+        return new BlockTypeMatcher(words, compiledGeneration, complete);
+    }
+
+    /**
+     * Mark all compiled matchers as stale, so they are compiled again on next use.
+     * This should be called whenever block categories (tags) are reloaded.
+     */
+    public static void invalidateAll() {
+        GENERATION.incrementAndGet();
+    }
+
+    private static int index(final @NonNull BlockType blockType) {
+        return INDICES.computeIfAbsent(blockType, type -> NEXT_INDEX.getAndIncrement());
+    }
+
+    private static long[] set(long[] words, final int index) {
+        final int word = index >>> 6;
+        if (word >= words.length) {
+            final long[] grown = new long[Math.max(word + 1, words.length * 2)];
+            System.arraycopy(words, 0, grown, 0, words.length);
+            words = grown;
+        }
+        words[word] |= 1L << index;
+        return words;
+    }
+
+    /**
+     * Check whether the given block type is matched.
+     *
+     * @param blockType block type to check
+     * @return {@code true} if the block type is part of this matcher
+     */
+    public boolean accepts(final @Nullable BlockType blockType) {
+        if (blockType == null) {
+            return false;
+        }
+        final Integer index = INDICES.get(blockType);
+        if (index == null) {
+            // never part of any matcher
+            return false;
+        }
+        final int word = index >>> 6;
+        return word < this.words.length && (this.words[word] & (1L << index)) != 0;
+    }
+
+    /**
+     * Check whether this matcher has to be compiled again, either because block categories
+     * were not available at compile time or because they have been reloaded since.
+     *
+     * @return {@code true} if the matcher is stale
+     */
+    public boolean isStale() {
+        return !this.complete || this.compiledGeneration != GENERATION.get();
+    }
+
+}
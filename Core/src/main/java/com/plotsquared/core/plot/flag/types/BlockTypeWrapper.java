@@ -36,8 +36,10 @@ import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Container that class either contains a {@link BlockType}
@@ -190,6 +192,11 @@ public class BlockTypeWrapper {
             return false;
         }
 
+        @Override
+        protected Set<BlockType> load() {
+            return Collections.emptySet();
+        }
+
     }
 
 }
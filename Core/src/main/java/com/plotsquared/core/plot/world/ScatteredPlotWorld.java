@@ -25,35 +25,27 @@
  */
 package com.plotsquared.core.plot.world;
 
+import com.plotsquared.core.collection.RegionIndex;
 import com.plotsquared.core.location.Location;
 import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.PlotWorld;
-import com.plotsquared.core.util.PlotAreaConverter;
-import com.plotsquared.core.util.RegionUtil;
-import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
-import org.khelekore.prtree.MBR;
-import org.khelekore.prtree.PRTree;
-import org.khelekore.prtree.SimpleMBR;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.LinkedList;
-import java.util.List;
 
 /**
- * Plot world that contains several plot areas (clusters)
+ * Plot world that contains several plot areas (clusters).
+ * <p>
+ * Areas are stored in an immutable {@link RegionIndex}. Adding or removing an area publishes
+ * a new index, so lookups never lock.
  */
 public class ScatteredPlotWorld extends PlotWorld {
 
-    private static final PlotAreaConverter MBR_CONVERTER = new PlotAreaConverter();
-    private static final int BRANCH_FACTOR = 30;
+    private static final int CELL_SHIFT = 9;
 
-    private final List<PlotArea> areas = new LinkedList<>();
-    private final Object treeLock = new Object();
-    private PRTree<PlotArea> areaTree;
+    private volatile RegionIndex<PlotArea> areaIndex = RegionIndex.empty(PlotArea::getRegion, CELL_SHIFT);
 
     /**
      * Create a new plot world with a given world name
@@ -66,66 +58,35 @@ public class ScatteredPlotWorld extends PlotWorld {
 
     @Override
     public @Nullable PlotArea getArea(final @NonNull Location location) {
-        if (this.areas.isEmpty()) {
+        final RegionIndex<PlotArea> areaIndex = this.areaIndex;
+        if (areaIndex.isEmpty()) {
             return null;
         }
-        synchronized (this.treeLock) {
-            for (final PlotArea area : this.areaTree.find(location.toMBR())) {
-                if (area.contains(location)) {
-                    return area;
-                }
-            }
+        final PlotArea area = areaIndex.get(location.getX(), location.getY(), location.getZ());
+        if (area != null && area.contains(location)) {
+            return area;
         }
         return null;
     }
 
     @Override
     public @NonNull Collection<PlotArea> getAreas() {
-        return Collections.unmodifiableCollection(this.areas);
+        return this.areaIndex.values();
     }
 
     @Override
-    public void addArea(final @NonNull PlotArea area) {
-        this.areas.add(area);
-        this.buildTree();
+    public synchronized void addArea(final @NonNull PlotArea area) {
+        this.areaIndex = this.areaIndex.with(area);
     }
 
     @Override
-    public void removeArea(final @NonNull PlotArea area) {
-        this.areas.remove(area);
-        this.buildTree();
+    public synchronized void removeArea(final @NonNull PlotArea area) {
+        this.areaIndex = this.areaIndex.without(area);
     }
 
     @Override
     public @NonNull Collection<PlotArea> getAreasInRegion(final @NonNull CuboidRegion region) {
-        if (this.areas.isEmpty()) {
-            return Collections.emptyList();
-        }
-        synchronized (this.treeLock) {
-            final List<PlotArea> areas = new LinkedList<>();
-
-            final BlockVector3 min = region.getMinimumPoint();
-            final BlockVector3 max = region.getMaximumPoint();
-            final MBR mbr = new SimpleMBR(min.getX(), max.getX(), min.getY(), max.getY(), min.getZ(), max.getZ());
-
-            for (final PlotArea area : this.areaTree.find(mbr)) {
-                if (RegionUtil.intersects(area.getRegion(), region)) {
-                    areas.add(area);
-                }
-            }
-
-            return areas;
-        }
-    }
-
-    /**
-     * Rebuild the area tree
-     */
-    private void buildTree() {
-        synchronized (this.treeLock) {
-            this.areaTree = new PRTree<>(MBR_CONVERTER, BRANCH_FACTOR);
-            this.areaTree.load(this.areas);
-        }
+        return this.areaIndex.getIntersecting(region);
     }
 
 }
@@ -79,6 +79,19 @@ public abstract class BasicQueueCoordinator extends QueueCoordinator {
         this.modified = System.currentTimeMillis();
     }
 
+    /**
+     * Create a queue for the given block queue without injecting its members, for use where no platform is
+     * running, e.g. in benchmarks.
+     *
+     * @param world      world of the queue
+     * @param blockQueue block queue the queue is enqueued to
+     */
+    protected BasicQueueCoordinator(@NonNull World world, @NonNull GlobalBlockQueue blockQueue) {
+        super(world, blockQueue);
+        this.world = world;
+        this.modified = System.currentTimeMillis();
+    }
+
     @Override
     public abstract BlockState getBlock(int x, int y, int z);
 
@@ -112,6 +125,36 @@ public abstract class BasicQueueCoordinator extends QueueCoordinator {
         return true;
     }
 
+    @Override
+    public void setColumn(int x, int z, int minY, int maxY, @NonNull Pattern pattern) {
+        minY = Math.max(0, minY);
+        maxY = Math.min(255, maxY);
+        if (minY > maxY) {
+            return;
+        }
+        LocalChunk chunk = getChunk(x >> 4, z >> 4);
+        BaseBlock block = PatternUtil.getSingleBlock(pattern);
+        for (int y = minY; y <= maxY; y++) {
+            chunk.setBlock(x & 15, y, z & 15, block != null ? block : PatternUtil.apply(pattern, x, y, z));
+        }
+    }
+
+    @Override
+    public void fillSection(int chunkX, int layer, int chunkZ, @NonNull BaseBlock block) {
+        if (layer < 0 || layer >= LocalChunk.LAYERS) {
+            return;
+        }
+        getChunk(chunkX, chunkZ).fillSection(layer, block);
+    }
+
+    @Override
+    public void setSection(int chunkX, int layer, int chunkZ, @NonNull PalettedSection<BaseBlock> section) {
+        if (layer < 0 || layer >= LocalChunk.LAYERS || section.isEmpty()) {
+            return;
+        }
+        getChunk(chunkX, chunkZ).setSection(layer, section);
+    }
+
     @Override
     public boolean setBlock(int x, int y, int z, @NonNull BlockState id) {
         // Trying to mix BlockState and BaseBlock leads to all kinds of issues.
@@ -53,4 +53,13 @@ public abstract class ChunkCoordinator implements Runnable {
      */
     public abstract int getTotalChunks();
 
+    /**
+     * Get the average amount of chunks applied per tick, if the implementation tracks it
+     *
+     * @return Average chunks applied per tick, or 0 if unknown
+     */
+    public double getChunksAppliedPerTick() {
+        return 0;
+    }
+
 }
@@ -0,0 +1,246 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.plotsquared.core.configuration.Settings;
+import com.plotsquared.core.util.task.PlotSquaredTask;
+import com.plotsquared.core.util.task.TaskManager;
+import com.plotsquared.core.util.task.TaskTime;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the chunk work of all {@link ChunkCoordinator}s from a single repeating task, sharing
+ * one per-tick time budget ({@link Settings.QUEUE#TICK_BUDGET}) between them.
+ * <p>
+ * Every tick the workers are visited round-robin, starting one further each tick. Each worker
+ * gets an equal share of the budget that is left, so time a worker does not use (for example
+ * because its chunks are still loading) is passed on to the workers after it.
+ * </p>
+ */
+@Singleton
+public final class ChunkScheduler {
+
+    private static final Logger LOGGER = LogManager.getLogger("PlotSquared/" + ChunkScheduler.class.getSimpleName());
+    /**
+     * Weight of the latest tick in the per tick averages
+     */
+    private static final double AVERAGE_WEIGHT = 0.05;
+
+    private final Queue<Handle> incoming = new ConcurrentLinkedQueue<>();
+    // Only accessed from the server thread
+    private final List<Handle> active = new ArrayList<>();
+    private final AtomicLong totalApplied = new AtomicLong();
+    private int cursor;
+    private PlotSquaredTask task;
+    private volatile int lastTickApplied;
+    private volatile double averageApplied;
+
+    @Inject
+    public ChunkScheduler() {
+    }
+
+    /**
+     * Submit a worker to be run every tick until it reports that it is finished
+     *
+     * @param worker worker to run
+     * @return handle exposing the throughput of the worker
+     */
+    public @NonNull Handle submit(final @NonNull Worker worker) {
+        final Handle handle = new Handle(worker);
+        synchronized (this) {
+            this.incoming.add(handle);
+            if (this.task == null) {
+                this.task = TaskManager.runTaskRepeat(this::tick, TaskTime.ticks(1L));
+            }
+        }
+        return handle;
+    }
+
+    private void tick() {
+        Handle handle;
+        while ((handle = this.incoming.poll()) != null) {
+            this.active.add(handle);
+        }
+        this.active.removeIf(Handle::isFinished);
+        if (this.active.isEmpty()) {
+            synchronized (this) {
+                if (this.incoming.isEmpty()) {
+                    this.task.cancel();
+                    this.task = null;
+                }
+            }
+            this.lastTickApplied = 0;
+            this.averageApplied = 0;
+            return;
+        }
+        final int size = this.active.size();
+        this.cursor = (this.cursor + 1) & Integer.MAX_VALUE;
+        final int offset = this.cursor % size;
+        final long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Settings.QUEUE.TICK_BUDGET);
+        int applied = 0;
+        for (int i = 0; i < size; i++) {
+            final long now = System.nanoTime();
+            if (now >= end) {
+                break;
+            }
+            final long share = (end - now) / (size - i);
+            applied += this.active.get((offset + i) % size).work(now + share);
+        }
+        for (final Handle entry : this.active) {
+            entry.endTick();
+        }
+        this.active.removeIf(Handle::isFinished);
+        this.totalApplied.addAndGet(applied);
+        this.lastTickApplied = applied;
+        this.averageApplied = this.averageApplied + AVERAGE_WEIGHT * (applied - this.averageApplied);
+    }
+
+    /**
+     * Get the number of chunks applied by all workers during the last tick
+     *
+     * @return chunks applied last tick
+     */
+    public int getChunksAppliedLastTick() {
+        return this.lastTickApplied;
+    }
+
+    /**
+     * Get the moving average of chunks applied per tick by all workers
+     *
+     * @return average chunks applied per tick
+     */
+    public double getChunksAppliedPerTick() {
+        return this.averageApplied;
+    }
+
+    /**
+     * Get the number of chunks applied by all workers since the server started
+     *
+     * @return total chunks applied
+     */
+    public long getTotalChunksApplied() {
+        return this.totalApplied.get();
+    }
+
+    /**
+     * Get the number of workers waiting for or receiving chunk time
+     *
+     * @return number of workers
+     */
+    public int getActiveWorkers() {
+        return this.active.size() + this.incoming.size();
+    }
+
+    /**
+     * Chunk work that is run by the scheduler. Both methods are called on the server thread.
+     */
+    public interface Worker {
+
+        /**
+         * Apply as many chunks as possible without going past the given deadline
+         *
+         * @param deadline {@link System#nanoTime()} value to finish by
+         * @return number of chunks applied
+         */
+        int work(long deadline);
+
+        /**
+         * Get whether the worker is done and should no longer be run
+         *
+         * @return true if the worker is finished
+         */
+        boolean isFinished();
+
+    }
+
+    /**
+     * Throughput of a submitted {@link Worker}
+     */
+    public static final class Handle {
+
+        private final Worker worker;
+        private final AtomicLong applied = new AtomicLong();
+        private int tickApplied;
+        private volatile double averageApplied;
+
+        private Handle(final @NonNull Worker worker) {
+            this.worker = worker;
+        }
+
+        private int work(final long deadline) {
+            int count;
+            try {
+                count = this.worker.work(deadline);
+            } catch (final Throwable throwable) {
+                LOGGER.error("Chunk worker failed", throwable);
+                count = 0;
+            }
+            this.tickApplied += count;
+            return count;
+        }
+
+        private void endTick() {
+            this.applied.addAndGet(this.tickApplied);
+            this.averageApplied = this.averageApplied + AVERAGE_WEIGHT * (this.tickApplied - this.averageApplied);
+            this.tickApplied = 0;
+        }
+
+        private boolean isFinished() {
+            return this.worker.isFinished();
+        }
+
+        /**
+         * Get the number of chunks applied by the worker so far
+         *
+         * @return chunks applied
+         */
+        public long getChunksApplied() {
+            return this.applied.get();
+        }
+
+        /**
+         * Get the moving average of chunks applied per tick by the worker
+         *
+         * @return average chunks applied per tick
+         */
+        public double getChunksAppliedPerTick() {
+            return this.averageApplied;
+        }
+
+    }
+
+}
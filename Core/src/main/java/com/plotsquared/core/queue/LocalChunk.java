@@ -34,17 +34,27 @@ import com.sk89q.worldedit.util.Location;
 import com.sk89q.worldedit.world.biome.BiomeType;
 import com.sk89q.worldedit.world.block.BaseBlock;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.HashMap;
 
+/**
+ * Blocks, biomes, tiles and entities queued for a single chunk. Blocks and biomes are kept per
+ * 16 block high layer in {@link PalettedSection}s, which are only created once a layer is written to.
+ */
 public class LocalChunk {
 
+    /**
+     * Number of 16 block high layers in a chunk
+     */
+    public static final int LAYERS = 16;
+
     private final QueueCoordinator parent;
     private final int x;
     private final int z;
 
-    private final BaseBlock[][] baseblocks;
-    private final BiomeType[][] biomes;
+    private final PalettedSection<BaseBlock>[] baseblocks;
+    private final PalettedSection<BiomeType>[] biomes;
     private final HashMap<BlockVector3, CompoundTag> tiles = new HashMap<>();
     private final HashMap<Location, BaseEntity> entities = new HashMap<>();
 
@@ -52,8 +62,13 @@ public class LocalChunk {
         this.parent = parent;
         this.x = x;
         this.z = z;
-        baseblocks = new BaseBlock[16][];
-        biomes = new BiomeType[16][];
+        baseblocks = newSections();
+        biomes = newSections();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> PalettedSection<T>[] newSections() {
+        return (PalettedSection<T>[]) new PalettedSection[LAYERS];
     }
 
     public @NonNull QueueCoordinator getParent() {
@@ -68,12 +83,70 @@ public class LocalChunk {
         return this.z;
     }
 
+    /**
+     * Get the blocks of a layer
+     *
+     * @param layer layer, 0 to 15
+     * @return the blocks of the layer, or {@code null} if no block has been set in it
+     */
+    public @Nullable PalettedSection<BaseBlock> getBlockSection(final int layer) {
+        return this.baseblocks[layer];
+    }
+
+    /**
+     * Get the biomes of a layer
+     *
+     * @param layer layer, 0 to 15
+     * @return the biomes of the layer, or {@code null} if no biome has been set in it
+     */
+    public @Nullable PalettedSection<BiomeType> getBiomeSection(final int layer) {
+        return this.biomes[layer];
+    }
+
+    /**
+     * Get a block set in this chunk
+     *
+     * @param layer layer, 0 to 15
+     * @param j     position in the layer, see {@link ChunkUtil#getJ(int, int, int)}
+     * @return the block, or {@code null} if it has not been set
+     */
+    public @Nullable BaseBlock getBlock(final int layer, final int j) {
+        final PalettedSection<BaseBlock> section = this.baseblocks[layer];
+        return section == null ? null : section.get(j);
+    }
+
+    /**
+     * Get a copy of the blocks set in this chunk as one array per layer
+     *
+     * @return copy of the blocks, with {@code null} for layers that have not been written to
+     * @deprecated Expands the compact storage, use {@link #getBlockSection(int)}
+     */
+    @Deprecated
     public @NonNull BaseBlock[][] getBaseblocks() {
-        return this.baseblocks;
+        final BaseBlock[][] copy = new BaseBlock[LAYERS][];
+        for (int layer = 0; layer < LAYERS; layer++) {
+            if (this.baseblocks[layer] != null) {
+                copy[layer] = this.baseblocks[layer].toArray(new BaseBlock[PalettedSection.SIZE]);
+            }
+        }
+        return copy;
     }
 
+    /**
+     * Get a copy of the biomes set in this chunk as one array per layer
+     *
+     * @return copy of the biomes, with {@code null} for layers that have not been written to
+     * @deprecated Expands the compact storage, use {@link #getBiomeSection(int)}
+     */
+    @Deprecated
     public @NonNull BiomeType[][] getBiomes() {
-        return this.biomes;
+        final BiomeType[][] copy = new BiomeType[LAYERS][];
+        for (int layer = 0; layer < LAYERS; layer++) {
+            if (this.biomes[layer] != null) {
+                copy[layer] = this.biomes[layer].toArray(new BiomeType[PalettedSection.SIZE]);
+            }
+        }
+        return copy;
     }
 
     public @NonNull HashMap<BlockVector3, CompoundTag> getTiles() {
@@ -83,11 +156,11 @@ public class LocalChunk {
     public void setBiome(final int x, final int y, final int z, final @NonNull BiomeType biomeType) {
         final int i = y >> 4;
         final int j = ChunkUtil.getJ(x, y, z);
-        BiomeType[] array = this.biomes[i];
-        if (array == null) {
-            array = this.biomes[i] = new BiomeType[4096];
+        PalettedSection<BiomeType> section = this.biomes[i];
+        if (section == null) {
+            section = this.biomes[i] = new PalettedSection<>();
         }
-        array[j] = biomeType;
+        section.set(j, biomeType);
     }
 
     @Override
@@ -98,11 +171,45 @@ public class LocalChunk {
     public void setBlock(final int x, final int y, final int z, final @NonNull BaseBlock baseBlock) {
         final int i = y >> 4;
         final int j = ChunkUtil.getJ(x, y, z);
-        BaseBlock[] array = baseblocks[i];
-        if (array == null) {
-            array = (baseblocks[i] = new BaseBlock[4096]);
+        PalettedSection<BaseBlock> section = baseblocks[i];
+        if (section == null) {
+            section = (baseblocks[i] = new PalettedSection<>());
+        }
+        section.set(j, baseBlock);
+    }
+
+    /**
+     * Set every block of a layer to the same block
+     *
+     * @param layer     layer, 0 to 15
+     * @param baseBlock block to fill the layer with
+     */
+    public void fillSection(final int layer, final @NonNull BaseBlock baseBlock) {
+        PalettedSection<BaseBlock> section = baseblocks[layer];
+        if (section == null) {
+            section = (baseblocks[layer] = new PalettedSection<>());
+        }
+        section.fill(baseBlock);
+    }
+
+    /**
+     * Copy the set blocks of a section into a layer
+     *
+     * @param layer   layer, 0 to 15
+     * @param section blocks to copy, not modified
+     */
+    public void setSection(final int layer, final @NonNull PalettedSection<BaseBlock> section) {
+        PalettedSection<BaseBlock> existing = baseblocks[layer];
+        if (existing == null || existing.isEmpty()) {
+            baseblocks[layer] = section.copy();
+            return;
+        }
+        for (int j = 0; j < PalettedSection.SIZE; j++) {
+            BaseBlock block = section.get(j);
+            if (block != null) {
+                existing.set(j, block);
+            }
         }
-        array[j] = baseBlock;
     }
 
     public void setTile(final int x, final int y, final int z, final @NonNull CompoundTag tag) {
@@ -0,0 +1,250 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A 16x16x16 section of values stored as a palette of distinct values plus the palette index of
+ * every position, packed into a long array (the same layout as Minecraft's paletted containers).
+ * <p>
+ * A section where every position holds the same value does not allocate index data at all. Positions
+ * are addressed by the J value used throughout the queue, see {@link com.plotsquared.core.util.ChunkUtil#getJ(int, int, int)}.
+ * A value of {@code null} means the position is not set.
+ * </p>
+ *
+ * @param <T> value type
+ */
+public final class PalettedSection<T> {
+
+    /**
+     * Number of positions in a section
+     */
+    public static final int SIZE = 4096;
+    private static final int MIN_BITS = 4;
+    /**
+     * Palette size from which a hash index is kept rather than searching the palette
+     */
+    private static final int INDEX_THRESHOLD = 16;
+
+    private Object[] palette;
+    private int paletteSize;
+    private Map<Object, Integer> paletteIndex;
+    // Index data, null while every position holds palette[single]
+    private long[] data;
+    private int single;
+    private int bits;
+    private int valuesPerLong;
+    private long mask;
+
+    public PalettedSection() {
+        this.palette = new Object[4];
+        this.paletteSize = 1;
+    }
+
+    /**
+     * Get the value at a position
+     *
+     * @param j position, 0 to 4095
+     * @return value, or {@code null} if not set
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable T get(final int j) {
+        if (this.data == null) {
+            return (T) this.palette[this.single];
+        }
+        return (T) this.palette[read(j)];
+    }
+
+    /**
+     * Set the value at a position
+     *
+     * @param j     position, 0 to 4095
+     * @param value value, or {@code null} to unset the position
+     */
+    public void set(final int j, final @Nullable T value) {
+        final int id = idFor(value);
+        if (this.data == null) {
+            if (id == this.single) {
+                return;
+            }
+            inflate();
+        }
+        write(j, id);
+    }
+
+    /**
+     * Set every position to the same value. This drops the index data and the old palette.
+     *
+     * @param value value, or {@code null} to unset every position
+     */
+    public void fill(final @Nullable T value) {
+        this.palette = new Object[4];
+        this.palette[1] = value;
+        this.paletteSize = value == null ? 1 : 2;
+        this.paletteIndex = null;
+        this.data = null;
+        this.single = value == null ? 0 : 1;
+    }
+
+    /**
+     * Get whether it is known that no position is set. A section that had all of its positions
+     * unset one by one may still report {@code false}.
+     *
+     * @return true if the section is empty
+     */
+    public boolean isEmpty() {
+        return this.data == null && this.single == 0;
+    }
+
+    /**
+     * Get the value held by every position, if the section is in single value form
+     *
+     * @return the value of every position, or {@code null} if positions may differ or are unset
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable T getSingleValue() {
+        return this.data == null ? (T) this.palette[this.single] : null;
+    }
+
+    /**
+     * Create an independent copy of this section
+     *
+     * @return copy
+     */
+    public @NonNull PalettedSection<T> copy() {
+        final PalettedSection<T> copy = new PalettedSection<>();
+        copy.palette = this.palette.clone();
+        copy.paletteSize = this.paletteSize;
+        copy.paletteIndex = this.paletteIndex == null ? null : new HashMap<>(this.paletteIndex);
+        copy.data = this.data == null ? null : this.data.clone();
+        copy.single = this.single;
+        copy.bits = this.bits;
+        copy.valuesPerLong = this.valuesPerLong;
+        copy.mask = this.mask;
+        return copy;
+    }
+
+    /**
+     * Copy the section into a plain array
+     *
+     * @param array array of at least {@link #SIZE} elements to copy into
+     * @return the given array
+     */
+    public @NonNull T[] toArray(final @NonNull T[] array) {
+        for (int j = 0; j < SIZE; j++) {
+            array[j] = get(j);
+        }
+        return array;
+    }
+
+    private int idFor(final @Nullable T value) {
+        if (value == null) {
+            return 0;
+        }
+        if (this.paletteIndex != null) {
+            final Integer id = this.paletteIndex.get(value);
+            if (id != null) {
+                return id;
+            }
+        } else {
+            for (int i = 1; i < this.paletteSize; i++) {
+                final Object entry = this.palette[i];
+                if (entry == value || value.equals(entry)) {
+                    return i;
+                }
+            }
+        }
+        final int id = this.paletteSize++;
+        if (id == this.palette.length) {
+            this.palette = Arrays.copyOf(this.palette, id << 1);
+        }
+        this.palette[id] = value;
+        if (this.paletteIndex != null) {
+            this.paletteIndex.put(value, id);
+        } else if (this.paletteSize > INDEX_THRESHOLD) {
+            this.paletteIndex = new HashMap<>();
+            for (int i = 1; i < this.paletteSize; i++) {
+                this.paletteIndex.put(this.palette[i], i);
+            }
+        }
+        if (this.data != null && id > this.mask) {
+            resize(this.bits + 1);
+        }
+        return id;
+    }
+
+    private void inflate() {
+        final int bits = Math.max(MIN_BITS, 32 - Integer.numberOfLeadingZeros(this.paletteSize - 1));
+        setBits(bits);
+        this.data = new long[(SIZE + this.valuesPerLong - 1) / this.valuesPerLong];
+        if (this.single != 0) {
+            long pattern = 0;
+            for (int i = 0; i < this.valuesPerLong; i++) {
+                pattern |= (long) this.single << (i * this.bits);
+            }
+            Arrays.fill(this.data, pattern);
+        }
+    }
+
+    private void resize(final int bits) {
+        final long[] oldData = this.data;
+        final int oldBits = this.bits;
+        final int oldValuesPerLong = this.valuesPerLong;
+        final long oldMask = this.mask;
+        setBits(bits);
+        this.data = new long[(SIZE + this.valuesPerLong - 1) / this.valuesPerLong];
+        for (int j = 0; j < SIZE; j++) {
+            final int index = j / oldValuesPerLong;
+            final int offset = (j - index * oldValuesPerLong) * oldBits;
+            write(j, (int) ((oldData[index] >>> offset) & oldMask));
+        }
+    }
+
+    private void setBits(final int bits) {
+        this.bits = bits;
+        this.valuesPerLong = 64 / bits;
+        this.mask = (1L << bits) - 1;
+    }
+
+    private int read(final int j) {
+        final int index = j / this.valuesPerLong;
+        final int offset = (j - index * this.valuesPerLong) * this.bits;
+        return (int) ((this.data[index] >>> offset) & this.mask);
+    }
+
+    private void write(final int j, final int id) {
+        final int index = j / this.valuesPerLong;
+        final int offset = (j - index * this.valuesPerLong) * this.bits;
+        this.data[index] = (this.data[index] & ~(this.mask << offset)) | ((long) id << offset);
+    }
+
+}
@@ -29,11 +29,13 @@ import com.google.inject.Inject;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.location.Location;
 import com.plotsquared.core.queue.subscriber.ProgressSubscriber;
+import com.plotsquared.core.util.ChunkUtil;
 import com.plotsquared.core.util.PatternUtil;
 import com.sk89q.jnbt.CompoundTag;
 import com.sk89q.worldedit.entity.Entity;
 import com.sk89q.worldedit.function.pattern.Pattern;
 import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.world.World;
 import com.sk89q.worldedit.world.biome.BiomeType;
@@ -68,6 +70,17 @@ public abstract class QueueCoordinator {
         PlotSquared.platform().injector().injectMembers(this);
     }
 
+    /**
+     * Create a queue for the given block queue without injecting its members, for use where no platform is
+     * running, e.g. in benchmarks.
+     *
+     * @param world      world as all queues should have this constructor
+     * @param blockQueue block queue the queue is enqueued to
+     */
+    protected QueueCoordinator(@Nullable World world, @NonNull GlobalBlockQueue blockQueue) {
+        this.blockQueue = blockQueue;
+    }
+
     /**
      * Get a {@link ScopedQueueCoordinator} limited to the chunk at the specific chunk Coordinates
      *
@@ -393,6 +406,100 @@ public abstract class QueueCoordinator {
      */
     public abstract void setLightingMode(@Nullable LightingMode mode);
 
+    /**
+     * Fill a column between two heights (inclusive) with a pattern. The pattern should be created once and
+     * reused rather than built for each call.
+     *
+     * @param x       x coordinate
+     * @param z       z coordinate
+     * @param minY    lowest y coordinate to set
+     * @param maxY    highest y coordinate to set
+     * @param pattern pattern to fill
+     */
+    public void setColumn(int x, int z, int minY, int maxY, @NonNull Pattern pattern) {
+        BaseBlock block = PatternUtil.getSingleBlock(pattern);
+        for (int y = minY; y <= maxY; y++) {
+            if (block != null) {
+                setBlock(x, y, z, block);
+            } else {
+                setBlock(x, y, z, pattern);
+            }
+        }
+    }
+
+    /**
+     * Fill a whole 16x16x16 chunk section with one block
+     *
+     * @param chunkX chunk x coordinate
+     * @param layer  section index, y coordinate divided by 16
+     * @param chunkZ chunk z coordinate
+     * @param block  block to fill
+     */
+    public void fillSection(int chunkX, int layer, int chunkZ, @NonNull BaseBlock block) {
+        int bx = chunkX << 4;
+        int bz = chunkZ << 4;
+        int by = layer << 4;
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                setColumn(bx + x, bz + z, by, by + 15, block);
+            }
+        }
+    }
+
+    /**
+     * Set the blocks of a 16x16x16 chunk section from a section of blocks. Positions that are not set in the given
+     * section are left unchanged.
+     *
+     * @param chunkX  chunk x coordinate
+     * @param layer   section index, y coordinate divided by 16
+     * @param chunkZ  chunk z coordinate
+     * @param section blocks to copy
+     */
+    public void setSection(int chunkX, int layer, int chunkZ, @NonNull PalettedSection<BaseBlock> section) {
+        if (section.isEmpty()) {
+            return;
+        }
+        BaseBlock single = section.getSingleValue();
+        if (single != null) {
+            fillSection(chunkX, layer, chunkZ, single);
+            return;
+        }
+        int bx = chunkX << 4;
+        int bz = chunkZ << 4;
+        for (int j = 0; j < PalettedSection.SIZE; j++) {
+            BaseBlock block = section.get(j);
+            if (block != null) {
+                setBlock(bx + ChunkUtil.getX(j), ChunkUtil.getY(layer, j), bz + ChunkUtil.getZ(j), block);
+            }
+        }
+    }
+
+    /**
+     * Read the current blocks of consecutive 16x16x16 sections of a loaded chunk, e.g. from the chunk consumer of a
+     * queue reading the chunk. Implementations should read whole sections at once rather than block by block.
+     *
+     * @param chunkX   chunk x coordinate
+     * @param chunkZ   chunk z coordinate
+     * @param minLayer section index of the first array, y coordinate divided by 16
+     * @param sections arrays of {@link PalettedSection#SIZE} blocks to read into, indexed by layer from {@code minLayer}
+     *                 and then by {@link ChunkUtil#getJ(int, int, int)}. Layers with a {@code null} array are skipped.
+     */
+    public void readSections(int chunkX, int chunkZ, int minLayer, @Nullable BlockState @NonNull [][] sections) {
+        World world = getWorld();
+        int bx = chunkX << 4;
+        int bz = chunkZ << 4;
+        for (int i = 0; i < sections.length; i++) {
+            BlockState[] blocks = sections[i];
+            if (blocks == null) {
+                continue;
+            }
+            int by = (minLayer + i) << 4;
+            for (int j = 0; j < PalettedSection.SIZE; j++) {
+                blocks[j] = world.getBlock(BlockVector3.at(bx + ChunkUtil.getX(j), by + (j >> 8), bz + ChunkUtil.getZ(j)));
+            }
+        }
+    }
+
     /**
      * Fill a cuboid between two positions with a BlockState
      *
@@ -401,23 +508,12 @@ public abstract class QueueCoordinator {
      * @param block block to fill
      */
     public void setCuboid(@NonNull Location pos1, @NonNull Location pos2, @NonNull BlockState block) {
-        int yMin = Math.min(pos1.getY(), pos2.getY());
-        int yMax = Math.min(255, Math.max(pos1.getY(), pos2.getY()));
-        int xMin = Math.min(pos1.getX(), pos2.getX());
-        int xMax = Math.max(pos1.getX(), pos2.getX());
-        int zMin = Math.min(pos1.getZ(), pos2.getZ());
-        int zMax = Math.max(pos1.getZ(), pos2.getZ());
-        for (int y = yMin; y <= yMax; y++) {
-            for (int x = xMin; x <= xMax; x++) {
-                for (int z = zMin; z <= zMax; z++) {
-                    setBlock(x, y, z, block);
-                }
-            }
-        }
+        setCuboid(pos1, pos2, (Pattern) block);
     }
 
     /**
-     * Fill a cuboid between two positions with a Pattern
+     * Fill a cuboid between two positions with a Pattern. Sections that are completely inside the cuboid are
+     * filled at once if the pattern places a single block.
      *
      * @param pos1   1st cuboid position
      * @param pos2   2nd cuboid position
@@ -430,10 +526,30 @@ public abstract class QueueCoordinator {
         int xMax = Math.max(pos1.getX(), pos2.getX());
         int zMin = Math.min(pos1.getZ(), pos2.getZ());
         int zMax = Math.max(pos1.getZ(), pos2.getZ());
-        for (int y = yMin; y <= yMax; y++) {
-            for (int x = xMin; x <= xMax; x++) {
-                for (int z = zMin; z <= zMax; z++) {
-                    setBlock(x, y, z, blocks);
+        BaseBlock block = PatternUtil.getSingleBlock(blocks);
+        for (int cx = xMin >> 4; cx <= xMax >> 4; cx++) {
+            int x1 = Math.max(xMin, cx << 4);
+            int x2 = Math.min(xMax, (cx << 4) + 15);
+            for (int cz = zMin >> 4; cz <= zMax >> 4; cz++) {
+                int z1 = Math.max(zMin, cz << 4);
+                int z2 = Math.min(zMax, (cz << 4) + 15);
+                boolean fullColumns = x2 - x1 == 15 && z2 - z1 == 15;
+                int y = yMin;
+                while (y <= yMax) {
+                    int sectionTop = y | 15;
+                    if (block != null && fullColumns && (y & 15) == 0 && sectionTop <= yMax) {
+                        fillSection(cx, y >> 4, cz, block);
+                        y = sectionTop + 1;
+                        continue;
+                    }
+                    // Fill up to the next section that can be filled at once
+                    int top = Math.min(yMax, sectionTop);
+                    for (int x = x1; x <= x2; x++) {
+                        for (int z = z1; z <= z2; z++) {
+                            setColumn(x, z, y, top, blocks);
+                        }
+                    }
+                    y = top + 1;
                 }
             }
         }
@@ -106,6 +106,53 @@ public class ScopedQueueCoordinator extends DelegateQueueCoordinator {
         );
     }
 
+    @Override
+    public void setColumn(int x, int z, int minY, int maxY, @NonNull Pattern pattern) {
+        QueueCoordinator parent = getParent();
+        if (parent == null) {
+            // Implementations without a parent store blocks through their own setBlock
+            super.setColumn(x, z, minY, maxY, pattern);
+            return;
+        }
+        if (x < 0 || x > dx || z < 0 || z > dz) {
+            return;
+        }
+        minY = Math.max(0, minY);
+        maxY = Math.min(dy, maxY);
+        if (minY <= maxY) {
+            parent.setColumn(x + minX, z + minZ, minY + this.minY, maxY + this.minY, pattern);
+        }
+    }
+
+    @Override
+    public void fillSection(int chunkX, int layer, int chunkZ, @NonNull BaseBlock block) {
+        QueueCoordinator parent = getParent();
+        if (parent != null && isWholeSection(chunkX, layer, chunkZ)) {
+            parent.fillSection(chunkX + (minX >> 4), layer + (minY >> 4), chunkZ + (minZ >> 4), block);
+        } else {
+            super.fillSection(chunkX, layer, chunkZ, block);
+        }
+    }
+
+    @Override
+    public void setSection(int chunkX, int layer, int chunkZ, @NonNull PalettedSection<BaseBlock> section) {
+        QueueCoordinator parent = getParent();
+        if (parent != null && isWholeSection(chunkX, layer, chunkZ)) {
+            parent.setSection(chunkX + (minX >> 4), layer + (minY >> 4), chunkZ + (minZ >> 4), section);
+        } else {
+            super.setSection(chunkX, layer, chunkZ, section);
+        }
+    }
+
+    /**
+     * Get whether a section in this queue's coordinates is inside the scope and is also a whole section of the parent
+     */
+    private boolean isWholeSection(int chunkX, int layer, int chunkZ) {
+        boolean aligned = ((minX | minY | minZ) & 15) == 0;
+        return aligned && chunkX >= 0 && chunkZ >= 0 && layer >= 0
+                && (chunkX << 4) + 15 <= dx && (layer << 4) + 15 <= dy && (chunkZ << 4) + 15 <= dz;
+    }
+
     @Override
     public boolean setTile(int x, int y, int z, @NonNull CompoundTag tag) {
         return x >= 0 && x <= dx && y >= 0 && y <= dy && z >= 0 && z <= dz && super.setTile(x + minX, y + minY, z + minZ, tag);
@@ -73,7 +73,6 @@ import com.plotsquared.core.plot.flag.implementations.MobPlaceFlag;
 import com.plotsquared.core.plot.flag.implementations.PlaceFlag;
 import com.plotsquared.core.plot.flag.implementations.UseFlag;
 import com.plotsquared.core.plot.flag.implementations.VehiclePlaceFlag;
-import com.plotsquared.core.plot.flag.types.BlockTypeWrapper;
 import com.plotsquared.core.plot.world.SinglePlotArea;
 import com.plotsquared.core.util.task.TaskManager;
 import com.sk89q.worldedit.WorldEdit;
@@ -352,11 +351,9 @@ public class EventDispatcher {
                 return true;
             case INTERACT_BLOCK: {
                 if (plot == null) {
-                    final List<BlockTypeWrapper> use = area.getRoadFlag(UseFlag.class);
-                    for (final BlockTypeWrapper blockTypeWrapper : use) {
-                        if (blockTypeWrapper.accepts(BlockTypes.AIR) || blockTypeWrapper.accepts(blockType)) {
-                            return true;
-                        }
+                    final UseFlag use = area.getRoadFlagContainer().getFlag(UseFlag.class);
+                    if (use.accepts(BlockTypes.AIR) || use.accepts(blockType)) {
+                        return true;
                     }
                     return Permissions.hasPermission(player,
                             Permission.PERMISSION_ADMIN_INTERACT_ROAD.toString(), notifyPerms
@@ -367,12 +364,9 @@ public class EventDispatcher {
                             Permission.PERMISSION_ADMIN_INTERACT_UNOWNED.toString(), notifyPerms
                     );
                 }
-                final List<BlockTypeWrapper> use = plot.getFlag(UseFlag.class);
-                for (final BlockTypeWrapper blockTypeWrapper : use) {
-                    if (blockTypeWrapper.accepts(BlockTypes.AIR) || blockTypeWrapper
-                            .accepts(blockType)) {
-                        return true;
-                    }
+                final UseFlag use = plot.getFlagContainer().getFlag(UseFlag.class);
+                if (use.accepts(BlockTypes.AIR) || use.accepts(blockType)) {
+                    return true;
                 }
                 if (Permissions.hasPermission(player, Permission.PERMISSION_ADMIN_INTERACT_OTHER.toString(), false)) {
                     return true;
@@ -387,11 +381,9 @@ public class EventDispatcher {
             }
             case TRIGGER_PHYSICAL: {
                 if (plot == null) {
-                    final List<BlockTypeWrapper> use = area.getRoadFlag(UseFlag.class);
-                    for (final BlockTypeWrapper blockTypeWrapper : use) {
-                        if (blockTypeWrapper.accepts(BlockTypes.AIR) || blockTypeWrapper.accepts(blockType)) {
-                            return true;
-                        }
+                    final UseFlag use = area.getRoadFlagContainer().getFlag(UseFlag.class);
+                    if (use.accepts(BlockTypes.AIR) || use.accepts(blockType)) {
+                        return true;
                     }
                     return Permissions.hasPermission(player,
                             Permission.PERMISSION_ADMIN_INTERACT_ROAD.toString(), false
@@ -405,12 +397,9 @@ public class EventDispatcher {
                 if (plot.getFlag(DeviceInteractFlag.class)) {
                     return true;
                 }
-                List<BlockTypeWrapper> use = plot.getFlag(UseFlag.class);
-                for (final BlockTypeWrapper blockTypeWrapper : use) {
-                    if (blockTypeWrapper.accepts(BlockTypes.AIR) || blockTypeWrapper
-                            .accepts(blockType)) {
-                        return true;
-                    }
+                final UseFlag use = plot.getFlagContainer().getFlag(UseFlag.class);
+                if (use.accepts(BlockTypes.AIR) || use.accepts(blockType)) {
+                    return true;
                 }
                 return Permissions
                         .hasPermission(player, Permission.PERMISSION_ADMIN_INTERACT_OTHER.toString(),
@@ -431,12 +420,9 @@ public class EventDispatcher {
                 if (plot.getFlag(MobPlaceFlag.class)) {
                     return true;
                 }
-                List<BlockTypeWrapper> place = plot.getFlag(PlaceFlag.class);
-                for (final BlockTypeWrapper blockTypeWrapper : place) {
-                    if (blockTypeWrapper.accepts(BlockTypes.AIR) || blockTypeWrapper
-                            .accepts(blockType)) {
-                        return true;
-                    }
+                final PlaceFlag place = plot.getFlagContainer().getFlag(PlaceFlag.class);
+                if (place.accepts(BlockTypes.AIR) || place.accepts(blockType)) {
+                    return true;
                 }
                 if (Permissions
                         .hasPermission(player, Permission.PERMISSION_ADMIN_INTERACT_OTHER.toString(),
@@ -467,12 +453,9 @@ public class EventDispatcher {
                 if (plot.getFlag(MiscPlaceFlag.class)) {
                     return true;
                 }
-                List<BlockTypeWrapper> place = plot.getFlag(PlaceFlag.class);
-                for (final BlockTypeWrapper blockTypeWrapper : place) {
-                    if (blockTypeWrapper.accepts(BlockTypes.AIR) || blockTypeWrapper
-                            .accepts(blockType)) {
-                        return true;
-                    }
+                final PlaceFlag place = plot.getFlagContainer().getFlag(PlaceFlag.class);
+                if (place.accepts(BlockTypes.AIR) || place.accepts(blockType)) {
+                    return true;
                 }
                 if (Permissions
                         .hasPermission(player, Permission.PERMISSION_ADMIN_INTERACT_OTHER.toString(),
@@ -43,6 +43,7 @@ import com.sk89q.worldedit.world.block.BlockState;
 import com.sk89q.worldedit.world.block.BlockType;
 import net.kyori.adventure.text.minimessage.Template;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -59,6 +60,20 @@ public class PatternUtil {
         return pattern.applyBlock(BlockVector3.at(x, y, z));
     }
 
+    /**
+     * Get the block a pattern places, if it places the same block at every position
+     *
+     * @param pattern pattern
+     * @return the block placed everywhere, or {@code null} if it depends on the position or is random
+     */
+    public static @Nullable BaseBlock getSingleBlock(@NonNull Pattern pattern) {
+        if (pattern instanceof BlockPattern || pattern instanceof BlockState
+                || pattern instanceof BlockType || pattern instanceof BaseBlock) {
+            return pattern.applyBlock(BlockVector3.ZERO);
+        }
+        return null;
+    }
+
     public static Pattern parse(PlotPlayer<?> plotPlayer, String input) {
         return parse(plotPlayer, input, true);
     }
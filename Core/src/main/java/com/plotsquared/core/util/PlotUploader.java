@@ -31,21 +31,17 @@ import com.intellectualsites.arkitektonika.SchematicKeys;
 import com.plotsquared.core.PlotSquared;
 import com.plotsquared.core.configuration.Settings;
 import com.plotsquared.core.plot.Plot;
-import com.sk89q.jnbt.CompoundTag;
-import com.sk89q.jnbt.NBTOutputStream;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.IOException;
-import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
-import java.util.zip.GZIPOutputStream;
 
 /**
  * This class handles communication with the Arkitektonika REST service.
@@ -78,12 +74,22 @@ public class PlotUploader {
      * @return a {@link CompletableFuture} that provides a {@link PlotUploadResult} if finished.
      */
     public CompletableFuture<PlotUploadResult> upload(final @NonNull Plot plot) {
-        return this.schematicHandler.getCompoundTag(plot)
-                .handle((tag, t) -> {
+        final Path tempFile;
+        try {
+            tempFile = Files.createTempFile(TEMP_DIR, null, null);
+        } catch (IOException e) {
+            plot.removeRunning();
+            return CompletableFuture.failedFuture(e);
+        }
+        return this.schematicHandler.exportSchematic(plot, tempFile.toFile())
+                .handle((ignored, t) -> {
                     plot.removeRunning();
-                    return tag;
+                    if (t != null) {
+                        deleteTempFile(tempFile);
+                        throw new CompletionException(t);
+                    }
+                    return tempFile;
                 })
-                .thenApply(this::writeToTempFile)
                 .thenApply(this::uploadAndDelete)
                 .thenApply(this::wrapIntoResult);
     }
@@ -107,38 +113,15 @@ public class PlotUploader {
             LOGGER.error("Failed to upload schematic", e);
             return null;
         } finally {
-            try {
-                Files.delete(file);
-            } catch (IOException e) {
-                LOGGER.error("Failed to delete temporary file {}", file, e);
-            }
+            deleteTempFile(file);
         }
     }
 
-    @NonNull
-    private Path writeToTempFile(final @NonNull CompoundTag schematic) {
+    private void deleteTempFile(final @NonNull Path file) {
         try {
-            final Path tempFile = Files.createTempFile(TEMP_DIR, null, null);
-            try (final OutputStream stream = Files.newOutputStream(tempFile)) {
-                writeSchematic(schematic, stream);
-            }
-            return tempFile;
+            Files.delete(file);
         } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-    }
-
-    /**
-     * Writes a schematic provided as CompoundTag to an OutputStream.
-     *
-     * @param schematic The schematic to write to the stream
-     * @param stream    The stream to write the schematic to
-     * @throws IOException if an I/O error occurred
-     */
-    private void writeSchematic(final @NonNull CompoundTag schematic, final @NonNull OutputStream stream)
-            throws IOException {
-        try (final NBTOutputStream nbtOutputStream = new NBTOutputStream(new GZIPOutputStream(stream))) {
-            nbtOutputStream.writeNamedTag("Schematic", schematic);
+            LOGGER.error("Failed to delete temporary file {}", file, e);
         }
     }
 
@@ -0,0 +1,499 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.plotsquared.core.PlotSquared;
+import com.plotsquared.core.queue.PalettedSection;
+import com.plotsquared.core.queue.QueueCoordinator;
+import com.plotsquared.core.util.task.TaskManager;
+import com.sk89q.jnbt.CompoundTag;
+import com.sk89q.jnbt.IntArrayTag;
+import com.sk89q.jnbt.IntTag;
+import com.sk89q.jnbt.ListTag;
+import com.sk89q.jnbt.NBTConstants;
+import com.sk89q.jnbt.NBTOutputStream;
+import com.sk89q.jnbt.StringTag;
+import com.sk89q.jnbt.Tag;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.world.World;
+import com.sk89q.worldedit.world.biome.BiomeType;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports regions of a world as Sponge schematics, one chunk at a time.
+ * <p>
+ * Chunks are read through a {@link QueueCoordinator} chunk consumer, so the chunk coordinator decides how
+ * much work is done per tick, and their blocks are read a whole section at a time. Palette indices are kept in a memory mapped scratch file in schematic order
+ * and are only varint encoded once the whole region has been read, straight into the GZIP stream.
+ */
+final class SchematicExporter {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final World world;
+    private final Set<CuboidRegion> regions;
+    private final Map<String, Tag> header;
+    private final int minX;
+    private final int minY;
+    private final int minZ;
+    private final int width;
+    private final int height;
+    private final int length;
+
+    private final Map<BlockState, Integer> palette = new IdentityHashMap<>();
+    private final List<BlockState> paletteEntries = new ArrayList<>();
+    private final Map<BiomeType, Integer> biomePalette = new IdentityHashMap<>();
+    private final List<BiomeType> biomeEntries = new ArrayList<>();
+    private final List<CompoundTag> tileEntities = new ArrayList<>();
+    private final char[] biomes;
+    private final int minLayer;
+    // Section arrays reused for every chunk, and the sections to read of the current chunk
+    private final BlockState[][] sectionBuffers;
+    private final BlockState[][] sections;
+
+    private Path scratchFile;
+    private FileChannel scratch;
+    private MappedByteBuffer[] segments;
+    private int layersPerSegment;
+    private BlockState lastState;
+    private int lastId;
+    private volatile Throwable failure;
+
+    /**
+     * @param world   world to read from
+     * @param regions regions to export, anything in their bounding box but outside of them is exported as air
+     * @param header  the schematic header tags, as created by the {@link SchematicHandler}
+     */
+    SchematicExporter(
+            final @NonNull World world,
+            final @NonNull Set<CuboidRegion> regions,
+            final @NonNull Map<String, Tag> header
+    ) {
+        this.world = world;
+        this.regions = regions;
+        this.header = header;
+        CuboidRegion aabb = RegionUtil.getAxisAlignedBoundingBox(regions);
+        BlockVector3 minimum = aabb.getMinimumPoint();
+        this.minX = minimum.getX();
+        this.minY = minimum.getY();
+        this.minZ = minimum.getZ();
+        this.width = aabb.getWidth();
+        this.height = aabb.getHeight();
+        this.length = aabb.getLength();
+        this.biomes = new char[this.width * this.length];
+        this.minLayer = this.minY >> 4;
+        this.sectionBuffers = new BlockState[((this.minY + this.height - 1) >> 4) - this.minLayer + 1][];
+        this.sections = new BlockState[this.sectionBuffers.length][];
+        // air is always index 0, so untouched (zeroed) cells of the scratch file are air
+        intern(BlockTypes.AIR.getDefaultState());
+    }
+
+    /**
+     * Read the regions and write the schematic to the given stream. The stream is closed once the
+     * schematic has been written, or once the export failed.
+     *
+     * @param output stream to write the GZIP compressed schematic to
+     * @return a future completing once the schematic has been written
+     */
+    @NonNull CompletableFuture<Void> export(final @NonNull OutputStream output) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            openScratch();
+        } catch (IOException e) {
+            close(output);
+            future.completeExceptionally(e);
+            return future;
+        }
+        CuboidRegion aabb = RegionUtil.getAxisAlignedBoundingBox(this.regions);
+        QueueCoordinator queue = PlotSquared.platform().globalBlockQueue().getNewQueue(this.world);
+        queue.addReadChunks(aabb.getChunks());
+        queue.setChunkConsumer(chunk -> {
+            if (this.failure != null) {
+                return;
+            }
+            try {
+                readChunk(queue, chunk);
+            } catch (Throwable e) {
+                this.failure = e;
+            }
+        });
+        queue.setCompleteTask(() -> TaskManager.runTaskAsync(() -> {
+            try {
+                if (this.failure != null) {
+                    future.completeExceptionally(this.failure);
+                } else {
+                    write(output);
+                    future.complete(null);
+                }
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                close(output);
+                closeScratch();
+            }
+        }));
+        if (!queue.enqueue()) {
+            close(output);
+            closeScratch();
+            future.completeExceptionally(new IllegalStateException("Could not enqueue schematic export"));
+        }
+        return future;
+    }
+
+    private void openScratch() throws IOException {
+        long layerBytes = (long) this.width * this.length * Character.BYTES;
+        if (layerBytes > Integer.MAX_VALUE) {
+            throw new IOException("Region is too large to export: " + this.width + "x" + this.length);
+        }
+        this.layersPerSegment = (int) Math.max(1, Integer.MAX_VALUE / layerBytes);
+        this.scratchFile = Files.createTempFile("plotsquared-schematic", ".tmp");
+        this.scratch = FileChannel.open(
+                this.scratchFile,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE
+        );
+        int count = (this.height + this.layersPerSegment - 1) / this.layersPerSegment;
+        this.segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            int layers = Math.min(this.layersPerSegment, this.height - i * this.layersPerSegment);
+            this.segments[i] = this.scratch.map(
+                    FileChannel.MapMode.READ_WRITE,
+                    i * this.layersPerSegment * layerBytes,
+                    layers * layerBytes
+            );
+        }
+    }
+
+    private void closeScratch() {
+        this.segments = null;
+        try {
+            if (this.scratch != null) {
+                this.scratch.close();
+            }
+            // Mapped files cannot always be deleted while the mapping is still reachable
+            if (this.scratchFile != null && !Files.deleteIfExists(this.scratchFile)) {
+                this.scratchFile.toFile().deleteOnExit();
+            }
+        } catch (IOException ignored) {
+            this.scratchFile.toFile().deleteOnExit();
+        }
+    }
+
+    private static void close(final @NonNull OutputStream output) {
+        try {
+            output.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Reads the part of the given chunk covered by the regions, section by section.
+     */
+    private void readChunk(final @NonNull QueueCoordinator queue, final @NonNull BlockVector2 chunk) {
+        int chunkMinX = chunk.getX() << 4;
+        int chunkMinZ = chunk.getZ() << 4;
+        Arrays.fill(this.sections, null);
+        boolean any = false;
+        for (CuboidRegion region : this.regions) {
+            BlockVector3 min = region.getMinimumPoint();
+            BlockVector3 max = region.getMaximumPoint();
+            if (max.getX() < chunkMinX || min.getX() > chunkMinX + 15 || max.getZ() < chunkMinZ || min.getZ() > chunkMinZ + 15) {
+                continue;
+            }
+            for (int layer = min.getY() >> 4; layer <= max.getY() >> 4; layer++) {
+                int index = layer - this.minLayer;
+                if (this.sectionBuffers[index] == null) {
+                    this.sectionBuffers[index] = new BlockState[PalettedSection.SIZE];
+                }
+                this.sections[index] = this.sectionBuffers[index];
+                any = true;
+            }
+        }
+        if (!any) {
+            return;
+        }
+        queue.readSections(chunk.getX(), chunk.getZ(), this.minLayer, this.sections);
+        for (CuboidRegion region : this.regions) {
+            BlockVector3 min = region.getMinimumPoint();
+            BlockVector3 max = region.getMaximumPoint();
+            int x1 = Math.max(min.getX(), chunkMinX);
+            int x2 = Math.min(max.getX(), chunkMinX + 15);
+            int z1 = Math.max(min.getZ(), chunkMinZ);
+            int z2 = Math.min(max.getZ(), chunkMinZ + 15);
+            if (x1 > x2 || z1 > z2) {
+                continue;
+            }
+            for (int z = z1; z <= z2; z++) {
+                for (int x = x1; x <= x2; x++) {
+                    BiomeType biome = this.world.getBiome(BlockVector2.at(x, z));
+                    this.biomes[(z - this.minZ) * this.width + x - this.minX] = (char) internBiome(biome);
+                }
+            }
+            for (int layer = min.getY() >> 4; layer <= max.getY() >> 4; layer++) {
+                BlockState[] blocks = this.sections[layer - this.minLayer];
+                int y1 = Math.max(min.getY(), layer << 4);
+                int y2 = Math.min(max.getY(), (layer << 4) + 15);
+                for (int y = y1; y <= y2; y++) {
+                    for (int z = z1; z <= z2; z++) {
+                        for (int x = x1; x <= x2; x++) {
+                            readBlock(x, y, z, blocks[((y & 15) << 8) | ((z & 15) << 4) | (x & 15)]);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void readBlock(final int x, final int y, final int z, final @NonNull BlockState state) {
+        int relativeX = x - this.minX;
+        int relativeY = y - this.minY;
+        int relativeZ = z - this.minZ;
+        if (state.getBlockType().getMaterial().isTile()) {
+            BaseBlock block = this.world.getFullBlock(BlockVector3.at(x, y, z));
+            if (block.getNbtData() != null) {
+                this.tileEntities.add(toBlockEntity(block, relativeX, relativeY, relativeZ));
+            }
+        }
+        int id = intern(state);
+        int segment = relativeY / this.layersPerSegment;
+        int index = ((relativeY % this.layersPerSegment) * this.length + relativeZ) * this.width + relativeX;
+        this.segments[segment].putChar(index * Character.BYTES, (char) id);
+    }
+
+    private int intern(final @NonNull BlockState state) {
+        // consecutive blocks are very often the same state
+        if (state == this.lastState) {
+            return this.lastId;
+        }
+        Integer id = this.palette.get(state);
+        if (id == null) {
+            id = this.paletteEntries.size();
+            if (id > Character.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct block states to export");
+            }
+            this.palette.put(state, id);
+            this.paletteEntries.add(state);
+        }
+        this.lastState = state;
+        this.lastId = id;
+        return id;
+    }
+
+    private int internBiome(final @NonNull BiomeType biome) {
+        Integer id = this.biomePalette.get(biome);
+        if (id == null) {
+            id = this.biomeEntries.size();
+            this.biomePalette.put(biome, id);
+            this.biomeEntries.add(biome);
+        }
+        return id;
+    }
+
+    private void write(final @NonNull OutputStream output) throws IOException {
+        List<String> blockPalette = new ArrayList<>(this.paletteEntries.size());
+        for (BlockState state : this.paletteEntries) {
+            blockPalette.add(state.getAsString());
+        }
+        List<String> biomePalette = new ArrayList<>(this.biomeEntries.size());
+        for (BiomeType biome : this.biomeEntries) {
+            biomePalette.add(biome.getId());
+        }
+        write(output, this.header, blockPalette, this.segments, this.tileEntities, biomePalette, this.biomes);
+    }
+
+    /**
+     * Write a Sponge schematic, encoding the block data straight from the given buffers.
+     *
+     * @param output        stream to write the GZIP compressed schematic to
+     * @param header        the schematic header tags
+     * @param blockPalette  block states by palette index
+     * @param blockData     palette index of every block in schematic order, as chars
+     * @param blockEntities block entity tags
+     * @param biomePalette  biome ids by palette index, biomes are not written if empty
+     * @param biomes        palette index of every column in schematic order
+     */
+    static void write(
+            final @NonNull OutputStream output,
+            final @NonNull Map<String, Tag> header,
+            final @NonNull List<String> blockPalette,
+            final @NonNull ByteBuffer @NonNull [] blockData,
+            final @NonNull List<CompoundTag> blockEntities,
+            final @NonNull List<String> biomePalette,
+            final char @NonNull [] biomes
+    ) throws IOException {
+        OutputStream buffered = new BufferedOutputStream(new GZIPOutputStream(output, BUFFER_SIZE), BUFFER_SIZE);
+        DataOutputStream data = new DataOutputStream(buffered);
+        // NBTOutputStream does not buffer, so whole tags and raw writes can be interleaved on the same stream
+        NBTOutputStream nbt = new NBTOutputStream(buffered);
+
+        data.writeByte(NBTConstants.TYPE_COMPOUND);
+        data.writeUTF("Schematic");
+        for (Map.Entry<String, Tag> entry : header.entrySet()) {
+            nbt.writeNamedTag(entry.getKey(), entry.getValue());
+        }
+
+        Map<String, Tag> paletteTag = new HashMap<>();
+        for (int i = 0; i < blockPalette.size(); i++) {
+            paletteTag.put(blockPalette.get(i), new IntTag(i));
+        }
+        nbt.writeNamedTag("PaletteMax", new IntTag(blockPalette.size()));
+        nbt.writeNamedTag("Palette", new CompoundTag(paletteTag));
+
+        data.writeByte(NBTConstants.TYPE_BYTE_ARRAY);
+        data.writeUTF("BlockData");
+        data.writeInt(blockDataLength(blockData));
+        byte[] chunk = new byte[BUFFER_SIZE];
+        int position = 0;
+        for (ByteBuffer segment : blockData) {
+            segment.clear();
+            while (segment.hasRemaining()) {
+                if (position > chunk.length - 3) {
+                    buffered.write(chunk, 0, position);
+                    position = 0;
+                }
+                int id = segment.getChar();
+                while ((id & -128) != 0) {
+                    chunk[position++] = (byte) (id & 127 | 128);
+                    id >>>= 7;
+                }
+                chunk[position++] = (byte) id;
+            }
+        }
+        buffered.write(chunk, 0, position);
+
+        nbt.writeNamedTag("BlockEntities", new ListTag(CompoundTag.class, blockEntities));
+
+        if (!biomePalette.isEmpty()) {
+            Map<String, Tag> biomePaletteTag = new HashMap<>();
+            for (int i = 0; i < biomePalette.size(); i++) {
+                biomePaletteTag.put(biomePalette.get(i), new IntTag(i));
+            }
+            nbt.writeNamedTag("BiomePaletteMax", new IntTag(biomePalette.size()));
+            nbt.writeNamedTag("BiomePalette", new CompoundTag(biomePaletteTag));
+
+            data.writeByte(NBTConstants.TYPE_BYTE_ARRAY);
+            data.writeUTF("BiomeData");
+            byte[] biomeData = new byte[varIntLength(biomes)];
+            position = 0;
+            for (int id : biomes) {
+                while ((id & -128) != 0) {
+                    biomeData[position++] = (byte) (id & 127 | 128);
+                    id >>>= 7;
+                }
+                biomeData[position++] = (byte) id;
+            }
+            data.writeInt(biomeData.length);
+            buffered.write(biomeData);
+        }
+
+        data.writeByte(NBTConstants.TYPE_END);
+        buffered.flush();
+    }
+
+    private static int blockDataLength(final @NonNull ByteBuffer @NonNull [] blockData) throws IOException {
+        long total = 0;
+        for (ByteBuffer segment : blockData) {
+            segment.clear();
+            while (segment.hasRemaining()) {
+                total += varIntLength(segment.getChar());
+            }
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IOException("Schematic block data exceeds the maximum array length");
+        }
+        return (int) total;
+    }
+
+    private static int varIntLength(final char[] values) {
+        int total = 0;
+        for (char value : values) {
+            total += varIntLength(value);
+        }
+        return total;
+    }
+
+    private static int varIntLength(final int value) {
+        return value < 1 << 7 ? 1 : value < 1 << 14 ? 2 : 3;
+    }
+
+    /**
+     * Get the Sponge block entity tag of a block at the given position relative to the schematic origin.
+     *
+     * @param block     block with NBT data
+     * @param relativeX x coordinate relative to the schematic origin
+     * @param relativeY y coordinate relative to the schematic origin
+     * @param relativeZ z coordinate relative to the schematic origin
+     * @return the block entity tag
+     */
+    static @NonNull CompoundTag toBlockEntity(
+            final @NonNull BaseBlock block,
+            final int relativeX,
+            final int relativeY,
+            final int relativeZ
+    ) {
+        Map<String, Tag> values = new HashMap<>(block.getNbtData().getValue());
+
+        // Positions are kept in NBT, we don't want that.
+        values.remove("x");
+        values.remove("y");
+        values.remove("z");
+
+        values.put("Id", new StringTag(block.getNbtId()));
+
+        // Remove 'id' if it exists. We want 'Id'.
+        // Do this after we get "getNbtId" cos otherwise "getNbtId" doesn't work.
+        values.remove("id");
+        values.put("Pos", new IntArrayTag(new int[]{relativeX, relativeY, relativeZ}));
+        return new CompoundTag(values);
+    }
+
+}
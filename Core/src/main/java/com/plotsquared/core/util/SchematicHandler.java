@@ -52,7 +52,6 @@ import com.sk89q.jnbt.ListTag;
 import com.sk89q.jnbt.NBTInputStream;
 import com.sk89q.jnbt.NBTOutputStream;
 import com.sk89q.jnbt.ShortTag;
-import com.sk89q.jnbt.StringTag;
 import com.sk89q.jnbt.Tag;
 import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.extension.platform.Capability;
@@ -254,17 +253,16 @@ public abstract class SchematicHandler {
                 }
 
                 final Runnable THIS = this;
-                getCompoundTag(plot)
-                        .whenComplete((compoundTag, throwable) -> {
-                            if (compoundTag != null) {
-                                TaskManager.runTaskAsync(() -> {
-                                    boolean result = save(compoundTag, directory + File.separator + name + ".schem");
-                                    if (!result) {
-                                        LOGGER.error("Failed to save {}", plot.getId());
-                                    }
-                                    TaskManager.runTask(THIS);
-                                });
+                File file = FileUtils.getFile(
+                        PlotSquared.platform().getDirectory(),
+                        directory + File.separator + name + ".schem"
+                );
+                exportSchematic(plot, file)
+                        .whenComplete((ignored, throwable) -> {
+                            if (throwable != null) {
+                                LOGGER.error("Failed to save {}", plot.getId(), throwable);
                             }
+                            TaskManager.runTask(THIS);
                         });
             }
         });
@@ -623,6 +621,62 @@ public abstract class SchematicHandler {
         return schematic;
     }
 
+    /**
+     * Export the given plot as a GZIP compressed Sponge schematic. The plot is read one chunk at
+     * a time and written straight to the file, without building a {@link CompoundTag} in memory.
+     *
+     * @param plot The plot to export.
+     * @param file The file to write the schematic to.
+     * @return a {@link CompletableFuture} that completes once the file has been written.
+     */
+    public @NonNull CompletableFuture<Void> exportSchematic(final @NonNull Plot plot, final @NonNull File file) {
+        return exportSchematic(Objects.requireNonNull(plot.getWorldName()), plot.getRegions(), file);
+    }
+
+    /**
+     * Export the contents of the given regions in the given world as a GZIP compressed Sponge schematic.
+     *
+     * @param worldName The world to get the contents from.
+     * @param regions   The regions to get the contents from.
+     * @param file      The file to write the schematic to.
+     * @return a {@link CompletableFuture} that completes once the file has been written.
+     * @see #exportSchematic(Plot, File)
+     */
+    public @NonNull CompletableFuture<Void> exportSchematic(
+            final @NonNull String worldName,
+            final @NonNull Set<CuboidRegion> regions,
+            final @NonNull File file
+    ) {
+        final OutputStream output;
+        try {
+            file.getParentFile().mkdirs();
+            output = new FileOutputStream(file);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return exportSchematic(worldName, regions, output);
+    }
+
+    /**
+     * Export the contents of the given regions in the given world as a GZIP compressed Sponge schematic.
+     * The stream is closed once the export completed or failed.
+     *
+     * @param worldName The world to get the contents from.
+     * @param regions   The regions to get the contents from.
+     * @param output    The stream to write the schematic to.
+     * @return a {@link CompletableFuture} that completes once the schematic has been written.
+     */
+    public @NonNull CompletableFuture<Void> exportSchematic(
+            final @NonNull String worldName,
+            final @NonNull Set<CuboidRegion> regions,
+            final @NonNull OutputStream output
+    ) {
+        World world = this.worldUtil.getWeWorld(worldName);
+        CuboidRegion aabb = RegionUtil.getAxisAlignedBoundingBox(regions);
+        Map<String, Tag> header = initSchematic((short) aabb.getWidth(), (short) aabb.getHeight(), (short) aabb.getLength());
+        return new SchematicExporter(world, regions, header).export(output);
+    }
+
     /**
      * Get the given plot as {@link CompoundTag} matching the Sponge schematic format.
      *
@@ -733,25 +787,7 @@ public abstract class SchematicHandler {
                                     }
                                     BaseBlock block = aabb.getWorld().getFullBlock(point);
                                     if (block.getNbtData() != null) {
-                                        Map<String, Tag> values = new HashMap<>();
-                                        for (Map.Entry<String, Tag> entry : block.getNbtData().getValue().entrySet()) {
-                                            values.put(entry.getKey(), entry.getValue());
-                                        }
-
-                                        // Positions are kept in NBT, we don't want that.
-                                        values.remove("x");
-                                        values.remove("y");
-                                        values.remove("z");
-
-                                        values.put("Id", new StringTag(block.getNbtId()));
-
-                                        // Remove 'id' if it exists. We want 'Id'.
-                                        // Do this after we get "getNbtId" cos otherwise "getNbtId" doesn't work.
-                                        // Dum.
-                                        values.remove("id");
-                                        values.put("Pos", new IntArrayTag(new int[]{relativeX, relativeY, relativeZ}));
-
-                                        tileEntities.add(new CompoundTag(values));
+                                        tileEntities.add(SchematicExporter.toBlockEntity(block, relativeX, relativeY, relativeZ));
                                     }
                                     String blockKey = block.toImmutableState().getAsString();
                                     int blockId;
@@ -0,0 +1,105 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.entity;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_ENTITY;
+
+/**
+ * Entity counts per key (e.g. per plot), indexed by the {@link EntityCategories} caps. Every counted entity counts
+ * towards {@link EntityCategories#CAP_ENTITY}, keys without entities are dropped.
+ * <p>
+ * Counts may be changed from one thread at a time and read from any thread. The stored arrays are replaced rather
+ * than changed, so a read never sees a partial update.
+ *
+ * @param <K> key type
+ */
+public final class EntityCounts<K> {
+
+    private static final int CAPS = 6;
+
+    private final Map<K, int[]> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Move an entity from one key to another
+     *
+     * @param categories the caps the entity counts towards, including {@link EntityCategories#CAP_ENTITY}
+     * @param from       the key the entity was counted for, or {@code null} if it was not counted (e.g. it was added)
+     * @param to         the key to count the entity for, or {@code null} to stop counting it (e.g. it was removed)
+     */
+    public void move(final int @NonNull [] categories, final @Nullable K from, final @Nullable K to) {
+        if (from == null ? to == null : from.equals(to)) {
+            return;
+        }
+        if (from != null) {
+            this.counts.computeIfPresent(from, (key, count) -> {
+                if (count[CAP_ENTITY] <= 1) {
+                    return null;
+                }
+                final int[] updated = count.clone();
+                for (final int category : categories) {
+                    updated[category]--;
+                }
+                return updated;
+            });
+        }
+        if (to != null) {
+            this.counts.compute(to, (key, count) -> {
+                final int[] updated = count == null ? new int[CAPS] : count.clone();
+                for (final int category : categories) {
+                    updated[category]++;
+                }
+                return updated;
+            });
+        }
+    }
+
+    /**
+     * Get the counts of a key
+     *
+     * @param key the key
+     * @return a new array of entity counts, indexed by the {@link EntityCategories} caps
+     */
+    public int @NonNull [] get(final @NonNull K key) {
+        final int[] count = this.counts.get(key);
+        return count == null ? new int[CAPS] : count.clone();
+    }
+
+    /**
+     * Get the number of keys with at least one entity
+     *
+     * @return number of keys
+     */
+    public int size() {
+        return this.counts.size();
+    }
+
+}
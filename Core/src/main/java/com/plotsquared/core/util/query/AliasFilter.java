@@ -36,6 +36,10 @@ class AliasFilter implements PlotFilter {
         this.alias = alias;
     }
 
+    @NonNull String getAlias() {
+        return this.alias;
+    }
+
     @Override
     public boolean accepts(final @NonNull Plot plot) {
         return this.alias.equalsIgnoreCase(plot.getAlias());
@@ -28,9 +28,10 @@ package com.plotsquared.core.util.query;
 import com.plotsquared.core.plot.Plot;
 import com.plotsquared.core.plot.PlotArea;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Stream;
 
 class AreaLimitedPlotProvider implements PlotProvider {
 
@@ -40,13 +41,27 @@ class AreaLimitedPlotProvider implements PlotProvider {
         this.areas = areas;
     }
 
+    Collection<PlotArea> getAreas() {
+        return this.areas;
+    }
+
     @Override
     public Collection<Plot> getPlots() {
-        final List<Plot> plots = new LinkedList<>();
+        final List<Plot> plots = new ArrayList<>();
         for (final PlotArea area : areas) {
             plots.addAll(area.getPlots());
         }
         return plots;
     }
 
+    @Override
+    public Stream<Plot> streamPlots() {
+        return this.areas.stream().flatMap(area -> area.getPlots().stream());
+    }
+
+    @Override
+    public Stream<Plot> parallelStreamPlots() {
+        return this.areas.stream().parallel().flatMap(area -> area.getPlots().stream());
+    }
+
 }
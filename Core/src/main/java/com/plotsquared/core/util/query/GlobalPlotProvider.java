@@ -30,9 +30,11 @@ import com.plotsquared.core.plot.PlotArea;
 import com.plotsquared.core.plot.world.PlotAreaManager;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.Stream;
 
 class GlobalPlotProvider implements PlotProvider {
 
@@ -51,4 +53,18 @@ class GlobalPlotProvider implements PlotProvider {
         return plots;
     }
 
+    @Override
+    public Stream<Plot> streamPlots() {
+        return Arrays.stream(this.plotAreaManager.getAllPlotAreas()).flatMap(area -> area.getPlots().stream());
+    }
+
+    @Override
+    public Stream<Plot> parallelStreamPlots() {
+        return Arrays.stream(this.plotAreaManager.getAllPlotAreas()).parallel().flatMap(area -> area.getPlots().stream());
+    }
+
+    Collection<PlotArea> getAreas() {
+        return Arrays.asList(this.plotAreaManager.getAllPlotAreas());
+    }
+
 }
@@ -0,0 +1,69 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.query;
+
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Provides plots by looking them up in an index of each area,
+ * such as the owner or alias index.
+ */
+class IndexedPlotProvider implements PlotProvider {
+
+    private final Collection<PlotArea> areas;
+    private final Function<PlotArea, Collection<Plot>> lookup;
+
+    IndexedPlotProvider(
+            final @NonNull Collection<PlotArea> areas,
+            final @NonNull Function<PlotArea, Collection<Plot>> lookup
+    ) {
+        this.areas = areas;
+        this.lookup = lookup;
+    }
+
+    @Override
+    public Collection<Plot> getPlots() {
+        final List<Plot> plots = new ArrayList<>();
+        for (final PlotArea area : this.areas) {
+            plots.addAll(this.lookup.apply(area));
+        }
+        return plots;
+    }
+
+    @Override
+    public Stream<Plot> streamPlots() {
+        return this.areas.stream().flatMap(area -> this.lookup.apply(area).stream());
+    }
+
+}
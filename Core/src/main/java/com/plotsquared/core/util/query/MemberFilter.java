@@ -39,6 +39,10 @@ class MemberFilter implements PlotFilter {
         this.uuid = uuid;
     }
 
+    @NonNull UUID getMember() {
+        return this.uuid;
+    }
+
     @Override
     public boolean accepts(final @NonNull Plot plot) {
         return plot.isAdded(uuid);
@@ -39,6 +39,10 @@ class OwnerFilter implements PlotFilter {
         this.owner = owner;
     }
 
+    @NonNull UUID getOwner() {
+        return this.owner;
+    }
+
     @Override
     public boolean accepts(final @NonNull Plot plot) {
         return plot.hasOwner() && Objects.equals(plot.getOwnerAbs(), this.owner);
@@ -39,6 +39,10 @@ class OwnersIncludeFilter implements PlotFilter {
         this.owner = owner;
     }
 
+    @NonNull UUID getOwner() {
+        return this.owner;
+    }
+
     @Override
     public boolean accepts(final @NonNull Plot plot) {
         return plot.isBasePlot() && plot.getOwners().size() > 0 && plot.getOwners().contains(owner);
@@ -28,21 +28,86 @@ package com.plotsquared.core.util.query;
 import com.google.common.base.Preconditions;
 import com.plotsquared.core.plot.Plot;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
- * Paginated collection of plots as a result of a {@link PlotQuery query}
+ * Paginated collection of plots as a result of a {@link PlotQuery query}.
+ * <p>
+ * The result is evaluated lazily every time a page is requested. When the
+ * plots are sorted, only the plots up to the requested page are retained,
+ * using a bounded heap rather than sorting the entire result.
  */
 public final class PaginatedPlotResult {
 
-    private final List<Plot> plots;
+    private final Supplier<Stream<Plot>> plots;
+    private final Comparator<Plot> comparator;
     private final int pageSize;
+    private final boolean parallel;
 
-    PaginatedPlotResult(final @NonNull List<Plot> plots, final int pageSize) {
+    PaginatedPlotResult(
+            final @NonNull Supplier<Stream<Plot>> plots,
+            final @Nullable Comparator<Plot> comparator,
+            final int pageSize,
+            final boolean parallel
+    ) {
         this.plots = plots;
+        this.comparator = comparator;
         this.pageSize = pageSize;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Evaluate an operation on the plot stream, on the query pool if the result was created
+     * from a {@link PlotQuery#parallel() parallel} query and the calling thread may wait for it.
+     */
+    private <T> T evaluate(final @NonNull Function<Stream<Plot>, T> operation) {
+        if (this.parallel && ParallelQueryPool.isAvailable()) {
+            return ParallelQueryPool.evaluate(() -> operation.apply(this.plots.get().parallel()));
+        }
+        return operation.apply(this.plots.get().sequential());
+    }
+
+    /**
+     * Get the first plots of a stream, in the order given by the comparator.
+     * This keeps at most {@code limit} plots in memory at any time.
+     *
+     * @param plots      Plots to select from
+     * @param comparator Comparator
+     * @param limit      Maximum number of plots to return
+     * @return Sorted list containing the first plots
+     */
+    static @NonNull List<Plot> firstSorted(
+            final @NonNull Stream<Plot> plots,
+            final @NonNull Comparator<Plot> comparator,
+            final int limit
+    ) {
+        if (limit <= 0) {
+            return new ArrayList<>(0);
+        }
+        final Comparator<Plot> reversed = comparator.reversed();
+        // The head of the queue is the greatest plot retained so far
+        final PriorityQueue<Plot> heap = new PriorityQueue<>(Math.min(limit, 64) + 1, reversed);
+        plots.forEachOrdered(plot -> {
+            if (heap.size() < limit) {
+                heap.add(plot);
+            } else if (comparator.compare(plot, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(plot);
+            }
+        });
+        final List<Plot> result = new ArrayList<>(heap);
+        result.sort(comparator);
+        return result;
     }
 
     /**
@@ -54,11 +119,17 @@ public final class PaginatedPlotResult {
     public List<Plot> getPage(final int page) {
         Preconditions.checkState(page >= 0, "Page must be positive");
         final int from = (page - 1) * this.pageSize;
-        if (this.plots.size() < from) {
+        if (from < 0) {
+            return Collections.emptyList();
+        }
+        if (this.comparator == null) {
+            return this.evaluate(stream -> stream.skip(from).limit(this.pageSize).collect(Collectors.toList()));
+        }
+        final List<Plot> first = this.evaluate(stream -> firstSorted(stream, this.comparator, from + this.pageSize));
+        if (first.size() <= from) {
             return Collections.emptyList();
         }
-        final int to = Math.max(from + pageSize, this.plots.size());
-        return this.plots.subList(from, to);
+        return first.subList(from, first.size());
     }
 
     /**
@@ -67,7 +138,7 @@ public final class PaginatedPlotResult {
      * @return Available pages
      */
     public int getPages() {
-        return (int) Math.ceil((double) plots.size() / (double) pageSize);
+        return (int) Math.ceil((double) this.evaluate(Stream::count) / (double) pageSize);
     }
 
 }
@@ -0,0 +1,96 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.query;
+
+import com.plotsquared.core.PlotSquared;
+import com.plotsquared.core.configuration.Settings;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool used to evaluate {@link PlotQuery#parallel() parallel} plot queries,
+ * so that they do not compete with the common pool used by other plugins.
+ */
+final class ParallelQueryPool {
+
+    private ParallelQueryPool() {
+    }
+
+    /**
+     * Get the pool used to evaluate parallel queries. The pool is created on first use,
+     * with the parallelism configured in {@link Settings.Query#PARALLELISM}.
+     *
+     * @return Query pool
+     */
+    static ForkJoinPool get() {
+        return Holder.POOL;
+    }
+
+    /**
+     * Check whether the calling thread may wait for the pool. The main thread must not be
+     * blocked for the duration of a query, so queries started from it are evaluated
+     * sequentially on the calling thread instead.
+     *
+     * @return {@code true} if the calling thread is not the main thread
+     */
+    static boolean isAvailable() {
+        final PlotSquared plotSquared = PlotSquared.get();
+        return plotSquared == null || !plotSquared.isMainThread(Thread.currentThread());
+    }
+
+    /**
+     * Run an operation on the pool and wait for its result
+     *
+     * @param operation Operation
+     * @param <T>       Result type
+     * @return Operation result
+     */
+    static <T> T evaluate(final @NonNull Supplier<T> operation) {
+        return get().submit(() -> operation.get()).join();
+    }
+
+    private static final class Holder {
+
+        private static final ForkJoinPool POOL = createPool();
+
+        private static ForkJoinPool createPool() {
+            final int parallelism = Settings.Query.PARALLELISM > 0
+                    ? Settings.Query.PARALLELISM
+                    : Runtime.getRuntime().availableProcessors();
+            return new ForkJoinPool(parallelism, pool -> {
+                final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("PlotSquared Query Worker - " + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            }, null, false);
+        }
+
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.query;
+
+import com.plotsquared.core.database.DBFunc;
+import com.plotsquared.core.plot.Plot;
+import com.plotsquared.core.plot.PlotArea;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Provides the plots that a player owns, or is trusted, a member or denied on,
+ * using the per-area indices. The result is a superset of the plots matching
+ * {@link MemberFilter} and {@link OwnersIncludeFilter}, so the filters still
+ * need to be applied.
+ */
+class PlayerPlotProvider implements PlotProvider {
+
+    private final Collection<PlotArea> areas;
+    private final UUID uuid;
+    private final boolean includeAdded;
+
+    /**
+     * @param areas        Areas to search in
+     * @param uuid         Player UUID
+     * @param includeAdded Whether plots the player is trusted, a member or denied on
+     *                     should be provided, in addition to the owned plots
+     */
+    PlayerPlotProvider(final @NonNull Collection<PlotArea> areas, final @NonNull UUID uuid, final boolean includeAdded) {
+        this.areas = areas;
+        this.uuid = uuid;
+        this.includeAdded = includeAdded;
+    }
+
+    /**
+     * Check whether a player can be resolved using the plot indices. Server plots are
+     * resolved through a flag rather than the stored owner, and need a full scan.
+     *
+     * @param uuid Player UUID
+     * @return {@code true} if the indices can be used
+     */
+    static boolean isIndexed(final @NonNull UUID uuid) {
+        return !DBFunc.SERVER.equals(uuid);
+    }
+
+    @Override
+    public Collection<Plot> getPlots() {
+        final Set<Plot> plots = new HashSet<>();
+        for (final PlotArea area : this.areas) {
+            for (final Plot plot : area.getPlotsAbs(this.uuid)) {
+                // Merged plots are owned by all owners of the connected plots
+                if (plot.isMerged()) {
+                    plots.addAll(plot.getConnectedPlots());
+                } else {
+                    plots.add(plot);
+                }
+            }
+            if (this.includeAdded) {
+                plots.addAll(area.getAddedPlotsAbs(this.uuid));
+                plots.addAll(area.getAddedPlotsAbs(DBFunc.EVERYONE));
+            }
+        }
+        return plots;
+    }
+
+}
@@ -28,10 +28,31 @@ package com.plotsquared.core.util.query;
 import com.plotsquared.core.plot.Plot;
 
 import java.util.Collection;
+import java.util.stream.Stream;
 
 @FunctionalInterface
 interface PlotProvider {
 
     Collection<Plot> getPlots();
 
+    /**
+     * Stream the provided plots. Providers that can produce their plots
+     * lazily should override this to avoid copying them into a collection.
+     *
+     * @return Stream of plots
+     */
+    default Stream<Plot> streamPlots() {
+        return this.getPlots().stream();
+    }
+
+    /**
+     * Stream the provided plots in parallel. Providers backed by large
+     * collections should override this to allow the stream to be split.
+     *
+     * @return Parallel stream of plots
+     */
+    default Stream<Plot> parallelStreamPlots() {
+        return this.getPlots().parallelStream();
+    }
+
 }
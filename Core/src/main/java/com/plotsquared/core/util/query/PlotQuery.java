@@ -47,7 +47,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -65,6 +68,7 @@ public final class PlotQuery implements Iterable<Plot> {
     private SortingStrategy sortingStrategy = SortingStrategy.NO_SORTING;
     private PlotArea priorityArea;
     private Comparator<Plot> plotComparator;
+    private boolean parallel = false;
 
     private PlotQuery(final @NonNull PlotAreaManager plotAreaManager) {
         this.plotAreaManager = plotAreaManager;
@@ -297,12 +301,37 @@ public final class PlotQuery implements Iterable<Plot> {
     }
 
     /**
-     * Get all plots that match the given criteria
+     * Evaluate the query in parallel, using a dedicated pool whose size is configured in
+     * {@link com.plotsquared.core.configuration.Settings.Query#PARALLELISM}. This is meant
+     * for queries that have to inspect a large number of plots. The filters and the sorting
+     * comparator will be invoked from multiple threads, and must not depend on the calling thread.
+     * <p>
+     * The calling thread waits for the result, so queries evaluated from the main thread are
+     * evaluated sequentially instead. Use {@link #asListAsync()} to evaluate a query from the
+     * main thread without blocking it.
+     *
+     * @return The query instance
+     */
+    public @NonNull PlotQuery parallel() {
+        this.parallel = true;
+        return this;
+    }
+
+    /**
+     * Get all plots that match the given criteria. If no sorting strategy is
+     * used, the plots are evaluated lazily as the stream is consumed.
      *
      * @return Matching plots
      */
     public @NonNull Stream<Plot> asStream() {
-        return this.asList().stream();
+        if (this.isParallel()) {
+            return this.asList().stream();
+        }
+        final Comparator<Plot> comparator = this.getComparator();
+        if (comparator == null) {
+            return this.filteredStream();
+        }
+        return this.filteredStream().sorted(comparator);
     }
 
     /**
@@ -311,90 +340,56 @@ public final class PlotQuery implements Iterable<Plot> {
      * @return Matching plots as a mutable
      */
     public @NonNull List<Plot> asList() {
-        final List<Plot> result;
-        if (this.filters.isEmpty()) {
-            result = new ArrayList<>(this.plotProvider.getPlots());
-        } else {
-            final Collection<Plot> plots = this.plotProvider.getPlots();
-            result = new ArrayList<>(plots.size());
-            outer:
-            for (final Plot plot : plots) {
-                for (final PlotFilter filter : this.filters) {
-                    if (!filter.accepts(plot)) {
-                        continue outer;
-                    }
-                }
-                result.add(plot);
-            }
-        }
-        if (this.sortingStrategy == SortingStrategy.NO_SORTING) {
-            return result;
-        } else if (this.sortingStrategy == SortingStrategy.SORT_BY_TEMP) {
-            return PlotSquared.get().sortPlotsByTemp(result);
-        } else if (this.sortingStrategy == SortingStrategy.SORT_BY_DONE) {
-            result.sort((a, b) -> {
-                String va = a.getFlag(DoneFlag.class);
-                String vb = b.getFlag(DoneFlag.class);
-                if (MathMan.isInteger(va)) {
-                    if (MathMan.isInteger(vb)) {
-                        return Integer.parseInt(vb) - Integer.parseInt(va);
-                    }
-                    return -1;
-                }
-                return 1;
-            });
-        } else if (this.sortingStrategy == SortingStrategy.SORT_BY_RATING) {
-            result.sort((p1, p2) -> {
-                double v1 = 0;
-                int p1s = p1.getSettings().getRatings().size();
-                int p2s = p2.getRatings().size();
-                if (!p1.getSettings().getRatings().isEmpty()) {
-                    v1 = p1.getRatings().values().stream().mapToDouble(Rating::getAverageRating)
-                            .map(av -> av * av).sum();
-                    v1 /= p1s;
-                    v1 += p1s;
-                }
-                double v2 = 0;
-                if (!p2.getSettings().getRatings().isEmpty()) {
-                    for (Map.Entry<UUID, Rating> entry : p2.getRatings().entrySet()) {
-                        double av = entry.getValue().getAverageRating();
-                        v2 += av * av;
-                    }
-                    v2 /= p2s;
-                    v2 += p2s;
-                }
-                if (v2 == v1 && v2 != 0) {
-                    return p2s - p1s;
-                }
-                return (int) Math.signum(v2 - v1);
+        final Comparator<Plot> comparator = this.getComparator();
+        if (this.isParallel()) {
+            // Each partition is filtered and sorted by the pool, and the results are merged
+            return this.evaluate(() -> {
+                final Stream<Plot> stream = this.filteredStream();
+                return (comparator == null ? stream : stream.sorted(comparator))
+                        .collect(Collectors.toCollection(ArrayList::new));
             });
-        } else if (this.sortingStrategy == SortingStrategy.SORT_BY_CREATION) {
-            return PlotSquared.get().sortPlots(result, PlotSquared.SortType.CREATION_DATE, this.priorityArea);
-        } else if (this.sortingStrategy == SortingStrategy.COMPARATOR) {
-            result.sort(this.plotComparator);
+        }
+        final List<Plot> result = this.filteredStream().collect(Collectors.toCollection(ArrayList::new));
+        if (comparator != null) {
+            result.sort(comparator);
         }
         return result;
     }
 
+    /**
+     * Get all plots that match the given criteria, evaluated on the query pool. If the query
+     * is {@link #parallel() parallel}, the plots are filtered and sorted in parallel.
+     *
+     * @return Future completed with the matching plots as a mutable list
+     */
+    public @NonNull CompletableFuture<List<Plot>> asListAsync() {
+        return CompletableFuture.supplyAsync(this::asList, ParallelQueryPool.get());
+    }
+
     /**
      * Get all plots that match the given criteria
      *
      * @return Matching plots as a mutable set
      */
     public @NonNull Set<Plot> asSet() {
-        return new HashSet<>(this.asList());
+        return this.evaluate(() -> this.filteredStream().collect(Collectors.toCollection(HashSet::new)));
     }
 
     /**
      * Get all plots that match the given criteria
-     * in the form of a {@link PaginatedPlotResult}
+     * in the form of a {@link PaginatedPlotResult}.
+     * <p>
+     * The result is evaluated lazily when a page is requested. Only
+     * the plots up to the requested page are kept in memory.
      *
      * @param pageSize The size of the pages. Must be positive.
      * @return Paginated plot result
      */
     public @NonNull PaginatedPlotResult getPaginated(final int pageSize) {
         Preconditions.checkState(pageSize > 0, "Page size must be greater than 0");
-        return new PaginatedPlotResult(this.asList(), pageSize);
+        final PlotProvider provider = this.resolveProvider();
+        final List<PlotFilter> filters = new ArrayList<>(this.filters);
+        return new PaginatedPlotResult(() -> filter(provider.streamPlots(), filters), this.getComparator(), pageSize, this.parallel);
     }
 
     /**
@@ -412,7 +407,7 @@ public final class PlotQuery implements Iterable<Plot> {
      * @return Result count
      */
     public int count() {
-        return this.asList().size();
+        return this.evaluate(() -> (int) this.filteredStream().count());
     }
 
     /**
@@ -422,22 +417,174 @@ public final class PlotQuery implements Iterable<Plot> {
      * @return true if any provided plot matches the filters.
      */
     public boolean anyMatch() {
-        if (this.filters.isEmpty()) {
-            return !this.plotProvider.getPlots().isEmpty();
+        return this.evaluate(() -> this.filteredStream().findAny().isPresent());
+    }
+
+    /**
+     * Stream the plots of the cheapest provider that passes all filters
+     *
+     * @return Unsorted stream of matching plots
+     */
+    @NonNull
+    private Stream<Plot> filteredStream() {
+        final PlotProvider provider = this.resolveProvider();
+        return filter(this.isParallel() ? provider.parallelStreamPlots() : provider.streamPlots(), this.filters);
+    }
+
+    /**
+     * Check whether this query is {@link #parallel() parallel} and may be evaluated on the
+     * query pool from the calling thread.
+     *
+     * @return {@code true} if the query should be evaluated in parallel
+     */
+    private boolean isParallel() {
+        return this.parallel && ParallelQueryPool.isAvailable();
+    }
+
+    /**
+     * Run a terminal operation on the parallel query pool if this query
+     * is {@link #parallel() parallel}, or on the calling thread otherwise.
+     *
+     * @param operation Terminal operation
+     * @param <T>       Result type
+     * @return Operation result
+     */
+    private <T> T evaluate(final @NonNull Supplier<T> operation) {
+        if (!this.isParallel()) {
+            return operation.get();
+        }
+        return ParallelQueryPool.evaluate(operation);
+    }
+
+    @NonNull
+    private static Stream<Plot> filter(final @NonNull Stream<Plot> stream, final @NonNull Collection<PlotFilter> filters) {
+        Stream<Plot> result = stream;
+        for (final PlotFilter filter : filters) {
+            result = result.filter(filter);
+        }
+        return result;
+    }
+
+    /**
+     * Get the provider that will be used to evaluate the query. Queries over areas
+     * that filter on an indexed property are answered using the per-area plot indices
+     * rather than scanning every plot. Aliases are the most selective index, followed
+     * by owners and then by the owner and membership indices. All filters are still
+     * applied to the provided plots.
+     *
+     * @return Plot provider
+     */
+    @NonNull
+    private PlotProvider resolveProvider() {
+        final Collection<PlotArea> areas;
+        if (this.plotProvider instanceof final GlobalPlotProvider globalPlotProvider) {
+            areas = globalPlotProvider.getAreas();
+        } else if (this.plotProvider instanceof final AreaLimitedPlotProvider areaLimitedPlotProvider) {
+            areas = areaLimitedPlotProvider.getAreas();
         } else {
-            final Collection<Plot> plots = this.plotProvider.getPlots();
-            outer:
-            for (final Plot plot : plots) {
-                // a plot must pass all filters to match the criteria
-                for (final PlotFilter filter : this.filters) {
-                    if (!filter.accepts(plot)) {
-                        continue outer;
+            return this.plotProvider;
+        }
+        PlotProvider memberProvider = null;
+        PlotProvider ownerProvider = null;
+        for (final PlotFilter filter : this.filters) {
+            if (filter instanceof final AliasFilter aliasFilter) {
+                return new IndexedPlotProvider(areas, area -> area.getPlotsByAlias(aliasFilter.getAlias()));
+            } else if (filter instanceof final OwnerFilter ownerFilter && ownerProvider == null) {
+                ownerProvider = new IndexedPlotProvider(areas, area -> area.getPlotsAbs(ownerFilter.getOwner()));
+            } else if (filter instanceof final MemberFilter memberFilter && memberProvider == null
+                    && PlayerPlotProvider.isIndexed(memberFilter.getMember())) {
+                memberProvider = new PlayerPlotProvider(areas, memberFilter.getMember(), true);
+            } else if (filter instanceof final OwnersIncludeFilter ownersIncludeFilter && memberProvider == null
+                    && PlayerPlotProvider.isIndexed(ownersIncludeFilter.getOwner())) {
+                memberProvider = new PlayerPlotProvider(areas, ownersIncludeFilter.getOwner(), false);
+            }
+        }
+        if (ownerProvider != null) {
+            return ownerProvider;
+        }
+        if (memberProvider != null) {
+            return memberProvider;
+        }
+        return this.plotProvider;
+    }
+
+    /**
+     * Get the comparator corresponding to the sorting strategy
+     *
+     * @return Comparator, or {@code null} if the plots should not be sorted
+     */
+    private Comparator<Plot> getComparator() {
+        return switch (this.sortingStrategy) {
+            case NO_SORTING -> null;
+            case SORT_BY_TEMP -> PlotQuery::compareByTemp;
+            case SORT_BY_DONE -> (a, b) -> {
+                String va = a.getFlag(DoneFlag.class);
+                String vb = b.getFlag(DoneFlag.class);
+                if (MathMan.isInteger(va)) {
+                    if (MathMan.isInteger(vb)) {
+                        return Integer.parseInt(vb) - Integer.parseInt(va);
                     }
+                    return -1;
+                }
+                return 1;
+            };
+            case SORT_BY_RATING -> (p1, p2) -> {
+                double v1 = 0;
+                int p1s = p1.getSettings().getRatings().size();
+                int p2s = p2.getRatings().size();
+                if (!p1.getSettings().getRatings().isEmpty()) {
+                    v1 = p1.getRatings().values().stream().mapToDouble(Rating::getAverageRating)
+                            .map(av -> av * av).sum();
+                    v1 /= p1s;
+                    v1 += p1s;
                 }
-                return true; // a plot passed all filters, so we have a match
+                double v2 = 0;
+                if (!p2.getSettings().getRatings().isEmpty()) {
+                    for (Map.Entry<UUID, Rating> entry : p2.getRatings().entrySet()) {
+                        double av = entry.getValue().getAverageRating();
+                        v2 += av * av;
+                    }
+                    v2 /= p2s;
+                    v2 += p2s;
+                }
+                if (v2 == v1 && v2 != 0) {
+                    return p2s - p1s;
+                }
+                return (int) Math.signum(v2 - v1);
+            };
+            case SORT_BY_CREATION -> {
+                final PlotArea priorityArea = this.priorityArea;
+                final Comparator<PlotArea> areaComparator = (a, b) -> {
+                    if (a == b) {
+                        return 0;
+                    }
+                    if (priorityArea != null) {
+                        if (a.equals(priorityArea)) {
+                            return -1;
+                        } else if (b.equals(priorityArea)) {
+                            return 1;
+                        }
+                    }
+                    return Integer.compare(a.hashCode(), b.hashCode());
+                };
+                yield Comparator.comparing(Plot::getArea, areaComparator).thenComparing(PlotQuery::compareByTemp);
             }
-            return false;
+            case COMPARATOR -> this.plotComparator;
+        };
+    }
+
+    /**
+     * Compare plots by their temporary (magic) plot ID. Plots without an ID
+     * are sorted last, by hash code.
+     */
+    private static int compareByTemp(final @NonNull Plot a, final @NonNull Plot b) {
+        if (a.temp > 0) {
+            return b.temp > 0 ? Integer.compare(a.temp, b.temp) : -1;
+        }
+        if (b.temp > 0) {
+            return 1;
         }
+        return Integer.compare(a.hashCode(), b.hashCode());
     }
 
     @NonNull
@@ -449,7 +596,7 @@ public final class PlotQuery implements Iterable<Plot> {
     @NonNull
     @Override
     public Iterator<Plot> iterator() {
-        return this.asCollection().iterator();
+        return this.asStream().iterator();
     }
 
 }
@@ -0,0 +1,64 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.collection;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class RegionIndexTest {
+
+    private static CuboidRegion region(int minX, int minZ, int maxX, int maxZ) {
+        return new CuboidRegion(BlockVector3.at(minX, 0, minZ), BlockVector3.at(maxX, 255, maxZ));
+    }
+
+    @Test
+    public void lookup() {
+        CuboidRegion first = region(0, 0, 99, 99);
+        CuboidRegion second = region(-2000, -2000, -1001, -1001);
+        RegionIndex<CuboidRegion> index = RegionIndex.<CuboidRegion>empty(region -> region, 4).with(first).with(second);
+        Assertions.assertSame(first, index.get(50, 64, 50));
+        Assertions.assertSame(second, index.get(-1500, -1500));
+        Assertions.assertNull(index.get(50, 300, 50));
+        Assertions.assertNull(index.get(100, 64, 100));
+        Assertions.assertEquals(1, index.getIntersecting(region(90, 90, 200, 200)).size());
+    }
+
+    @Test
+    public void insertionOrder() {
+        // the large region is not bucketed, but still wins as it was added first
+        CuboidRegion large = region(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+        CuboidRegion small = region(0, 0, 15, 15);
+        RegionIndex<CuboidRegion> index = RegionIndex.<CuboidRegion>empty(region -> region, 4).with(large).with(small);
+        Assertions.assertSame(large, index.get(5, 5));
+        index = index.without(large);
+        Assertions.assertSame(small, index.get(5, 5));
+        Assertions.assertEquals(1, index.size());
+        Assertions.assertSame(index, index.without(large));
+    }
+
+}
@@ -0,0 +1,211 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.database;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class ConnectionPoolTest {
+
+    @Test
+    public void reusesIdleConnections() throws SQLException {
+        final TestDatabase database = new TestDatabase();
+        final ConnectionPool pool = new ConnectionPool(database, 2, 100, TimeUnit.MILLISECONDS);
+        final Connection first;
+        try (ConnectionPool.Lease lease = pool.acquire()) {
+            first = lease.getConnection();
+            Assertions.assertEquals(1, pool.getActiveConnections());
+        }
+        Assertions.assertEquals(0, pool.getActiveConnections());
+        try (ConnectionPool.Lease lease = pool.acquire()) {
+            Assertions.assertSame(first, lease.getConnection());
+        }
+        Assertions.assertEquals(1, database.connections.size());
+        Assertions.assertEquals(1, pool.getOpenConnections());
+        Assertions.assertEquals(2, pool.getAcquiredCount());
+    }
+
+    @Test
+    public void timesOutWhenExhausted() throws SQLException {
+        final TestDatabase database = new TestDatabase();
+        final ConnectionPool pool = new ConnectionPool(database, 1, 10, TimeUnit.MILLISECONDS);
+        try (ConnectionPool.Lease ignored = pool.acquire()) {
+            Assertions.assertThrows(SQLTimeoutException.class, pool::acquire);
+        }
+        Assertions.assertEquals(1, pool.getTimeoutCount());
+        try (ConnectionPool.Lease lease = pool.acquire()) {
+            Assertions.assertNotNull(lease.getConnection());
+        }
+    }
+
+    @Test
+    public void cachesStatementsPerConnection() throws SQLException {
+        final ConnectionPool pool = new ConnectionPool(new TestDatabase(), 1, 100, TimeUnit.MILLISECONDS);
+        final PreparedStatement statement;
+        try (ConnectionPool.Lease lease = pool.acquire()) {
+            statement = lease.prepare("SELECT 1");
+            Assertions.assertSame(statement, lease.prepare("SELECT 1"));
+            Assertions.assertNotSame(statement, lease.prepare("SELECT 2"));
+        }
+        try (ConnectionPool.Lease lease = pool.acquire()) {
+            Assertions.assertSame(statement, lease.prepare("SELECT 1"));
+        }
+    }
+
+    @Test
+    public void closeClosesConnections() throws SQLException {
+        final TestDatabase database = new TestDatabase();
+        final ConnectionPool pool = new ConnectionPool(database, 2, 100, TimeUnit.MILLISECONDS);
+        final ConnectionPool.Lease leased = pool.acquire();
+        pool.acquire().close();
+        pool.close();
+        Assertions.assertEquals(1, database.closed);
+        leased.close();
+        Assertions.assertEquals(2, database.closed);
+        Assertions.assertEquals(0, pool.getOpenConnections());
+        Assertions.assertThrows(SQLException.class, pool::acquire);
+    }
+
+    @Test
+    public void failedOpenDoesNotLeakCapacity() throws SQLException {
+        final TestDatabase database = new TestDatabase();
+        database.fail = true;
+        final ConnectionPool pool = new ConnectionPool(database, 1, 10, TimeUnit.MILLISECONDS);
+        Assertions.assertThrows(SQLException.class, pool::acquire);
+        Assertions.assertEquals(1, pool.getFailureCount());
+        Assertions.assertEquals(0, pool.getOpenConnections());
+        database.fail = false;
+        try (ConnectionPool.Lease lease = pool.acquire()) {
+            Assertions.assertNotNull(lease.getConnection());
+        }
+    }
+
+    @Test
+    public void reportsHealth() {
+        final TestDatabase database = new TestDatabase();
+        final ConnectionPool pool = new ConnectionPool(database, 1, 10, TimeUnit.MILLISECONDS);
+        Assertions.assertTrue(pool.isHealthy());
+        Assertions.assertEquals(0, pool.getActiveConnections());
+        pool.close();
+        Assertions.assertFalse(pool.isHealthy());
+    }
+
+    private static final class TestDatabase extends Database {
+
+        private final List<Connection> connections = new ArrayList<>();
+        private int closed;
+        private boolean fail;
+
+        @Override
+        public Connection createConnection() throws SQLException {
+            if (this.fail) {
+                throw new SQLException("Connection refused");
+            }
+            final boolean[] open = {true};
+            final Connection connection = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "isValid" -> open[0];
+                        case "isClosed" -> !open[0];
+                        case "close" -> {
+                            if (open[0]) {
+                                open[0] = false;
+                                this.closed++;
+                            }
+                            yield null;
+                        }
+                        case "prepareStatement" -> statement();
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> null;
+                    }
+            );
+            this.connections.add(connection);
+            return connection;
+        }
+
+        private static PreparedStatement statement() {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "isClosed" -> false;
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        default -> null;
+                    }
+            );
+        }
+
+        @Override
+        public Connection forceConnection() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Connection openConnection() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean checkConnection() {
+            return true;
+        }
+
+        @Override
+        public Connection getConnection() {
+            return null;
+        }
+
+        @Override
+        public boolean closeConnection() {
+            return true;
+        }
+
+        @Override
+        public ResultSet querySQL(String query) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int updateSQL(String query) {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.database;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+
+public class StatementQueueTest {
+
+    @Test
+    public void tracksUncommittedStatementsPerKey() {
+        final StatementQueue<String> queue = new StatementQueue<>();
+        queue.add("a", statement(null));
+        queue.add("b", statement(null));
+        Assertions.assertTrue(queue.isUncommitted("a"));
+        Assertions.assertFalse(queue.isUncommitted("c"));
+
+        queue.drain();
+        Assertions.assertEquals(2, queue.poll().size());
+        // Polled statements are not visible to other connections until they are committed
+        Assertions.assertTrue(queue.isUncommitted("a"));
+        queue.committed();
+        Assertions.assertFalse(queue.isUncommitted("a"));
+        Assertions.assertFalse(queue.hasUncommitted());
+    }
+
+    @Test
+    public void releasesCoalescedStatements() {
+        final StatementQueue<String> queue = new StatementQueue<>();
+        queue.add("a", statement("flag"));
+        queue.add("a", statement("flag"));
+        Assertions.assertEquals(1, queue.drain());
+        Assertions.assertEquals(1, queue.poll().size());
+        Assertions.assertFalse(queue.hasPending());
+        queue.committed();
+        Assertions.assertFalse(queue.hasUncommitted());
+    }
+
+    @Test
+    public void tracksStatementsWithoutKey() {
+        final StatementQueue<String> queue = new StatementQueue<>();
+        queue.add(null, statement(null));
+        Assertions.assertTrue(queue.isUncommitted(null));
+        queue.drain();
+        queue.poll();
+        queue.committed();
+        Assertions.assertFalse(queue.hasUncommitted());
+    }
+
+    private static SQLManager.UniqueStatement statement(final Object coalesceKey) {
+        return new SQLManager.UniqueStatement("test", coalesceKey) {
+            @Override
+            public PreparedStatement get() {
+                return null;
+            }
+
+            @Override
+            public void set(PreparedStatement statement) {
+            }
+        };
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.generator;
+
+import com.plotsquared.core.plot.expiration.PlotAnalysis;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class HybridRegionAnalysisTest {
+
+    private static final int HEIGHT = 256;
+
+    @Test
+    public void stitchesFacesAcrossPartialChunks() {
+        // Starts and ends within chunks, and crosses the chunk 0 boundary on z
+        assertMatchesRegion(5, -7, 40, 20, 1);
+        assertMatchesRegion(5, -7, 40, 20, 2);
+    }
+
+    @Test
+    public void stitchesFacesWithinOneChunk() {
+        assertMatchesRegion(3, 4, 12, 9, 3);
+    }
+
+    @Test
+    public void stitchesFacesAlongChunkBorders() {
+        // Region edges on chunk borders, so border chunks have no neighbours to wait for
+        assertMatchesRegion(16, 16, 47, 31, 4);
+    }
+
+    private static void assertMatchesRegion(int bx, int bz, int tx, int tz, long seed) {
+        Random random = new Random(seed);
+        int width = tx - bx + 1;
+        int length = tz - bz + 1;
+        boolean[][][] air = new boolean[width][HEIGHT][length];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < HEIGHT; y++) {
+                for (int z = 0; z < length; z++) {
+                    air[x][y][z] = y > 200 || random.nextInt(3) == 0;
+                }
+            }
+        }
+
+        List<int[]> chunks = new ArrayList<>();
+        for (int chunkX = bx >> 4; chunkX <= tx >> 4; chunkX++) {
+            for (int chunkZ = bz >> 4; chunkZ <= tz >> 4; chunkZ++) {
+                chunks.add(new int[]{chunkX, chunkZ});
+            }
+        }
+        Collections.shuffle(chunks, random);
+
+        HybridRegionAnalysis analysis = new HybridRegionAnalysis(bx, bz, tx, tz);
+        for (int[] chunk : chunks) {
+            boolean[] blocks = new boolean[16 * HEIGHT * 16];
+            for (int x = 0; x < 16; x++) {
+                int rx = (chunk[0] << 4) + x - bx;
+                for (int z = 0; z < 16; z++) {
+                    int rz = (chunk[1] << 4) + z - bz;
+                    for (int y = 0; y < HEIGHT; y++) {
+                        // Blocks outside of the region must not be read
+                        blocks[(y << 8) | (z << 4) | x] = rx < 0 || rz < 0 || rx >= width || rz >= length || air[rx][y][rz];
+                    }
+                }
+            }
+            analysis.accept(chunk[0], chunk[1], blocks);
+        }
+        PlotAnalysis result = analysis.toAnalysis();
+
+        long[] faces = new long[width * length];
+        long[] airs = new long[width * length];
+        for (int x = 0; x < width; x++) {
+            for (int z = 0; z < length; z++) {
+                for (int y = 0; y < HEIGHT; y++) {
+                    if (air[x][y][z]) {
+                        airs[x * length + z]++;
+                    }
+                }
+                if (x == 0 || z == 0 || x == width - 1 || z == length - 1) {
+                    continue;
+                }
+                for (int y = 1; y < HEIGHT - 1; y++) {
+                    if (air[x][y][z]) {
+                        continue;
+                    }
+                    int count = 0;
+                    count += air[x - 1][y][z] ? 1 : 0;
+                    count += air[x + 1][y][z] ? 1 : 0;
+                    count += air[x][y - 1][z] ? 1 : 0;
+                    count += air[x][y + 1][z] ? 1 : 0;
+                    count += air[x][y][z - 1] ? 1 : 0;
+                    count += air[x][y][z + 1] ? 1 : 0;
+                    faces[x * length + z] += count;
+                }
+            }
+        }
+        Assertions.assertEquals(mean(faces), result.faces);
+        Assertions.assertEquals(deviation(faces), result.faces_sd);
+        Assertions.assertEquals(mean(airs), result.air);
+        Assertions.assertEquals(deviation(airs), result.air_sd);
+        Assertions.assertEquals(0, result.changes);
+    }
+
+    private static int mean(long[] values) {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return (int) ((double) sum / values.length * 100);
+    }
+
+    private static int deviation(long[] values) {
+        int mean = mean(values);
+        long squares = 0;
+        for (long value : values) {
+            squares += (value - mean) * (value - mean);
+        }
+        return (int) (Math.sqrt((double) squares / values.length) * 100);
+    }
+
+}
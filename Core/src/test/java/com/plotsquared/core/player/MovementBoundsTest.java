@@ -0,0 +1,68 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.player;
+
+import com.plotsquared.core.location.Location;
+import com.plotsquared.core.plot.PlotId;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MovementBoundsTest {
+
+    @Test
+    public void containsColumnsWithinCorners() {
+        final MovementBounds bounds = MovementBounds.of(
+                "world", null, PlotId.of(1, 1), Location.at("world", 10, 0, 20), Location.at("world", 40, 255, 50)
+        );
+        Assertions.assertTrue(bounds.contains("world", 10, 20));
+        Assertions.assertTrue(bounds.contains("world", 40, 50));
+        Assertions.assertTrue(bounds.contains("world", 25, 35));
+        Assertions.assertFalse(bounds.contains("world", 9, 35));
+        Assertions.assertFalse(bounds.contains("world", 41, 35));
+        Assertions.assertFalse(bounds.contains("world", 25, 19));
+        Assertions.assertFalse(bounds.contains("world", 25, 51));
+    }
+
+    @Test
+    public void normalizesSwappedCorners() {
+        final MovementBounds bounds = MovementBounds.of(
+                "world", null, PlotId.of(-1, -1), Location.at("world", -10, 0, -20), Location.at("world", -40, 255, -50)
+        );
+        Assertions.assertTrue(bounds.contains("world", -10, -20));
+        Assertions.assertTrue(bounds.contains("world", -40, -50));
+        Assertions.assertFalse(bounds.contains("world", -9, -20));
+        Assertions.assertFalse(bounds.contains("world", -40, -51));
+    }
+
+    @Test
+    public void excludesOtherWorlds() {
+        final MovementBounds bounds = MovementBounds.of(
+                "world", null, PlotId.of(1, 1), Location.at("world", 10, 0, 20), Location.at("world", 40, 255, 50)
+        );
+        Assertions.assertFalse(bounds.contains("world_nether", 25, 35));
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+public class PlotOwnerIndexTest {
+
+    @Test
+    public void addAndRemove() {
+        PlotOwnerIndex index = new PlotOwnerIndex();
+        UUID owner = UUID.randomUUID();
+        index.add(owner, PlotId.of(0, 0), false);
+        index.add(owner, PlotId.of(0, 1), true);
+        index.add(null, PlotId.of(1, 1), false);
+        Assertions.assertTrue(index.contains(owner));
+        Assertions.assertEquals(2, index.count(owner, true));
+        Assertions.assertEquals(1, index.count(owner, false));
+        index.remove(owner, PlotId.of(0, 1));
+        Assertions.assertEquals(1, index.count(owner, true));
+        Assertions.assertEquals(1, index.count(owner, false));
+        index.remove(owner, PlotId.of(0, 0));
+        Assertions.assertFalse(index.contains(owner));
+        Assertions.assertTrue(index.getPlotIds(owner).isEmpty());
+    }
+
+    @Test
+    public void doneStatus() {
+        PlotOwnerIndex index = new PlotOwnerIndex();
+        UUID owner = UUID.randomUUID();
+        PlotId id = PlotId.of(2, 3);
+        index.add(owner, id, false);
+        index.setDone(owner, id, true);
+        // repeated updates must not be counted twice
+        index.setDone(owner, id, true);
+        Assertions.assertEquals(0, index.count(owner, false));
+        index.setDone(owner, id, false);
+        Assertions.assertEquals(1, index.count(owner, false));
+        // plots that are not indexed are ignored
+        index.setDone(owner, PlotId.of(5, 5), true);
+        Assertions.assertEquals(1, index.count(owner, true));
+    }
+
+}
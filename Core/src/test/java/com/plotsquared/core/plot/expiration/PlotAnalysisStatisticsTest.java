@@ -0,0 +1,86 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.plot.expiration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class PlotAnalysisStatisticsTest {
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void rankMatchesLegacyRank() {
+        Random random = new Random(42);
+        for (int bound : new int[]{5, 102400}) {
+            int[] values = new int[20000];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(bound);
+            }
+            Assertions.assertArrayEquals(PlotAnalysis.rank(values), PlotAnalysisStatistics.rank(values));
+        }
+    }
+
+    @Test
+    public void spearman() {
+        int[] ascending = {1, 2, 3, 4, 5};
+        int[] descending = {5, 4, 3, 2, 1};
+        Assertions.assertEquals(1, PlotAnalysisStatistics.spearman(ascending, ascending), 1e-9);
+        Assertions.assertEquals(-1, PlotAnalysisStatistics.spearman(ascending, descending), 1e-9);
+        // large enough to overflow the legacy int arithmetic
+        int[] values = new int[100000];
+        int[] reversed = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+            reversed[i] = -i;
+        }
+        Assertions.assertEquals(
+                -1,
+                PlotAnalysisStatistics.spearman(PlotAnalysisStatistics.rank(values), PlotAnalysisStatistics.rank(reversed)),
+                1e-9
+        );
+    }
+
+    @Test
+    public void modifiers() {
+        PlotAnalysisDataset dataset = new PlotAnalysisDataset(0);
+        for (int i = 0; i < 100; i++) {
+            PlotAnalysis analysis = new PlotAnalysis();
+            analysis.changes = i;
+            analysis.faces = 7;
+            dataset.add(analysis, i * 3);
+        }
+        double[] correlations = PlotAnalysisStatistics.correlations(dataset);
+        Assertions.assertEquals(1, correlations[0], 1e-9);
+        int[] modifiers = PlotAnalysisStatistics.modifiers(dataset, correlations);
+        // perfectly correlated columns and empty columns do not contribute
+        Assertions.assertEquals(0, modifiers[0]);
+        Assertions.assertEquals(0, modifiers[2]);
+        Assertions.assertEquals(100, dataset.size());
+    }
+
+}
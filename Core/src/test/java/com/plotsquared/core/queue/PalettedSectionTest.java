@@ -0,0 +1,68 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.queue;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+public class PalettedSectionTest {
+
+    @Test
+    public void singleValue() {
+        PalettedSection<String> section = new PalettedSection<>();
+        Assertions.assertTrue(section.isEmpty());
+        Assertions.assertNull(section.get(100));
+        section.fill("stone");
+        Assertions.assertFalse(section.isEmpty());
+        Assertions.assertEquals("stone", section.getSingleValue());
+        section.set(5, "stone");
+        Assertions.assertEquals("stone", section.getSingleValue());
+        section.set(5, "dirt");
+        Assertions.assertNull(section.getSingleValue());
+        Assertions.assertEquals("dirt", section.get(5));
+        Assertions.assertEquals("stone", section.get(6));
+    }
+
+    @Test
+    public void matchesArray() {
+        // enough distinct values to grow the index width several times
+        Random random = new Random(42);
+        PalettedSection<Integer> section = new PalettedSection<>();
+        Integer[] expected = new Integer[PalettedSection.SIZE];
+        for (int i = 0; i < 20000; i++) {
+            int j = random.nextInt(PalettedSection.SIZE);
+            Integer value = random.nextInt(10) == 0 ? null : random.nextInt(i / 40 + 1);
+            section.set(j, value);
+            expected[j] = value;
+        }
+        for (int j = 0; j < PalettedSection.SIZE; j++) {
+            Assertions.assertEquals(expected[j], section.get(j));
+        }
+    }
+
+}
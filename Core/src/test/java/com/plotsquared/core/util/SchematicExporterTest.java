@@ -0,0 +1,171 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util;
+
+import com.sk89q.jnbt.ByteArrayTag;
+import com.sk89q.jnbt.CompoundTag;
+import com.sk89q.jnbt.IntArrayTag;
+import com.sk89q.jnbt.IntTag;
+import com.sk89q.jnbt.ListTag;
+import com.sk89q.jnbt.NBTInputStream;
+import com.sk89q.jnbt.NamedTag;
+import com.sk89q.jnbt.ShortTag;
+import com.sk89q.jnbt.StringTag;
+import com.sk89q.jnbt.Tag;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+public class SchematicExporterTest {
+
+    @Test
+    public void writtenSchematicReadsBack() throws IOException {
+        Random random = new Random(7);
+        // Enough palette entries for two and three byte varints
+        List<String> blockPalette = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            blockPalette.add("minecraft:block_" + i);
+        }
+        // Two segments, as large regions are split over several mapped buffers
+        char[] ids = new char[3 * 5 * 7 * 2];
+        ByteBuffer[] blockData = {ByteBuffer.allocate(ids.length), ByteBuffer.allocate(ids.length)};
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = (char) random.nextInt(blockPalette.size());
+            blockData[i * 2 / ids.length].putChar(ids[i]);
+        }
+        List<String> biomePalette = List.of("minecraft:plains", "minecraft:desert");
+        char[] biomes = new char[3 * 7];
+        for (int i = 0; i < biomes.length; i++) {
+            biomes[i] = (char) random.nextInt(biomePalette.size());
+        }
+        Map<String, Tag> entity = new HashMap<>();
+        entity.put("Id", new StringTag("minecraft:chest"));
+        entity.put("Pos", new IntArrayTag(new int[]{1, 2, 3}));
+        Map<String, Tag> header = new HashMap<>();
+        header.put("Version", new IntTag(2));
+        header.put("Width", new ShortTag((short) 3));
+        header.put("Height", new ShortTag((short) 10));
+        header.put("Length", new ShortTag((short) 7));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        SchematicExporter.write(
+                output,
+                header,
+                blockPalette,
+                blockData,
+                Collections.singletonList(new CompoundTag(entity)),
+                biomePalette,
+                biomes
+        );
+
+        NamedTag root;
+        try (NBTInputStream input = new NBTInputStream(new GZIPInputStream(new ByteArrayInputStream(output.toByteArray())))) {
+            root = input.readNamedTag();
+        }
+        Assertions.assertEquals("Schematic", root.getName());
+        Map<String, Tag> schematic = ((CompoundTag) root.getTag()).getValue();
+        Assertions.assertEquals(2, ((IntTag) schematic.get("Version")).getValue());
+        Assertions.assertEquals(3, ((ShortTag) schematic.get("Width")).getValue().intValue());
+        Assertions.assertEquals(10, ((ShortTag) schematic.get("Height")).getValue().intValue());
+        Assertions.assertEquals(7, ((ShortTag) schematic.get("Length")).getValue().intValue());
+
+        Assertions.assertEquals(blockPalette.size(), ((IntTag) schematic.get("PaletteMax")).getValue());
+        Map<String, Tag> palette = ((CompoundTag) schematic.get("Palette")).getValue();
+        Assertions.assertEquals(blockPalette.size(), palette.size());
+        for (int i = 0; i < blockPalette.size(); i++) {
+            Assertions.assertEquals(i, ((IntTag) palette.get(blockPalette.get(i))).getValue());
+        }
+        int[] readIds = readVarInts(((ByteArrayTag) schematic.get("BlockData")).getValue(), ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            Assertions.assertEquals(ids[i], readIds[i]);
+        }
+
+        List<Tag> entities = ((ListTag) schematic.get("BlockEntities")).getValue();
+        Assertions.assertEquals(1, entities.size());
+        Assertions.assertEquals("minecraft:chest", ((CompoundTag) entities.get(0)).getString("Id"));
+
+        Assertions.assertEquals(biomePalette.size(), ((IntTag) schematic.get("BiomePaletteMax")).getValue());
+        Map<String, Tag> readBiomePalette = ((CompoundTag) schematic.get("BiomePalette")).getValue();
+        Assertions.assertEquals(1, ((IntTag) readBiomePalette.get("minecraft:desert")).getValue());
+        int[] readBiomes = readVarInts(((ByteArrayTag) schematic.get("BiomeData")).getValue(), biomes.length);
+        for (int i = 0; i < biomes.length; i++) {
+            Assertions.assertEquals(biomes[i], readBiomes[i]);
+        }
+    }
+
+    @Test
+    public void biomesAreOptional() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        SchematicExporter.write(
+                output,
+                new HashMap<>(),
+                List.of("minecraft:air"),
+                new ByteBuffer[]{ByteBuffer.allocate(8)},
+                Collections.emptyList(),
+                Collections.emptyList(),
+                new char[0]
+        );
+        NamedTag root;
+        try (NBTInputStream input = new NBTInputStream(new GZIPInputStream(new ByteArrayInputStream(output.toByteArray())))) {
+            root = input.readNamedTag();
+        }
+        Map<String, Tag> schematic = ((CompoundTag) root.getTag()).getValue();
+        Assertions.assertArrayEquals(new byte[4], ((ByteArrayTag) schematic.get("BlockData")).getValue());
+        Assertions.assertNull(schematic.get("BiomeData"));
+        Assertions.assertNull(schematic.get("BiomePalette"));
+    }
+
+    private static int[] readVarInts(byte[] bytes, int count) {
+        int[] values = new int[count];
+        int index = 0;
+        int i = 0;
+        while (i < bytes.length) {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[i++];
+                value |= (b & 127) << shift;
+                shift += 7;
+            } while ((b & 128) != 0);
+            values[index++] = value;
+        }
+        Assertions.assertEquals(count, index);
+        return values;
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ *       _____  _       _    _____                                _
+ *      |  __ \| |     | |  / ____|                              | |
+ *      | |__) | | ___ | |_| (___   __ _ _   _  __ _ _ __ ___  __| |
+ *      |  ___/| |/ _ \| __|\___ \ / _` | | | |/ _` | '__/ _ \/ _` |
+ *      | |    | | (_) | |_ ____) | (_| | |_| | (_| | | |  __/ (_| |
+ *      |_|    |_|\___/ \__|_____/ \__, |\__,_|\__,_|_|  \___|\__,_|
+ *                                    | |
+ *                                    |_|
+ *            PlotSquared plot management system for Minecraft
+ *               Copyright (C) 2014 - 2022 IntellectualSites
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.plotsquared.core.util.entity;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_ANIMAL;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_ENTITY;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MISC;
+import static com.plotsquared.core.util.entity.EntityCategories.CAP_MOB;
+
+public class EntityCountsTest {
+
+    private static final int[] ANIMAL = {CAP_ENTITY, CAP_MOB, CAP_ANIMAL};
+    private static final int[] ITEM = {CAP_ENTITY, CAP_MISC};
+
+    @Test
+    public void countsAddedAndRemovedEntities() {
+        final EntityCounts<String> counts = new EntityCounts<>();
+        counts.move(ANIMAL, null, "a");
+        counts.move(ANIMAL, null, "a");
+        counts.move(ITEM, null, "a");
+        Assertions.assertArrayEquals(new int[]{3, 2, 0, 2, 0, 1}, counts.get("a"));
+
+        counts.move(ANIMAL, "a", null);
+        Assertions.assertArrayEquals(new int[]{2, 1, 0, 1, 0, 1}, counts.get("a"));
+        counts.move(ANIMAL, "a", null);
+        counts.move(ITEM, "a", null);
+        Assertions.assertArrayEquals(new int[6], counts.get("a"));
+        Assertions.assertEquals(0, counts.size());
+    }
+
+    @Test
+    public void movesEntitiesBetweenKeys() {
+        final EntityCounts<String> counts = new EntityCounts<>();
+        counts.move(ANIMAL, null, "a");
+        counts.move(ANIMAL, "a", "b");
+        Assertions.assertArrayEquals(new int[6], counts.get("a"));
+        Assertions.assertArrayEquals(new int[]{1, 1, 0, 1, 0, 0}, counts.get("b"));
+        // Moving within the same key changes nothing
+        counts.move(ANIMAL, "b", "b");
+        Assertions.assertArrayEquals(new int[]{1, 1, 0, 1, 0, 0}, counts.get("b"));
+        Assertions.assertEquals(1, counts.size());
+    }
+
+    @Test
+    public void ignoresRemovalOfUncountedKeys() {
+        final EntityCounts<String> counts = new EntityCounts<>();
+        counts.move(ITEM, "a", null);
+        Assertions.assertArrayEquals(new int[6], counts.get("a"));
+        Assertions.assertEquals(0, counts.size());
+    }
+
+    @Test
+    public void returnsCopies() {
+        final EntityCounts<String> counts = new EntityCounts<>();
+        counts.move(ITEM, null, "a");
+        final int[] before = counts.get("a");
+        before[CAP_ENTITY] = 10;
+        counts.move(ITEM, null, "a");
+        Assertions.assertEquals(1, before[CAP_MISC]);
+        Assertions.assertArrayEquals(new int[]{2, 0, 0, 0, 0, 2}, counts.get("a"));
+    }
+
+}